@@ -15,6 +15,16 @@ repositories {
     mavenCentral()
 }
 
+// JMH micro-benchmarks live in src/jmh/java and run against the main classes
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations["jmhImplementation"].extendsFrom(configurations.implementation.get())
+
 dependencies {
     // Use JUnit Jupiter for testing.
     testImplementation(libs.junit.jupiter)
@@ -26,6 +36,10 @@ dependencies {
 
     // MySQL JDBC Driver
     implementation("mysql:mysql-connector-java:8.0.33")
+
+    // JMH for the benchmarks in src/jmh
+    "jmhImplementation"(libs.jmh.core)
+    "jmhAnnotationProcessor"(libs.jmh.generator.annprocess)
 }
 
 // Apply a specific Java toolchain to ease working on different environments.
@@ -49,3 +63,12 @@ tasks.named<Test>("test") {
     // Use JUnit Platform for unit tests.
     useJUnitPlatform()
 }
+
+// Run the JMH benchmarks, e.g. ./gradlew jmh -PjmhArgs="SearchScoring -prof gc"
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the JMH benchmarks."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    args((findProperty("jmhArgs") as String? ?: "-prof gc").split(" "))
+}
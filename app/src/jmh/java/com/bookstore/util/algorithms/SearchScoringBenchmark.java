@@ -0,0 +1,117 @@
+package com.bookstore.util.algorithms;
+
+import com.bookstore.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for book search scoring.
+ * Run with the GC profiler (default for the jmh task) and compare
+ * gc.alloc.rate.norm (bytes per query) between the legacy scan and the
+ * normalized pipeline:
+ *   ./gradlew jmh -PjmhArgs="SearchScoringBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchScoringBenchmark {
+
+    private static final String[] WORDS = {
+        "dragon", "shadow", "river", "empire", "garden", "winter", "secret", "ocean", "silent", "crown"
+    };
+
+    @Param({"1000", "10000"})
+    public int catalogSize;
+
+    @Param({"river", "42", "no-match"})
+    public String searchTerm;
+
+    private List<Book> books;
+    private SearchQuery query;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        books = new ArrayList<>(catalogSize);
+        for (int i = 1; i <= catalogSize; i++) {
+            String title = "The " + WORDS[random.nextInt(WORDS.length)] + " of " + WORDS[random.nextInt(WORDS.length)];
+            String author = "Author " + WORDS[random.nextInt(WORDS.length)].toUpperCase();
+            books.add(new Book(i, title, author, "978-" + (1000000 + i), 9.99 + i % 50, i % 30, "Fiction"));
+        }
+        query = SearchQuery.parse(searchTerm);
+
+        // Warm the precomputed keys so the measured loop reflects steady state
+        SearchingAlgorithms.searchBooks(books, query);
+    }
+
+    @Benchmark
+    public List<Book> normalizedSearch() {
+        return SearchingAlgorithms.searchBooks(books, searchTerm);
+    }
+
+    @Benchmark
+    public List<Book> preparsedSearch() {
+        return SearchingAlgorithms.searchBooks(books, query);
+    }
+
+    @Benchmark
+    public List<Book> legacySearch() {
+        String term = searchTerm.toLowerCase().trim();
+        List<Book> results = new ArrayList<>();
+        // Ranking is left out here, so this understates the legacy cost slightly
+        for (Book book : books) {
+            if (legacyScore(book, term) > 0) {
+                results.add(book);
+            }
+        }
+        return results;
+    }
+
+    // The scoring loop as it was before the normalized pipeline: lowercases every
+    // field and throws NumberFormatException per element for non-numeric terms
+    private static int legacyScore(Book book, String searchTerm) {
+        int score = 0;
+        try {
+            int searchId = Integer.parseInt(searchTerm);
+            if (book.getBookId() == searchId) {
+                return 1000;
+            }
+        } catch (NumberFormatException ignored) {}
+
+        String title = book.getTitle().toLowerCase();
+        if (title.equals(searchTerm)) {
+            score += 100;
+        } else if (title.contains(searchTerm)) {
+            score += 50;
+        }
+
+        String author = book.getAuthor().toLowerCase();
+        if (author.equals(searchTerm)) {
+            score += 80;
+        } else if (author.contains(searchTerm)) {
+            score += 30;
+        }
+
+        if (book.getIsbn().toLowerCase().contains(searchTerm)) {
+            score += 60;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,103 @@
+package com.bookstore.util.queue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-producer/multi-consumer throughput of the queue implementations.
+ * LinkedQueue and ArrayQueue are not thread-safe, so they are measured behind
+ * a single monitor - the cheapest way the old queues could be shared safely.
+ *   ./gradlew jmh -PjmhArgs="QueueThroughputBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class QueueThroughputBenchmark {
+
+    private static final Integer ELEMENT = 42;
+
+    @Param({"lockfree", "linked", "array"})
+    public String implementation;
+
+    @Param({"1024"})
+    public int capacity;
+
+    private QueueADT<Integer> queue;
+    private Object lock;
+
+    @Setup
+    public void setUp() {
+        switch (implementation) {
+            case "lockfree":
+                queue = new LockFreeQueue<>(capacity);
+                lock = null;
+                break;
+            case "linked":
+                queue = new LinkedQueue<>(capacity);
+                lock = queue;
+                break;
+            case "array":
+                queue = new ArrayQueue<>(capacity);
+                lock = queue;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown implementation: " + implementation);
+        }
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    @GroupThreads(4)
+    public boolean produce() {
+        if (lock == null) {
+            return offer();
+        }
+        synchronized (lock) {
+            return offer();
+        }
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    @GroupThreads(4)
+    public Integer consume() {
+        if (lock == null) {
+            return ((LockFreeQueue<Integer>) queue).poll();
+        }
+        synchronized (lock) {
+            return queue.isEmpty() ? null : take();
+        }
+    }
+
+    private boolean offer() {
+        try {
+            return queue.enqueue(ELEMENT);
+        } catch (QueueFullException e) {
+            return false;
+        }
+    }
+
+    private Integer take() {
+        try {
+            return queue.dequeue();
+        } catch (QueueEmptyException e) {
+            return null;
+        }
+    }
+}
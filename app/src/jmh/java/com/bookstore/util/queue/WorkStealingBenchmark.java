@@ -0,0 +1,169 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Order hand-off from one feeder to processing workers, as in
+ * OrderProcessingEngine: every worker pulling from one shared pending queue
+ * (built exactly like OrderQueueManager's: a locked IndexedPriorityQueue
+ * behind a KeyedSpilloverQueue) versus a WorkStealingDispatcher the feeder
+ * fills round robin, with a deque per worker.
+ * Orders take uneven (simulated) processing time, so some deques run dry
+ * while others back up and the idle workers steal from them. The feeder
+ * keeps the queued orders at the backlog size; compare the "taken" counter
+ * (orders handed to a worker), not the raw take rate, which includes polls
+ * that found nothing.
+ *   ./gradlew jmh -PjmhArgs="WorkStealingBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkStealingBenchmark {
+
+    private static final int WORKERS = 4; // Power of two, see processingTokens
+
+    @State(Scope.Group)
+    public static class Dispatch {
+        @Param({"shared", "stealing-fifo", "stealing-lifo"})
+        public String implementation;
+
+        @Param({"256"})
+        public int backlog;
+
+        // Blackhole CPU tokens for an ordinary order
+        @Param({"50"})
+        public int work;
+
+        KeyedBlockingQueueWrapper<Order, Integer> pendingQueue;
+        WorkStealingDispatcher<Order> dispatcher;
+        final AtomicInteger nextWorker = new AtomicInteger();
+        int nextOrderId; // Feeder thread only
+
+        @Setup(Level.Iteration)
+        public void setUp() throws QueueFullException {
+            nextWorker.set(0);
+            nextOrderId = 0;
+            switch (implementation) {
+                case "shared":
+                    pendingQueue = new KeyedBlockingQueueWrapper<>(new KeyedSpilloverQueue<>(
+                            new IndexedPriorityQueue<>(-1, Order::getOrderId, OrderPriority.OLDEST_FIRST),
+                            Order::getOrderId));
+                    dispatcher = null;
+                    break;
+                case "stealing-fifo":
+                    dispatcher = new WorkStealingDispatcher<>(WORKERS, WorkStealingDispatcher.OwnerOrder.FIFO);
+                    pendingQueue = null;
+                    break;
+                case "stealing-lifo":
+                    dispatcher = new WorkStealingDispatcher<>(WORKERS, WorkStealingDispatcher.OwnerOrder.LIFO);
+                    pendingQueue = null;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown implementation: " + implementation);
+            }
+            for (int i = 0; i < backlog; i++) {
+                submit(order(nextOrderId++));
+            }
+        }
+
+        void submit(Order order) throws QueueFullException {
+            if (pendingQueue != null) {
+                pendingQueue.enqueue(order);
+            } else {
+                dispatcher.submit(order);
+            }
+        }
+
+        int queued() {
+            return pendingQueue != null ? pendingQueue.size() : dispatcher.size();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Worker {
+        int index;
+
+        @Setup(Level.Iteration)
+        public void setUp(Dispatch dispatch) {
+            index = dispatch.nextWorker.getAndIncrement() % WORKERS;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Taken {
+        public long taken;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            taken = 0;
+        }
+    }
+
+    @Benchmark
+    @Group("engine")
+    @GroupThreads(1)
+    public boolean feed(Dispatch dispatch) throws QueueFullException {
+        // Hold the backlog steady, as the engine's feeder does
+        if (dispatch.queued() >= dispatch.backlog) {
+            Thread.onSpinWait();
+            return false;
+        }
+        dispatch.submit(order(dispatch.nextOrderId++));
+        return true;
+    }
+
+    @Benchmark
+    @Group("engine")
+    @GroupThreads(WORKERS)
+    public Order take(Dispatch dispatch, Worker worker, Taken taken) {
+        Order order = dispatch.pendingQueue != null
+                ? dispatch.pendingQueue.poll()
+                : dispatch.dispatcher.poll(worker.index);
+        if (order != null) {
+            taken.taken++;
+            Blackhole.consumeCPU(processingTokens(order.getOrderId(), dispatch.work));
+        }
+        return order;
+    }
+
+    /**
+     * Round robin puts order i on deque i % WORKERS; in every run of 64
+     * orders a different deque gets the orders ten times as heavy
+     */
+    private static long processingTokens(int orderId, int work) {
+        boolean heavy = ((orderId >>> 6) & (WORKERS - 1)) == (orderId & (WORKERS - 1));
+        return heavy ? work * 10L : work;
+    }
+
+    private static Order order(int id) {
+        Order order = new Order();
+        order.setOrderId(id);
+        order.setStatus(OrderStatus.PENDING);
+        order.setOrderDate(new Date(1_700_000_000_000L + id));
+        return order;
+    }
+}
@@ -383,6 +383,7 @@ public class BookManagementController {
         System.out.println("3. Author");
         System.out.println("4. Price");
         System.out.println("5. Stock Quantity");
+        System.out.println("6. Custom (multiple fields)");
         System.out.println("0. Cancel");
 
         int choice = InputValidator.getIntInput("Enter your choice: ");
@@ -404,6 +405,9 @@ public class BookManagementController {
             case 5:
                 field = "stock_quantity";
                 break;
+            case 6:
+                sortBooksBySpec();
+                return;
             case 0:
                 return;
             default:
@@ -431,6 +435,31 @@ public class BookManagementController {
         InputValidator.getStringInput("");
     }
 
+    /**
+     * Sort books by a multi-field specification, e.g. "category asc, price desc, title asc"
+     */
+    private void sortBooksBySpec() {
+        System.out.println("Available fields: " + String.join(", ", BookService.SORT_FIELDS.names()));
+        String spec = InputValidator.getTrimmedStringInput("Enter sort fields (e.g. category asc, price desc, title asc): ");
+
+        try {
+            List<Book> sortedBooks = bookService.sort(spec);
+
+            if (sortedBooks.isEmpty()) {
+                System.out.println("No books available to sort.");
+            } else {
+                System.out.println("\n=== SORTED BOOKS ===");
+                System.out.println("Sorted by " + spec + ":");
+                DisplayFormatter.displayBookList(sortedBooks);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error sorting books: " + e.getMessage());
+        }
+
+        System.out.println("\nPress Enter to continue...");
+        InputValidator.getStringInput("");
+    }
+
     /**
      * Filter books by category using BookService
      */
@@ -149,6 +149,7 @@ public class CustomerManagementController {
         System.out.println("1. Customer ID");
         System.out.println("2. Name");
         System.out.println("3. Email");
+        System.out.println("4. Custom (multiple fields)");
         System.out.println("0. Cancel");
 
         int choice = InputValidator.getIntInput("Enter your choice: ");
@@ -164,6 +165,9 @@ public class CustomerManagementController {
             case 3:
                 field = "email";
                 break;
+            case 4:
+                sortCustomersBySpec();
+                return;
             case 0:
                 return;
             default:
@@ -190,4 +194,29 @@ public class CustomerManagementController {
         System.out.println("\nPress Enter to continue...");
         InputValidator.getStringInput("");
     }
+
+    /**
+     * Sort customers by a multi-field specification, e.g. "name asc, customer_id desc"
+     */
+    private void sortCustomersBySpec() {
+        System.out.println("Available fields: " + String.join(", ", CustomerService.SORT_FIELDS.names()));
+        String spec = InputValidator.getTrimmedStringInput("Enter sort fields (e.g. name asc, customer_id desc): ");
+
+        try {
+            List<Customer> sortedCustomers = customerService.sort(spec);
+
+            if (sortedCustomers.isEmpty()) {
+                System.out.println("No customers available to sort.");
+            } else {
+                System.out.println("\n=== SORTED CUSTOMERS ===");
+                System.out.println("Sorted by " + spec + ":");
+                DisplayFormatter.displayCustomersTable(sortedCustomers);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error sorting customers: " + e.getMessage());
+        }
+
+        System.out.println("\nPress Enter to continue...");
+        InputValidator.getStringInput("");
+    }
 }
@@ -12,10 +12,20 @@ import com.bookstore.model.User;
 import com.bookstore.service.AuthService;
 import com.bookstore.service.OrderService;
 import com.bookstore.service.BookService;
+import com.bookstore.util.index.Query;
+import com.bookstore.util.queue.AdminScheduling;
+import com.bookstore.util.queue.DeadlineAction;
+import com.bookstore.util.queue.LatencyHistogram;
+import com.bookstore.util.queue.OrderPriority;
+import com.bookstore.util.queue.OrderQueueManager;
+import com.bookstore.util.queue.WorkStealingDispatcher;
 import com.bookstore.util.ui.DisplayFormatter;
 import com.bookstore.util.ui.InputValidator;
 import com.bookstore.util.ui.PaginationUtil;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -276,6 +286,7 @@ public class OrderManagementController {
                 System.out.println("4. Filter Books by Category");
                 System.out.println("5. View Cart (" + authService.getCartService().getItemCount() + " items)");
                 System.out.println("6. Refresh Book List");
+                System.out.println("7. Advanced Search");
                 System.out.println("0. Back to Customer Menu");
 
                 String input = InputValidator.getStringInput("Enter your choice (or navigation command): ");
@@ -313,6 +324,9 @@ public class OrderManagementController {
                         case 6:
                             currentPage = 1; // Reset to first page on refresh
                             break;
+                        case 7:
+                            showCustomerAdvancedSearch();
+                            break;
                         case 0:
                             return;
                         default:
@@ -384,15 +398,63 @@ public class OrderManagementController {
         InputValidator.getStringInput("");
     }
 
+    /**
+     * Show customer advanced search: category, price range, words and sort in one query
+     */
+    public void showCustomerAdvancedSearch() {
+        System.out.println("=== ADVANCED SEARCH ===");
+        System.out.println("Leave a field empty to skip it.");
+
+        try {
+            Query<Book> query = Query.create();
+
+            String category = InputValidator.getTrimmedStringInput("Category: ");
+            if (!category.isEmpty()) {
+                query.eq("category", category);
+            }
+
+            String minPrice = InputValidator.getTrimmedStringInput("Minimum price: ");
+            String maxPrice = InputValidator.getTrimmedStringInput("Maximum price: ");
+            query.between("price",
+                    minPrice.isEmpty() ? Double.NEGATIVE_INFINITY : Double.parseDouble(minPrice),
+                    maxPrice.isEmpty() ? Double.POSITIVE_INFINITY : Double.parseDouble(maxPrice));
+
+            String words = InputValidator.getTrimmedStringInput("Title/author words: ");
+            query.text(words);
+
+            System.out.println("Sort fields: " + String.join(", ", BookService.SORT_FIELDS.names()));
+            String sortSpec = InputValidator.getTrimmedStringInput("Sort by (e.g. price asc, title asc): ");
+            query.orderBy(sortSpec.isEmpty() ? "title asc" : sortSpec);
+
+            List<Book> results = bookService.query(query);
+            if (results.isEmpty()) {
+                System.out.println("No books match your search.");
+            } else {
+                showPaginatedFilteredResults(results, "SEARCH RESULTS (" + results.size() + " books)", false);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid price. Please enter a number.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid search: " + e.getMessage());
+        }
+    }
+
     /**
      * Show paginated filtered results for customers
      */
     private void showPaginatedFilteredResults(List<Book> filteredBooks, String category) {
+        showPaginatedFilteredResults(filteredBooks, "BOOKS IN CATEGORY: \"" + category.toUpperCase() + "\"", true);
+    }
+
+    /**
+     * Show paginated book results for customers under the given heading
+     */
+    private void showPaginatedFilteredResults(List<Book> filteredBooks, String heading, boolean categoryFilter) {
         int currentPage = 1;
         final int PAGE_SIZE = 10;
 
         while (true) {
-            System.out.println("\n=== BOOKS IN CATEGORY: \"" + category.toUpperCase() + "\" ===");
+            System.out.println("\n=== " + heading + " ===");
 
             // Calculate pagination
             int totalPages = (int) Math.ceil((double) filteredBooks.size() / PAGE_SIZE);
@@ -427,7 +489,7 @@ public class OrderManagementController {
             System.out.println("1. View Book Details");
             System.out.println("2. Add Book to Cart");
             System.out.println("3. View Cart (" + authService.getCartService().getItemCount() + " items)");
-            System.out.println("4. New Filter");
+            System.out.println(categoryFilter ? "4. New Filter" : "4. New Search");
             System.out.println("0. Back to Browse Menu");
 
             String input = InputValidator.getStringInput("Enter your choice (or navigation command): ");
@@ -446,7 +508,11 @@ public class OrderManagementController {
                         showCartManagement();
                         break;
                     case 4:
-                        showCustomerFilterBooks(); // Start new filter
+                        if (categoryFilter) {
+                            showCustomerFilterBooks(); // Start new filter
+                        } else {
+                            showCustomerAdvancedSearch();
+                        }
                         return;
                     case 0:
                         return; // Return to browse menu
@@ -1092,6 +1158,11 @@ public class OrderManagementController {
             //     System.out.println("6. Admin Queue Management");
             // }
             System.out.println("7. Refresh Queue");
+            System.out.println("8. Change Processing Priority");
+            System.out.println("9. Background Processing");
+            System.out.println("10. Bulk Status Update");
+            System.out.println("11. Order Deadlines");
+            System.out.println("12. Admin Queue Scheduling");
             System.out.println("0. Back to Main Menu");
 
             int choice = InputValidator.getIntInput("Enter your choice: ");
@@ -1120,6 +1191,21 @@ public class OrderManagementController {
                 case 7:
                     // Refresh - just continue the loop
                     break;
+                case 8:
+                    changeProcessingPriority();
+                    break;
+                case 9:
+                    manageBackgroundProcessing();
+                    break;
+                case 10:
+                    bulkUpdateOrderStatus();
+                    break;
+                case 11:
+                    manageOrderDeadlines();
+                    break;
+                case 12:
+                    changeAdminScheduling();
+                    break;
                 case 0:
                     return;
                 default:
@@ -1156,22 +1242,8 @@ public class OrderManagementController {
                 "Order ID", "Customer ID", "Status", "Total", "Date", "Items");
         System.out.println("=".repeat(90));
 
-        // Sort orders by status priority (PENDING first, then by date)
-        allOrders.sort((o1, o2) -> {
-            String status1 = o1.getStatus().toString();
-            String status2 = o2.getStatus().toString();
-
-            // Priority order: PENDING, PROCESSING, SHIPPED, DELIVERED, CANCELLED
-            int priority1 = getStatusPriority(status1);
-            int priority2 = getStatusPriority(status2);
-
-            if (priority1 != priority2) {
-                return Integer.compare(priority1, priority2);
-            }
-
-            // If same status, sort by date (newest first)
-            return o2.getOrderDate().compareTo(o1.getOrderDate());
-        });
+        // Sort orders by status priority (PENDING first, then by date, newest first)
+        allOrders.sort(OrderService.QUEUE_DISPLAY_ORDER.comparator());
 
         for (Order order : allOrders) {
             int itemCount = order.getOrderItems() != null ? order.getOrderItems().size() : 0;
@@ -1187,35 +1259,22 @@ public class OrderManagementController {
         }
     }
 
-    /**
-     * Get status priority for sorting (lower number = higher priority)
-     */
-    private int getStatusPriority(String status) {
-        return switch (status) {
-            case "PENDING" -> 1;
-            case "PROCESSING" -> 2;
-            case "SHIPPED" -> 3;
-            case "DELIVERED" -> 4;
-            case "CANCELLED" -> 5;
-            default -> 6;
-        };
-    }
-
     /**
      * Process next pending order
+     * Reads the head of the pending priority queue; only if the queue has not
+     * been loaded does it fall back to a single pass for the oldest pending order.
      */
     private void processNextPendingOrder(List<Order> allOrders) {
-        List<Order> pendingOrders = allOrders.stream()
-                .filter(o -> o.getStatus().toString().equals("PENDING"))
-                .sorted((o1, o2) -> o1.getOrderDate().compareTo(o2.getOrderDate())) // Oldest first
-                .toList();
+        Order nextOrder = orderService.peekNextPendingOrder(authService.getCurrentUser());
+        if (nextOrder == null) {
+            nextOrder = findOldestPendingOrder(allOrders);
+        }
 
-        if (pendingOrders.isEmpty()) {
+        if (nextOrder == null) {
             System.out.println("No pending orders to process.");
             return;
         }
 
-        Order nextOrder = pendingOrders.get(0);
         System.out.println("=== PROCESSING NEXT PENDING ORDER #" + nextOrder.getOrderId() + " ===");
 
         // Show order details
@@ -1231,15 +1290,21 @@ public class OrderManagementController {
 
         switch (choice) {
             case 1:
-                updateOrderStatusInDatabase(nextOrder.getOrderId(), "PROCESSING");
+                if (updateOrderStatusInDatabase(nextOrder.getOrderId(), "PROCESSING")) {
+                    OrderQueueManager.removeFromPending(nextOrder);
+                }
                 System.out.println("Order marked as PROCESSING.");
                 break;
             case 2:
-                updateOrderStatusInDatabase(nextOrder.getOrderId(), "SHIPPED");
+                if (updateOrderStatusInDatabase(nextOrder.getOrderId(), "SHIPPED")) {
+                    OrderQueueManager.removeFromPending(nextOrder);
+                }
                 System.out.println("Order marked as SHIPPED.");
                 break;
             case 3:
-                updateOrderStatusInDatabase(nextOrder.getOrderId(), "CANCELLED");
+                if (updateOrderStatusInDatabase(nextOrder.getOrderId(), "CANCELLED")) {
+                    OrderQueueManager.removeFromPending(nextOrder);
+                }
                 System.out.println("Order cancelled.");
                 break;
             case 0:
@@ -1249,6 +1314,206 @@ public class OrderManagementController {
         }
     }
 
+    /**
+     * Oldest pending order in one pass (O(n), no sort)
+     */
+    private Order findOldestPendingOrder(List<Order> allOrders) {
+        Order oldest = null;
+        for (Order order : allOrders) {
+            if (order.getStatus() == OrderStatus.PENDING
+                    && (oldest == null || OrderPriority.OLDEST_FIRST.compare(order, oldest) < 0)) {
+                oldest = order;
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Choose the order in which pending orders are processed
+     */
+    private void changeProcessingPriority() {
+        System.out.println("\n=== PROCESSING PRIORITY ===");
+        OrderPriority[] priorities = OrderPriority.values();
+        for (int i = 0; i < priorities.length; i++) {
+            System.out.println((i + 1) + ". " + priorities[i].getDescription());
+        }
+        System.out.println("0. Back to Queue Menu");
+
+        int choice = InputValidator.getIntInput("Enter your choice: ");
+        if (choice == 0) {
+            return;
+        }
+        if (choice < 1 || choice > priorities.length) {
+            System.out.println("Invalid choice.");
+            return;
+        }
+
+        OrderPriority priority = priorities[choice - 1];
+        if (orderService.setPendingPriority(priority, authService.getCurrentUser())) {
+            System.out.println("Pending orders are now processed: " + priority.getDescription() + ".");
+        } else {
+            System.out.println("Failed to change processing priority.");
+        }
+    }
+
+    /**
+     * Choose how admins are served from the admin queue
+     */
+    private void changeAdminScheduling() {
+        System.out.println("\n=== ADMIN QUEUE SCHEDULING ===");
+        System.out.println("Current: " + OrderQueueManager.getAdminScheduling().getDescription());
+        AdminScheduling[] schedulings = AdminScheduling.values();
+        for (int i = 0; i < schedulings.length; i++) {
+            System.out.println((i + 1) + ". " + schedulings[i].getDescription());
+        }
+        System.out.println("0. Back to Queue Menu");
+
+        int choice = InputValidator.getIntInput("Enter your choice: ");
+        if (choice == 0) {
+            return;
+        }
+        if (choice < 1 || choice > schedulings.length) {
+            System.out.println("Invalid choice.");
+            return;
+        }
+
+        AdminScheduling scheduling = schedulings[choice - 1];
+        if (orderService.setAdminScheduling(scheduling, authService.getCurrentUser())) {
+            System.out.println("Admin queue is now served: " + scheduling.getDescription() + ".");
+        } else {
+            System.out.println("Failed to change admin queue scheduling.");
+        }
+    }
+
+    /**
+     * Start, stop and monitor the background order processing workers
+     */
+    private void manageBackgroundProcessing() {
+        User currentUser = authService.getCurrentUser();
+        while (true) {
+            System.out.println("\n=== BACKGROUND PROCESSING ===");
+            var stats = orderService.getProcessingStatistics();
+            System.out.println(stats != null ? stats : "Background processing has not been started.");
+            var dispatch = orderService.getDispatchStatistics();
+            if (dispatch != null) {
+                System.out.println(dispatch);
+            }
+            System.out.println("1. Start Workers");
+            System.out.println("2. Stop Workers");
+            System.out.println("3. Refresh Statistics");
+            System.out.println("0. Back to Queue Menu");
+
+            int choice = InputValidator.getIntInput("Enter your choice: ");
+            switch (choice) {
+                case 1:
+                    int workers = InputValidator.getIntInput("Number of workers (1-64): ");
+                    if (workers < 1 || workers > 64) {
+                        System.out.println("Invalid number of workers.");
+                        break;
+                    }
+                    System.out.println("Dispatch: 1. Shared pending queue  2. Work stealing (oldest first)  "
+                            + "3. Work stealing (newest first)");
+                    int dispatchChoice = InputValidator.getIntInput("Enter your choice: ");
+                    WorkStealingDispatcher.OwnerOrder ownerOrder;
+                    if (dispatchChoice == 1) {
+                        ownerOrder = null;
+                    } else if (dispatchChoice == 2) {
+                        ownerOrder = WorkStealingDispatcher.OwnerOrder.FIFO;
+                    } else if (dispatchChoice == 3) {
+                        ownerOrder = WorkStealingDispatcher.OwnerOrder.LIFO;
+                    } else {
+                        System.out.println("Invalid choice.");
+                        break;
+                    }
+                    if (orderService.startProcessingEngine(workers, ownerOrder, currentUser)) {
+                        System.out.println("Started " + workers + " workers"
+                                + (ownerOrder == null ? " on the pending queue." : " with work stealing."));
+                    } else {
+                        System.out.println("Failed to start background processing.");
+                    }
+                    break;
+                case 2:
+                    if (orderService.stopProcessingEngine(currentUser)) {
+                        System.out.println("Background processing stopped.");
+                    } else {
+                        System.out.println("Background processing is not running or did not stop cleanly.");
+                    }
+                    break;
+                case 3:
+                    break;
+                case 0:
+                    return;
+                default:
+                    System.out.println("Invalid choice.");
+            }
+        }
+    }
+
+    /**
+     * Set up deadlines for orders waiting in PENDING or PROCESSING and review escalations
+     */
+    private void manageOrderDeadlines() {
+        User currentUser = authService.getCurrentUser();
+        while (true) {
+            System.out.println("\n=== ORDER DEADLINES ===");
+            System.out.println(orderService.getDeadlineStatistics());
+            System.out.println("1. Enable Deadlines");
+            System.out.println("2. Disable Deadlines");
+            System.out.println("3. View Escalated Orders");
+            System.out.println("0. Back to Queue Menu");
+
+            int choice = InputValidator.getIntInput("Enter your choice: ");
+            switch (choice) {
+                case 1:
+                    int pendingMinutes = InputValidator.getIntInput("Max minutes in PENDING (0 = no deadline): ");
+                    int processingMinutes = InputValidator.getIntInput("Max minutes in PROCESSING (0 = no deadline): ");
+                    if (pendingMinutes < 0 || processingMinutes < 0) {
+                        System.out.println("Invalid number of minutes.");
+                        break;
+                    }
+                    DeadlineAction[] actions = DeadlineAction.values();
+                    for (int i = 0; i < actions.length; i++) {
+                        System.out.println((i + 1) + ". " + actions[i].getDescription());
+                    }
+                    int actionChoice = InputValidator.getIntInput("On a missed deadline: ");
+                    if (actionChoice < 1 || actionChoice > actions.length) {
+                        System.out.println("Invalid choice.");
+                        break;
+                    }
+                    if (orderService.enableOrderDeadlines(
+                            pendingMinutes > 0 ? Duration.ofMinutes(pendingMinutes) : null,
+                            processingMinutes > 0 ? Duration.ofMinutes(processingMinutes) : null,
+                            actions[actionChoice - 1], currentUser)) {
+                        System.out.println("Order deadlines enabled.");
+                    } else {
+                        System.out.println("Failed to enable order deadlines.");
+                    }
+                    break;
+                case 2:
+                    if (orderService.disableOrderDeadlines(currentUser)) {
+                        System.out.println("Order deadlines disabled.");
+                    }
+                    break;
+                case 3:
+                    try {
+                        List<Order> escalated = orderService.getEscalatedOrders(currentUser);
+                        if (escalated.isEmpty()) {
+                            System.out.println("No escalated orders.");
+                        } else {
+                            DisplayFormatter.displayOrdersTable(escalated);
+                        }
+                    } catch (SecurityException e) {
+                        System.out.println("Access denied: " + e.getMessage());
+                    }
+                    break;
+                case 0:
+                    return;
+                default:
+                    System.out.println("Invalid choice.");
+            }
+        }
+    }
+
     /**
      * View orders by status
      */
@@ -1353,6 +1618,33 @@ public class OrderManagementController {
         }
     }
 
+    /**
+     * Move every order in one status to another in a single batched update
+     */
+    private void bulkUpdateOrderStatus() {
+        OrderStatus[] statuses = OrderStatus.values();
+        System.out.println("\n=== BULK STATUS UPDATE ===");
+        for (int i = 0; i < statuses.length; i++) {
+            System.out.println((i + 1) + ". " + statuses[i]);
+        }
+
+        int from = InputValidator.getIntInput("Move all orders with status (1-" + statuses.length + "): ");
+        int to = InputValidator.getIntInput("To status (1-" + statuses.length + "): ");
+        if (from < 1 || from > statuses.length || to < 1 || to > statuses.length || from == to) {
+            System.out.println("Invalid choice.");
+            return;
+        }
+
+        OrderStatus fromStatus = statuses[from - 1];
+        OrderStatus toStatus = statuses[to - 1];
+        if (!InputValidator.getConfirmation("Mark all " + fromStatus + " orders as " + toStatus + "?")) {
+            return;
+        }
+
+        int updated = orderService.transitionAll(fromStatus, toStatus, authService.getCurrentUser());
+        System.out.println(updated + " order(s) marked as " + toStatus + ".");
+    }
+
     /**
      * View order details from queue
      */
@@ -1369,14 +1661,15 @@ public class OrderManagementController {
     }
 
     /**
-     * Update order status in database
+     * Update order status in database (the cache and queues follow through
+     * OrderService)
      */
     private boolean updateOrderStatusInDatabase(int orderId, String newStatus) {
         try {
             System.out.println("Updating order " + orderId + " status to " + newStatus + "...");
 
-            // Use OrderDAO to update the order status
-            boolean success = orderDAO.updateOrderStatus(orderId, newStatus);
+            boolean success = orderService.updateOrderStatus(orderId, OrderStatus.valueOf(newStatus),
+                    authService.getCurrentUser());
 
             if (success) {
                 System.out.println("Order status updated successfully in database.");
@@ -1474,16 +1767,13 @@ public class OrderManagementController {
         String startDate = InputValidator.getTrimmedStringInput("Start date: ");
         String endDate = InputValidator.getTrimmedStringInput("End date: ");
 
-        List<Order> allOrders = orderDAO.getAllOrders();
-        List<Order> dateFilteredOrders = allOrders.stream()
-                .filter(o -> {
-                    if (o.getOrderDate() == null)
-                        return false;
-                    String orderDateStr = o.getOrderDate().toString().substring(0, 10);
-                    return orderDateStr.compareTo(startDate) >= 0 && orderDateStr.compareTo(endDate) <= 0;
-                })
-                .sorted((o1, o2) -> o2.getOrderDate().compareTo(o1.getOrderDate()))
-                .toList();
+        List<Order> dateFilteredOrders;
+        try {
+            dateFilteredOrders = orderService.findByDateRange(LocalDate.parse(startDate), LocalDate.parse(endDate));
+        } catch (DateTimeParseException e) {
+            System.out.println("Invalid date format. Please use YYYY-MM-DD.");
+            return;
+        }
 
         if (dateFilteredOrders.isEmpty()) {
             System.out.println("No orders found in date range: " + startDate + " to " + endDate);
@@ -1664,18 +1954,53 @@ public class OrderManagementController {
             System.out.println("  Completed Queue Size: " + stats.getCompletedQueueSize());
             System.out.println("  Active User Queues: " + stats.getActiveUserQueues());
             System.out.println("  Total User Queue Items: " + stats.getTotalUserQueueItems());
+            printWaitTimes("  Pending Wait Time", stats.getPendingWaitTimes());
 
             var userStats = orderService.getUserQueueStats(currentUser);
             System.out.println("\nYour Queue Statistics:");
             System.out.println("  Total Orders: " + userStats.getTotalOrders());
             System.out.println("  Pending Orders: " + userStats.getPendingOrders());
             System.out.println("  Processing Orders: " + userStats.getProcessingOrders());
+            printWaitTimes("  Wait Time", userStats.getWaitTimes());
+
+            var eventStats = orderService.getEventBusStatistics();
+            if (eventStats != null) {
+                System.out.println("\nOrder Events:");
+                System.out.println("  Published: " + eventStats.getPublishedEvents());
+                System.out.println("  " + orderService.getOrderTransitions());
+                for (var subscriber : eventStats.getSubscribers()) {
+                    System.out.println("  " + subscriber);
+                }
+            }
+
+            var groupCommitStats = orderService.getGroupCommitStatistics();
+            if (groupCommitStats != null) {
+                System.out.println("\nCheckout Group Commit:");
+                System.out.println("  Orders Committed: " + groupCommitStats.getCommitted());
+                System.out.println("  Transactions: " + groupCommitStats.getBatches()
+                        + " (avg " + String.format("%.1f", groupCommitStats.getAverageBatchSize()) + " orders, largest "
+                        + groupCommitStats.getLargestBatch() + ")");
+                System.out.println("  Failed Transactions: " + groupCommitStats.getFailedBatches());
+            }
 
         } catch (SecurityException e) {
             System.out.println("Access denied: " + e.getMessage());
         }
     }
 
+    /**
+     * Print enqueue-to-dequeue wait times of a queue
+     */
+    private void printWaitTimes(String label, LatencyHistogram.LatencyStatistics waitTimes) {
+        if (waitTimes.getCount() == 0) {
+            System.out.println(label + ": no orders dequeued yet");
+            return;
+        }
+        System.out.printf("%s: p50 %.1f ms, p95 %.1f ms, p99 %.1f ms (max %.1f ms, %d orders)%n",
+                label, waitTimes.getP50Millis(), waitTimes.getP95Millis(), waitTimes.getP99Millis(),
+                waitTimes.getMaxMillis(), waitTimes.getCount());
+    }
+
     /**
      * Demonstrate algorithms
      */
@@ -1785,6 +2110,7 @@ public class OrderManagementController {
         System.out.println("2. Order Date");
         System.out.println("3. Total Amount");
         System.out.println("4. Customer ID");
+        System.out.println("5. Custom (multiple fields)");
         System.out.println("0. Cancel");
 
         int choice = InputValidator.getIntInput("Enter your choice: ");
@@ -1803,6 +2129,9 @@ public class OrderManagementController {
             case 4:
                 field = "customer_id";
                 break;
+            case 5:
+                sortOrdersBySpec();
+                return;
             case 0:
                 return;
             default:
@@ -1830,6 +2159,31 @@ public class OrderManagementController {
         InputValidator.getStringInput("");
     }
 
+    /**
+     * Sort orders by a multi-field specification, e.g. "status asc, total_amount desc"
+     */
+    private void sortOrdersBySpec() {
+        System.out.println("Available fields: " + String.join(", ", OrderService.SORT_FIELDS.names()));
+        String spec = InputValidator.getTrimmedStringInput("Enter sort fields (e.g. status asc, total_amount desc): ");
+
+        try {
+            List<Order> sortedOrders = orderService.sort(spec);
+
+            if (sortedOrders.isEmpty()) {
+                System.out.println("No orders available to sort.");
+            } else {
+                System.out.println("\n=== SORTED ORDERS ===");
+                System.out.println("Sorted by " + spec + ":");
+                DisplayFormatter.displayOrdersTable(sortedOrders);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error sorting orders: " + e.getMessage());
+        }
+
+        System.out.println("\nPress Enter to continue...");
+        InputValidator.getStringInput("");
+    }
+
     /**
      * Filter orders by status using OrderService
      */
@@ -9,7 +9,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class BookDAO {
     public int addBook(Book book) {
@@ -69,6 +73,38 @@ public class BookDAO {
         return book;
     }
 
+    /**
+     * Get the titles of several books in a single query
+     * @param bookIds The book IDs to look up
+     * @return Map of book ID to title (missing IDs are absent)
+     */
+    public Map<Integer, String> getBookTitlesByIds(Collection<Integer> bookIds) {
+        Map<Integer, String> titles = new HashMap<>();
+        if (bookIds == null || bookIds.isEmpty()) {
+            return titles;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(bookIds.size(), "?"));
+        String sql = "SELECT book_id, title FROM Books WHERE book_id IN (" + placeholders + ")";
+        try (Connection conn = DBConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            for (Integer bookId : bookIds) {
+                pstmt.setInt(index++, bookId);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    titles.put(rs.getInt("book_id"), rs.getString("title"));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting book titles: " + e.getMessage());
+        }
+        return titles;
+    }
+
     public Book getBookByIsbn(String isbn) {
         String sql = "SELECT * FROM Books WHERE isbn = ?";
         Book book = null;
@@ -1,6 +1,7 @@
 package com.bookstore.dao;
 
 import com.bookstore.model.Customer;
+import com.bookstore.model.CustomerTier;
 import com.bookstore.util.database.DBConnection;
 
 import java.sql.Connection;
@@ -9,7 +10,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class CustomerDAO {
     public int addCustomer(Customer customer) {
@@ -164,6 +167,26 @@ public class CustomerDAO {
         return customers;
     }
 
+    /**
+     * Get the tier of every customer from the CustomerStatistics view in one query
+     * @return Map of customer ID to tier (customers missing from the view are absent)
+     */
+    public Map<Integer, CustomerTier> getCustomerTiers() {
+        Map<Integer, CustomerTier> tiers = new HashMap<>();
+        String sql = "SELECT customer_id, customer_tier FROM CustomerStatistics";
+        try (Connection conn = DBConnection.getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                tiers.put(rs.getInt("customer_id"), CustomerTier.fromLabel(rs.getString("customer_tier")));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting customer tiers: " + e.getMessage());
+        }
+        return tiers;
+    }
+
     /**
      * Get customer by user ID (for registered customers)
      * @param userId The user ID from Users table
@@ -1,5 +1,6 @@
 package com.bookstore.dao;
 
+import com.bookstore.model.Book;
 import com.bookstore.model.Order;
 import com.bookstore.model.OrderItem;
 import com.bookstore.model.OrderStatus;
@@ -7,7 +8,13 @@ import com.bookstore.util.database.DBConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 public class OrderDAO {
     public int addOrder(Order order) {
@@ -73,6 +80,294 @@ public class OrderDAO {
         return orderId;
     }
 
+    /**
+     * Check out an order in one transaction: lock all of its books with one
+     * SELECT ... FOR UPDATE, check stock per book (lines for the same book
+     * add up) and price the lines from the locked rows, then insert the order
+     * and its items in one batch and commit. While the rows are locked no
+     * other checkout can sell the same stock, so the stock trigger on
+     * OrderItems never runs on a check another transaction has overtaken.
+     *
+     * Lines without enough stock are left out of the order (and removed from
+     * order.getOrderItems()); accepted lines get their unit price, and the
+     * order its id and total.
+     *
+     * @param order The order to place, with its customer, status and lines
+     * @return The outcome; nothing is written unless it is placed
+     */
+    public CheckoutResult placeOrder(Order order) {
+        return checkout(Collections.singletonList(order)).get(0);
+    }
+
+    /**
+     * Group commit: check out several orders in one transaction, as
+     * placeOrder does for one. The books of all orders are locked with one
+     * query, the orders are validated in list order (earlier orders get the
+     * stock first), and the Orders and OrderItems rows of all placed orders
+     * go in as two batches under a single commit.
+     *
+     * If the shared transaction fails (e.g. one order breaks a constraint),
+     * the orders are retried one by one so a bad order cannot fail the rest.
+     *
+     * @param orders The orders to place
+     * @return One result per order, in the same order
+     */
+    public List<CheckoutResult> placeOrders(List<Order> orders) {
+        List<CheckoutResult> results = checkout(orders);
+        if (orders.size() > 1 && results.get(0).getOutcome() == CheckoutResult.Outcome.FAILED) {
+            results = new ArrayList<>(orders.size());
+            for (Order order : orders) {
+                results.add(placeOrder(order));
+            }
+        }
+        return results;
+    }
+
+    private List<CheckoutResult> checkout(List<Order> orders) {
+        List<CheckoutResult> results = new ArrayList<>(orders.size());
+        if (orders.isEmpty()) {
+            return results;
+        }
+
+        Connection conn = null;
+        try {
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(false); // Start transaction
+
+            Map<Integer, Book> books = lockBooks(conn, orders);
+            Map<Integer, Integer> remainingStock = new HashMap<>();
+            for (Book book : books.values()) {
+                remainingStock.put(book.getBookId(), book.getStockQuantity());
+            }
+
+            // Validate and price every line against the locked rows
+            List<PendingCheckout> checkouts = new ArrayList<>(orders.size());
+            List<PendingCheckout> accepted = new ArrayList<>();
+            for (Order order : orders) {
+                PendingCheckout checkout = validate(order, books, remainingStock);
+                checkouts.add(checkout);
+                if (!checkout.acceptedItems.isEmpty()) {
+                    accepted.add(checkout);
+                }
+            }
+
+            if (accepted.isEmpty()) {
+                conn.rollback(); // Releases the row locks
+            } else {
+                insertOrders(conn, accepted);
+                insertOrderItems(conn, accepted);
+                conn.commit();
+            }
+
+            // Only touch the orders once the outcome is final
+            for (PendingCheckout checkout : checkouts) {
+                results.add(checkout.complete());
+            }
+        } catch (SQLException e) {
+            System.err.println("Error placing order: " + e.getMessage());
+            // Rollback if error
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    System.err.println("Error during rollback: " + rollbackEx.getMessage());
+                }
+            }
+            results.clear();
+            for (int i = 0; i < orders.size(); i++) {
+                results.add(CheckoutResult.failed(e.getMessage()));
+            }
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true); // Reset auto-commit
+                    conn.close();
+                } catch (SQLException closeEx) {
+                    System.err.println("Error closing connection: " + closeEx.getMessage());
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Read and row-lock the books of the given orders in one query
+     * @return The locked books by book ID (missing books are absent)
+     */
+    private Map<Integer, Book> lockBooks(Connection conn, List<Order> orders) throws SQLException {
+        Set<Integer> bookIds = new TreeSet<>(); // Sorted: concurrent checkouts lock in the same order
+        for (Order order : orders) {
+            if (order.getOrderItems() != null) {
+                for (OrderItem item : order.getOrderItems()) {
+                    bookIds.add(item.getBookId());
+                }
+            }
+        }
+        Map<Integer, Book> books = new HashMap<>();
+        if (bookIds.isEmpty()) {
+            return books;
+        }
+        String sql = "SELECT book_id, title, price, stock_quantity FROM Books WHERE book_id IN ("
+                + String.join(", ", Collections.nCopies(bookIds.size(), "?")) + ") ORDER BY book_id FOR UPDATE";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (int bookId : bookIds) {
+                pstmt.setInt(index++, bookId);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Book book = new Book();
+                    book.setBookId(rs.getInt("book_id"));
+                    book.setTitle(rs.getString("title"));
+                    book.setPrice(rs.getDouble("price"));
+                    book.setStockQuantity(rs.getInt("stock_quantity"));
+                    books.put(book.getBookId(), book);
+                }
+            }
+        }
+        return books;
+    }
+
+    private PendingCheckout validate(Order order, Map<Integer, Book> books, Map<Integer, Integer> remainingStock) {
+        PendingCheckout checkout = new PendingCheckout(order);
+        if (order.getOrderItems() == null) {
+            return checkout;
+        }
+        for (OrderItem item : order.getOrderItems()) {
+            Book book = books.get(item.getBookId());
+            int stock = book != null ? remainingStock.get(item.getBookId()) : 0;
+            if (book == null || stock < item.getQuantity()) {
+                checkout.unavailableItems.add(item);
+                checkout.unavailableBooks.add("'" + (book != null ? book.getTitle() : "N/A") + "' (ID: " + item.getBookId() + ")");
+            } else {
+                remainingStock.put(item.getBookId(), stock - item.getQuantity());
+                item.setUnitPrice(book.getPrice());
+                checkout.acceptedItems.add(item);
+                checkout.totalAmount += item.getQuantity() * item.getUnitPrice();
+            }
+        }
+        return checkout;
+    }
+
+    private void insertOrders(Connection conn, List<PendingCheckout> checkouts) throws SQLException {
+        String sql = "INSERT INTO Orders (customer_id, total_amount, status) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (PendingCheckout checkout : checkouts) {
+                pstmt.setInt(1, checkout.order.getCustomerId());
+                pstmt.setDouble(2, checkout.totalAmount);
+                pstmt.setString(3, checkout.order.getStatus().name());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+
+            // Keys come back in batch order
+            try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                for (PendingCheckout checkout : checkouts) {
+                    if (!rs.next()) {
+                        throw new SQLException("Creating order failed, no ID obtained.");
+                    }
+                    checkout.orderId = rs.getInt(1);
+                }
+            }
+        }
+    }
+
+    private void insertOrderItems(Connection conn, List<PendingCheckout> checkouts) throws SQLException {
+        String sql = "INSERT INTO OrderItems (order_id, book_id, quantity, unit_price) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (PendingCheckout checkout : checkouts) {
+                for (OrderItem item : checkout.acceptedItems) {
+                    pstmt.setInt(1, checkout.orderId);
+                    pstmt.setInt(2, item.getBookId());
+                    pstmt.setInt(3, item.getQuantity());
+                    pstmt.setDouble(4, item.getUnitPrice());
+                    pstmt.addBatch();
+                }
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * One order's checkout while its transaction is open
+     */
+    private static final class PendingCheckout {
+        private final Order order;
+        private final List<OrderItem> acceptedItems = new ArrayList<>();
+        private final List<OrderItem> unavailableItems = new ArrayList<>();
+        private final List<String> unavailableBooks = new ArrayList<>();
+        private double totalAmount;
+        private int orderId = -1;
+
+        private PendingCheckout(Order order) {
+            this.order = order;
+        }
+
+        /**
+         * Apply the committed (or rolled back) outcome to the order
+         */
+        private CheckoutResult complete() {
+            if (order.getOrderItems() != null) {
+                order.getOrderItems().removeAll(unavailableItems);
+            }
+            if (acceptedItems.isEmpty()) {
+                return CheckoutResult.noItemsAvailable(unavailableBooks);
+            }
+            order.setTotalAmount(totalAmount);
+            order.setOrderId(orderId);
+            return CheckoutResult.placed(orderId, totalAmount, unavailableBooks);
+        }
+    }
+
+    /**
+     * Outcome of placeOrder / placeOrders for one order
+     */
+    public static class CheckoutResult {
+        public enum Outcome { PLACED, NO_ITEMS_AVAILABLE, FAILED }
+
+        private final Outcome outcome;
+        private final int orderId;
+        private final double totalAmount;
+        private final List<String> unavailableBooks;
+        private final String error;
+
+        private CheckoutResult(Outcome outcome, int orderId, double totalAmount,
+                               List<String> unavailableBooks, String error) {
+            this.outcome = outcome;
+            this.orderId = orderId;
+            this.totalAmount = totalAmount;
+            this.unavailableBooks = unavailableBooks;
+            this.error = error;
+        }
+
+        public static CheckoutResult placed(int orderId, double totalAmount, List<String> unavailableBooks) {
+            return new CheckoutResult(Outcome.PLACED, orderId, totalAmount, unavailableBooks, null);
+        }
+
+        public static CheckoutResult noItemsAvailable(List<String> unavailableBooks) {
+            return new CheckoutResult(Outcome.NO_ITEMS_AVAILABLE, -1, 0, unavailableBooks, null);
+        }
+
+        public static CheckoutResult failed(String error) {
+            return new CheckoutResult(Outcome.FAILED, -1, 0, new ArrayList<>(), error);
+        }
+
+        // Getters
+        public Outcome getOutcome() { return outcome; }
+        public boolean isPlaced() { return outcome == Outcome.PLACED; }
+        public int getOrderId() { return orderId; }
+        public double getTotalAmount() { return totalAmount; }
+        public List<String> getUnavailableBooks() { return unavailableBooks; }
+        public String getError() { return error; }
+
+        @Override
+        public String toString() {
+            return String.format("CheckoutResult{outcome=%s, orderId=%d, total=%.2f, unavailable=%d}",
+                outcome, orderId, totalAmount, unavailableBooks.size());
+        }
+    }
+
     // Get order by id
     public Order getOrderById(int orderId) {
         String sqlOrder = "SELECT * FROM Orders WHERE order_id = ?";
@@ -138,6 +433,101 @@ public class OrderDAO {
         }
     }
 
+    // Move many orders from one status to another in one transaction.
+    // Orders no longer in the expected status (moved meanwhile by the processing engine or another
+    // session) are left alone. Returns the IDs of the orders that were moved (empty on any error,
+    // in which case nothing is changed).
+    public List<Integer> updateOrderStatuses(List<Integer> orderIds, OrderStatus expectedStatus, OrderStatus newStatus) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT order_id FROM Orders WHERE status = ? AND order_id IN ("
+                + String.join(", ", Collections.nCopies(orderIds.size(), "?")) + ") FOR UPDATE";
+        return transitionLockedOrders(sql, orderIds, expectedStatus, newStatus);
+    }
+
+    // Move every order in one status to another in one transaction (set-based: no order is
+    // loaded). Returns the IDs of the orders that were moved (empty on any error).
+    public List<Integer> transitionAllOrderStatuses(OrderStatus fromStatus, OrderStatus toStatus) {
+        String sql = "SELECT order_id FROM Orders WHERE status = ? FOR UPDATE";
+        return transitionLockedOrders(sql, Collections.emptyList(), fromStatus, toStatus);
+    }
+
+    // Lock and list the orders the query selects (status first, then the given IDs), then move
+    // exactly those with one UPDATE; the locks keep the list accurate until the commit
+    private List<Integer> transitionLockedOrders(String selectSql, List<Integer> orderIds,
+                                                 OrderStatus expectedStatus, OrderStatus newStatus) {
+        List<Integer> movedIds = new ArrayList<>();
+        Connection conn = null;
+        try {
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(false); // Start transaction
+
+            try (PreparedStatement pstmt = conn.prepareStatement(selectSql)) {
+                pstmt.setString(1, expectedStatus.name());
+                for (int i = 0; i < orderIds.size(); i++) {
+                    pstmt.setInt(i + 2, orderIds.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        movedIds.add(rs.getInt("order_id"));
+                    }
+                }
+            }
+
+            if (!movedIds.isEmpty()) {
+                String sql = "UPDATE Orders SET status = ? WHERE status = ? AND order_id IN ("
+                        + String.join(", ", Collections.nCopies(movedIds.size(), "?")) + ")";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, newStatus.name());
+                    pstmt.setString(2, expectedStatus.name());
+                    for (int i = 0; i < movedIds.size(); i++) {
+                        pstmt.setInt(i + 3, movedIds.get(i));
+                    }
+                    pstmt.executeUpdate();
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            System.err.println("Error updating order statuses: " + e.getMessage());
+            movedIds.clear();
+            // Rollback if error
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackEx) {
+                    System.err.println("Error during rollback: " + rollbackEx.getMessage());
+                }
+            }
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true); // Reset auto-commit
+                    conn.close();
+                } catch (SQLException closeEx) {
+                    System.err.println("Error closing connection: " + closeEx.getMessage());
+                }
+            }
+        }
+        return movedIds;
+    }
+
+    // Update status only if the order is still in the expected status (compare-and-set on the row),
+    // so concurrent workers or sessions cannot both claim the same order
+    public boolean transitionOrderStatus(int orderId, String expectedStatus, String newStatus) {
+        String sql = "UPDATE Orders SET status = ? WHERE order_id = ? AND status = ?";
+        try (Connection conn = DBConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, newStatus);
+            pstmt.setInt(2, orderId);
+            pstmt.setString(3, expectedStatus);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("Error transitioning order status: " + e.getMessage());
+            return false;
+        }
+    }
+
     // Get all orders
     public List<Order> getAllOrders() {
         List<Order> orders = new ArrayList<>();
@@ -156,6 +546,77 @@ public class OrderDAO {
         return orders;
     }
 
+    /**
+     * Stream the orders the queues hold (PENDING and PROCESSING) with their
+     * items, in one query over idx_orders_status_date: pending orders first,
+     * oldest first within each status. Rows are streamed from the server, so
+     * the cost follows the number of active orders, not the order history.
+     *
+     * @param customerId Only this customer's orders, or null for all
+     * @param action Called with each complete order, in order; it must not
+     *               use this DAO's streaming connection (other DAO calls are fine)
+     * @return The number of orders streamed, or -1 if the query failed
+     */
+    public int forEachActiveOrder(Integer customerId, Consumer<Order> action) {
+        String sql = "SELECT o.order_id, o.customer_id, o.order_date, o.total_amount, o.status, " +
+                "i.order_item_id, i.book_id, i.quantity, i.unit_price " +
+                "FROM Orders o " +
+                "LEFT JOIN OrderItems i ON i.order_id = o.order_id " +
+                "WHERE o.status IN ('PENDING', 'PROCESSING')" +
+                (customerId != null ? " AND o.customer_id = ?" : "") +
+                " ORDER BY o.status, o.order_date, o.order_id";
+
+        int count = 0;
+        try (Connection conn = DBConnection.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(Integer.MIN_VALUE); // MySQL: stream rows instead of buffering the result
+            if (customerId != null) {
+                pstmt.setInt(1, customerId);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                // The rows of one order are adjacent: finish an order when the next one starts
+                Order current = null;
+                while (rs.next()) {
+                    int orderId = rs.getInt("order_id");
+                    if (current == null || current.getOrderId() != orderId) {
+                        if (current != null) {
+                            action.accept(current);
+                            count++;
+                        }
+                        current = new Order();
+                        current.setOrderId(orderId);
+                        current.setCustomerId(rs.getInt("customer_id"));
+                        current.setOrderDate(rs.getDate("order_date"));
+                        current.setTotalAmount(rs.getDouble("total_amount"));
+                        current.setStatus(OrderStatus.valueOf(rs.getString("status")));
+                        current.setOrderItems(new ArrayList<>());
+                    }
+
+                    int orderItemId = rs.getInt("order_item_id");
+                    if (!rs.wasNull()) {
+                        OrderItem item = new OrderItem();
+                        item.setOrderItemId(orderItemId);
+                        item.setOrderId(orderId);
+                        item.setBookId(rs.getInt("book_id"));
+                        item.setQuantity(rs.getInt("quantity"));
+                        item.setUnitPrice(rs.getDouble("unit_price"));
+                        current.getOrderItems().add(item);
+                    }
+                }
+                if (current != null) {
+                    action.accept(current);
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error streaming active orders: " + e.getMessage());
+            return -1;
+        }
+        return count;
+    }
+
     /**
      * Get orders by customer ID
      * 
@@ -16,6 +16,14 @@ import com.bookstore.service.CustomerService;
 import com.bookstore.service.SessionDataManager;
 import com.bookstore.util.database.DatabaseInitializer;
 import com.bookstore.util.database.DatabaseTestUtil;
+import com.bookstore.util.event.OrderAuditLog;
+import com.bookstore.util.event.OrderEventBus;
+import com.bookstore.util.queue.OrderQueueManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Console-based Bookstore Management System
@@ -39,6 +47,10 @@ public class Main {
     private static BookService bookService;
     private static CustomerService customerService;
     
+    // Order lifecycle events
+    private static OrderEventBus orderEventBus;
+    private static OrderAuditLog orderAuditLog;
+    
     // Controllers
     private static BookManagementController bookController;
     private static CustomerManagementController customerController;
@@ -72,6 +84,10 @@ public class Main {
             System.out.println();
         }
 
+        shutdownProcessingEngine();
+        shutdownGroupCommit();
+        shutdownEventBus();
+        OrderQueueManager.disableJournal();
         menuManager.displayExitMessage();
     }
 
@@ -103,6 +119,119 @@ public class Main {
 
         // Update order service to use session manager
         orderService = new OrderService(sessionManager);
+
+        // Optionally keep only order ids in the queues, resolved through the order cache
+        if ("ids".equalsIgnoreCase(System.getProperty("bookstore.queue.storage", "orders"))) {
+            OrderQueueManager.setQueueStorage(OrderQueueManager.QueueStorage.ORDER_IDS, sessionManager::resolveOrder);
+        }
+
+        initializeEventBus();
+        initializeGroupCommit();
+    }
+
+    /**
+     * Fan order status changes out to the cache, queues, statistics and the
+     * audit log (system property bookstore.audit.file, default
+     * data/order-audit.log) through the order event bus
+     */
+    private static void initializeEventBus() {
+        orderEventBus = new OrderEventBus(1024);
+        orderService.useEventBus(orderEventBus);
+
+        Path auditFile = Paths.get(System.getProperty("bookstore.audit.file", "data/order-audit.log"));
+        try {
+            orderAuditLog = new OrderAuditLog(auditFile);
+            orderEventBus.subscribe("audit", orderAuditLog);
+        } catch (IOException e) {
+            System.err.println("Order audit log unavailable: " + e.getMessage());
+        }
+        orderEventBus.start();
+    }
+
+    /**
+     * Optionally let concurrent checkouts share one transaction (system
+     * properties bookstore.checkout.groupCommit.maxBatch, 0 to disable, and
+     * bookstore.checkout.groupCommit.maxDelayMs, default 5)
+     */
+    private static void initializeGroupCommit() {
+        int maxBatch = Integer.getInteger("bookstore.checkout.groupCommit.maxBatch", 0);
+        if (maxBatch > 0) {
+            long maxDelay = Long.getLong("bookstore.checkout.groupCommit.maxDelayMs", 5);
+            orderService.enableGroupCommit(maxBatch, maxDelay);
+        }
+    }
+
+    /**
+     * Let the order processing workers finish the orders in hand
+     */
+    private static void shutdownProcessingEngine() {
+        try {
+            if (!orderService.shutdownProcessingEngine(5, TimeUnit.SECONDS)) {
+                System.err.println("Order processing did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Commit the checkouts still waiting for a group commit
+     */
+    private static void shutdownGroupCommit() {
+        try {
+            if (!orderService.disableGroupCommit(5, TimeUnit.SECONDS)) {
+                System.err.println("Pending checkouts were not committed in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Let the event subscribers finish and close the audit log
+     */
+    private static void shutdownEventBus() {
+        try {
+            if (!orderEventBus.shutdown(5, TimeUnit.SECONDS)) {
+                System.err.println("Order event subscribers did not finish in time");
+            }
+            if (orderAuditLog != null) {
+                orderAuditLog.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Error closing order audit log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Let full order queues spill order ids to disk (system property
+     * bookstore.queue.overflow.dir, default data/queue-overflow); spilled
+     * orders are reloaded from the database as the queues drain.
+     */
+    private static void initializeQueueOverflow() {
+        Path directory = Paths.get(System.getProperty("bookstore.queue.overflow.dir", "data/queue-overflow"));
+        try {
+            OrderQueueManager.enableOverflow(directory, orderDAO::getOrderById);
+        } catch (IOException e) {
+            System.err.println("Queue overflow unavailable, full queues will reject orders: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Recover order queues from the journal directory (system property
+     * bookstore.queue.journal.dir, default data/queue-journal). Without a
+     * journal the queues stay in memory and are rebuilt at every login.
+     */
+    private static void initializeQueueJournal() {
+        Path directory = Paths.get(System.getProperty("bookstore.queue.journal.dir", "data/queue-journal"));
+        try {
+            int recovered = OrderQueueManager.enableJournal(directory, true);
+            System.out.println("Order queues recovered: " + recovered + " entries.");
+        } catch (IOException e) {
+            System.err.println("Queue journal unavailable, queues will not survive restarts: " + e.getMessage());
+        }
     }
 
     /**
@@ -121,6 +250,10 @@ public class Main {
                 System.exit(1);
             }
 
+            // Let full queues spill to disk, then recover them from the queue journal
+            initializeQueueOverflow();
+            initializeQueueJournal();
+
             // Create default admin if it doesn't exist
             if (authService.getUserDAOForInitialization().getUserByUsername("admin") == null) {
                 System.out.println("Creating default admin account...");
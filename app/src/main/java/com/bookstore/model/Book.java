@@ -9,6 +9,16 @@ public class Book {
     private int stockQuantity;
     private String category;
 
+    // Lowercased search keys, recomputed only when the source field changes
+    private String titleKey;
+    private String titleKeySource;
+    private String authorKey;
+    private String authorKeySource;
+    private String isbnKey;
+    private String isbnKeySource;
+    private String categoryKey;
+    private String categoryKeySource;
+
     // Default constructor
     public Book() {
     }
@@ -96,6 +106,39 @@ public class Book {
         this.category = category;
     }
 
+    // Normalized search keys (see SearchingAlgorithms)
+    public String getTitleKey() {
+        if (titleKeySource != title) {
+            titleKey = title != null ? title.toLowerCase() : null;
+            titleKeySource = title;
+        }
+        return titleKey;
+    }
+
+    public String getAuthorKey() {
+        if (authorKeySource != author) {
+            authorKey = author != null ? author.toLowerCase() : null;
+            authorKeySource = author;
+        }
+        return authorKey;
+    }
+
+    public String getIsbnKey() {
+        if (isbnKeySource != isbn) {
+            isbnKey = isbn != null ? isbn.toLowerCase() : null;
+            isbnKeySource = isbn;
+        }
+        return isbnKey;
+    }
+
+    public String getCategoryKey() {
+        if (categoryKeySource != category) {
+            categoryKey = category != null ? category.toLowerCase() : null;
+            categoryKeySource = category;
+        }
+        return categoryKey;
+    }
+
     // Utility methods
     public boolean isInStock() {
         return stockQuantity > 0;
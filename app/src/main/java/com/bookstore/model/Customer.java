@@ -19,6 +19,13 @@ public class Customer extends User {
     private String preferredPaymentMethod;
     private boolean emailNotifications;
 
+    // Lowercased search keys, recomputed only when the source fields change
+    private String nameKey;
+    private String nameKeyFirstSource;
+    private String nameKeyLastSource;
+    private String emailKey;
+    private String emailKeySource;
+
     // Constructors
     public Customer() {
         super();
@@ -80,6 +87,24 @@ public class Customer extends User {
         }
     }
 
+    // Normalized search keys (see SearchingAlgorithms)
+    public String getNameKey() {
+        if (nameKey == null || nameKeyFirstSource != firstName || nameKeyLastSource != lastName) {
+            nameKey = getName().toLowerCase();
+            nameKeyFirstSource = firstName;
+            nameKeyLastSource = lastName;
+        }
+        return nameKey;
+    }
+
+    public String getEmailKey() {
+        if (emailKeySource != email) {
+            emailKey = email != null ? email.toLowerCase() : null;
+            emailKeySource = email;
+        }
+        return emailKey;
+    }
+
     public String getAddress() {
         return address;
     }
@@ -0,0 +1,57 @@
+package com.bookstore.model;
+
+/**
+ * Customer tiers, as computed by the CustomerStatistics view from total_spent
+ * Declared from highest to lowest tier.
+ */
+public enum CustomerTier {
+    VIP("VIP", 1000),
+    PREMIUM("Premium", 500),
+    REGULAR("Regular", 100),
+    NEW("New", 0);
+
+    private final String label;
+    private final double minimumSpent;
+
+    CustomerTier(String label, double minimumSpent) {
+        this.label = label;
+        this.minimumSpent = minimumSpent;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public double getMinimumSpent() {
+        return minimumSpent;
+    }
+
+    /**
+     * Tier for a total amount spent (same thresholds as the view)
+     */
+    public static CustomerTier fromTotalSpent(double totalSpent) {
+        for (CustomerTier tier : values()) {
+            if (totalSpent >= tier.minimumSpent) {
+                return tier;
+            }
+        }
+        return NEW;
+    }
+
+    /**
+     * Tier for a customer_tier value from the view; unknown values map to NEW
+     */
+    public static CustomerTier fromLabel(String label) {
+        for (CustomerTier tier : values()) {
+            if (tier.label.equalsIgnoreCase(label)) {
+                return tier;
+            }
+        }
+        return NEW;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -17,6 +17,11 @@ public class Order {
     private Date estimatedDeliveryDate;
     private String notes;
     private List<OrderItem> orderItems;
+
+    // Lowercased tracking number for searching, recomputed only when the source changes
+    private String trackingNumberKey;
+    private String trackingNumberKeySource;
+
     // Default constructor
     public Order() {
     }
@@ -111,6 +116,15 @@ public class Order {
         this.trackingNumber = trackingNumber;
     }
 
+    // Normalized search key (see SearchingAlgorithms)
+    public String getTrackingNumberKey() {
+        if (trackingNumberKeySource != trackingNumber) {
+            trackingNumberKey = trackingNumber != null ? trackingNumber.toLowerCase() : null;
+            trackingNumberKeySource = trackingNumber;
+        }
+        return trackingNumberKey;
+    }
+
     public Timestamp getShippedDate() {
         return shippedDate;
     }
@@ -2,4 +2,23 @@ package com.bookstore.model;
 
 public enum OrderStatus {
     PENDING, PROCESSING, SHIPPED, DELIVERED, CANCELLED;
+
+    /**
+     * Check if an order may move from this status to another
+     * Orders go PENDING -> PROCESSING -> SHIPPED -> DELIVERED, can be
+     * cancelled until they ship, and a PROCESSING order can be handed back to
+     * PENDING. DELIVERED and CANCELLED are final.
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        switch (this) {
+            case PENDING:
+                return next == PROCESSING || next == CANCELLED;
+            case PROCESSING:
+                return next == SHIPPED || next == CANCELLED || next == PENDING;
+            case SHIPPED:
+                return next == DELIVERED;
+            default:
+                return false;
+        }
+    }
 }
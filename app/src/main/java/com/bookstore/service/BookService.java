@@ -4,19 +4,68 @@ import com.bookstore.dao.BookDAO;
 import com.bookstore.model.Book;
 import com.bookstore.model.Role;
 import com.bookstore.model.User;
+import com.bookstore.util.algorithms.SearchQuery;
 import com.bookstore.util.algorithms.SearchingAlgorithms;
-import com.bookstore.util.algorithms.SortingAlgorithms;
+import com.bookstore.util.algorithms.SortSpec;
+import com.bookstore.util.cache.SearchResultCache;
+import com.bookstore.util.index.BitmapIndex;
+import com.bookstore.util.index.Query;
+import com.bookstore.util.index.QueryEngine;
+import com.bookstore.util.index.RangeIndex;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class BookService {
     
+    // Number of distinct search/sort/filter results kept in the result cache
+    private static final int RESULT_CACHE_SIZE = 64;
+    
     private SessionDataManager sessionManager;
     private BookDAO bookDAO;
     
+    // Result cache, invalidated whenever the catalog version moves
+    private final SearchResultCache<Book> resultCache = new SearchResultCache<>(RESULT_CACHE_SIZE);
+    private long catalogVersion;
+    private RangeIndex<Book> priceIndex;
+    private RangeIndex<Book> stockIndex;
+    private BitmapIndex<Book, String> categoryIndex;
+    private BitmapIndex<Book, StockBand> stockBandIndex;
+    private long indexVersion = -1;
+    private QueryEngine<Book> queryEngine;
+    private long queryEngineVersion = -1;
+    private List<Book> catalogSnapshot;
+    
+    /**
+     * Sortable book fields for sort specifications
+     */
+    public static final SortSpec.Fields<Book> SORT_FIELDS = new SortSpec.Fields<Book>()
+            .intField("book_id", Book::getBookId)
+            .textField("title", Book::getTitleKey)
+            .textField("author", Book::getAuthorKey)
+            .doubleField("price", Book::getPrice)
+            .intField("stock_quantity", Book::getStockQuantity)
+            .textField("category", Book::getCategoryKey);
+    
+    // Position order of the bitmap indexes, so selections come out sorted by title
+    private static final SortSpec<Book> BITMAP_ORDER = SortSpec.parse("title asc, book_id asc", SORT_FIELDS);
+    
+    /**
+     * Stock availability bands, matching the alert levels of the InventoryAlerts view
+     */
+    public enum StockBand {
+        OUT_OF_STOCK, CRITICAL, LOW, IN_STOCK;
+
+        public static StockBand of(int stockQuantity) {
+            if (stockQuantity <= 0) return OUT_OF_STOCK;
+            if (stockQuantity <= 5) return CRITICAL;
+            if (stockQuantity <= 10) return LOW;
+            return IN_STOCK;
+        }
+    }
+    
     /**
      * Constructor with session manager dependency
      */
@@ -27,26 +76,43 @@ public class BookService {
     
     /**
      * Sort books by specified field and order
-     * @param field The field to sort by (book_id, title, author, price, stock_quantity)
+     * @param field The field to sort by (book_id, title, author, price, stock_quantity, category)
      * @param ascending True for ascending order, false for descending
      * @return Sorted list of books
      */
     public List<Book> sort(String field, boolean ascending) {
+        return sort(SortSpec.of(field, ascending, SORT_FIELDS));
+    }
+    
+    /**
+     * Sort books by a multi-key specification
+     * @param sortSpec e.g. "category asc, price desc, title asc" (see SORT_FIELDS)
+     * @return Sorted list of books
+     */
+    public List<Book> sort(String sortSpec) {
+        return sort(SortSpec.parse(sortSpec, SORT_FIELDS));
+    }
+    
+    /**
+     * Sort books by a compiled specification
+     * @param spec The compiled sort specification
+     * @return Sorted list of books
+     */
+    public List<Book> sort(SortSpec<Book> spec) {
         List<Book> books = getCachedBooksForCurrentUser();
         if (books == null || books.isEmpty()) {
             return new ArrayList<>();
         }
         
-        // Create a copy to avoid modifying the original cached list
-        List<Book> sortedBooks = new ArrayList<>(books);
-        Comparator<Book> comparator = getBookComparator(field);
-        
-        if (!ascending) {
-            comparator = comparator.reversed();
+        long version = getCatalogVersion();
+        SearchResultCache.Key key = new SearchResultCache.Key(null, spec.toString(), null);
+        List<Book> cached = resultCache.get(key, version);
+        if (cached != null) {
+            return cached;
         }
         
-        SortingAlgorithms.quickSort(sortedBooks, comparator);
-        return sortedBooks;
+        // SortSpec sorts a copy, so the cached session list is not modified
+        return resultCache.put(key, spec.sort(books), version);
     }
     
     /**
@@ -60,7 +126,15 @@ public class BookService {
             return new ArrayList<>();
         }
         
-        return SearchingAlgorithms.searchBooks(books, searchTerm);
+        SearchQuery query = SearchQuery.parse(searchTerm);
+        long version = getCatalogVersion();
+        SearchResultCache.Key key = new SearchResultCache.Key(query.getTerm(), null, null);
+        List<Book> cached = resultCache.get(key, version);
+        if (cached != null) {
+            return cached;
+        }
+        
+        return resultCache.put(key, SearchingAlgorithms.searchBooks(books, query), version);
     }
     
     /**
@@ -75,19 +149,151 @@ public class BookService {
             return new ArrayList<>();
         }
 
-        // Filter by category
-        List<Book> filteredBooks = books.stream()
-                .filter(book -> category.equals(book.getCategory()))
-                .collect(Collectors.toList());
+        long version = getCatalogVersion();
+        SearchResultCache.Key key = new SearchResultCache.Key(null, sortKey("title", ascending), category);
+        List<Book> cached = resultCache.get(key, version);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Category bitmap, positions are already in title order
+        BitmapIndex<Book, String> index = getCategoryIndex();
+        List<Book> filteredBooks = index.select(index.get(category), ascending);
+        return resultCache.put(key, filteredBooks, version);
+    }
+
+    /**
+     * Find books with min <= price <= max, cheapest first
+     * @return Read-only list of matching books
+     */
+    public List<Book> findByPriceRange(double minPrice, double maxPrice) {
+        return getPriceIndex().range(minPrice, maxPrice);
+    }
+
+    /**
+     * Find books with min <= stock quantity <= max, lowest stock first
+     * @return Read-only list of matching books
+     */
+    public List<Book> findByStockRange(int minStock, int maxStock) {
+        return getStockIndex().range(minStock, maxStock);
+    }
+
+    /**
+     * Get the price range index, rebuilt when the catalog version moves
+     */
+    public RangeIndex<Book> getPriceIndex() {
+        refreshIndexes();
+        return priceIndex;
+    }
+
+    /**
+     * Get the stock range index, rebuilt when the catalog version moves
+     */
+    public RangeIndex<Book> getStockIndex() {
+        refreshIndexes();
+        return stockIndex;
+    }
+
+    /**
+     * Get the category bitmap index (positions in title order)
+     */
+    public BitmapIndex<Book, String> getCategoryIndex() {
+        refreshIndexes();
+        return categoryIndex;
+    }
+
+    /**
+     * Get the stock band bitmap index (same positions as the category index)
+     */
+    public BitmapIndex<Book, StockBand> getStockBandIndex() {
+        refreshIndexes();
+        return stockBandIndex;
+    }
+
+    /**
+     * Run a composed catalog query, e.g. fantasy under $20 by an author, sorted by price:
+     * <pre>
+     * query(Query.&lt;Book&gt;create().eq("category", "Fantasy").atMost("price", 20)
+     *         .eq("author", "Terry Pratchett").orderBy("price asc"))
+     * </pre>
+     * Fields: book_id, author (hash), category, stock_band (bitmap),
+     * price, stock_quantity (range), text over title and author words.
+     * Sorting accepts the SORT_FIELDS names.
+     * @param query The query to run
+     * @return Matching books
+     * @throws IllegalArgumentException if the query names an unknown field
+     */
+    public List<Book> query(Query<Book> query) {
+        return getQueryEngine().execute(query);
+    }
 
-        // Sort by title
-        Comparator<Book> comparator = Comparator.comparing(Book::getTitle, String.CASE_INSENSITIVE_ORDER);
-        if (!ascending) {
-            comparator = comparator.reversed();
+    /**
+     * Get the query engine for the current catalog, rebuilt when the catalog version moves
+     */
+    public synchronized QueryEngine<Book> getQueryEngine() {
+        refreshIndexes();
+        if (queryEngine == null || queryEngineVersion != indexVersion) {
+            queryEngine = new QueryEngine<>(getCachedBooksForCurrentUser(), SORT_FIELDS)
+                    .hashIndex("book_id", Book::getBookId)
+                    .hashIndex("author", Book::getAuthorKey)
+                    .bitmapIndex("category", Book::getCategoryKey)
+                    .bitmapIndex("stock_band", book -> StockBand.of(book.getStockQuantity()))
+                    .rangeIndex("price", priceIndex, Book::getPrice)
+                    .rangeIndex("stock_quantity", stockIndex, Book::getStockQuantity)
+                    .textIndex(Book::getTitleKey, Book::getAuthorKey);
+            queryEngineVersion = indexVersion;
         }
+        return queryEngine;
+    }
+
+    /**
+     * Filter books by any of the given categories AND any of the given stock bands
+     * @param categories Categories to include, or null/empty for all
+     * @param bands Stock bands to include, or null/empty for all
+     * @param ascending True for title ascending, false for descending
+     * @return Matching books sorted by title
+     */
+    public List<Book> filter(Collection<String> categories, Collection<StockBand> bands, boolean ascending) {
+        return categoryIndex().select(selectBits(categories, bands), ascending);
+    }
 
-        SortingAlgorithms.quickSort(filteredBooks, comparator);
-        return filteredBooks;
+    /**
+     * Get one page of a category/stock band filter without materializing the other pages
+     * @param pageNumber The page number (1-based)
+     * @param pageSize The number of books per page
+     */
+    public List<Book> getFilteredPage(Collection<String> categories, Collection<StockBand> bands,
+                                      boolean ascending, int pageNumber, int pageSize) {
+        return categoryIndex().selectPage(selectBits(categories, bands), ascending, pageNumber, pageSize);
+    }
+
+    /**
+     * Count books matching a category/stock band filter
+     */
+    public int count(Collection<String> categories, Collection<StockBand> bands) {
+        return selectBits(categories, bands).cardinality();
+    }
+
+    /**
+     * Get the catalog version
+     * Bumped on every book write and whenever the session reloads its book list.
+     * @return The current catalog version
+     */
+    public long getCatalogVersion() {
+        List<Book> books = getCachedBooksForCurrentUser();
+        if (books != catalogSnapshot) {
+            catalogSnapshot = books;
+            catalogVersion++;
+        }
+        return catalogVersion;
+    }
+    
+    /**
+     * Get search result cache statistics (hit rate, evictions, invalidations)
+     * @return Snapshot of the cache statistics
+     */
+    public SearchResultCache.CacheStatistics getResultCacheStatistics() {
+        return resultCache.getStatistics();
     }
 
     /**
@@ -117,6 +323,7 @@ public class BookService {
             // Add to cache if successful
             book.setBookId(bookId);
             addBookToCache(book);
+            markCatalogChanged();
             System.out.println("Book added successfully with ID: " + bookId);
         }
         
@@ -141,6 +348,7 @@ public class BookService {
         if (updated) {
             // Update in cache
             updateBookInCache(book);
+            markCatalogChanged();
             System.out.println("Book updated successfully: " + book.getTitle());
         }
         
@@ -165,6 +373,7 @@ public class BookService {
         if (deleted) {
             // Remove from cache
             removeBookFromCache(bookId);
+            markCatalogChanged();
             System.out.println("Book deleted successfully with ID: " + bookId);
         }
         
@@ -218,6 +427,7 @@ public class BookService {
                 cachedBook.setStockQuantity(cachedBook.getStockQuantity() + quantityChange);
                 updateBookInCache(cachedBook);
             }
+            markCatalogChanged();
             System.out.println("Book stock updated successfully for ID: " + bookId);
         }
         
@@ -244,24 +454,62 @@ public class BookService {
     }
     
     /**
-     * Get comparator for book sorting
-     */
-    private Comparator<Book> getBookComparator(String field) {
-        switch (field.toLowerCase()) {
-            case "book_id":
-                return Comparator.comparing(Book::getBookId);
-            case "title":
-                return Comparator.comparing(Book::getTitle, String.CASE_INSENSITIVE_ORDER);
-            case "author":
-                return Comparator.comparing(Book::getAuthor, String.CASE_INSENSITIVE_ORDER);
-            case "price":
-                return Comparator.comparing(Book::getPrice);
-            case "stock_quantity":
-                return Comparator.comparing(Book::getStockQuantity);
-            default:
-                throw new IllegalArgumentException("Invalid sort field: " + field);
+     * Build the cache key component for a sort field and direction
+     */
+    private String sortKey(String field, boolean ascending) {
+        return field.toLowerCase() + (ascending ? " asc" : " desc");
+    }
+    
+    /**
+     * Rebuild the range and bitmap indexes if the catalog changed since they were built
+     */
+    private synchronized void refreshIndexes() {
+        long version = getCatalogVersion();
+        if (version != indexVersion || priceIndex == null) {
+            List<Book> books = getCachedBooksForCurrentUser();
+            if (books == null) {
+                books = new ArrayList<>();
+            }
+            priceIndex = RangeIndex.build(books, Book::getPrice);
+            stockIndex = RangeIndex.build(books, Book::getStockQuantity);
+
+            List<Book> positions = BITMAP_ORDER.sort(books);
+            categoryIndex = BitmapIndex.build(positions, Book::getCategory);
+            stockBandIndex = BitmapIndex.build(positions, book -> StockBand.of(book.getStockQuantity()));
+            indexVersion = version;
         }
     }
+
+    /**
+     * Current category index; both bitmap indexes share its positions
+     */
+    private BitmapIndex<Book, String> categoryIndex() {
+        refreshIndexes();
+        return categoryIndex;
+    }
+
+    /**
+     * Combine category and stock band bitmaps: OR within each attribute, AND across them
+     */
+    private BitSet selectBits(Collection<String> categories, Collection<StockBand> bands) {
+        refreshIndexes();
+        BitSet bits = new BitSet(categoryIndex.size());
+        bits.set(0, categoryIndex.size());
+        if (categories != null && !categories.isEmpty()) {
+            bits.and(categoryIndex.anyOf(categories));
+        }
+        if (bands != null && !bands.isEmpty()) {
+            bits.and(stockBandIndex.anyOf(bands));
+        }
+        return bits;
+    }
+
+    /**
+     * Record a catalog write so cached results are not served again
+     */
+    private void markCatalogChanged() {
+        catalogVersion++;
+    }
     
     /**
      * Add book to cache
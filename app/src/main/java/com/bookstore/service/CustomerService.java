@@ -5,10 +5,9 @@ import com.bookstore.model.Customer;
 import com.bookstore.model.Role;
 import com.bookstore.model.User;
 import com.bookstore.util.algorithms.SearchingAlgorithms;
-import com.bookstore.util.algorithms.SortingAlgorithms;
+import com.bookstore.util.algorithms.SortSpec;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -20,6 +19,14 @@ public class CustomerService {
     private SessionDataManager sessionManager;
     private CustomerDAO customerDAO;
     
+    /**
+     * Sortable customer fields for sort specifications
+     */
+    public static final SortSpec.Fields<Customer> SORT_FIELDS = new SortSpec.Fields<Customer>()
+            .intField("customer_id", Customer::getCustomerId)
+            .textField("name", Customer::getNameKey)
+            .textField("email", Customer::getEmailKey);
+    
     /**
      * Constructor with session manager dependency
      */
@@ -35,21 +42,31 @@ public class CustomerService {
      * @return Sorted list of customers
      */
     public List<Customer> sort(String field, boolean ascending) {
+        return sort(SortSpec.of(field, ascending, SORT_FIELDS));
+    }
+    
+    /**
+     * Sort customers by a multi-key specification
+     * @param sortSpec e.g. "name asc, customer_id desc" (see SORT_FIELDS)
+     * @return Sorted list of customers
+     */
+    public List<Customer> sort(String sortSpec) {
+        return sort(SortSpec.parse(sortSpec, SORT_FIELDS));
+    }
+    
+    /**
+     * Sort customers by a compiled specification
+     * @param spec The compiled sort specification
+     * @return Sorted list of customers
+     */
+    public List<Customer> sort(SortSpec<Customer> spec) {
         List<Customer> customers = getCachedCustomersForCurrentUser();
         if (customers == null || customers.isEmpty()) {
             return new ArrayList<>();
         }
         
-        // Create a copy to avoid modifying the original cached list
-        List<Customer> sortedCustomers = new ArrayList<>(customers);
-        Comparator<Customer> comparator = getCustomerComparator(field);
-        
-        if (!ascending) {
-            comparator = comparator.reversed();
-        }
-        
-        SortingAlgorithms.quickSort(sortedCustomers, comparator);
-        return sortedCustomers;
+        // SortSpec sorts a copy, so the cached session list is not modified
+        return spec.sort(customers);
     }
     
     /**
@@ -241,22 +258,6 @@ public class CustomerService {
         return false;
     }
     
-    /**
-     * Get comparator for customer sorting
-     */
-    private Comparator<Customer> getCustomerComparator(String field) {
-        switch (field.toLowerCase()) {
-            case "customer_id":
-                return Comparator.comparing(Customer::getCustomerId);
-            case "name":
-                return Comparator.comparing(Customer::getName, String.CASE_INSENSITIVE_ORDER);
-            case "email":
-                return Comparator.comparing(Customer::getEmail, String.CASE_INSENSITIVE_ORDER);
-            default:
-                throw new IllegalArgumentException("Invalid sort field: " + field);
-        }
-    }
-    
     /**
      * Add customer to cache
      */
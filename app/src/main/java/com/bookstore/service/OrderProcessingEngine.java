@@ -0,0 +1,335 @@
+package com.bookstore.service;
+
+import com.bookstore.dao.OrderDAO;
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
+import com.bookstore.util.queue.OrderQueueManager;
+import com.bookstore.util.queue.WorkStealingDispatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background order processing engine
+ * A pool of virtual-thread workers takes orders from the pending queue and
+ * moves them to PROCESSING in the database and in OrderQueueManager.
+ *
+ * Each order moved to PROCESSING is reported to an OrderStatusListener,
+ * which re-files it in the queues; through OrderService the cache and the
+ * order event bus follow as for any other status change.
+ *
+ * Exclusivity: an order is claimed in memory (one worker per order ID) and
+ * then in the database with a conditional PENDING -> PROCESSING update, so an
+ * order already picked up elsewhere is never processed twice.
+ *
+ * Dispatch: by default every worker takes from the shared pending queue.
+ * With work stealing, one feeder drains the pending queue in batches into a
+ * WorkStealingDispatcher and each worker takes from its own deque, stealing
+ * from the others when it runs dry, so workers no longer contend on the
+ * pending queue lock for every order. Priority order then holds per batch
+ * rather than globally.
+ *
+ * Shutdown is graceful: workers finish the order in hand and stop taking new
+ * ones; orders still queued stay in (or go back to) the pending queue.
+ */
+public class OrderProcessingEngine {
+
+    // How long an idle worker parks on the pending queue before re-checking for shutdown
+    private static final long POLL_INTERVAL_MS = 200;
+    // Orders the feeder moves to the workers per pending queue lock
+    private static final int FEED_BATCH_SIZE = 64;
+    private static final long FEED_PAUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final OrderDAO orderDAO;
+    private final int workerCount;
+    private final WorkStealingDispatcher.OwnerOrder ownerOrder;
+    private final OrderStatusListener statusListener;
+    private final Set<Integer> inProgress = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    private volatile boolean running;
+    private ExecutorService workers;
+    private WorkStealingDispatcher<Order> dispatcher;
+    private volatile long startedAt;
+    private volatile long stoppedAt;
+
+    public OrderProcessingEngine(int workerCount) {
+        this(new OrderDAO(), workerCount);
+    }
+
+    public OrderProcessingEngine(OrderDAO orderDAO, int workerCount) {
+        this(orderDAO, workerCount, null);
+    }
+
+    /**
+     * @param ownerOrder Dispatch with work stealing, workers taking their own
+     *                   orders in this order; null to share the pending queue
+     */
+    public OrderProcessingEngine(OrderDAO orderDAO, int workerCount, WorkStealingDispatcher.OwnerOrder ownerOrder) {
+        this(orderDAO, workerCount, ownerOrder, (order, previousStatus, user) ->
+                OrderQueueManager.updateOrderInQueues(order));
+    }
+
+    /**
+     * @param ownerOrder Dispatch with work stealing, workers taking their own
+     *                   orders in this order; null to share the pending queue
+     * @param statusListener Told about each processed order (with no user);
+     *                       must re-file it in the queues
+     */
+    public OrderProcessingEngine(OrderDAO orderDAO, int workerCount, WorkStealingDispatcher.OwnerOrder ownerOrder,
+                                 OrderStatusListener statusListener) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+        this.orderDAO = orderDAO;
+        this.workerCount = workerCount;
+        this.ownerOrder = ownerOrder;
+        this.statusListener = statusListener;
+    }
+
+    /**
+     * Start the workers
+     * @return false if the engine is already running
+     */
+    public synchronized boolean start() {
+        if (running) {
+            return false;
+        }
+        running = true;
+        startedAt = System.nanoTime();
+        stoppedAt = 0;
+        workers = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("order-worker-", 0).factory());
+        if (ownerOrder == null) {
+            dispatcher = null;
+            for (int i = 0; i < workerCount; i++) {
+                workers.submit(this::runWorker);
+            }
+        } else {
+            dispatcher = new WorkStealingDispatcher<>(workerCount, ownerOrder);
+            workers.submit(this::runFeeder);
+            for (int i = 0; i < workerCount; i++) {
+                int worker = i;
+                workers.submit(() -> runStealingWorker(worker));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stop taking orders and wait for in-flight orders to finish
+     * @return true if all workers stopped within the timeout
+     */
+    public synchronized boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        if (workers == null) {
+            return true;
+        }
+        running = false;
+        workers.shutdown();
+        boolean stopped = workers.awaitTermination(timeout, unit);
+        if (!stopped) {
+            // Wake workers still parked on the queue
+            workers.shutdownNow();
+        }
+        workers = null;
+        if (dispatcher != null) {
+            // Orders handed to a worker but never started go back to the pending queue
+            for (Order order : dispatcher.drainAll()) {
+                OrderQueueManager.returnToPending(order);
+            }
+        }
+        stoppedAt = System.nanoTime();
+        return stopped;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * @return Counters of the work-stealing dispatcher, or null when workers
+     *         share the pending queue or the engine never started
+     */
+    public synchronized WorkStealingDispatcher.DispatchStatistics getDispatchStatistics() {
+        return dispatcher != null ? dispatcher.getStatistics() : null;
+    }
+
+    private void runWorker() {
+        while (running) {
+            Order order;
+            try {
+                order = OrderQueueManager.takeNextPendingOrder(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (order != null) {
+                process(order);
+            }
+        }
+    }
+
+    private void runFeeder() {
+        WorkStealingDispatcher<Order> target = dispatcher;
+        List<Order> batch = new ArrayList<>(FEED_BATCH_SIZE);
+        while (running) {
+            // Keep roughly one batch per worker queued; the rest stays in
+            // priority order in the pending queue
+            if (target.size() >= FEED_BATCH_SIZE * workerCount) {
+                LockSupport.parkNanos(FEED_PAUSE_NANOS);
+                continue;
+            }
+            batch.clear();
+            if (OrderQueueManager.drainPendingOrders(batch, FEED_BATCH_SIZE) == 0) {
+                Order order;
+                try {
+                    order = OrderQueueManager.takeNextPendingOrder(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (order != null) {
+                    batch.add(order);
+                }
+            }
+            for (Order order : batch) {
+                target.submit(order);
+            }
+        }
+    }
+
+    private void runStealingWorker(int worker) {
+        WorkStealingDispatcher<Order> source = dispatcher;
+        while (running) {
+            Order order;
+            try {
+                order = source.take(worker, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (order != null) {
+                process(order);
+            }
+        }
+    }
+
+    /**
+     * Move one order to PROCESSING (also used directly by tests)
+     * @return true if this call processed the order
+     */
+    boolean process(Order order) {
+        int orderId = order.getOrderId();
+        if (!inProgress.add(orderId)) {
+            skipped.increment();
+            return false;
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!orderDAO.transitionOrderStatus(orderId, OrderStatus.PENDING.name(), OrderStatus.PROCESSING.name())) {
+                // Not pending any more (claimed elsewhere) or the update failed; the row is unchanged
+                failed.increment();
+                return false;
+            }
+
+            order.setStatus(OrderStatus.PROCESSING);
+            statusListener.statusChanged(order, OrderStatus.PENDING, null);
+
+            long latency = System.nanoTime() - start;
+            processed.increment();
+            totalLatencyNanos.add(latency);
+            maxLatencyNanos.accumulate(latency);
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Error processing order " + orderId + ": " + e.getMessage());
+            failed.increment();
+            return false;
+        } finally {
+            inProgress.remove(orderId);
+        }
+    }
+
+    /**
+     * Snapshot of the counters
+     */
+    public EngineStatistics getStatistics() {
+        long count = processed.sum();
+        long end = stoppedAt != 0 ? stoppedAt : System.nanoTime();
+        long elapsedNanos = startedAt == 0 ? 0 : end - startedAt;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return new EngineStatistics(
+            running,
+            workerCount,
+            count,
+            failed.sum(),
+            skipped.sum(),
+            seconds > 0 ? count / seconds : 0,
+            count > 0 ? totalLatencyNanos.sum() / count / 1_000_000.0 : 0,
+            maxLatencyNanos.get() / 1_000_000.0
+        );
+    }
+
+    /**
+     * Statistics class for the processing engine
+     */
+    public static class EngineStatistics {
+        private final boolean running;
+        private final int workers;
+        private final long processedOrders;
+        private final long failedOrders;
+        private final long skippedOrders;
+        private final double ordersPerSecond;
+        private final double averageLatencyMs;
+        private final double maxLatencyMs;
+
+        public EngineStatistics(boolean running, int workers, long processedOrders, long failedOrders,
+                                long skippedOrders, double ordersPerSecond,
+                                double averageLatencyMs, double maxLatencyMs) {
+            this.running = running;
+            this.workers = workers;
+            this.processedOrders = processedOrders;
+            this.failedOrders = failedOrders;
+            this.skippedOrders = skippedOrders;
+            this.ordersPerSecond = ordersPerSecond;
+            this.averageLatencyMs = averageLatencyMs;
+            this.maxLatencyMs = maxLatencyMs;
+        }
+
+        // Getters
+        public boolean isRunning() { return running; }
+        public int getWorkers() { return workers; }
+        public long getProcessedOrders() { return processedOrders; }
+        public long getFailedOrders() { return failedOrders; }
+        public long getSkippedOrders() { return skippedOrders; }
+        public double getOrdersPerSecond() { return ordersPerSecond; }
+        public double getAverageLatencyMs() { return averageLatencyMs; }
+        public double getMaxLatencyMs() { return maxLatencyMs; }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "EngineStats{running=%b, workers=%d, processed=%d, failed=%d, skipped=%d, " +
+                "throughput=%.1f/s, avgLatency=%.2fms, maxLatency=%.2fms}",
+                running, workers, processedOrders, failedOrders, skippedOrders,
+                ordersPerSecond, averageLatencyMs, maxLatencyMs
+            );
+        }
+    }
+}
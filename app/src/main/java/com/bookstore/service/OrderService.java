@@ -10,91 +10,311 @@ import com.bookstore.model.User;
 import com.bookstore.model.Role;
 
 import com.bookstore.util.algorithms.SearchingAlgorithms;
+import com.bookstore.util.event.OrderEvent;
+import com.bookstore.util.event.OrderEventBus;
+import com.bookstore.util.event.OrderEventType;
+import com.bookstore.util.event.OrderTransitionCounter;
+import com.bookstore.util.algorithms.SortSpec;
 import com.bookstore.util.algorithms.SortingAlgorithms;
+import com.bookstore.util.index.BitmapIndex;
+import com.bookstore.util.index.Query;
+import com.bookstore.util.index.QueryEngine;
+import com.bookstore.util.index.RangeIndex;
+import com.bookstore.util.queue.AdminScheduling;
+import com.bookstore.util.queue.DeadlineAction;
+import com.bookstore.util.queue.GroupCommitter;
+import com.bookstore.util.queue.OrderPriority;
 import com.bookstore.util.queue.OrderQueueManager;
-import com.bookstore.service.QueueService;
+import com.bookstore.util.queue.WorkStealingDispatcher;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.stream.Collectors;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class OrderService {
+    /**
+     * Sortable order fields for sort specifications
+     * Status sorts in lifecycle order (PENDING first, CANCELLED last).
+     */
+    public static final SortSpec.Fields<Order> SORT_FIELDS = new SortSpec.Fields<Order>()
+            .intField("order_id", Order::getOrderId)
+            .longField("order_date", order -> order.getOrderDate() != null ? order.getOrderDate().getTime() : Long.MIN_VALUE)
+            .doubleField("total_amount", Order::getTotalAmount)
+            .intField("customer_id", Order::getCustomerId)
+            .intField("status", order -> order.getStatus().ordinal());
+
+    /**
+     * Queue screen ordering: by status priority, newest first within a status
+     */
+    public static final SortSpec<Order> QUEUE_DISPLAY_ORDER = SortSpec.parse("status asc, order_date desc", SORT_FIELDS);
+
+    // Position order of the status bitmap, so selections come out sorted by order_id
+    private static final SortSpec<Order> BITMAP_ORDER = SortSpec.parse("order_id asc", SORT_FIELDS);
+
+    // Line checks, transactions and post-commit work of asynchronous checkouts
+    private static final ExecutorService CHECKOUT_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
     private OrderDAO orderDAO;
     private BookDAO bookDAO;
     private QueueService queueService;
     private SessionDataManager sessionManager;
+    private RangeIndex<Order> orderDateIndex;
+    private BitmapIndex<Order, OrderStatus> statusIndex;
+    private long indexVersion;
+    private long indexStatusVersion;
+    private long indexBuilds; // Bumped whenever an index is rebuilt
+    private QueryEngine<Order> queryEngine;
+    private long queryEngineVersion = -1;
+    // When set, status changes and deletions are published here and the
+    // cache and queues are updated by its subscribers (callers do not wait)
+    private volatile OrderEventBus eventBus;
+    private final OrderTransitionCounter transitionCounter = new OrderTransitionCounter();
+    // When set, concurrent checkouts share one database transaction
+    private volatile GroupCommitter<Order, OrderDAO.CheckoutResult> groupCommitter;
 
     public OrderService() {
         this.orderDAO = new OrderDAO();
         this.bookDAO = new BookDAO();
         this.queueService = new QueueService();
+        this.queueService.setStatusListener(this::applyQueueStatusChange);
     }
 
     public OrderService(SessionDataManager sessionManager) {
-        this.orderDAO = new OrderDAO();
-        this.bookDAO = new BookDAO();
-        this.queueService = new QueueService();
+        this(sessionManager, new OrderDAO(), new BookDAO(), new QueueService());
+    }
+
+    // Explicit data access, e.g. in-memory DAOs in tests
+    OrderService(SessionDataManager sessionManager, OrderDAO orderDAO, BookDAO bookDAO, QueueService queueService) {
+        this.orderDAO = orderDAO;
+        this.bookDAO = bookDAO;
+        this.queueService = queueService;
         this.sessionManager = sessionManager;
+        this.queueService.setStatusListener(this::applyQueueStatusChange);
     }
 
     // Process new order - Business Logic
     public int createNewOrder(Order order, User currentUser) {
-        // 1. Check stock and calculate total amount
-        double totalAmount = 0;
-        List<OrderItem> itemsToRemove = new ArrayList<>();
-        boolean allItemsAvailable = true;
-
-        for (OrderItem item : order.getOrderItems()) {
-            Book book = bookDAO.getBookById(item.getBookId());
-            if (book == null || book.getStockQuantity() < item.getQuantity()) {
-                System.out.println("Book '" + (book != null ? book.getTitle() : "N/A") + "' (ID: " + item.getBookId() + ") is out of stock or insufficient quantity.");
-                allItemsAvailable = false;
-                itemsToRemove.add(item);
-            } else {
-                item.setUnitPrice(book.getPrice());
-                totalAmount += item.getQuantity() * item.getUnitPrice();
-                // Note: Book details available via BookDAO.getBookById(item.getBookId())
-            }
+        // 1. Check stock, price the items and save the order in one transaction
+        order.setStatus(OrderStatus.PENDING);
+        int orderId = reportCheckout(placeOrder(order));
+        if (orderId == -1) {
+            return -1;
         }
 
-        if (!allItemsAvailable) {
-            order.getOrderItems().removeAll(itemsToRemove);
-            if (order.getOrderItems().isEmpty()) {
-                System.out.println("Order cancelled as no items are available.");
-                return -1;
-            }
-            System.out.println("Some items removed due to insufficient stock. Recalculating total.");
-            totalAmount = 0;
-            for (OrderItem item : order.getOrderItems()) {
-                totalAmount += item.getQuantity() * item.getUnitPrice();
-            }
-        }
-        
-        order.setTotalAmount(totalAmount);
+        // 2. Add to cache and queues
+        afterCheckout(order, currentUser);
+        return orderId;
+    }
+
+    /**
+     * Asynchronous checkout, in stages:
+     * 1. every line is checked and priced on its own virtual thread (a plain
+     *    read of its book), so lines that cannot be met are dropped before
+     *    any row is locked
+     * 2. the order is placed as in createNewOrder (with group commit when
+     *    enabled), which checks the stock again under lock
+     * 3. the future completes as soon as the order is committed; the cache,
+     *    queues and order event are updated afterwards on another virtual
+     *    thread, off the caller's path
+     * @return Completes with the order ID, or -1 if no items were available
+     *         or the order could not be saved
+     */
+    public CompletableFuture<Integer> createNewOrderAsync(Order order, User currentUser) {
         order.setStatus(OrderStatus.PENDING);
+        // The post-commit work may run after this session ended
+        long sessionGeneration = sessionManager != null ? sessionManager.getSessionGeneration() : 0;
+        List<OrderItem> items = order.getOrderItems();
+        List<CompletableFuture<String>> lineChecks = new ArrayList<>(items.size());
+        for (OrderItem item : items) {
+            lineChecks.add(CompletableFuture.supplyAsync(() -> checkLine(item), CHECKOUT_EXECUTOR));
+        }
 
-        // 2. Save order to database first to get ID
-        int orderId = orderDAO.addOrder(order);
-        if (orderId == -1) {
+        return CompletableFuture.allOf(lineChecks.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(ignored -> {
+                    List<OrderItem> unavailableItems = new ArrayList<>();
+                    for (int i = 0; i < items.size(); i++) {
+                        String unavailableBook = lineChecks.get(i).join();
+                        if (unavailableBook != null) {
+                            System.out.println("Book " + unavailableBook + " is out of stock or insufficient quantity.");
+                            unavailableItems.add(items.get(i));
+                        }
+                    }
+                    items.removeAll(unavailableItems);
+                    if (items.isEmpty()) {
+                        System.out.println("Order cancelled as no items are available.");
+                        return CompletableFuture.completedFuture(-1);
+                    }
+                    boolean itemsRemoved = !unavailableItems.isEmpty();
+                    return placeOrderAsync(order).thenApply(result -> {
+                        if (itemsRemoved && result.isPlaced() && result.getUnavailableBooks().isEmpty()) {
+                            System.out.println("Some items removed due to insufficient stock. Recalculating total.");
+                        }
+                        int orderId = reportCheckout(result);
+                        if (orderId != -1) {
+                            CHECKOUT_EXECUTOR.execute(() -> afterAsyncCheckout(order, currentUser, sessionGeneration));
+                        }
+                        return orderId;
+                    });
+                });
+    }
+
+    /**
+     * Unlocked stock check and pricing of one line
+     * @return The book as shown in messages if the line cannot be met, else null
+     */
+    private String checkLine(OrderItem item) {
+        Book book = bookDAO.getBookById(item.getBookId());
+        if (book == null || book.getStockQuantity() < item.getQuantity()) {
+            return "'" + (book != null ? book.getTitle() : "N/A") + "' (ID: " + item.getBookId() + ")";
+        }
+        item.setUnitPrice(book.getPrice());
+        return null;
+    }
+
+    /**
+     * Print the outcome of a checkout
+     * @return The order ID, or -1 if the order was not placed
+     */
+    private int reportCheckout(OrderDAO.CheckoutResult result) {
+        for (String book : result.getUnavailableBooks()) {
+            System.out.println("Book " + book + " is out of stock or insufficient quantity.");
+        }
+        if (result.getOutcome() == OrderDAO.CheckoutResult.Outcome.NO_ITEMS_AVAILABLE) {
+            System.out.println("Order cancelled as no items are available.");
+            return -1;
+        }
+        if (!result.isPlaced()) {
             System.err.println("Failed to save order to database");
             return -1;
         }
+        if (!result.getUnavailableBooks().isEmpty()) {
+            System.out.println("Some items removed due to insufficient stock. Recalculating total.");
+        }
+        return result.getOrderId();
+    }
 
-        order.setOrderId(orderId);
-
-        // 3. Add to session cache if available
+    /**
+     * Post-commit work: session cache, queues and the order event
+     */
+    private void afterCheckout(Order order, User currentUser) {
         if (sessionManager != null) {
             sessionManager.addOrderToCache(order);
         }
+        queueNewOrder(order, currentUser);
+    }
 
-        // 4. Add order to appropriate queues
+    /**
+     * Post-commit work of an asynchronous checkout
+     * The order only goes into the cache of the session it was placed in: if
+     * the caller logged out meanwhile, it stays out of the next user's cache
+     * and is queued under the caller only if the new session did not already
+     * load it from the database.
+     */
+    private void afterAsyncCheckout(Order order, User currentUser, long sessionGeneration) {
+        if (sessionManager != null && !sessionManager.addOrderToCache(order, sessionGeneration)
+                && OrderQueueManager.isPending(order.getOrderId())) {
+            publish(OrderEvent.created(order, currentUser));
+            return;
+        }
+        queueNewOrder(order, currentUser);
+    }
+
+    private void queueNewOrder(Order order, User currentUser) {
         boolean addedToQueue = queueService.addOrderToQueue(order, currentUser);
         if (!addedToQueue) {
             System.err.println("Order saved to database but failed to add to queue");
         }
+        publish(OrderEvent.created(order, currentUser));
+    }
 
-        return orderId;
+    /**
+     * Check out through the group committer when enabled, else on its own
+     */
+    private OrderDAO.CheckoutResult placeOrder(Order order) {
+        GroupCommitter<Order, OrderDAO.CheckoutResult> committer = groupCommitter;
+        if (committer == null) {
+            return orderDAO.placeOrder(order);
+        }
+        try {
+            return committer.submit(order).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                // Group commit was disabled meanwhile; the order was never written
+                return orderDAO.placeOrder(order);
+            }
+            return OrderDAO.CheckoutResult.failed(e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * placeOrder without blocking: the group committer's future, or the
+     * transaction on a virtual thread
+     */
+    private CompletableFuture<OrderDAO.CheckoutResult> placeOrderAsync(Order order) {
+        GroupCommitter<Order, OrderDAO.CheckoutResult> committer = groupCommitter;
+        if (committer == null) {
+            return CompletableFuture.supplyAsync(() -> orderDAO.placeOrder(order), CHECKOUT_EXECUTOR);
+        }
+        return committer.submit(order).exceptionallyCompose(e -> {
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            if (cause instanceof RejectedExecutionException) {
+                // Group commit was disabled meanwhile; the order was never written
+                return CompletableFuture.supplyAsync(() -> orderDAO.placeOrder(order), CHECKOUT_EXECUTOR);
+            }
+            return CompletableFuture.completedFuture(OrderDAO.CheckoutResult.failed(cause.getMessage()));
+        });
+    }
+
+    /**
+     * Group commit for checkouts: concurrent createNewOrder calls are
+     * collected for up to maxDelayMillis (or until maxBatchSize orders are
+     * waiting) and written in one transaction. Each caller still gets its
+     * own order id or failure.
+     * @return false if group commit is already enabled
+     */
+    public synchronized boolean enableGroupCommit(int maxBatchSize, long maxDelayMillis) {
+        if (groupCommitter != null) {
+            return false;
+        }
+        GroupCommitter<Order, OrderDAO.CheckoutResult> committer = new GroupCommitter<>(
+                "order-group-commit", maxBatchSize, maxDelayMillis, TimeUnit.MILLISECONDS, orderDAO::placeOrders);
+        committer.start();
+        groupCommitter = committer;
+        return true;
+    }
+
+    /**
+     * Commit the checkouts still waiting and go back to one transaction per order
+     * @return false if they were not all committed within the timeout
+     */
+    public synchronized boolean disableGroupCommit(long timeout, TimeUnit unit) throws InterruptedException {
+        GroupCommitter<Order, OrderDAO.CheckoutResult> committer = groupCommitter;
+        if (committer == null) {
+            return true;
+        }
+        groupCommitter = null;
+        return committer.shutdown(timeout, unit);
+    }
+
+    /**
+     * Counters of the checkout group committer (null if it is not enabled)
+     */
+    public GroupCommitter.GroupCommitStatistics getGroupCommitStatistics() {
+        GroupCommitter<Order, OrderDAO.CheckoutResult> committer = groupCommitter;
+        return committer != null ? committer.getStatistics() : null;
     }
 
     // Process orders in queue (called periodically or by a worker thread)
@@ -131,28 +351,60 @@ public class OrderService {
         return SearchingAlgorithms.binarySearchOrderById(orders, orderId);
     }
 
+    /**
+     * Find orders placed between two dates (inclusive), newest first
+     * Uses a date range index over the cached orders: O(log n + k) per query.
+     * @param startDate First day of the range
+     * @param endDate Last day of the range
+     * @return Matching orders, newest first
+     */
+    public List<Order> findByDateRange(LocalDate startDate, LocalDate endDate) {
+        RangeIndex<Order> index;
+        List<Order> cached = getCachedOrdersForCurrentUser();
+        if (cached == null || cached.isEmpty()) {
+            // No session cache: index the database snapshot for this query only
+            index = RangeIndex.build(orderDAO.getAllOrders(), OrderService::orderDateKey);
+        } else {
+            index = getOrderDateIndex();
+        }
+
+        List<Order> result = new ArrayList<>(index.range(startDate.toEpochDay(), endDate.toEpochDay()));
+        Collections.reverse(result);
+        return result;
+    }
+
     /**
      * Sort orders by specified field and order
-     * @param field The field to sort by (order_id, order_date)
+     * @param field The field to sort by (order_id, order_date, total_amount, customer_id, status)
      * @param ascending True for ascending order, false for descending
      * @return Sorted list of orders
      */
     public List<Order> sort(String field, boolean ascending) {
+        return sort(SortSpec.of(field, ascending, SORT_FIELDS));
+    }
+
+    /**
+     * Sort orders by a multi-key specification
+     * @param sortSpec e.g. "status asc, order_date desc" (see SORT_FIELDS)
+     * @return Sorted list of orders
+     */
+    public List<Order> sort(String sortSpec) {
+        return sort(SortSpec.parse(sortSpec, SORT_FIELDS));
+    }
+
+    /**
+     * Sort orders by a compiled specification
+     * @param spec The compiled sort specification
+     * @return Sorted list of orders
+     */
+    public List<Order> sort(SortSpec<Order> spec) {
         List<Order> orders = getCachedOrdersForCurrentUser();
         if (orders == null || orders.isEmpty()) {
             return new ArrayList<>();
         }
 
-        // Create a copy to avoid modifying the original cached list
-        List<Order> sortedOrders = new ArrayList<>(orders);
-        Comparator<Order> comparator = getOrderComparator(field);
-
-        if (!ascending) {
-            comparator = comparator.reversed();
-        }
-
-        SortingAlgorithms.quickSort(sortedOrders, comparator);
-        return sortedOrders;
+        // SortSpec sorts a copy, so the cached session list is not modified
+        return spec.sort(orders);
     }
 
     /**
@@ -181,19 +433,59 @@ public class OrderService {
             return new ArrayList<>();
         }
 
-        // Filter by status
-        List<Order> filteredOrders = orders.stream()
-                .filter(order -> order.getStatus() == status)
-                .collect(Collectors.toList());
+        // Status bitmap, positions are already in order_id order
+        BitmapIndex<Order, OrderStatus> index = getStatusIndex();
+        return index.select(index.get(status), ascending);
+    }
+
+    /**
+     * Filter orders by any of the given statuses (OR of the status bitmaps)
+     * @param statuses The statuses to include
+     * @param ascending True for order_id ascending, false for descending
+     * @return Matching orders sorted by order_id
+     */
+    public List<Order> filter(Collection<OrderStatus> statuses, boolean ascending) {
+        BitmapIndex<Order, OrderStatus> index = getStatusIndex();
+        return index.select(index.anyOf(statuses), ascending);
+    }
+
+    /**
+     * Run a composed query over the cached orders
+     * Fields: order_id, customer_id, user_id (hash), status (bitmap),
+     * order_date in epoch days, total_amount (range), text over tracking numbers.
+     * Sorting accepts the SORT_FIELDS names.
+     * @param query The query to run
+     * @return Matching orders
+     * @throws IllegalArgumentException if the query names an unknown field
+     */
+    public List<Order> query(Query<Order> query) {
+        return getQueryEngine().execute(query);
+    }
 
-        // Sort by order_id
-        Comparator<Order> comparator = Comparator.comparing(Order::getOrderId);
-        if (!ascending) {
-            comparator = comparator.reversed();
+    /**
+     * Get the query engine for the cached orders, rebuilt when the order cache changes
+     */
+    public synchronized QueryEngine<Order> getQueryEngine() {
+        refreshIndexes();
+        if (queryEngine == null || queryEngineVersion != indexBuilds) {
+            queryEngine = new QueryEngine<>(getCachedOrdersForCurrentUser(), SORT_FIELDS)
+                    .hashIndex("order_id", Order::getOrderId)
+                    .hashIndex("customer_id", Order::getCustomerId)
+                    .hashIndex("user_id", Order::getUserId)
+                    .bitmapIndex("status", Order::getStatus)
+                    .rangeIndex("order_date", orderDateIndex, OrderService::orderDateKey)
+                    .rangeIndex("total_amount", Order::getTotalAmount)
+                    .textIndex(Order::getTrackingNumberKey);
+            queryEngineVersion = indexBuilds;
         }
+        return queryEngine;
+    }
 
-        SortingAlgorithms.quickSort(filteredOrders, comparator);
-        return filteredOrders;
+    /**
+     * Count cached orders with the given status without materializing them
+     */
+    public int countByStatus(OrderStatus status) {
+        return getStatusIndex().count(status);
     }
 
     /**
@@ -209,27 +501,131 @@ public class OrderService {
             return false;
         }
 
+        // Status before the change, for the event (null if not cached)
+        Order before = sessionManager != null ? sessionManager.findOrderInCache(orderId) : null;
+        OrderStatus previousStatus = before != null ? before.getStatus() : null;
+
         // Update in database
         boolean updated = orderDAO.updateOrderStatus(orderId, newStatus.name());
 
         if (updated) {
-            // Update in cache
-            if (sessionManager != null) {
-                Order cachedOrder = sessionManager.findOrderInCache(orderId);
-                if (cachedOrder != null) {
-                    cachedOrder.setStatus(newStatus);
-                    sessionManager.updateOrderInCache(cachedOrder);
-
-                    // Update in queues
-                    OrderQueueManager.updateOrderInQueues(cachedOrder);
-                }
-            }
+            applyStatusChange(orderId, null, previousStatus, newStatus, user);
             System.out.println("Order status updated successfully for ID: " + orderId);
         }
 
         return updated;
     }
 
+    /**
+     * Bring the cache and queues up to a status change already made in the database
+     * With an event bus this only publishes the change: its subscribers apply
+     * it asynchronously, together with the audit log and statistics.
+     * @param order The order instance the change was made on, already in
+     *              newStatus; null to re-file the cached order
+     */
+    private void applyStatusChange(int orderId, Order order, OrderStatus previousStatus, OrderStatus newStatus,
+                                   User user) {
+        if (publish(OrderEvent.statusChanged(orderId, order, previousStatus, newStatus, user))) {
+            return;
+        }
+        // No event bus: update the cache and queues here
+        List<Order> cachedOrders = sessionManager != null
+                ? sessionManager.updateOrderStatusesInCache(List.of(orderId), newStatus)
+                : List.of();
+        if (order != null) {
+            OrderQueueManager.updateOrderInQueues(order);
+        } else {
+            for (Order cachedOrder : cachedOrders) {
+                OrderQueueManager.updateOrderInQueues(cachedOrder);
+            }
+        }
+    }
+
+    /**
+     * Status changes made by queue operations (process, complete, cancel)
+     */
+    private void applyQueueStatusChange(Order order, OrderStatus previousStatus, User user) {
+        applyStatusChange(order.getOrderId(), order, previousStatus, order.getStatus(), user);
+    }
+
+    /**
+     * Move many orders from one status to another with one database transaction (admin only)
+     * Orders no longer in fromStatus (moved meanwhile by the processing
+     * engine or another session) are left as they are.
+     * @param orderIds The order IDs
+     * @param fromStatus The status the orders are expected to be in
+     * @param newStatus The new status
+     * @param user The user performing the operation
+     * @return The number of orders updated
+     */
+    public int updateOrderStatuses(List<Integer> orderIds, OrderStatus fromStatus, OrderStatus newStatus, User user) {
+        if (!isAdminUser(user)) {
+            System.err.println("Access denied: Admin permission required to update order status");
+            return 0;
+        }
+        if (!checkTransition(fromStatus, newStatus)) {
+            return 0;
+        }
+
+        // Update in database
+        List<Integer> updatedIds = orderDAO.updateOrderStatuses(orderIds, fromStatus, newStatus);
+        applyStatusChanges(updatedIds, fromStatus, newStatus, user);
+        System.out.println(updatedIds.size() + " order(s) updated to " + newStatus);
+
+        return updatedIds.size();
+    }
+
+    /**
+     * Move every order in one status to another, e.g. all PROCESSING to SHIPPED (admin only)
+     * One set-based update in the database: no order list is loaded, and
+     * orders that leave fromStatus meanwhile are not overwritten.
+     * @return The number of orders updated
+     */
+    public int transitionAll(OrderStatus fromStatus, OrderStatus toStatus, User user) {
+        if (!isAdminUser(user)) {
+            System.err.println("Access denied: Admin permission required to update order status");
+            return 0;
+        }
+        if (!checkTransition(fromStatus, toStatus)) {
+            return 0;
+        }
+
+        List<Integer> updatedIds = orderDAO.transitionAllOrderStatuses(fromStatus, toStatus);
+        applyStatusChanges(updatedIds, fromStatus, toStatus, user);
+        System.out.println(updatedIds.size() + " order(s) updated to " + toStatus);
+
+        return updatedIds.size();
+    }
+
+    private boolean checkTransition(OrderStatus fromStatus, OrderStatus toStatus) {
+        if (!fromStatus.canTransitionTo(toStatus)) {
+            System.err.println("Orders cannot move from " + fromStatus + " to " + toStatus);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Bring the cache and queues up to status changes already made in the database
+     */
+    private void applyStatusChanges(List<Integer> orderIds, OrderStatus previousStatus, OrderStatus newStatus,
+                                    User user) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        List<OrderEvent> events = new ArrayList<>(orderIds.size());
+        for (int orderId : orderIds) {
+            events.add(OrderEvent.statusChanged(orderId, previousStatus, newStatus, user));
+        }
+        // With an event bus its subscribers update the cache and queues
+        if (!publishAll(events) && sessionManager != null) {
+            // Update in cache (one pass) and in queues
+            for (Order cachedOrder : sessionManager.updateOrderStatusesInCache(orderIds, newStatus)) {
+                OrderQueueManager.updateOrderInQueues(cachedOrder);
+            }
+        }
+    }
+
     /**
      * Delete order (admin only)
      * @param orderId The order ID
@@ -246,8 +642,10 @@ public class OrderService {
         boolean deleted = orderDAO.deleteOrder(orderId);
 
         if (deleted) {
-            // Remove from cache
-            removeOrderFromCache(orderId);
+            // Remove from cache (through the event bus subscribers if there is one)
+            if (!publish(OrderEvent.deleted(orderId, user))) {
+                removeOrderFromCache(orderId);
+            }
             System.out.println("Order deleted successfully with ID: " + orderId);
         }
 
@@ -291,10 +689,134 @@ public class OrderService {
         return queueService.getPendingOrders(user);
     }
 
+    public Order peekNextPendingOrder(User user) {
+        return queueService.peekNextPendingOrder(user);
+    }
+
+    public boolean setPendingPriority(OrderPriority priority, User admin) {
+        return queueService.setPendingPriority(priority, admin);
+    }
+
+    public boolean setAdminScheduling(AdminScheduling scheduling, User admin) {
+        return queueService.setAdminScheduling(scheduling, admin);
+    }
+
+    public boolean startProcessingEngine(int workers, User admin) {
+        return queueService.startProcessingEngine(workers, admin);
+    }
+
+    public boolean startProcessingEngine(int workers, WorkStealingDispatcher.OwnerOrder ownerOrder, User admin) {
+        return queueService.startProcessingEngine(workers, ownerOrder, admin);
+    }
+
+    public boolean stopProcessingEngine(User admin) {
+        return queueService.stopProcessingEngine(admin);
+    }
+
+    /**
+     * Stop background processing at application exit, before the event bus
+     * @return true if in-flight orders finished within the timeout
+     */
+    public boolean shutdownProcessingEngine(long timeout, TimeUnit unit) throws InterruptedException {
+        return queueService.shutdownProcessingEngine(timeout, unit);
+    }
+
+    public OrderProcessingEngine.EngineStatistics getProcessingStatistics() {
+        return queueService.getProcessingStatistics();
+    }
+
+    public WorkStealingDispatcher.DispatchStatistics getDispatchStatistics() {
+        return queueService.getDispatchStatistics();
+    }
+
+    /**
+     * Counters of the order event bus (null if events are not used)
+     */
+    public OrderEventBus.EventBusStatistics getEventBusStatistics() {
+        OrderEventBus bus = eventBus;
+        return bus != null ? bus.getStatistics() : null;
+    }
+
+    /**
+     * Orders placed, deleted and moved into each status, as seen on the event bus
+     */
+    public OrderTransitionCounter getOrderTransitions() {
+        return transitionCounter;
+    }
+
     public List<Order> getCompletedOrders(User user) {
         return queueService.getCompletedOrders(user);
     }
 
+    /**
+     * Attach deadlines to queued orders (admin only)
+     * Orders that stay PENDING or PROCESSING longer than the timeouts are
+     * cancelled (only if the database still has them in that status),
+     * escalated, or only counted.
+     * @param pendingTimeout Longest wait in PENDING (null for no deadline)
+     * @param processingTimeout Longest wait in PROCESSING (null for no deadline)
+     * @param action What to do with an order that misses its deadline
+     * @param admin The admin enabling deadlines; cancellations run as this admin
+     * @return True if deadlines were enabled
+     */
+    public boolean enableOrderDeadlines(Duration pendingTimeout, Duration processingTimeout,
+                                        DeadlineAction action, User admin) {
+        if (!isAdminUser(admin)) {
+            System.err.println("Access denied: Admin permission required to manage order deadlines");
+            return false;
+        }
+
+        OrderQueueManager.DeadlineHandler handler;
+        switch (action) {
+            case CANCEL:
+                handler = (order, status) -> cancelExpiredOrder(order, status, admin);
+                break;
+            case ESCALATE:
+                handler = (order, status) -> OrderQueueManager.escalate(order);
+                break;
+            default:
+                handler = (order, status) -> { };
+        }
+        OrderQueueManager.enableDeadlines(pendingTimeout, processingTimeout, handler);
+        return true;
+    }
+
+    public boolean disableOrderDeadlines(User admin) {
+        if (!isAdminUser(admin)) {
+            System.err.println("Access denied: Admin permission required to manage order deadlines");
+            return false;
+        }
+        OrderQueueManager.disableDeadlines();
+        return true;
+    }
+
+    public OrderQueueManager.DeadlineStatistics getDeadlineStatistics() {
+        return OrderQueueManager.getDeadlineStatistics();
+    }
+
+    public List<Order> getEscalatedOrders(User admin) {
+        if (!isAdminUser(admin)) {
+            throw new SecurityException("Admin access required for escalated orders");
+        }
+        return OrderQueueManager.getEscalatedOrders();
+    }
+
+    /**
+     * Cancel an order that missed the deadline for the given status
+     * The in-memory status check before the deadline fired can race with a
+     * worker or another session, so the cancellation is a compare-and-set on
+     * the row: an order that moved on meanwhile is left alone.
+     */
+    private void cancelExpiredOrder(Order order, OrderStatus expiredStatus, User admin) {
+        int orderId = order.getOrderId();
+        if (!orderDAO.transitionOrderStatus(orderId, expiredStatus.name(), OrderStatus.CANCELLED.name())) {
+            return;
+        }
+        System.out.println("Order " + orderId + " cancelled after missing its " + expiredStatus + " deadline");
+        order.setStatus(OrderStatus.CANCELLED);
+        applyStatusChange(orderId, order, expiredStatus, OrderStatus.CANCELLED, admin);
+    }
+
     public boolean clearUserQueue(int userId, User admin) {
         return queueService.clearUserQueue(userId, admin);
     }
@@ -327,20 +849,79 @@ public class OrderService {
     }
 
     /**
-     * Get comparator for order sorting
+     * Publish order events on the bus and subscribe the cache ("cache"), the
+     * queues ("queues", after the cache) and the transition counts
+     * ("statistics") to it. Call before bus.start().
      */
-    private Comparator<Order> getOrderComparator(String field) {
-        switch (field.toLowerCase()) {
-            case "order_id":
-                return Comparator.comparing(Order::getOrderId);
-            case "order_date":
-                return Comparator.comparing(Order::getOrderDate);
-            case "total_amount":
-                return Comparator.comparing(Order::getTotalAmount);
-            case "customer_id":
-                return Comparator.comparing(Order::getCustomerId);
-            default:
-                throw new IllegalArgumentException("Invalid sort field: " + field);
+    public void useEventBus(OrderEventBus bus) {
+        bus.subscribe("cache", this::applyEventsToCache);
+        bus.subscribe("queues", this::applyEventsToQueues, "cache");
+        bus.subscribe("statistics", transitionCounter);
+        this.eventBus = bus;
+    }
+
+    private boolean publish(OrderEvent event) {
+        OrderEventBus bus = eventBus;
+        return bus != null && bus.publish(event);
+    }
+
+    private boolean publishAll(List<OrderEvent> events) {
+        OrderEventBus bus = eventBus;
+        return bus != null && bus.publishAll(events);
+    }
+
+    /**
+     * Cache subscriber: one pass over the cache per status in the batch
+     */
+    private void applyEventsToCache(List<OrderEvent> batch) {
+        if (sessionManager == null) {
+            return;
+        }
+        // Latest status per order; a deletion wins over earlier changes
+        Map<Integer, OrderStatus> statuses = new LinkedHashMap<>();
+        Set<Integer> deletedIds = new LinkedHashSet<>();
+        for (OrderEvent event : batch) {
+            if (event.getType() == OrderEventType.STATUS_CHANGED) {
+                statuses.put(event.getOrderId(), event.getStatus());
+                deletedIds.remove(event.getOrderId());
+            } else if (event.getType() == OrderEventType.DELETED) {
+                statuses.remove(event.getOrderId());
+                deletedIds.add(event.getOrderId());
+            }
+        }
+
+        Map<OrderStatus, List<Integer>> idsByStatus = new LinkedHashMap<>();
+        for (Map.Entry<Integer, OrderStatus> entry : statuses.entrySet()) {
+            idsByStatus.computeIfAbsent(entry.getValue(), status -> new ArrayList<>()).add(entry.getKey());
+        }
+        for (Map.Entry<OrderStatus, List<Integer>> entry : idsByStatus.entrySet()) {
+            sessionManager.updateOrderStatusesInCache(entry.getValue(), entry.getKey());
+        }
+        for (int orderId : deletedIds) {
+            sessionManager.removeOrderFromCache(orderId);
+        }
+    }
+
+    /**
+     * Queue subscriber: runs after the cache, so cached orders already carry
+     * their new status; each changed order is re-filed once per batch, the
+     * instance carried by the event first, else the cached one
+     */
+    private void applyEventsToQueues(List<OrderEvent> batch) {
+        Map<Integer, Order> changed = new LinkedHashMap<>();
+        for (OrderEvent event : batch) {
+            if (event.getType() == OrderEventType.STATUS_CHANGED) {
+                changed.put(event.getOrderId(), event.getOrder());
+            }
+        }
+        for (Map.Entry<Integer, Order> entry : changed.entrySet()) {
+            Order order = entry.getValue();
+            if (order == null && sessionManager != null) {
+                order = sessionManager.findOrderInCache(entry.getKey());
+            }
+            if (order != null) {
+                OrderQueueManager.updateOrderInQueues(order);
+            }
         }
     }
 
@@ -349,10 +930,56 @@ public class OrderService {
      */
     private void removeOrderFromCache(int orderId) {
         if (sessionManager != null) {
-            List<Order> orders = sessionManager.getCachedOrders();
-            if (orders != null) {
-                orders.removeIf(order -> order.getOrderId() == orderId);
+            sessionManager.removeOrderFromCache(orderId);
+        }
+    }
+
+    /**
+     * Get the order date index over the cached orders, rebuilt when the cache changes
+     */
+    private RangeIndex<Order> getOrderDateIndex() {
+        refreshIndexes();
+        return orderDateIndex;
+    }
+
+    /**
+     * Get the status bitmap index over the cached orders (positions in order_id order)
+     */
+    private BitmapIndex<Order, OrderStatus> getStatusIndex() {
+        refreshIndexes();
+        return statusIndex;
+    }
+
+    /**
+     * Rebuild the order indexes if the order cache changed since they were built
+     * Queue operations change cached orders' statuses in place, so the status
+     * bitmap also follows the queue manager's status version.
+     */
+    private synchronized void refreshIndexes() {
+        long version = sessionManager != null ? sessionManager.getOrderCacheVersion() : 0;
+        long statusVersion = OrderQueueManager.getStatusVersion();
+        boolean cacheChanged = orderDateIndex == null || version != indexVersion;
+        if (cacheChanged || statusVersion != indexStatusVersion) {
+            List<Order> orders = getCachedOrdersForCurrentUser();
+            if (orders == null) {
+                orders = new ArrayList<>();
+            }
+            if (cacheChanged) {
+                orderDateIndex = RangeIndex.build(orders, OrderService::orderDateKey);
             }
+            statusIndex = BitmapIndex.build(BITMAP_ORDER.sort(orders), Order::getStatus);
+            indexVersion = version;
+            indexStatusVersion = statusVersion;
+            indexBuilds++;
         }
     }
+
+    /**
+     * Range key for an order date: days since epoch, orders without a date sort first
+     */
+    private static double orderDateKey(Order order) {
+        return order.getOrderDate() != null
+                ? order.getOrderDate().toLocalDate().toEpochDay()
+                : Double.NEGATIVE_INFINITY;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.bookstore.service;
+
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
+import com.bookstore.model.User;
+
+/**
+ * Told about each status change the queue operations make in the database,
+ * after the order instance has been given its new status
+ */
+@FunctionalInterface
+public interface OrderStatusListener {
+
+    /**
+     * @param order The order, already in its new status
+     * @param previousStatus The status before the change
+     * @param user The user the change is made for
+     */
+    void statusChanged(Order order, OrderStatus previousStatus, User user);
+}
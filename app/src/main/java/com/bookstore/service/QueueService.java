@@ -1,14 +1,22 @@
 package com.bookstore.service;
 
+import com.bookstore.model.CustomerTier;
 import com.bookstore.model.Order;
 import com.bookstore.model.User;
 import com.bookstore.model.Role;
 import com.bookstore.model.OrderStatus;
+import com.bookstore.dao.CustomerDAO;
 import com.bookstore.dao.OrderDAO;
+import com.bookstore.util.queue.AdminScheduling;
+import com.bookstore.util.queue.OrderPriority;
 import com.bookstore.util.queue.OrderQueueManager;
+import com.bookstore.util.queue.WorkStealingDispatcher;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service layer for queue operations
@@ -17,9 +25,29 @@ import java.util.ArrayList;
 public class QueueService {
     
     private OrderDAO orderDAO;
+    private CustomerDAO customerDAO;
+    private OrderProcessingEngine processingEngine;
+    // Cache, queues and events follow status changes through this (the queues only by default)
+    private volatile OrderStatusListener statusListener = (order, previousStatus, user) ->
+            OrderQueueManager.updateOrderInQueues(order);
     
     public QueueService() {
         this.orderDAO = new OrderDAO();
+        this.customerDAO = new CustomerDAO();
+    }
+    
+    // Explicit order data access, e.g. an in-memory DAO in tests
+    QueueService(OrderDAO orderDAO) {
+        this.orderDAO = orderDAO;
+        this.customerDAO = new CustomerDAO();
+    }
+    
+    /**
+     * Set who is told about status changes made here; it must re-file the
+     * order in the queues (OrderQueueManager.updateOrderInQueues)
+     */
+    public void setStatusListener(OrderStatusListener statusListener) {
+        this.statusListener = statusListener;
     }
     
     /**
@@ -109,17 +137,15 @@ public class QueueService {
         
         try {
             // Update order status to PROCESSING
+            OrderStatus previousStatus = order.getStatus();
             order.setStatus(OrderStatus.PROCESSING);
             
             // Update in database
             boolean updated = orderDAO.updateOrderStatus(order.getOrderId(), "PROCESSING");
             
             if (updated) {
-                // Update in queue system
-                OrderQueueManager.updateOrderInQueues(order);
-                
-                // Remove from pending queue
-                OrderQueueManager.removeFromPending(order);
+                // Update in queue system (leaves the pending queue)
+                statusListener.statusChanged(order, previousStatus, user);
                 
                 System.out.println("Order " + order.getOrderId() + " is now being processed by " + user.getUsername());
                 logQueueOperation("PROCESS", order, user);
@@ -136,6 +162,80 @@ public class QueueService {
         }
     }
     
+    /**
+     * Start background processing of pending orders (admin operation)
+     * @param workers Number of virtual-thread workers
+     */
+    public boolean startProcessingEngine(int workers, User admin) {
+        return startProcessingEngine(workers, null, admin);
+    }
+    
+    /**
+     * Start background processing with work-stealing dispatch (admin operation)
+     * @param workers Number of virtual-thread workers
+     * @param ownerOrder Order in which workers take their own orders (null
+     *                   to share the pending queue instead)
+     */
+    public synchronized boolean startProcessingEngine(int workers, WorkStealingDispatcher.OwnerOrder ownerOrder,
+                                                      User admin) {
+        if (!isAdmin(admin)) {
+            System.err.println("Admin access required to start order processing");
+            return false;
+        }
+        if (processingEngine != null && processingEngine.isRunning()) {
+            System.err.println("Order processing is already running");
+            return false;
+        }
+        
+        // Orders the engine processes are reported as processed by the admin who started it
+        processingEngine = new OrderProcessingEngine(orderDAO, workers, ownerOrder,
+                (order, previousStatus, user) -> statusListener.statusChanged(order, previousStatus, admin));
+        return processingEngine.start();
+    }
+    
+    /**
+     * Stop background processing, letting in-flight orders finish (admin operation)
+     */
+    public synchronized boolean stopProcessingEngine(User admin) {
+        if (!isAdmin(admin)) {
+            System.err.println("Admin access required to stop order processing");
+            return false;
+        }
+        if (processingEngine == null || !processingEngine.isRunning()) {
+            return false;
+        }
+        
+        try {
+            return processingEngine.shutdown(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    /**
+     * Stop background processing when the application exits (no admin check)
+     * @return true if in-flight orders finished within the timeout
+     */
+    public synchronized boolean shutdownProcessingEngine(long timeout, TimeUnit unit) throws InterruptedException {
+        return processingEngine == null || processingEngine.shutdown(timeout, unit);
+    }
+    
+    /**
+     * Counters of the current or last processing run (null if never started)
+     */
+    public synchronized OrderProcessingEngine.EngineStatistics getProcessingStatistics() {
+        return processingEngine != null ? processingEngine.getStatistics() : null;
+    }
+    
+    /**
+     * Work-stealing counters of the current or last processing run (null if
+     * it shares the pending queue or never started)
+     */
+    public synchronized WorkStealingDispatcher.DispatchStatistics getDispatchStatistics() {
+        return processingEngine != null ? processingEngine.getDispatchStatistics() : null;
+    }
+    
     /**
      * Complete order processing
      */
@@ -146,6 +246,7 @@ public class QueueService {
         
         try {
             // Update order status
+            OrderStatus previousStatus = order.getStatus();
             order.setStatus(OrderStatus.DELIVERED);
             
             // Update in database
@@ -153,7 +254,7 @@ public class QueueService {
             
             if (updated) {
                 // Move to completed queue
-                OrderQueueManager.moveToCompleted(order);
+                statusListener.statusChanged(order, previousStatus, user);
                 
                 System.out.println("Order " + order.getOrderId() + " completed by " + user.getUsername());
                 logQueueOperation("COMPLETE", order, user);
@@ -178,6 +279,7 @@ public class QueueService {
         
         try {
             // Update order status
+            OrderStatus previousStatus = order.getStatus();
             order.setStatus(OrderStatus.CANCELLED);
             if (reason != null && !reason.trim().isEmpty()) {
                 order.setNotes(order.getNotes() + "\nCancellation reason: " + reason);
@@ -188,7 +290,7 @@ public class QueueService {
             
             if (updated) {
                 // Move to completed queue
-                OrderQueueManager.moveToCompleted(order);
+                statusListener.statusChanged(order, previousStatus, user);
                 
                 System.out.println("Order " + order.getOrderId() + " cancelled by " + user.getUsername());
                 logQueueOperation("CANCEL", order, user);
@@ -294,6 +396,53 @@ public class QueueService {
         return OrderQueueManager.getPendingQueue().toList();
     }
     
+    /**
+     * Peek at the next pending order by processing priority (admin view)
+     */
+    public Order peekNextPendingOrder(User user) {
+        if (!isAdmin(user)) {
+            throw new SecurityException("Admin access required for pending orders view");
+        }
+        
+        return OrderQueueManager.peekNextPendingOrder();
+    }
+    
+    /**
+     * Change the order in which pending orders are processed (admin operation)
+     * Customer tiers are read once from the CustomerStatistics view.
+     */
+    public boolean setPendingPriority(OrderPriority priority, User admin) {
+        if (!isAdmin(admin)) {
+            System.err.println("Admin access required to change processing priority");
+            return false;
+        }
+        
+        Map<Integer, CustomerTier> tiers = priority == OrderPriority.CUSTOMER_TIER
+                ? customerDAO.getCustomerTiers()
+                : Collections.emptyMap();
+        OrderQueueManager.setPendingPriority(priority.comparator(tiers));
+        
+        return true;
+    }
+    
+    /**
+     * Set how admins are served from the admin queue: in arrival order, or
+     * round robin across customers (optionally weighted by customer tier)
+     */
+    public boolean setAdminScheduling(AdminScheduling scheduling, User admin) {
+        if (!isAdmin(admin)) {
+            System.err.println("Admin access required to change admin queue scheduling");
+            return false;
+        }
+        
+        Map<Integer, CustomerTier> tiers = scheduling == AdminScheduling.WEIGHTED
+                ? customerDAO.getCustomerTiers()
+                : Collections.emptyMap();
+        OrderQueueManager.setAdminScheduling(scheduling, tiers);
+        
+        return true;
+    }
+    
     /**
      * Get completed orders (admin view)
      */
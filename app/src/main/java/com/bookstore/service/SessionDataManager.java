@@ -7,16 +7,24 @@ import com.bookstore.dao.UserDAO;
 import com.bookstore.model.Book;
 import com.bookstore.model.Customer;
 import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
 import com.bookstore.model.User;
 import com.bookstore.model.Role;
 import com.bookstore.util.queue.OrderQueueManager;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Session Data Manager for role-based data caching and queue integration
  * Manages cached data during user sessions and integrates with existing queue system
+ * Order cache changes are synchronized: order event subscribers apply status
+ * changes from their own threads. Readers get snapshots of the cached orders.
  */
 public class SessionDataManager {
     
@@ -25,9 +33,13 @@ public class SessionDataManager {
     private List<Book> cachedBooks;        // Both admin and customer
     private List<Order> cachedOrders;      // Role-based: all orders for admin, user orders for customer
     private List<Customer> cachedCustomers; // Admin only
+    private volatile long orderCacheVersion; // Bumped whenever cachedOrders changes (under the lock)
+    private Map<Integer, Order> orderIndex = new HashMap<>(); // Order ID -> cached order
+    private long orderIndexVersion = -1;   // Cache version the index was built for
     
     // Current session user
     private User currentUser;
+    private long sessionGeneration;        // Bumped whenever a session starts or ends
     
     // DAO instances for data loading
     private UserDAO userDAO;
@@ -50,7 +62,7 @@ public class SessionDataManager {
      * @param user The logged-in user
      */
     public void initializeUserSession(User user) {
-        this.currentUser = user;
+        setCurrentUser(user);
         
         // Clear any existing cached data
         clearCachedData();
@@ -62,8 +74,8 @@ public class SessionDataManager {
             initializeCustomerSession();
         }
         
-        // Initialize queues from cached orders
-        initializeQueuesFromCache();
+        // Initialize queues from the active orders in the database
+        initializeQueuesFromDatabase();
     }
     
     /**
@@ -74,7 +86,7 @@ public class SessionDataManager {
             // Admin gets access to all data
             this.cachedUsers = userDAO.getAllUsers();
             this.cachedBooks = bookDAO.getAllBooks();
-            this.cachedOrders = orderDAO.getAllOrders();
+            setCachedOrders(orderDAO.getAllOrders());
             this.cachedCustomers = customerDAO.getAllCustomers();
         } catch (Exception e) {
             System.err.println("Error loading admin session data: " + e.getMessage());
@@ -92,38 +104,53 @@ public class SessionDataManager {
             this.cachedUsers = null; // No access to user data
             this.cachedCustomers = null; // No access to customer data
             this.cachedBooks = bookDAO.getAllBooks(); // Can view all books
-            this.cachedOrders = orderDAO.getOrdersByCustomerId(currentUser.getUserId()); // Only their orders
+            setCachedOrders(orderDAO.getOrdersByCustomerId(currentUser.getUserId())); // Only their orders
         } catch (Exception e) {
             System.err.println("Error loading customer session data: " + e.getMessage());
             // Initialize empty lists to prevent null pointer exceptions
             this.cachedBooks = new ArrayList<>();
-            this.cachedOrders = new ArrayList<>();
+            setCachedOrders(new ArrayList<>());
         }
     }
     
     /**
-     * Initialize queues from cached order data
-     * Integrates with existing OrderQueueManager
+     * Initialize queues from the active (PENDING and PROCESSING) orders
+     * Integrates with existing OrderQueueManager. The orders are streamed
+     * from the database through the (status, order_date) index, so the cost
+     * follows the queue backlog rather than the order history; orders that
+     * are also cached are queued as the cached instances. When the queues
+     * were recovered from the queue journal they are kept as they are and
+     * only an empty queue of the current user is filled.
      */
-    private void initializeQueuesFromCache() {
+    private void initializeQueuesFromDatabase() {
         try {
-            // Clear existing queues first
-            OrderQueueManager.clearAllQueues();
-            
-            if (cachedOrders == null || cachedOrders.isEmpty()) {
+            boolean journaled = OrderQueueManager.hasJournaledState();
+            int userId = currentUser.getUserId();
+            if (journaled && !OrderQueueManager.getUserQueue(userId).isEmpty()) {
                 return;
             }
+            if (!journaled) {
+                // Clear existing queues first
+                OrderQueueManager.clearAllQueues();
+            }
 
-            for (Order order : cachedOrders) {
-                String status = order.getStatus().name();
-                // Only load pending and processing orders into queues
-                if ("PENDING".equals(status) || "PROCESSING".equals(status)) {
-                    OrderQueueManager.addOrderToQueues(order, currentUser);
+            // Customers only queue their own orders
+            Integer customerId = currentUser.getRole() == Role.ADMIN ? null : userId;
+            int loaded = orderDAO.forEachActiveOrder(customerId, order -> {
+                Order cached = findOrderInCache(order.getOrderId());
+                Order queued = cached != null ? cached : order;
+                if (journaled) {
+                    OrderQueueManager.addOrderToUserQueue(queued, userId);
+                } else {
+                    OrderQueueManager.addOrderToQueues(queued, currentUser);
                 }
+            });
+            if (loaded < 0) {
+                System.err.println("Order queues could not be loaded from the database");
             }
             
         } catch (Exception e) {
-            System.err.println("Error initializing queues from cache: " + e.getMessage());
+            System.err.println("Error initializing queues from database: " + e.getMessage());
         }
     }
     
@@ -134,17 +161,35 @@ public class SessionDataManager {
         // Clear cached data
         clearCachedData();
         
-        // Clear queues
-        OrderQueueManager.clearAllQueues();
+        // Clear queues, unless they are durable and shared across sessions
+        if (!OrderQueueManager.isJournalEnabled()) {
+            OrderQueueManager.clearAllQueues();
+        }
         
         // Clear current user
-        this.currentUser = null;
+        setCurrentUser(null);
+    }
+    
+    private synchronized void setCurrentUser(User user) {
+        this.currentUser = user;
+        sessionGeneration++;
+    }
+    
+    /**
+     * Get the session generation
+     * Changes whenever a user logs in or out, so work that finishes later
+     * (e.g. an asynchronous checkout) can tell whether its session is still current.
+     * @return The current session generation
+     */
+    public synchronized long getSessionGeneration() {
+        return sessionGeneration;
     }
     
     /**
      * Clear cached data lists
      */
-    private void clearCachedData() {
+    private synchronized void clearCachedData() {
+        orderCacheVersion++;
         this.cachedUsers = null;
         this.cachedBooks = null;
         this.cachedOrders = null;
@@ -157,17 +202,26 @@ public class SessionDataManager {
     private void initializeEmptyLists() {
         this.cachedUsers = new ArrayList<>();
         this.cachedBooks = new ArrayList<>();
-        this.cachedOrders = new ArrayList<>();
+        setCachedOrders(new ArrayList<>());
         this.cachedCustomers = new ArrayList<>();
     }
     
+    /**
+     * Replace the cached orders (e.g. when a session loads them)
+     */
+    private synchronized void setCachedOrders(List<Order> orders) {
+        this.cachedOrders = orders;
+        orderCacheVersion++;
+    }
+    
     /**
      * Add new order to cache and queue
      * @param order The new order to add
      */
-    public void addOrderToCache(Order order) {
+    public synchronized void addOrderToCache(Order order) {
         if (cachedOrders != null) {
             cachedOrders.add(order);
+            orderCacheVersion++;
             
             // Add to queue if it's pending or processing
             String status = order.getStatus().name();
@@ -177,36 +231,113 @@ public class SessionDataManager {
         }
     }
     
+    /**
+     * Add a new order to the cache and queues of the session it was placed in
+     * @param order The new order to add
+     * @param generation The session generation when the order was placed
+     * @return false if that session has ended (nothing was added)
+     */
+    public synchronized boolean addOrderToCache(Order order, long generation) {
+        if (generation != sessionGeneration) {
+            return false;
+        }
+        addOrderToCache(order);
+        return true;
+    }
+    
     /**
      * Find order in cache by ID
      * @param orderId The order ID to find
      * @return Order if found, null otherwise
      */
-    public Order findOrderInCache(int orderId) {
-        if (cachedOrders != null) {
-            return cachedOrders.stream()
-                    .filter(order -> order.getOrderId() == orderId)
-                    .findFirst()
-                    .orElse(null);
+    public synchronized Order findOrderInCache(int orderId) {
+        if (cachedOrders == null) {
+            return null;
         }
-        return null;
+        // Rebuild the ID index only when the cache changed since the last lookup
+        if (orderIndexVersion != orderCacheVersion) {
+            Map<Integer, Order> index = new HashMap<>(cachedOrders.size() * 2);
+            for (Order order : cachedOrders) {
+                index.putIfAbsent(order.getOrderId(), order);
+            }
+            orderIndex = index;
+            orderIndexVersion = orderCacheVersion;
+        }
+        return orderIndex.get(orderId);
+    }
+    
+    /**
+     * Resolve an order by ID from the cache, falling back to the database
+     * Used to turn queued order ids back into orders.
+     * @param orderId The order ID to resolve
+     * @return Order if found, null otherwise
+     */
+    public Order resolveOrder(int orderId) {
+        Order order = findOrderInCache(orderId);
+        return order != null ? order : orderDAO.getOrderById(orderId);
     }
     
     /**
      * Update order in cache
      * @param updatedOrder The updated order
      */
-    public void updateOrderInCache(Order updatedOrder) {
+    public synchronized void updateOrderInCache(Order updatedOrder) {
         if (cachedOrders != null) {
             for (int i = 0; i < cachedOrders.size(); i++) {
                 if (cachedOrders.get(i).getOrderId() == updatedOrder.getOrderId()) {
                     cachedOrders.set(i, updatedOrder);
+                    orderCacheVersion++;
                     break;
                 }
             }
         }
     }
     
+    /**
+     * Set the status of many cached orders in one pass over the cache
+     * @param orderIds The IDs of the orders to update
+     * @param newStatus The new status
+     * @return The cached orders that were updated
+     */
+    public synchronized List<Order> updateOrderStatusesInCache(Collection<Integer> orderIds, OrderStatus newStatus) {
+        List<Order> updated = new ArrayList<>();
+        if (cachedOrders == null || orderIds.isEmpty()) {
+            return updated;
+        }
+        
+        Set<Integer> ids = new HashSet<>(orderIds);
+        for (Order order : cachedOrders) {
+            if (ids.contains(order.getOrderId())) {
+                order.setStatus(newStatus);
+                updated.add(order);
+            }
+        }
+        if (!updated.isEmpty()) {
+            orderCacheVersion++;
+        }
+        return updated;
+    }
+    
+    /**
+     * Remove order from cache
+     * @param orderId The order ID to remove
+     */
+    public synchronized void removeOrderFromCache(int orderId) {
+        if (cachedOrders != null && cachedOrders.removeIf(order -> order.getOrderId() == orderId)) {
+            orderCacheVersion++;
+        }
+    }
+    
+    /**
+     * Get the order cache version
+     * Changes whenever orders are loaded, added, replaced or removed, so
+     * indexes built over the cached orders know when to rebuild.
+     * @return The current order cache version
+     */
+    public long getOrderCacheVersion() {
+        return orderCacheVersion;
+    }
+    
 
     
     // Getters for cached data
@@ -218,8 +349,14 @@ public class SessionDataManager {
         return cachedBooks;
     }
     
-    public List<Order> getCachedOrders() {
-        return cachedOrders;
+    /**
+     * Get a snapshot of the cached orders
+     * The list is a copy, so it can be iterated while subscribers change the
+     * cache; the orders in it are the cached instances.
+     * @return The cached orders, or null if no session is loaded
+     */
+    public synchronized List<Order> getCachedOrders() {
+        return cachedOrders != null ? new ArrayList<>(cachedOrders) : null;
     }
     
     public List<Customer> getCachedCustomers() {
@@ -0,0 +1,97 @@
+package com.bookstore.util.algorithms;
+
+/**
+ * Pre-parsed search term.
+ * Normalizes the raw input and resolves its numeric value once per query,
+ * so the per-element scoring loop never lowercases or parses anything.
+ */
+public final class SearchQuery {
+
+    private final String term;
+    private final boolean numeric;
+    private final int numericValue;
+
+    private SearchQuery(String term, boolean numeric, int numericValue) {
+        this.term = term;
+        this.numeric = numeric;
+        this.numericValue = numericValue;
+    }
+
+    /**
+     * Parse and normalize a raw search term
+     * @param searchTerm The raw user input (may be null)
+     * @return The parsed query; empty if the input is null or blank
+     */
+    public static SearchQuery parse(String searchTerm) {
+        if (searchTerm == null) {
+            return new SearchQuery("", false, 0);
+        }
+
+        String term = searchTerm.toLowerCase().trim();
+        long value = parseInt(term);
+        boolean numeric = value != Long.MIN_VALUE;
+        return new SearchQuery(term, numeric, numeric ? (int) value : 0);
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public boolean isEmpty() {
+        return term.isEmpty();
+    }
+
+    public boolean isNumeric() {
+        return numeric;
+    }
+
+    public int getNumericValue() {
+        return numericValue;
+    }
+
+    /**
+     * Same acceptance rules as Integer.parseInt, without using an exception
+     * for the (common) non-numeric case.
+     * @return The parsed value, or Long.MIN_VALUE if the term is not an int
+     */
+    private static long parseInt(String s) {
+        int length = s.length();
+        if (length == 0) {
+            return Long.MIN_VALUE;
+        }
+
+        int i = 0;
+        boolean negative = false;
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) {
+                return Long.MIN_VALUE;
+            }
+            negative = first == '-';
+            i = 1;
+        }
+
+        long value = 0;
+        for (; i < length; i++) {
+            int digit = Character.digit(s.charAt(i), 10);
+            if (digit < 0) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return Long.MIN_VALUE;
+            }
+        }
+
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            return Long.MIN_VALUE;
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchQuery{term='" + term + "', numeric=" + numeric + "}";
+    }
+}
@@ -3,10 +3,10 @@ package com.bookstore.util.algorithms;
 import com.bookstore.model.Order;
 import com.bookstore.model.Book;
 import com.bookstore.model.Customer;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
 
 /**
  * Utility class providing searching algorithms for various data types.
@@ -44,6 +44,80 @@ public class SearchingAlgorithms {
         return null;
     }
 
+    /**
+     * Find the first position whose element is not less than the target
+     * @param sortedList List sorted by the comparator
+     * @return Index in [0, size]; size if every element is less than the target
+     */
+    public static <T> int lowerBound(List<T> sortedList, T target, Comparator<T> comparator) {
+        int low = 0;
+        int high = sortedList.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(sortedList.get(mid), target) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Find the first position whose element is greater than the target
+     * @param sortedList List sorted by the comparator
+     * @return Index in [0, size]; size if no element is greater than the target
+     */
+    public static <T> int upperBound(List<T> sortedList, T target, Comparator<T> comparator) {
+        int low = 0;
+        int high = sortedList.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(sortedList.get(mid), target) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Primitive lower bound: first index in [from, to) with keys[index] >= key
+     * @param sortedKeys Keys sorted ascending (as by Double.compare)
+     */
+    public static int lowerBound(double[] sortedKeys, int from, int to, double key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(sortedKeys[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Primitive upper bound: first index in [from, to) with keys[index] > key
+     * @param sortedKeys Keys sorted ascending (as by Double.compare)
+     */
+    public static int upperBound(double[] sortedKeys, int from, int to, double key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(sortedKeys[mid], key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     // Convenience method for Order search by ID (delegates to generic binarySearch)
     public static Order binarySearchOrderById(List<Order> sortedOrders, int targetOrderId) {
         if (sortedOrders == null || sortedOrders.isEmpty()) {
@@ -64,26 +138,33 @@ public class SearchingAlgorithms {
      * @return List of books matching the search term, sorted by relevance
      */
     public static List<Book> searchBooks(List<Book> books, String searchTerm) {
-        if (books == null || books.isEmpty() || searchTerm == null || searchTerm.trim().isEmpty()) {
+        return searchBooks(books, SearchQuery.parse(searchTerm));
+    }
+
+    /**
+     * Search books with an already parsed query
+     * @param books List of books to search
+     * @param query The parsed search query
+     * @return List of books matching the query, sorted by relevance
+     */
+    public static List<Book> searchBooks(List<Book> books, SearchQuery query) {
+        if (books == null || books.isEmpty() || query == null || query.isEmpty()) {
             return new ArrayList<>(books != null ? books : new ArrayList<>());
         }
 
-        String term = searchTerm.toLowerCase().trim();
-        List<BookSearchResult> results = new ArrayList<>();
+        long[] ranked = new long[books.size()];
+        int matches = 0;
+        int index = 0;
 
         for (Book book : books) {
-            int score = calculateBookSearchScore(book, term);
+            int score = calculateBookSearchScore(book, query);
             if (score > 0) {
-                results.add(new BookSearchResult(book, score));
+                ranked[matches++] = rankKey(score, index);
             }
+            index++;
         }
 
-        // Sort by relevance score (highest first)
-        results.sort((a, b) -> Integer.compare(b.score, a.score));
-
-        return results.stream()
-                .map(result -> result.book)
-                .collect(Collectors.toList());
+        return collectRanked(books, ranked, matches);
     }
 
     /**
@@ -93,26 +174,33 @@ public class SearchingAlgorithms {
      * @return List of customers matching the search term
      */
     public static List<Customer> searchCustomers(List<Customer> customers, String searchTerm) {
-        if (customers == null || customers.isEmpty() || searchTerm == null || searchTerm.trim().isEmpty()) {
+        return searchCustomers(customers, SearchQuery.parse(searchTerm));
+    }
+
+    /**
+     * Search customers with an already parsed query
+     * @param customers List of customers to search
+     * @param query The parsed search query
+     * @return List of customers matching the query, sorted by relevance
+     */
+    public static List<Customer> searchCustomers(List<Customer> customers, SearchQuery query) {
+        if (customers == null || customers.isEmpty() || query == null || query.isEmpty()) {
             return new ArrayList<>(customers != null ? customers : new ArrayList<>());
         }
 
-        String term = searchTerm.toLowerCase().trim();
-        List<CustomerSearchResult> results = new ArrayList<>();
+        long[] ranked = new long[customers.size()];
+        int matches = 0;
+        int index = 0;
 
         for (Customer customer : customers) {
-            int score = calculateCustomerSearchScore(customer, term);
+            int score = calculateCustomerSearchScore(customer, query);
             if (score > 0) {
-                results.add(new CustomerSearchResult(customer, score));
+                ranked[matches++] = rankKey(score, index);
             }
+            index++;
         }
 
-        // Sort by relevance score (highest first)
-        results.sort((a, b) -> Integer.compare(b.score, a.score));
-
-        return results.stream()
-                .map(result -> result.customer)
-                .collect(Collectors.toList());
+        return collectRanked(customers, ranked, matches);
     }
 
     /**
@@ -122,44 +210,50 @@ public class SearchingAlgorithms {
      * @return List of orders matching the search term
      */
     public static List<Order> searchOrders(List<Order> orders, String searchTerm) {
-        if (orders == null || orders.isEmpty() || searchTerm == null || searchTerm.trim().isEmpty()) {
+        return searchOrders(orders, SearchQuery.parse(searchTerm));
+    }
+
+    /**
+     * Search orders with an already parsed query
+     * @param orders List of orders to search
+     * @param query The parsed search query
+     * @return List of orders matching the query, sorted by relevance
+     */
+    public static List<Order> searchOrders(List<Order> orders, SearchQuery query) {
+        if (orders == null || orders.isEmpty() || query == null || query.isEmpty()) {
             return new ArrayList<>(orders != null ? orders : new ArrayList<>());
         }
 
-        String term = searchTerm.toLowerCase().trim();
-        List<OrderSearchResult> results = new ArrayList<>();
+        long[] ranked = new long[orders.size()];
+        int matches = 0;
+        int index = 0;
 
         for (Order order : orders) {
-            int score = calculateOrderSearchScore(order, term);
+            int score = calculateOrderSearchScore(order, query);
             if (score > 0) {
-                results.add(new OrderSearchResult(order, score));
+                ranked[matches++] = rankKey(score, index);
             }
+            index++;
         }
 
-        // Sort by relevance score (highest first)
-        results.sort((a, b) -> Integer.compare(b.score, a.score));
-
-        return results.stream()
-                .map(result -> result.order)
-                .collect(Collectors.toList());
+        return collectRanked(orders, ranked, matches);
     }
 
     // Helper methods for calculating search scores
+    // Scoring reads precomputed lowercase keys from the entities and never allocates.
 
-    private static int calculateBookSearchScore(Book book, String searchTerm) {
-        int score = 0;
-
+    private static int calculateBookSearchScore(Book book, SearchQuery query) {
         // Exact ID match (highest priority)
-        try {
-            int searchId = Integer.parseInt(searchTerm);
-            if (book.getBookId() == searchId) {
-                return 1000;
-            }
-        } catch (NumberFormatException ignored) {}
+        if (query.isNumeric() && book.getBookId() == query.getNumericValue()) {
+            return 1000;
+        }
+
+        String searchTerm = query.getTerm();
+        int score = 0;
 
         // Title matching
-        if (book.getTitle() != null) {
-            String title = book.getTitle().toLowerCase();
+        String title = book.getTitleKey();
+        if (title != null) {
             if (title.equals(searchTerm)) {
                 score += 100; // Exact title match
             } else if (title.contains(searchTerm)) {
@@ -168,8 +262,8 @@ public class SearchingAlgorithms {
         }
 
         // Author matching
-        if (book.getAuthor() != null) {
-            String author = book.getAuthor().toLowerCase();
+        String author = book.getAuthorKey();
+        if (author != null) {
             if (author.equals(searchTerm)) {
                 score += 80; // Exact author match
             } else if (author.contains(searchTerm)) {
@@ -178,27 +272,26 @@ public class SearchingAlgorithms {
         }
 
         // ISBN matching
-        if (book.getIsbn() != null && book.getIsbn().toLowerCase().contains(searchTerm)) {
+        String isbn = book.getIsbnKey();
+        if (isbn != null && isbn.contains(searchTerm)) {
             score += 60;
         }
 
         return score;
     }
 
-    private static int calculateCustomerSearchScore(Customer customer, String searchTerm) {
-        int score = 0;
-
+    private static int calculateCustomerSearchScore(Customer customer, SearchQuery query) {
         // Exact ID match (highest priority)
-        try {
-            int searchId = Integer.parseInt(searchTerm);
-            if (customer.getCustomerId() == searchId) {
-                return 1000;
-            }
-        } catch (NumberFormatException ignored) {}
+        if (query.isNumeric() && customer.getCustomerId() == query.getNumericValue()) {
+            return 1000;
+        }
+
+        String searchTerm = query.getTerm();
+        int score = 0;
 
         // Name matching
-        if (customer.getName() != null) {
-            String name = customer.getName().toLowerCase();
+        String name = customer.getNameKey();
+        if (name != null) {
             if (name.equals(searchTerm)) {
                 score += 100; // Exact name match
             } else if (name.contains(searchTerm)) {
@@ -207,8 +300,8 @@ public class SearchingAlgorithms {
         }
 
         // Email matching
-        if (customer.getEmail() != null) {
-            String email = customer.getEmail().toLowerCase();
+        String email = customer.getEmailKey();
+        if (email != null) {
             if (email.equals(searchTerm)) {
                 score += 80; // Exact email match
             } else if (email.contains(searchTerm)) {
@@ -219,12 +312,10 @@ public class SearchingAlgorithms {
         return score;
     }
 
-    private static int calculateOrderSearchScore(Order order, String searchTerm) {
-        int score = 0;
-
-        // Exact order ID match (highest priority)
-        try {
-            int searchId = Integer.parseInt(searchTerm);
+    private static int calculateOrderSearchScore(Order order, SearchQuery query) {
+        if (query.isNumeric()) {
+            int searchId = query.getNumericValue();
+            // Exact order ID match (highest priority)
             if (order.getOrderId() == searchId) {
                 return 1000;
             }
@@ -232,11 +323,14 @@ public class SearchingAlgorithms {
             if (order.getCustomerId() == searchId) {
                 return 500;
             }
-        } catch (NumberFormatException ignored) {}
+        }
+
+        String searchTerm = query.getTerm();
+        int score = 0;
 
         // Tracking number matching
-        if (order.getTrackingNumber() != null) {
-            String trackingNumber = order.getTrackingNumber().toLowerCase();
+        String trackingNumber = order.getTrackingNumberKey();
+        if (trackingNumber != null) {
             if (trackingNumber.equals(searchTerm)) {
                 score += 80;
             } else if (trackingNumber.contains(searchTerm)) {
@@ -247,35 +341,20 @@ public class SearchingAlgorithms {
         return score;
     }
 
-    // Inner classes for search results with scoring
+    // Ranking helpers: (score, position) packed into one long so that a primitive
+    // sort orders by score descending and keeps the original order for ties.
 
-    private static class BookSearchResult {
-        final Book book;
-        final int score;
-
-        BookSearchResult(Book book, int score) {
-            this.book = book;
-            this.score = score;
-        }
-    }
-
-    private static class CustomerSearchResult {
-        final Customer customer;
-        final int score;
-
-        CustomerSearchResult(Customer customer, int score) {
-            this.customer = customer;
-            this.score = score;
-        }
+    private static long rankKey(int score, int index) {
+        return ((long) (Integer.MAX_VALUE - score) << 32) | index;
     }
 
-    private static class OrderSearchResult {
-        final Order order;
-        final int score;
+    private static <T> List<T> collectRanked(List<T> items, long[] ranked, int matches) {
+        Arrays.sort(ranked, 0, matches);
 
-        OrderSearchResult(Order order, int score) {
-            this.order = order;
-            this.score = score;
+        List<T> results = new ArrayList<>(matches);
+        for (int i = 0; i < matches; i++) {
+            results.add(items.get((int) ranked[i]));
         }
+        return results;
     }
-}
\ No newline at end of file
+}
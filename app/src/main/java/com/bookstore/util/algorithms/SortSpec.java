@@ -0,0 +1,160 @@
+package com.bookstore.util.algorithms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compiled multi-key sort specification, e.g. "category asc, price desc, title asc".
+ * The text is parsed once against a set of sortable fields and turned into a
+ * comparator chain that reads primitive or precomputed keys directly.
+ *
+ * @param <T> The type of elements being sorted
+ */
+public final class SortSpec<T> {
+
+    private final String canonical;
+    private final Comparator<T> comparator;
+
+    private SortSpec(String canonical, Comparator<T> comparator) {
+        this.canonical = canonical;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Parse a sort specification
+     * @param spec Comma separated "field [asc|desc]" terms (direction defaults to asc)
+     * @param fields The sortable fields for the element type
+     * @return The compiled specification
+     * @throws IllegalArgumentException if the spec is empty or names an unknown field or direction
+     */
+    public static <T> SortSpec<T> parse(String spec, Fields<T> fields) {
+        if (spec == null || spec.trim().isEmpty()) {
+            throw new IllegalArgumentException("Sort specification cannot be empty");
+        }
+
+        Comparator<T> chain = null;
+        StringBuilder canonical = new StringBuilder();
+
+        for (String term : spec.split(",")) {
+            String[] parts = term.trim().split("\\s+");
+            if (parts.length == 0 || parts[0].isEmpty() || parts.length > 2) {
+                throw new IllegalArgumentException("Invalid sort term: '" + term.trim() + "'");
+            }
+
+            String name = parts[0].toLowerCase();
+            Comparator<T> fieldComparator = fields.get(name);
+            if (fieldComparator == null) {
+                throw new IllegalArgumentException("Invalid sort field: " + parts[0]);
+            }
+
+            boolean ascending = true;
+            if (parts.length == 2) {
+                switch (parts[1].toLowerCase()) {
+                    case "asc":
+                        break;
+                    case "desc":
+                        ascending = false;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Invalid sort direction: " + parts[1]);
+                }
+            }
+
+            Comparator<T> directed = ascending ? fieldComparator : fieldComparator.reversed();
+            chain = chain == null ? directed : chain.thenComparing(directed);
+
+            if (canonical.length() > 0) {
+                canonical.append(", ");
+            }
+            canonical.append(name).append(ascending ? " asc" : " desc");
+        }
+
+        return new SortSpec<>(canonical.toString(), chain);
+    }
+
+    /**
+     * Build a single-field specification (the form used by the older sort menus)
+     */
+    public static <T> SortSpec<T> of(String field, boolean ascending, Fields<T> fields) {
+        return parse(field + (ascending ? " asc" : " desc"), fields);
+    }
+
+    public Comparator<T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Sort a copy of the given list (stable, the input is left untouched)
+     * @param items The elements to sort
+     * @return A new sorted list
+     */
+    public List<T> sort(List<T> items) {
+        List<T> sorted = new ArrayList<>(items);
+        SortingAlgorithms.mergeSort(sorted, comparator);
+        return sorted;
+    }
+
+    /**
+     * @return Normalized form of the specification, suitable as a cache key
+     */
+    @Override
+    public String toString() {
+        return canonical;
+    }
+
+    /**
+     * Set of sortable fields for one element type
+     * Each field is registered with the cheapest key type that represents it.
+     */
+    public static final class Fields<T> {
+        private final Map<String, Comparator<T>> fields = new LinkedHashMap<>();
+
+        public Fields<T> intField(String name, ToIntFunction<? super T> key) {
+            return add(name, (a, b) -> Integer.compare(key.applyAsInt(a), key.applyAsInt(b)));
+        }
+
+        public Fields<T> longField(String name, ToLongFunction<? super T> key) {
+            return add(name, (a, b) -> Long.compare(key.applyAsLong(a), key.applyAsLong(b)));
+        }
+
+        public Fields<T> doubleField(String name, ToDoubleFunction<? super T> key) {
+            return add(name, (a, b) -> Double.compare(key.applyAsDouble(a), key.applyAsDouble(b)));
+        }
+
+        /**
+         * Register a text field compared on an already normalized (e.g. lowercased) key.
+         * Null keys sort first.
+         */
+        public Fields<T> textField(String name, Function<? super T, String> normalizedKey) {
+            return add(name, (a, b) -> {
+                String keyA = normalizedKey.apply(a);
+                String keyB = normalizedKey.apply(b);
+                if (keyA == null) return keyB == null ? 0 : -1;
+                if (keyB == null) return 1;
+                return keyA.compareTo(keyB);
+            });
+        }
+
+        public Set<String> names() {
+            return Collections.unmodifiableSet(fields.keySet());
+        }
+
+        private Fields<T> add(String name, Comparator<T> comparator) {
+            fields.put(name.toLowerCase(), comparator);
+            return this;
+        }
+
+        private Comparator<T> get(String name) {
+            return fields.get(name);
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package com.bookstore.util.algorithms;
 
+import java.text.CollationKey;
+import java.text.Collator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
 
 import com.bookstore.model.OrderItem;
 import com.bookstore.model.Book;
@@ -13,7 +23,12 @@ import com.bookstore.dao.BookDAO;
  * Uses generic methods to reduce code duplication while maintaining type safety.
  */
 public class SortingAlgorithms {
-    // Factory method to create book title comparator for OrderItems
+    /**
+     * Factory method to create book title comparator for OrderItems
+     * @deprecated Looks up both books on every comparison (two queries per compare);
+     *             use {@link #sortOrderItemsByBookTitle(List, BookDAO)} instead
+     */
+    @Deprecated
     public static Comparator<OrderItem> createBookTitleComparator(BookDAO bookDAO) {
         return (item1, item2) -> {
             Book book1 = bookDAO.getBookById(item1.getBookId());
@@ -118,4 +133,179 @@ public class SortingAlgorithms {
     public static void quickSortBooks(List<Book> list, Comparator<Book> comparator) {
         quickSort(list, comparator);
     }
+
+    // Key-extraction sorts (decorate-sort-undecorate)
+    // Each key is computed exactly once per element; the sort then runs on the
+    // precomputed keys and the original list is reordered in one pass. All of
+    // these sorts are stable.
+
+    /**
+     * Sort order items by book title with a single bulk title lookup
+     * @param items The order items to sort in place
+     * @param bookDAO DAO used for the bulk title fetch
+     */
+    public static void sortOrderItemsByBookTitle(List<OrderItem> items, BookDAO bookDAO) {
+        if (items == null || items.size() <= 1) return;
+
+        Set<Integer> bookIds = new LinkedHashSet<>();
+        for (OrderItem item : items) {
+            bookIds.add(item.getBookId());
+        }
+        Map<Integer, String> titles = bookDAO.getBookTitlesByIds(bookIds);
+        sortOrderItemsByBookTitle(items, titles::get);
+    }
+
+    /**
+     * Sort order items by book title using an existing title source
+     * (e.g. the session book cache). Items without a title sort first.
+     * @param items The order items to sort in place
+     * @param titleLookup Maps a book ID to its title (or null)
+     */
+    public static void sortOrderItemsByBookTitle(List<OrderItem> items, IntFunction<String> titleLookup) {
+        sortByKey(items, item -> {
+            String title = titleLookup.apply(item.getBookId());
+            return title != null ? title.toLowerCase() : null;
+        }, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+    }
+
+    /**
+     * Sort by an arbitrary key, extracting each element's key once
+     * @param list The list to sort in place
+     * @param keyExtractor Computes the sort key of an element
+     * @param keyComparator Orders the extracted keys
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K> void sortByKey(List<T> list, Function<? super T, ? extends K> keyExtractor,
+                                        Comparator<? super K> keyComparator) {
+        if (list == null || list.size() <= 1) return;
+
+        Object[] items = list.toArray();
+        Object[] keys = new Object[items.length];
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = keyExtractor.apply((T) items[i]);
+        }
+
+        int[] order = sortIndices(items.length, (a, b) -> keyComparator.compare((K) keys[a], (K) keys[b]));
+        reorder(list, items, order);
+    }
+
+    /**
+     * Sort by a string key compared with a Collator (locale-aware ordering).
+     * Collation keys are generated once per element, so each comparison is a
+     * cheap byte comparison instead of a full collation.
+     * @param list The list to sort in place
+     * @param keyExtractor Extracts the string to collate (null sorts first)
+     * @param collator The collator defining the order
+     */
+    public static <T> void sortByCollationKey(List<T> list, Function<? super T, String> keyExtractor, Collator collator) {
+        sortByKey(list, item -> {
+            String key = keyExtractor.apply(item);
+            return key != null ? collator.getCollationKey(key) : null;
+        }, Comparator.nullsFirst(Comparator.<CollationKey>naturalOrder()));
+    }
+
+    /**
+     * Sort by a primitive int key
+     * @param list The list to sort in place
+     * @param keyExtractor Extracts the int key of an element
+     */
+    public static <T> void sortByIntKey(List<T> list, ToIntFunction<? super T> keyExtractor) {
+        if (list == null || list.size() <= 1) return;
+
+        Object[] items = list.toArray();
+        @SuppressWarnings("unchecked")
+        T[] typed = (T[]) items;
+
+        // Pack (key, position) into one long: the signed key in the high bits keeps the
+        // numeric order, the position in the low bits keeps the sort stable
+        long[] packed = new long[items.length];
+        for (int i = 0; i < items.length; i++) {
+            packed[i] = ((long) keyExtractor.applyAsInt(typed[i]) << 32) | i;
+        }
+        Arrays.sort(packed);
+
+        int[] order = new int[items.length];
+        for (int i = 0; i < packed.length; i++) {
+            order[i] = (int) packed[i];
+        }
+        reorder(list, items, order);
+    }
+
+    /**
+     * Sort by a primitive double key (ordered like Double.compare)
+     * @param list The list to sort in place
+     * @param keyExtractor Extracts the double key of an element
+     */
+    public static <T> void sortByDoubleKey(List<T> list, ToDoubleFunction<? super T> keyExtractor) {
+        if (list == null || list.size() <= 1) return;
+
+        Object[] items = list.toArray();
+        @SuppressWarnings("unchecked")
+        T[] typed = (T[]) items;
+
+        double[] keys = new double[items.length];
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = keyExtractor.applyAsDouble(typed[i]);
+        }
+
+        int[] order = sortIndices(items.length, (a, b) -> Double.compare(keys[a], keys[b]));
+        reorder(list, items, order);
+    }
+
+    /**
+     * Compares two element positions by their precomputed keys
+     */
+    @FunctionalInterface
+    interface IndexComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * Stable merge sort of the positions 0..n-1
+     * @return Positions in sorted order
+     */
+    static int[] sortIndices(int n, IndexComparator comparator) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        if (n > 1) {
+            mergeSortIndices(order, new int[n], 0, n - 1, comparator);
+        }
+        return order;
+    }
+
+    private static void mergeSortIndices(int[] order, int[] temp, int left, int right, IndexComparator comparator) {
+        if (left >= right) return;
+
+        int mid = left + (right - left) / 2;
+        mergeSortIndices(order, temp, left, mid, comparator);
+        mergeSortIndices(order, temp, mid + 1, right, comparator);
+
+        // Already in order - skip the merge
+        if (comparator.compare(order[mid], order[mid + 1]) <= 0) return;
+
+        System.arraycopy(order, left, temp, left, right - left + 1);
+        int i = left, j = mid + 1, k = left;
+        while (i <= mid && j <= right) {
+            if (comparator.compare(temp[i], temp[j]) <= 0) {
+                order[k++] = temp[i++];
+            } else {
+                order[k++] = temp[j++];
+            }
+        }
+        while (i <= mid) {
+            order[k++] = temp[i++];
+        }
+        while (j <= right) {
+            order[k++] = temp[j++];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void reorder(List<T> list, Object[] items, int[] order) {
+        for (int i = 0; i < order.length; i++) {
+            list.set(i, (T) items[order[i]]);
+        }
+    }
 }
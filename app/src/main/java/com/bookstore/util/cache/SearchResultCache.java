@@ -0,0 +1,183 @@
+package com.bookstore.util.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * LRU cache for search/sort/filter result lists
+ * Entries are only valid for the catalog version they were computed against;
+ * the first lookup with a newer version drops the whole cache.
+ *
+ * @param <T> The type of elements in the cached result lists
+ */
+public class SearchResultCache<T> {
+
+    private final int maxEntries;
+    private final Map<Key, List<T>> entries;
+    private long version;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Create a cache holding at most maxEntries result lists
+     * @param maxEntries Maximum number of cached results
+     */
+    public SearchResultCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<T>> eldest) {
+                if (size() > SearchResultCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Look up a cached result
+     * @param key The normalized query/sort/filter key
+     * @param currentVersion The current catalog version
+     * @return The cached (read-only) result, or null on a miss
+     */
+    public synchronized List<T> get(Key key, long currentVersion) {
+        checkVersion(currentVersion);
+
+        List<T> result = entries.get(key);
+        if (result != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return result;
+    }
+
+    /**
+     * Store a result computed against the given catalog version
+     * @return The read-only view that was cached
+     */
+    public synchronized List<T> put(Key key, List<T> result, long computedVersion) {
+        List<T> readOnly = Collections.unmodifiableList(result);
+        checkVersion(computedVersion);
+        if (computedVersion == version) {
+            entries.put(key, readOnly);
+        }
+        return readOnly;
+    }
+
+    /**
+     * Drop all cached results
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hits, misses, evictions, invalidations, entries.size(), maxEntries);
+    }
+
+    private void checkVersion(long currentVersion) {
+        if (currentVersion > version) {
+            if (!entries.isEmpty()) {
+                entries.clear();
+                invalidations++;
+            }
+            version = currentVersion;
+        }
+    }
+
+    /**
+     * Cache key: normalized query, sort specification and filter
+     * Any component may be null when the operation does not use it.
+     */
+    public static final class Key {
+        private final String query;
+        private final String sort;
+        private final String filter;
+        private final int hash;
+
+        public Key(String query, String sort, String filter) {
+            this.query = query;
+            this.sort = sort;
+            this.filter = filter;
+            this.hash = Objects.hash(query, sort, filter);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return hash == other.hash
+                    && Objects.equals(query, other.query)
+                    && Objects.equals(sort, other.sort)
+                    && Objects.equals(filter, other.filter);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "Key{query=" + query + ", sort=" + sort + ", filter=" + filter + "}";
+        }
+    }
+
+    /**
+     * Statistics class for cache effectiveness
+     */
+    public static class CacheStatistics {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+        private final int size;
+        private final int maxSize;
+
+        public CacheStatistics(long hits, long misses, long evictions, long invalidations, int size, int maxSize) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.size = size;
+            this.maxSize = maxSize;
+        }
+
+        // Getters
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getInvalidations() { return invalidations; }
+        public int getSize() { return size; }
+        public int getMaxSize() { return maxSize; }
+
+        /**
+         * @return Hit rate (0.0 to 1.0), or 0.0 before the first lookup
+         */
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "CacheStats{hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, invalidations=%d, size=%d/%d}",
+                hits, misses, getHitRate() * 100, evictions, invalidations, size, maxSize
+            );
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.bookstore.util.database;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.Statement;
 import java.sql.SQLException;
 
@@ -22,6 +23,7 @@ public class DatabaseInitializer {
         // Check if schema already exists
         if (DatabaseTestUtil.verifyDatabaseSchema()) {
             System.out.println("✓ Database schema already exists and is complete");
+            ensureOrderIndexes();
             DatabaseTestUtil.checkSampleData();
             return;
         }
@@ -126,7 +128,8 @@ public class DatabaseInitializer {
                     INDEX idx_user_id (user_id),
                     INDEX idx_status (status),
                     INDEX idx_payment_status (payment_status),
-                    INDEX idx_order_date (order_date)
+                    INDEX idx_order_date (order_date),
+                    INDEX idx_orders_status_date (status, order_date)
                 ) ENGINE=InnoDB COMMENT='Customer orders and order tracking'
                 """;
 
@@ -231,6 +234,7 @@ public class DatabaseInitializer {
             stmt.executeUpdate(createUserSessionsTable);
             System.out.println("✓ UserSessions table created/verified");
             
+            ensureOrderIndexes();
             System.out.println("✓ Database initialization completed successfully!");
             
             // Verify the schema was created correctly
@@ -250,6 +254,34 @@ public class DatabaseInitializer {
         }
     }
 
+    /**
+     * Add the (status, order_date) index used to rebuild the order queues
+     * to Orders tables created without it
+     */
+    public static void ensureOrderIndexes() {
+        String checkIndex = """
+            SELECT COUNT(*) FROM information_schema.STATISTICS
+            WHERE table_schema = DATABASE() AND table_name = 'Orders'
+              AND index_name = 'idx_orders_status_date'
+            """;
+
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            boolean exists;
+            try (ResultSet rs = stmt.executeQuery(checkIndex)) {
+                exists = rs.next() && rs.getInt(1) > 0;
+            }
+            if (!exists) {
+                stmt.executeUpdate("CREATE INDEX idx_orders_status_date ON Orders(status, order_date)");
+                System.out.println("✓ Orders status/date index created");
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error creating Orders status/date index: " + e.getMessage());
+        }
+    }
+
     /**
      * Add user_id column to existing Orders table if it doesn't exist
      */
@@ -0,0 +1,59 @@
+package com.bookstore.util.event;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Order event subscriber that appends one line per event to an audit file
+ * The file is flushed once per batch, not once per event.
+ */
+public class OrderAuditLog implements OrderEventHandler, Closeable {
+
+    private final Path file;
+    private final BufferedWriter writer;
+
+    /**
+     * Open (or create) the audit file for appending
+     */
+    public OrderAuditLog(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void onEvents(List<OrderEvent> batch) {
+        try {
+            synchronized (writer) {
+                for (OrderEvent event : batch) {
+                    writer.write(event.toString());
+                    writer.newLine();
+                }
+                writer.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing order audit log " + file + ": " + e.getMessage());
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writer) {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.bookstore.util.event;
+
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
+import com.bookstore.model.User;
+
+import java.time.Instant;
+
+/**
+ * One order lifecycle event (immutable, so every consumer sees the same facts
+ * however late it gets to the event)
+ * A status change may also carry the order instance it was made on, so the
+ * queues can re-file orders that are not in the session cache.
+ */
+public final class OrderEvent {
+
+    private final OrderEventType type;
+    private final int orderId;
+    private final OrderStatus previousStatus;
+    private final OrderStatus status;
+    private final int userId;
+    private final long timestamp;
+    private final Order order;
+
+    private OrderEvent(OrderEventType type, int orderId, Order order, OrderStatus previousStatus,
+                       OrderStatus status, User user) {
+        this.type = type;
+        this.orderId = orderId;
+        this.order = order;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.userId = user != null ? user.getUserId() : -1;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public static OrderEvent created(Order order, User user) {
+        return new OrderEvent(OrderEventType.CREATED, order.getOrderId(), null, null, order.getStatus(), user);
+    }
+
+    /**
+     * @param previousStatus The status before the change, or null if unknown
+     */
+    public static OrderEvent statusChanged(int orderId, OrderStatus previousStatus, OrderStatus status, User user) {
+        return statusChanged(orderId, null, previousStatus, status, user);
+    }
+
+    /**
+     * @param order The order instance the change was made on, or null to leave it to the cache
+     * @param previousStatus The status before the change, or null if unknown
+     */
+    public static OrderEvent statusChanged(int orderId, Order order, OrderStatus previousStatus, OrderStatus status,
+                                           User user) {
+        return new OrderEvent(OrderEventType.STATUS_CHANGED, orderId, order, previousStatus, status, user);
+    }
+
+    public static OrderEvent deleted(int orderId, User user) {
+        return new OrderEvent(OrderEventType.DELETED, orderId, null, null, null, user);
+    }
+
+    // Getters
+    public OrderEventType getType() { return type; }
+    public int getOrderId() { return orderId; }
+    public OrderStatus getPreviousStatus() { return previousStatus; }
+    public OrderStatus getStatus() { return status; }
+    public int getUserId() { return userId; }
+    public long getTimestamp() { return timestamp; }
+
+    /**
+     * @return The order instance of a status change, or null; unlike the
+     *         other fields it is live, so its status may have moved on since
+     */
+    public Order getOrder() { return order; }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s order=%d %s -> %s user=%d",
+            Instant.ofEpochMilli(timestamp), type, orderId,
+            previousStatus != null ? previousStatus : "?", status != null ? status : "-", userId);
+    }
+}
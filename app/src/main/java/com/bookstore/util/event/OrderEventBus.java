@@ -0,0 +1,380 @@
+package com.bookstore.util.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process bus for order lifecycle events (disruptor-style ring buffer)
+ * Published events go into a pre-sized ring; there is a single writer at a
+ * time, which claims the next sequence, stores the event and advances the
+ * cursor. Every subscriber has its own thread and its own sequence: it
+ * handles all events up to the cursor as one batch, so a burst of updates
+ * costs each subscriber one call instead of one per event.
+ *
+ * A subscriber may depend on others (e.g. queues after the cache): it then
+ * only sees an event once those have handled it. Idle subscribers block
+ * until a publisher, a dependency or shutdown wakes them. Publishers wait
+ * while the slowest subscriber is a full ring behind.
+ *
+ * Subscribe before start(); shutdown() lets subscribers drain what was
+ * published before it.
+ */
+public class OrderEventBus {
+
+    // Publishers waiting for space and callers awaiting a sequence re-check at least this often
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private final OrderEvent[] ring;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(-1); // Last published sequence
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    private volatile boolean running;
+    private volatile boolean started;
+
+    /**
+     * @param bufferSize Number of ring slots (rounded up to a power of two)
+     */
+    public OrderEventBus(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        int size = 1;
+        while (size < bufferSize) {
+            size <<= 1;
+        }
+        this.ring = new OrderEvent[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Add a subscriber (before start)
+     * @param name Name of the subscriber and of its thread
+     * @param handler Called with each batch of events
+     * @param dependsOn Names of subscribers that must handle an event first
+     */
+    public synchronized void subscribe(String name, OrderEventHandler handler, String... dependsOn) {
+        if (started) {
+            throw new IllegalStateException("Cannot subscribe after the bus has started");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler cannot be null");
+        }
+        if (findSubscriber(name) != null) {
+            throw new IllegalArgumentException("Subscriber already exists: " + name);
+        }
+        Subscriber[] dependencies = new Subscriber[dependsOn.length];
+        for (int i = 0; i < dependsOn.length; i++) {
+            dependencies[i] = findSubscriber(dependsOn[i]);
+            if (dependencies[i] == null) {
+                throw new IllegalArgumentException("Unknown subscriber: " + dependsOn[i]);
+            }
+        }
+        subscribers.add(new Subscriber(name, handler, dependencies));
+    }
+
+    /**
+     * Start the subscriber threads
+     * @return false if the bus was already started
+     */
+    public synchronized boolean start() {
+        if (started) {
+            return false;
+        }
+        started = true;
+        running = true;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.thread = Thread.ofPlatform().daemon().name("order-events-" + subscriber.name)
+                    .start(subscriber::run);
+        }
+        return true;
+    }
+
+    /**
+     * Publish one event
+     * @return false if the bus is not running (the event is dropped)
+     */
+    public boolean publish(OrderEvent event) {
+        return publishAll(Collections.singletonList(event));
+    }
+
+    /**
+     * Publish events as one contiguous run of sequences (one wake-up for all)
+     * @return false if the bus is not running (the events are dropped)
+     */
+    public boolean publishAll(List<OrderEvent> events) {
+        if (events.isEmpty()) {
+            return true;
+        }
+        synchronized (this) {
+            if (!running) {
+                return false;
+            }
+            long sequence = cursor.get();
+            for (OrderEvent event : events) {
+                if (event == null) {
+                    throw new IllegalArgumentException("Cannot publish null event");
+                }
+                sequence++;
+                // Wait for the slowest subscriber to free the slot
+                while (sequence - minimumSequence() > ring.length) {
+                    cursor.set(sequence - 1); // Let subscribers see what is already stored
+                    wakeSubscribers();
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                ring[(int) (sequence & mask)] = event;
+            }
+            cursor.set(sequence);
+        }
+        wakeSubscribers();
+        return true;
+    }
+
+    /**
+     * Stop accepting events and wait for subscribers to handle the rest
+     * @return true if every subscriber finished within the timeout
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        synchronized (this) {
+            if (!running) {
+                return true;
+            }
+            running = false;
+        }
+        wakeSubscribers();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean stopped = true;
+        for (Subscriber subscriber : subscribers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                subscriber.thread.join(TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+            }
+            stopped &= !subscriber.thread.isAlive();
+        }
+        return stopped;
+    }
+
+    /**
+     * Wait until every subscriber has handled the events published so far
+     * @return false if that did not happen within the timeout
+     */
+    public boolean awaitDrained(long timeout, TimeUnit unit) throws InterruptedException {
+        return awaitSequence(this::minimumSequence, cursor.get(), timeout, unit);
+    }
+
+    /**
+     * Sequence barrier: wait until one subscriber (and so every subscriber it
+     * depends on) has handled the events published so far
+     * @return false if that did not happen within the timeout
+     * @throws IllegalArgumentException if there is no such subscriber
+     */
+    public boolean awaitHandled(String name, long timeout, TimeUnit unit) throws InterruptedException {
+        Subscriber subscriber;
+        synchronized (this) {
+            subscriber = findSubscriber(name);
+        }
+        if (subscriber == null) {
+            throw new IllegalArgumentException("Unknown subscriber: " + name);
+        }
+        return awaitSequence(subscriber.sequence::get, cursor.get(), timeout, unit);
+    }
+
+    private boolean awaitSequence(LongSupplier handled, long target, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (handled.getAsLong() < target) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(this, PARK_NANOS);
+        }
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getBufferSize() {
+        return ring.length;
+    }
+
+    private long minimumSequence() {
+        long minimum = cursor.get();
+        for (Subscriber subscriber : subscribers) {
+            minimum = Math.min(minimum, subscriber.sequence.get());
+        }
+        return minimum;
+    }
+
+    private void wakeSubscribers() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.parked) {
+                LockSupport.unpark(subscriber.thread);
+            }
+        }
+    }
+
+    private Subscriber findSubscriber(String name) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.name.equals(name)) {
+                return subscriber;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Snapshot of the counters
+     */
+    public EventBusStatistics getStatistics() {
+        long published = cursor.get() + 1;
+        List<SubscriberStatistics> stats = new ArrayList<>();
+        synchronized (this) {
+            for (Subscriber subscriber : subscribers) {
+                long handled = subscriber.sequence.get() + 1;
+                stats.add(new SubscriberStatistics(subscriber.name, handled, subscriber.batches,
+                        subscriber.failures, published - handled));
+            }
+        }
+        return new EventBusStatistics(running, ring.length, published, stats);
+    }
+
+    private final class Subscriber {
+        private final String name;
+        private final OrderEventHandler handler;
+        private final Subscriber[] dependencies;
+        private final AtomicLong sequence = new AtomicLong(-1); // Last handled sequence
+        private volatile boolean parked;
+        private volatile long batches;
+        private volatile long failures;
+        private Thread thread;
+
+        private Subscriber(String name, OrderEventHandler handler, Subscriber[] dependencies) {
+            this.name = name;
+            this.handler = handler;
+            this.dependencies = dependencies;
+        }
+
+        private long available() {
+            long available = cursor.get();
+            for (Subscriber dependency : dependencies) {
+                available = Math.min(available, dependency.sequence.get());
+            }
+            return available;
+        }
+
+        private void run() {
+            long next = sequence.get() + 1;
+            List<OrderEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            while (true) {
+                long available = available();
+                if (available >= next) {
+                    int count = (int) Math.min(available - next + 1, MAX_BATCH_SIZE);
+                    batch.clear();
+                    for (int i = 0; i < count; i++) {
+                        batch.add(ring[(int) ((next + i) & mask)]);
+                    }
+                    try {
+                        handler.onEvents(Collections.unmodifiableList(batch));
+                    } catch (RuntimeException e) {
+                        failures++;
+                        System.err.println("Error in order event subscriber " + name + ": " + e.getMessage());
+                    }
+                    next += count;
+                    batches++;
+                    sequence.set(next - 1);
+                    wakeSubscribers(); // Dependents and publishers waiting for space
+                } else if (!running && next > cursor.get()) {
+                    return; // Everything published has been handled
+                } else {
+                    parked = true;
+                    // Re-check after raising the flag: publishers, dependencies and
+                    // shutdown change what we wait for before they look at it
+                    if (available() < next && (running || next <= cursor.get())) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Statistics class for one subscriber
+     */
+    public static class SubscriberStatistics {
+        private final String name;
+        private final long handledEvents;
+        private final long batches;
+        private final long failedBatches;
+        private final long lag;
+
+        public SubscriberStatistics(String name, long handledEvents, long batches, long failedBatches, long lag) {
+            this.name = name;
+            this.handledEvents = handledEvents;
+            this.batches = batches;
+            this.failedBatches = failedBatches;
+            this.lag = lag;
+        }
+
+        // Getters
+        public String getName() { return name; }
+        public long getHandledEvents() { return handledEvents; }
+        public long getBatches() { return batches; }
+        public long getFailedBatches() { return failedBatches; }
+        public long getLag() { return lag; }
+
+        /**
+         * @return Average number of events handled per call
+         */
+        public double getAverageBatchSize() {
+            return batches > 0 ? (double) handledEvents / batches : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s{handled=%d, batches=%d, avgBatch=%.1f, failed=%d, lag=%d}",
+                name, handledEvents, batches, getAverageBatchSize(), failedBatches, lag);
+        }
+    }
+
+    /**
+     * Statistics class for the event bus
+     */
+    public static class EventBusStatistics {
+        private final boolean running;
+        private final int bufferSize;
+        private final long publishedEvents;
+        private final List<SubscriberStatistics> subscribers;
+
+        public EventBusStatistics(boolean running, int bufferSize, long publishedEvents,
+                                  List<SubscriberStatistics> subscribers) {
+            this.running = running;
+            this.bufferSize = bufferSize;
+            this.publishedEvents = publishedEvents;
+            this.subscribers = subscribers;
+        }
+
+        // Getters
+        public boolean isRunning() { return running; }
+        public int getBufferSize() { return bufferSize; }
+        public long getPublishedEvents() { return publishedEvents; }
+        public List<SubscriberStatistics> getSubscribers() { return subscribers; }
+
+        @Override
+        public String toString() {
+            return String.format("EventBusStats{running=%b, bufferSize=%d, published=%d, subscribers=%s}",
+                running, bufferSize, publishedEvents, subscribers);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.bookstore.util.event;
+
+import java.util.List;
+
+/**
+ * Consumer of order events, called on its own thread with the events that
+ * arrived since the last call (in publication order)
+ */
+@FunctionalInterface
+public interface OrderEventHandler {
+
+    /**
+     * @param batch One or more events; the list is only valid during the call
+     */
+    void onEvents(List<OrderEvent> batch);
+}
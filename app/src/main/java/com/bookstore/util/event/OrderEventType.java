@@ -0,0 +1,20 @@
+package com.bookstore.util.event;
+
+/**
+ * Kinds of order lifecycle events published on the OrderEventBus
+ */
+public enum OrderEventType {
+    CREATED("Order placed"),
+    STATUS_CHANGED("Status changed"),
+    DELETED("Order deleted");
+
+    private final String description;
+
+    OrderEventType(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,66 @@
+package com.bookstore.util.event;
+
+import com.bookstore.model.OrderStatus;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Order event subscriber that counts orders placed, deleted and moved into
+ * each status since startup
+ */
+public class OrderTransitionCounter implements OrderEventHandler {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    private final LongAdder[] transitions = new LongAdder[STATUSES.length];
+
+    public OrderTransitionCounter() {
+        for (int i = 0; i < transitions.length; i++) {
+            transitions[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void onEvents(List<OrderEvent> batch) {
+        for (OrderEvent event : batch) {
+            switch (event.getType()) {
+                case CREATED:
+                    created.increment();
+                    break;
+                case STATUS_CHANGED:
+                    transitions[event.getStatus().ordinal()].increment();
+                    break;
+                case DELETED:
+                    deleted.increment();
+                    break;
+            }
+        }
+    }
+
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    public long getDeletedCount() {
+        return deleted.sum();
+    }
+
+    /**
+     * @return The number of status changes into the status
+     */
+    public long getTransitionCount(OrderStatus status) {
+        return transitions[status.ordinal()].sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("OrderTransitions{created=").append(created.sum());
+        for (OrderStatus status : STATUSES) {
+            builder.append(", ").append(status.name().toLowerCase()).append('=').append(getTransitionCount(status));
+        }
+        return builder.append(", deleted=").append(deleted.sum()).append('}').toString();
+    }
+}
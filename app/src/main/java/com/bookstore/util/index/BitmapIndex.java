@@ -0,0 +1,175 @@
+package com.bookstore.util.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bitmap index over a low-cardinality attribute (category, status, stock band)
+ * Every element gets a fixed position; each distinct key owns a BitSet with one
+ * bit per position. Filters combine with word-level AND/OR/NOT and are only
+ * turned back into elements at the end, in position order.
+ *
+ * Indexes built over the same list share positions, so bitmaps from different
+ * attributes can be combined directly. Build them over a list that is already
+ * in the desired display order and the selected results come out sorted.
+ *
+ * @param <T> The type of indexed elements
+ * @param <K> The type of the indexed attribute
+ */
+public class BitmapIndex<T, K> {
+
+    private final List<T> items;
+    private final Map<K, BitSet> bitmaps;
+
+    private BitmapIndex(List<T> items, Map<K, BitSet> bitmaps) {
+        this.items = items;
+        this.bitmaps = bitmaps;
+    }
+
+    /**
+     * Build an index (O(n), one key extraction per element)
+     * @param elements The elements to index, in position order (copied)
+     * @param keyExtractor Extracts the attribute value; null is a valid key
+     * @return The bitmap index
+     */
+    public static <T, K> BitmapIndex<T, K> build(List<T> elements, Function<? super T, ? extends K> keyExtractor) {
+        List<T> positions = elements != null ? new ArrayList<>(elements) : new ArrayList<>();
+        Map<K, BitSet> bitmaps = new HashMap<>();
+        for (int i = 0; i < positions.size(); i++) {
+            K key = keyExtractor.apply(positions.get(i));
+            bitmaps.computeIfAbsent(key, k -> new BitSet(positions.size())).set(i);
+        }
+        return new BitmapIndex<>(Collections.unmodifiableList(positions), bitmaps);
+    }
+
+    /**
+     * @return Positions of elements whose attribute equals the key (a fresh copy)
+     */
+    public BitSet get(K key) {
+        BitSet bits = bitmaps.get(key);
+        return bits != null ? (BitSet) bits.clone() : new BitSet();
+    }
+
+    /**
+     * @return Positions of elements whose attribute is any of the keys (OR)
+     */
+    public BitSet anyOf(Collection<? extends K> keys) {
+        BitSet result = new BitSet(items.size());
+        for (K key : keys) {
+            BitSet bits = bitmaps.get(key);
+            if (bits != null) {
+                result.or(bits);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Positions not set in the given bitmap (NOT, within this index)
+     */
+    public BitSet not(BitSet bits) {
+        BitSet result = (BitSet) bits.clone();
+        result.flip(0, items.size());
+        return result;
+    }
+
+    /**
+     * @return Intersection of two bitmaps (AND), neither input is modified
+     */
+    public static BitSet and(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.and(b);
+        return result;
+    }
+
+    /**
+     * @return Union of two bitmaps (OR), neither input is modified
+     */
+    public static BitSet or(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.or(b);
+        return result;
+    }
+
+    /**
+     * @return Number of elements with the given key, without materializing them
+     */
+    public int count(K key) {
+        BitSet bits = bitmaps.get(key);
+        return bits != null ? bits.cardinality() : 0;
+    }
+
+    /**
+     * Materialize the selected elements in position order
+     */
+    public List<T> select(BitSet bits) {
+        return select(bits, true);
+    }
+
+    /**
+     * Materialize the selected elements
+     * @param ascending True for position order, false for reverse position order
+     */
+    public List<T> select(BitSet bits, boolean ascending) {
+        List<T> result = new ArrayList<>(bits.cardinality());
+        if (ascending) {
+            for (int i = bits.nextSetBit(0); i >= 0 && i < items.size(); i = bits.nextSetBit(i + 1)) {
+                result.add(items.get(i));
+            }
+        } else {
+            for (int i = bits.previousSetBit(items.size() - 1); i >= 0; i = bits.previousSetBit(i - 1)) {
+                result.add(items.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Materialize one page of the selection without touching the other pages
+     * @param pageNumber The page number (1-based)
+     * @param pageSize The number of elements per page
+     */
+    public List<T> selectPage(BitSet bits, boolean ascending, int pageNumber, int pageSize) {
+        List<T> page = new ArrayList<>(Math.max(pageSize, 0));
+        int skip = (pageNumber - 1) * pageSize;
+        if (pageSize <= 0 || skip < 0) {
+            return page;
+        }
+
+        int i = ascending ? bits.nextSetBit(0) : bits.previousSetBit(items.size() - 1);
+        while (i >= 0 && i < items.size() && page.size() < pageSize) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                page.add(items.get(i));
+            }
+            i = ascending ? bits.nextSetBit(i + 1) : bits.previousSetBit(i - 1);
+        }
+        return page;
+    }
+
+    /**
+     * @return The distinct keys present in the index
+     */
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(bitmaps.keySet());
+    }
+
+    /**
+     * @return All elements in position order
+     */
+    public List<T> all() {
+        return items;
+    }
+
+    public int size() {
+        return items.size();
+    }
+}
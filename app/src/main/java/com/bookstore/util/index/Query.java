@@ -0,0 +1,174 @@
+package com.bookstore.util.index;
+
+import com.bookstore.util.algorithms.SortSpec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Catalog query: conditions, optional sort and optional limit
+ * Conditions name fields registered on a {@link QueryEngine}; all of them must
+ * hold (AND). The engine decides which condition drives the scan.
+ *
+ * Example: fantasy books under $20 by a given author, cheapest first
+ * <pre>
+ * Query.&lt;Book&gt;create()
+ *      .eq("category", "fantasy")
+ *      .atMost("price", 20.0)
+ *      .eq("author", "terry pratchett")
+ *      .orderBy("price asc")
+ *      .limit(10);
+ * </pre>
+ *
+ * @param <T> The type of queried elements
+ */
+public final class Query<T> {
+
+    /**
+     * Kinds of condition, each answerable by one kind of index
+     */
+    enum Kind { EQUALS, RANGE, TEXT, PREDICATE }
+
+    /**
+     * One condition of a query
+     */
+    static final class Condition<T> {
+        final Kind kind;
+        final String field;
+        final Object value;
+        final double min;
+        final double max;
+        final Predicate<? super T> predicate;
+
+        Condition(Kind kind, String field, Object value, double min, double max, Predicate<? super T> predicate) {
+            this.kind = kind;
+            this.field = field;
+            this.value = value;
+            this.min = min;
+            this.max = max;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public String toString() {
+            switch (kind) {
+                case EQUALS:
+                    return field + " = " + value;
+                case RANGE:
+                    return min + " <= " + field + " <= " + max;
+                case TEXT:
+                    return "text '" + value + "'";
+                default:
+                    return "predicate";
+            }
+        }
+    }
+
+    private final List<Condition<T>> conditions = new ArrayList<>();
+    private String sortSpec;
+    private SortSpec<T> sort;
+    private int limit = -1;
+
+    private Query() {
+    }
+
+    public static <T> Query<T> create() {
+        return new Query<>();
+    }
+
+    /**
+     * Field equals value (String values are matched case-insensitively)
+     */
+    public Query<T> eq(String field, Object value) {
+        Object normalized = value instanceof String ? ((String) value).toLowerCase() : value;
+        return add(new Condition<>(Kind.EQUALS, normalize(field), normalized, 0, 0, null));
+    }
+
+    /**
+     * min <= field <= max
+     */
+    public Query<T> between(String field, double min, double max) {
+        return add(new Condition<>(Kind.RANGE, normalize(field), null, min, max, null));
+    }
+
+    public Query<T> atLeast(String field, double min) {
+        return between(field, min, Double.POSITIVE_INFINITY);
+    }
+
+    public Query<T> atMost(String field, double max) {
+        return between(field, Double.NEGATIVE_INFINITY, max);
+    }
+
+    /**
+     * Every word of the text starts a word of the indexed text fields
+     */
+    public Query<T> text(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return this;
+        }
+        return add(new Condition<>(Kind.TEXT, null, text.trim().toLowerCase(), 0, 0, null));
+    }
+
+    /**
+     * Arbitrary condition; never used to drive the scan
+     */
+    public Query<T> where(Predicate<? super T> predicate) {
+        return add(new Condition<>(Kind.PREDICATE, null, null, 0, 0, predicate));
+    }
+
+    /**
+     * Sort by a specification such as "price asc, title asc" (parsed by the engine)
+     */
+    public Query<T> orderBy(String sortSpec) {
+        this.sortSpec = sortSpec;
+        this.sort = null;
+        return this;
+    }
+
+    public Query<T> orderBy(SortSpec<T> sort) {
+        this.sort = sort;
+        this.sortSpec = null;
+        return this;
+    }
+
+    /**
+     * Return at most the given number of results
+     */
+    public Query<T> limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    List<Condition<T>> getConditions() {
+        return Collections.unmodifiableList(conditions);
+    }
+
+    String getSortSpec() {
+        return sortSpec;
+    }
+
+    SortSpec<T> getSort() {
+        return sort;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    private Query<T> add(Condition<T> condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    private static String normalize(String field) {
+        if (field == null || field.trim().isEmpty()) {
+            throw new IllegalArgumentException("Field name cannot be empty");
+        }
+        return field.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,419 @@
+package com.bookstore.util.index;
+
+import com.bookstore.util.algorithms.SortSpec;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Indexed snapshot of a list that answers {@link Query} objects
+ *
+ * Fields are registered with the index that suits them: hash (exact, high
+ * cardinality), bitmap (exact, low cardinality), range (numeric) and one text
+ * index over word prefixes. For each query the planner asks every indexed
+ * condition how many rows it would produce, drives the scan from the smallest,
+ * and applies the remaining conditions, sort and limit as a lazy stream over
+ * those candidates only. Without a usable index the whole list is scanned.
+ *
+ * The engine is a snapshot: rebuild it when the underlying list changes.
+ *
+ * @param <T> The type of indexed elements
+ */
+public class QueryEngine<T> {
+
+    private final List<T> items;
+    private final SortSpec.Fields<T> sortFields;
+    private final Map<String, IndexedField<T>> fields = new LinkedHashMap<>();
+
+    private final List<Function<? super T, String>> textFields = new ArrayList<>();
+    private final TreeMap<String, BitSet> textTokens = new TreeMap<>();
+
+    /**
+     * Create an engine over a snapshot of the given elements
+     * @param elements The elements to query (copied)
+     * @param sortFields Sortable fields for orderBy specifications
+     */
+    public QueryEngine(List<T> elements, SortSpec.Fields<T> sortFields) {
+        this.items = elements != null ? new ArrayList<>(elements) : new ArrayList<>();
+        this.sortFields = sortFields;
+    }
+
+    /**
+     * Register an exact-match hash index (ids, authors, customers)
+     * @param key Extracts the key; String keys must already be lowercased
+     */
+    public QueryEngine<T> hashIndex(String field, Function<? super T, ?> key) {
+        Map<Object, List<T>> buckets = new HashMap<>();
+        for (T item : items) {
+            buckets.computeIfAbsent(key.apply(item), k -> new ArrayList<>(1)).add(item);
+        }
+        return register(field, new HashField<>(buckets, key));
+    }
+
+    /**
+     * Register an exact-match bitmap index (categories, statuses)
+     * @param key Extracts the key; String keys must already be lowercased
+     */
+    public QueryEngine<T> bitmapIndex(String field, Function<? super T, ?> key) {
+        return register(field, new BitmapField<>(BitmapIndex.build(items, key), key));
+    }
+
+    /**
+     * Register a numeric range index (prices, stock, dates)
+     */
+    public QueryEngine<T> rangeIndex(String field, ToDoubleFunction<? super T> key) {
+        return rangeIndex(field, RangeIndex.build(items, key), key);
+    }
+
+    /**
+     * Register an already built range index over the same elements
+     */
+    public QueryEngine<T> rangeIndex(String field, RangeIndex<T> index, ToDoubleFunction<? super T> key) {
+        return register(field, new RangeField<>(index, key));
+    }
+
+    /**
+     * Index words of the given text fields for text conditions
+     * @param normalizedFields Extractors returning lowercased text (null allowed)
+     */
+    @SafeVarargs
+    public final QueryEngine<T> textIndex(Function<? super T, String>... normalizedFields) {
+        // Copied one by one: the varargs array itself never leaves this method
+        for (Function<? super T, String> field : normalizedFields) {
+            textFields.add(field);
+        }
+        for (int i = 0; i < items.size(); i++) {
+            for (Function<? super T, String> field : normalizedFields) {
+                for (String token : tokenize(field.apply(items.get(i)))) {
+                    textTokens.computeIfAbsent(token, t -> new BitSet(items.size())).set(i);
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Run a query
+     * @return The matching elements, sorted and limited as requested
+     * @throws IllegalArgumentException if the query names an unknown field or sort field
+     */
+    public List<T> execute(Query<T> query) {
+        Plan<T> plan = plan(query);
+
+        Stream<T> stream = plan.driver.rows.get().stream();
+        for (Predicate<T> residual : plan.residuals) {
+            stream = stream.filter(residual);
+        }
+        if (plan.sort != null) {
+            stream = stream.sorted(plan.sort.comparator());
+        }
+        if (query.getLimit() >= 0) {
+            stream = stream.limit(query.getLimit());
+        }
+        return stream.collect(Collectors.toList());
+    }
+
+    /**
+     * Describe how a query would run, e.g.
+     * "hash(author) ~3 rows -> filter[category = fantasy] -> sort(price asc) -> limit 10"
+     */
+    public String explain(Query<T> query) {
+        Plan<T> plan = plan(query);
+        StringBuilder description = new StringBuilder();
+        description.append(plan.driver.description).append(" ~").append(plan.driver.estimate).append(" rows");
+        if (!plan.residualDescriptions.isEmpty()) {
+            description.append(" -> filter").append(plan.residualDescriptions);
+        }
+        if (plan.sort != null) {
+            description.append(" -> sort(").append(plan.sort).append(")");
+        }
+        if (query.getLimit() >= 0) {
+            description.append(" -> limit ").append(query.getLimit());
+        }
+        return description.toString();
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    private Plan<T> plan(Query<T> query) {
+        List<Query.Condition<T>> conditions = query.getConditions();
+
+        // Cost every condition an index can answer, keep the cheapest as driver
+        Access<T> driver = new Access<>("scan", items.size(), () -> items);
+        Query.Condition<T> driverCondition = null;
+        for (Query.Condition<T> condition : conditions) {
+            Access<T> access = access(condition);
+            if (access != null && access.estimate < driver.estimate) {
+                driver = access;
+                driverCondition = condition;
+            }
+        }
+
+        List<Predicate<T>> residuals = new ArrayList<>();
+        List<String> residualDescriptions = new ArrayList<>();
+        for (Query.Condition<T> condition : conditions) {
+            if (condition != driverCondition) {
+                residuals.add(residual(condition));
+                residualDescriptions.add(condition.toString());
+            }
+        }
+
+        SortSpec<T> sort = query.getSort();
+        if (sort == null && query.getSortSpec() != null) {
+            if (sortFields == null) {
+                throw new IllegalArgumentException("Sorting is not supported by this query engine");
+            }
+            sort = SortSpec.parse(query.getSortSpec(), sortFields);
+        }
+
+        return new Plan<>(driver, residuals, residualDescriptions, sort);
+    }
+
+    /**
+     * Index access for a condition, or null if no index can answer it
+     */
+    private Access<T> access(Query.Condition<T> condition) {
+        switch (condition.kind) {
+            case EQUALS:
+            case RANGE:
+                return field(condition.field).access(condition);
+            case TEXT:
+                if (textFields.isEmpty()) {
+                    return null;
+                }
+                BitSet bits = textBits((String) condition.value);
+                return new Access<>("text", bits.cardinality(), () -> select(bits));
+            default:
+                return null;
+        }
+    }
+
+    private Predicate<T> residual(Query.Condition<T> condition) {
+        switch (condition.kind) {
+            case EQUALS:
+            case RANGE:
+                IndexedField<T> field = field(condition.field);
+                return item -> field.test(item, condition);
+            case TEXT:
+                String[] words = tokenize((String) condition.value).toArray(new String[0]);
+                return item -> matchesText(item, words);
+            default:
+                Predicate<? super T> predicate = condition.predicate;
+                return predicate::test;
+        }
+    }
+
+    private IndexedField<T> field(String name) {
+        IndexedField<T> field = fields.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Invalid query field: " + name);
+        }
+        return field;
+    }
+
+    private BitSet textBits(String text) {
+        BitSet result = null;
+        for (String word : tokenize(text)) {
+            BitSet wordBits = new BitSet(items.size());
+            for (BitSet bits : textTokens.subMap(word, word + Character.MAX_VALUE).values()) {
+                wordBits.or(bits);
+            }
+            if (result == null) {
+                result = wordBits;
+            } else {
+                result.and(wordBits);
+            }
+        }
+        return result != null ? result : new BitSet();
+    }
+
+    private boolean matchesText(T item, String[] words) {
+        for (String word : words) {
+            boolean found = false;
+            for (Function<? super T, String> field : textFields) {
+                for (String token : tokenize(field.apply(item))) {
+                    if (token.startsWith(word)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (found) {
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<T> select(BitSet bits) {
+        List<T> result = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.add(items.get(i));
+        }
+        return result;
+    }
+
+    private QueryEngine<T> register(String field, IndexedField<T> indexedField) {
+        fields.put(field.toLowerCase(), indexedField);
+        return this;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * One way to produce candidate rows, with its estimated row count
+     */
+    private static final class Access<T> {
+        final String description;
+        final int estimate;
+        final Supplier<List<T>> rows;
+
+        Access(String description, int estimate, Supplier<List<T>> rows) {
+            this.description = description;
+            this.estimate = estimate;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * Chosen driver, residual filters and sort for one query
+     */
+    private static final class Plan<T> {
+        final Access<T> driver;
+        final List<Predicate<T>> residuals;
+        final List<String> residualDescriptions;
+        final SortSpec<T> sort;
+
+        Plan(Access<T> driver, List<Predicate<T>> residuals, List<String> residualDescriptions, SortSpec<T> sort) {
+            this.driver = driver;
+            this.residuals = residuals;
+            this.residualDescriptions = residualDescriptions;
+            this.sort = sort;
+        }
+    }
+
+    /**
+     * A registered field: index access plus a per-row check for residual use
+     */
+    private interface IndexedField<T> {
+        Access<T> access(Query.Condition<T> condition);
+
+        boolean test(T item, Query.Condition<T> condition);
+    }
+
+    private static final class HashField<T> implements IndexedField<T> {
+        private final Map<Object, List<T>> buckets;
+        private final Function<? super T, ?> key;
+
+        HashField(Map<Object, List<T>> buckets, Function<? super T, ?> key) {
+            this.buckets = buckets;
+            this.key = key;
+        }
+
+        @Override
+        public Access<T> access(Query.Condition<T> condition) {
+            if (condition.kind != Query.Kind.EQUALS) {
+                throw new IllegalArgumentException("Range condition on non-range field: " + condition.field);
+            }
+            List<T> rows = buckets.getOrDefault(condition.value, Collections.emptyList());
+            return new Access<>("hash(" + condition.field + ")", rows.size(), () -> rows);
+        }
+
+        @Override
+        public boolean test(T item, Query.Condition<T> condition) {
+            return Objects.equals(key.apply(item), condition.value);
+        }
+    }
+
+    private static final class BitmapField<T> implements IndexedField<T> {
+        private final BitmapIndex<T, Object> index;
+        private final Function<? super T, ?> key;
+
+        @SuppressWarnings("unchecked")
+        BitmapField(BitmapIndex<T, ?> index, Function<? super T, ?> key) {
+            this.index = (BitmapIndex<T, Object>) index;
+            this.key = key;
+        }
+
+        @Override
+        public Access<T> access(Query.Condition<T> condition) {
+            if (condition.kind != Query.Kind.EQUALS) {
+                throw new IllegalArgumentException("Range condition on non-range field: " + condition.field);
+            }
+            return new Access<>("bitmap(" + condition.field + ")", index.count(condition.value),
+                    () -> index.select(index.get(condition.value)));
+        }
+
+        @Override
+        public boolean test(T item, Query.Condition<T> condition) {
+            return Objects.equals(key.apply(item), condition.value);
+        }
+    }
+
+    private static final class RangeField<T> implements IndexedField<T> {
+        private final RangeIndex<T> index;
+        private final ToDoubleFunction<? super T> key;
+
+        RangeField(RangeIndex<T> index, ToDoubleFunction<? super T> key) {
+            this.index = index;
+            this.key = key;
+        }
+
+        @Override
+        public Access<T> access(Query.Condition<T> condition) {
+            double min = min(condition);
+            double max = max(condition);
+            return new Access<>("range(" + condition.field + ")", index.count(min, max), () -> index.range(min, max));
+        }
+
+        @Override
+        public boolean test(T item, Query.Condition<T> condition) {
+            double value = key.applyAsDouble(item);
+            return Double.compare(value, min(condition)) >= 0 && Double.compare(value, max(condition)) <= 0;
+        }
+
+        private static double min(Query.Condition<?> condition) {
+            return condition.kind == Query.Kind.EQUALS ? numeric(condition.value) : condition.min;
+        }
+
+        private static double max(Query.Condition<?> condition) {
+            return condition.kind == Query.Kind.EQUALS ? numeric(condition.value) : condition.max;
+        }
+
+        private static double numeric(Object value) {
+            if (!(value instanceof Number)) {
+                throw new IllegalArgumentException("Range field requires a numeric value: " + value);
+            }
+            return ((Number) value).doubleValue();
+        }
+    }
+}
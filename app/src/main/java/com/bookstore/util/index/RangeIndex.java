@@ -0,0 +1,99 @@
+package com.bookstore.util.index;
+
+import com.bookstore.util.algorithms.SearchingAlgorithms;
+import com.bookstore.util.algorithms.SortingAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Sorted range index over one numeric key
+ * Keys are kept in a primitive array next to the elements in the same order,
+ * so a range query is two binary searches plus a view of the k matches:
+ * O(log n + k), with no key extraction or parsing at query time.
+ *
+ * Works for any key that fits a double exactly: prices, stock counts,
+ * epoch days, epoch milliseconds.
+ *
+ * @param <T> The type of indexed elements
+ */
+public class RangeIndex<T> {
+
+    private final double[] keys;
+    private final List<T> items;
+
+    private RangeIndex(double[] keys, List<T> items) {
+        this.keys = keys;
+        this.items = items;
+    }
+
+    /**
+     * Build an index (O(n log n), one key extraction per element)
+     * @param elements The elements to index (not modified)
+     * @param keyExtractor Extracts the numeric key of an element
+     * @return The range index
+     */
+    public static <T> RangeIndex<T> build(List<T> elements, ToDoubleFunction<? super T> keyExtractor) {
+        List<T> sorted = elements != null ? new ArrayList<>(elements) : new ArrayList<>();
+        SortingAlgorithms.sortByDoubleKey(sorted, keyExtractor);
+
+        double[] keys = new double[sorted.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keyExtractor.applyAsDouble(sorted.get(i));
+        }
+        return new RangeIndex<>(keys, Collections.unmodifiableList(sorted));
+    }
+
+    /**
+     * Get all elements with min <= key <= max, in ascending key order
+     * @return Read-only view of the matching elements
+     */
+    public List<T> range(double min, double max) {
+        if (Double.compare(min, max) > 0) {
+            return Collections.emptyList();
+        }
+        int from = SearchingAlgorithms.lowerBound(keys, 0, keys.length, min);
+        int to = SearchingAlgorithms.upperBound(keys, from, keys.length, max);
+        return items.subList(from, to);
+    }
+
+    /**
+     * Count elements with min <= key <= max without touching them
+     */
+    public int count(double min, double max) {
+        if (Double.compare(min, max) > 0) {
+            return 0;
+        }
+        int from = SearchingAlgorithms.lowerBound(keys, 0, keys.length, min);
+        return SearchingAlgorithms.upperBound(keys, from, keys.length, max) - from;
+    }
+
+    public List<T> atLeast(double min) {
+        return range(min, Double.POSITIVE_INFINITY);
+    }
+
+    public List<T> atMost(double max) {
+        return range(Double.NEGATIVE_INFINITY, max);
+    }
+
+    /**
+     * @return All elements in ascending key order
+     */
+    public List<T> all() {
+        return items;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * @return Copy of the sorted keys (for inspection)
+     */
+    public double[] keys() {
+        return Arrays.copyOf(keys, keys.length);
+    }
+}
@@ -0,0 +1,39 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.CustomerTier;
+
+/**
+ * Order in which admins are served orders from the admin queue
+ */
+public enum AdminScheduling {
+    ARRIVAL("Arrival order"),
+    FAIR("Round robin across customers"),
+    WEIGHTED("Round robin weighted by customer tier");
+
+    private final String description;
+
+    AdminScheduling(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Orders a customer may be served per round under WEIGHTED scheduling
+     * (VIP 4, Premium 3, Regular 2, New 1)
+     */
+    public static int weightOf(CustomerTier tier) {
+        switch (tier) {
+            case VIP:
+                return 4;
+            case PREMIUM:
+                return 3;
+            case REGULAR:
+                return 2;
+            default:
+                return 1;
+        }
+    }
+}
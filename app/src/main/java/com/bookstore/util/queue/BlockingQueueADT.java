@@ -0,0 +1,43 @@
+package com.bookstore.util.queue;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue ADT with blocking operations
+ * Consumers park while the queue is empty and producers park while it is
+ * full, instead of polling and catching QueueEmptyException/QueueFullException.
+ *
+ * @param <T> The type of elements stored in the queue
+ */
+public interface BlockingQueueADT<T> extends QueueADT<T> {
+    
+    /**
+     * Remove and return the front element, waiting until one is available
+     * @return The element at the front of the queue
+     * @throws InterruptedException if interrupted while waiting
+     */
+    T take() throws InterruptedException;
+    
+    /**
+     * Remove and return the front element, waiting up to the timeout
+     * @return The element at the front of the queue, or null if the timeout elapsed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    T poll(long timeout, TimeUnit unit) throws InterruptedException;
+    
+    /**
+     * Add an element to the rear, waiting up to the timeout for space
+     * @return true if added, false if the timeout elapsed while the queue was full
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException;
+    
+    /**
+     * Move up to maxElements available elements into the collection without waiting
+     * @param target The collection to add to (in queue order)
+     * @param maxElements Maximum number of elements to move
+     * @return The number of elements moved
+     */
+    int drainTo(Collection<? super T> target, int maxElements);
+}
@@ -0,0 +1,299 @@
+package com.bookstore.util.queue;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Thread-safe blocking queue on top of any QueueADT (ArrayQueue, LinkedQueue)
+ * The wrapped queue keeps its FIFO and capacity semantics; every access goes
+ * through one lock, and two conditions let consumers park while it is empty
+ * and producers park while it is full.
+ *
+ * The wrapped queue must not be used directly once wrapped.
+ *
+ * @param <T> The type of elements stored in the queue
+ */
+public class BlockingQueueWrapper<T> implements BlockingQueueADT<T> {
+    
+    private final QueueADT<T> queue;
+    protected final ReentrantLock lock = new ReentrantLock();
+    protected final Condition notEmpty = lock.newCondition();
+    protected final Condition notFull = lock.newCondition();
+    
+    /**
+     * Wrap a queue
+     * @param queue The queue providing storage, ordering and capacity
+     */
+    public BlockingQueueWrapper(QueueADT<T> queue) {
+        if (queue == null) {
+            throw new IllegalArgumentException("Queue cannot be null");
+        }
+        this.queue = queue;
+    }
+    
+    @Override
+    public boolean enqueue(T element) throws QueueFullException {
+        lock.lock();
+        try {
+            boolean added = queue.enqueue(element);
+            notEmpty.signal();
+            return added;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException {
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot enqueue null element");
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (queue.isFull()) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            queue.enqueue(element);
+            notEmpty.signal();
+            return true;
+        } catch (QueueFullException e) {
+            return false; // Not reachable while holding the lock
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public T dequeue() throws QueueEmptyException {
+        lock.lock();
+        try {
+            T element = queue.dequeue();
+            notFull.signal();
+            return element;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public T poll() {
+        lock.lock();
+        try {
+            T element = queue.poll();
+            if (element != null) {
+                notFull.signal();
+            }
+            return element;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                while (queue.isEmpty()) {
+                    notEmpty.await();
+                }
+                // poll() can still come back empty if the queue drops elements on read
+                T element = queue.poll();
+                if (element != null) {
+                    notFull.signal();
+                    return element;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                while (queue.isEmpty()) {
+                    if (nanos <= 0) {
+                        return null;
+                    }
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+                T element = queue.poll();
+                if (element != null) {
+                    notFull.signal();
+                    return element;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Wait until the queue holds an element without taking it, for callers
+     * that take it under a lock of their own
+     * @return false if the queue was still empty when the timeout ran out
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitNotEmpty(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty()) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public int drainTo(Collection<? super T> target, int maxElements) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target collection cannot be null");
+        }
+        lock.lock();
+        try {
+            int moved = 0;
+            T element;
+            while (moved < maxElements && (element = queue.poll()) != null) {
+                target.add(element);
+                moved++;
+            }
+            if (moved > 0) {
+                notFull.signalAll();
+            }
+            return moved;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public T peek() throws QueueEmptyException {
+        lock.lock();
+        try {
+            return queue.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return queue.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean isFull() {
+        lock.lock();
+        try {
+            return queue.isFull();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public int capacity() {
+        return queue.capacity();
+    }
+    
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            queue.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public List<T> toList() {
+        lock.lock();
+        try {
+            return queue.toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean contains(T element) {
+        lock.lock();
+        try {
+            return queue.contains(element);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public T removeFirst(Predicate<? super T> filter) {
+        lock.lock();
+        try {
+            T removed = queue.removeFirst(filter);
+            if (removed != null) {
+                notFull.signal();
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Run an operation the ADT does not expose (such as re-prioritizing the
+     * wrapped queue) under the queue lock
+     */
+    public void runLocked(Runnable action) {
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return "BlockingQueueWrapper{" + queue + "}";
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bookstore.util.queue;
+
+/**
+ * What happens to an order that misses its PENDING or PROCESSING deadline
+ * Every missed deadline is counted in the deadline statistics; the action
+ * comes on top of that.
+ */
+public enum DeadlineAction {
+    CANCEL("Cancel the order"),
+    ESCALATE("Escalate the order (served first while pending)"),
+    RECORD("Only record the missed deadline");
+
+    private final String description;
+
+    DeadlineAction(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,219 @@
+package com.bookstore.util.queue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Weighted fair queue: deficit round-robin over one sub-queue (flow) per key
+ * Elements with the same key (e.g. customer) are served in arrival order;
+ * across keys, each flow with elements waiting gets a turn in which it may
+ * serve up to its weight in elements before the next flow is served. A key
+ * with many elements therefore cannot hold back keys with few, and a key
+ * with weight 3 gets three times the share of a key with weight 1.
+ *
+ * Characteristics:
+ * - O(1) enqueue/dequeue/peek (every element costs one unit of deficit)
+ * - Empty flows are dropped, so memory follows the elements queued
+ * - toList() lists flow by flow in turn order, not exact service order
+ * - Not thread-safe (wrap in a BlockingQueueWrapper for shared use)
+ *
+ * @param <T> The type of elements stored in the queue
+ */
+public class FairQueue<T> implements QueueADT<T> {
+
+    private final Map<Integer, Flow<T>> flows = new HashMap<>();
+    private final ArrayDeque<Flow<T>> active = new ArrayDeque<>();
+    private final ToIntFunction<? super T> keyOf;
+    private final ToIntFunction<? super T> weightOf;
+    private final Supplier<? extends QueueADT<T>> flowQueues;
+    private final int capacity;
+    private int size;
+
+    /**
+     * @param capacity Maximum number of elements across all flows (-1 for unlimited)
+     * @param keyOf Flow key of an element (e.g. customer ID)
+     * @param weightOf Weight of the flow an element starts (at least 1)
+     * @param flowQueues Creates the unbounded queue of a new flow
+     */
+    public FairQueue(int capacity, ToIntFunction<? super T> keyOf, ToIntFunction<? super T> weightOf,
+                     Supplier<? extends QueueADT<T>> flowQueues) {
+        if (capacity < -1 || capacity == 0) {
+            throw new IllegalArgumentException("Capacity must be positive or -1 for unlimited");
+        }
+        if (keyOf == null || weightOf == null || flowQueues == null) {
+            throw new IllegalArgumentException("Key, weight and flow queue functions cannot be null");
+        }
+        this.capacity = capacity;
+        this.keyOf = keyOf;
+        this.weightOf = weightOf;
+        this.flowQueues = flowQueues;
+    }
+
+    /**
+     * Equal weights, linked flow queues
+     */
+    public FairQueue(int capacity, ToIntFunction<? super T> keyOf) {
+        this(capacity, keyOf, element -> 1, LinkedQueue::new);
+    }
+
+    @Override
+    public boolean enqueue(T element) throws QueueFullException {
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot enqueue null element");
+        }
+        if (isFull()) {
+            throw new QueueFullException("Queue has reached maximum capacity: " + capacity);
+        }
+        int key = keyOf.applyAsInt(element);
+        Flow<T> flow = flows.get(key);
+        if (flow == null) {
+            flow = new Flow<>(key, Math.max(1, weightOf.applyAsInt(element)), flowQueues.get());
+            flows.put(key, flow);
+            active.addLast(flow);
+        }
+        flow.queue.enqueue(element);
+        size++;
+        return true;
+    }
+
+    @Override
+    public T dequeue() throws QueueEmptyException {
+        T element = poll();
+        if (element == null) {
+            throw new QueueEmptyException("Cannot dequeue from empty queue");
+        }
+        return element;
+    }
+
+    @Override
+    public T poll() {
+        while (!active.isEmpty()) {
+            Flow<T> flow = active.peekFirst();
+            if (flow.deficit <= 0) {
+                flow.deficit += flow.weight; // Start of this flow's turn
+            }
+            int before = flow.queue.size();
+            T element = flow.queue.poll();
+            size -= before - flow.queue.size(); // Flow queues may drop stale elements
+            if (element != null) {
+                flow.deficit--;
+            }
+            if (flow.queue.isEmpty()) {
+                // Drop the flow; a returning key starts again with a fresh deficit
+                active.pollFirst();
+                flows.remove(flow.key);
+            } else if (flow.deficit <= 0) {
+                // Turn used up: go to the back of the round
+                active.addLast(active.pollFirst());
+            }
+            if (element != null) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public T peek() throws QueueEmptyException {
+        Flow<T> flow = active.peekFirst();
+        if (flow == null) {
+            throw new QueueEmptyException("Cannot peek at empty queue");
+        }
+        return flow.queue.peek();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return capacity > 0 && size >= capacity;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void clear() {
+        flows.clear();
+        active.clear();
+        size = 0;
+    }
+
+    @Override
+    public List<T> toList() {
+        List<T> result = new ArrayList<>(size);
+        for (Flow<T> flow : active) {
+            result.addAll(flow.queue.toList());
+        }
+        return result;
+    }
+
+    @Override
+    public T removeFirst(Predicate<? super T> filter) {
+        Iterator<Flow<T>> iterator = active.iterator();
+        while (iterator.hasNext()) {
+            Flow<T> flow = iterator.next();
+            T removed = flow.queue.removeFirst(filter);
+            if (removed != null) {
+                size--;
+                if (flow.queue.isEmpty()) {
+                    iterator.remove();
+                    flows.remove(flow.key);
+                }
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean contains(T element) {
+        if (element == null) {
+            return false;
+        }
+        Flow<T> flow = flows.get(keyOf.applyAsInt(element));
+        return flow != null && flow.queue.contains(element);
+    }
+
+    /**
+     * @return Number of keys with elements waiting
+     */
+    public int flowCount() {
+        return flows.size();
+    }
+
+    @Override
+    public String toString() {
+        return "FairQueue{size=" + size + ", flows=" + flows.size() + ", capacity=" + capacity + "}";
+    }
+
+    private static final class Flow<T> {
+        private final int key;
+        private final int weight;
+        private final QueueADT<T> queue;
+        private int deficit;
+
+        private Flow(int key, int weight, QueueADT<T> queue) {
+            this.key = key;
+            this.weight = weight;
+            this.queue = queue;
+        }
+    }
+}
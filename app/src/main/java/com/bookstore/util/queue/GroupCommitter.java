@@ -0,0 +1,288 @@
+package com.bookstore.util.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Group commit of concurrent requests
+ * Submitted requests wait in a queue; a single committer thread takes the
+ * first one, keeps collecting until the batch is full or the first request
+ * has waited the maximum delay, and hands the whole batch to the commit
+ * function (e.g. one database transaction). Each submitter gets its own
+ * result through its future, so the cost of a commit is shared by every
+ * request in the batch.
+ *
+ * The commit function returns one result per request, in request order; if
+ * it throws (or returns the wrong number of results), every request of that
+ * batch fails with the exception. Requests that were never handed to the
+ * commit function (the committer was stopped) fail with a
+ * RejectedExecutionException, so callers can safely commit them another way.
+ *
+ * @param <T> The type of requests
+ * @param <R> The type of per-request results
+ */
+public class GroupCommitter<T, R> {
+
+    // Waiting committers re-check for shutdown at least this often
+    private static final long IDLE_POLL_MILLIS = 50;
+
+    private final String name;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Function<List<T>, List<R>> commitFunction;
+    private final LinkedBlockingQueue<Request<T, R>> requests = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+    private Thread thread;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private volatile int largestBatch;
+
+    /**
+     * @param name Name of the committer thread
+     * @param maxBatchSize Most requests per commit
+     * @param maxDelay Longest the first request of a batch waits for others
+     * @param commitFunction Commits a batch, returning one result per request
+     */
+    public GroupCommitter(String name, int maxBatchSize, long maxDelay, TimeUnit unit,
+                          Function<List<T>, List<R>> commitFunction) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (maxDelay < 0) {
+            throw new IllegalArgumentException("Delay cannot be negative");
+        }
+        if (commitFunction == null) {
+            throw new IllegalArgumentException("Commit function cannot be null");
+        }
+        this.name = name;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.commitFunction = commitFunction;
+    }
+
+    /**
+     * Start the committer thread
+     * @return false if it was already started
+     */
+    public synchronized boolean start() {
+        if (thread != null) {
+            return false;
+        }
+        running = true;
+        thread = Thread.ofPlatform().daemon().name(name).start(this::run);
+        return true;
+    }
+
+    /**
+     * Queue a request for the next batch
+     * @return Completes with the request's result once its batch is committed,
+     *         or exceptionally if the batch failed (RejectedExecutionException
+     *         if the committer is stopped)
+     */
+    public CompletableFuture<R> submit(T request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Cannot submit null request");
+        }
+        Request<T, R> pending = new Request<>(request);
+        synchronized (this) {
+            if (!running) {
+                pending.future.completeExceptionally(new RejectedExecutionException("Group committer is not running"));
+                return pending.future;
+            }
+            requests.add(pending);
+        }
+        submitted.increment();
+        return pending.future;
+    }
+
+    /**
+     * Stop accepting requests and wait for the queued ones to be committed
+     * @return true if the committer thread finished within the timeout
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        Thread committer;
+        synchronized (this) {
+            if (!running) {
+                return true;
+            }
+            running = false;
+            committer = thread;
+        }
+        committer.join(unit.toMillis(timeout) + 1);
+        return !committer.isAlive();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    private void run() {
+        List<Request<T, R>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !requests.isEmpty()) {
+            batch.clear();
+            try {
+                Request<T, R> first = requests.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch, System.nanoTime() + maxDelayNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                requests.drainTo(batch, maxBatchSize - batch.size());
+                commit(batch);
+                failQueued(new RejectedExecutionException("Group committer was interrupted"));
+                return;
+            }
+            commit(batch);
+        }
+    }
+
+    private void collect(List<Request<T, R>> batch, long deadline) throws InterruptedException {
+        while (batch.size() < maxBatchSize) {
+            // Take what is already there before waiting
+            requests.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0 || !running) {
+                return;
+            }
+            // Wait in slices so a shutdown is noticed
+            Request<T, R> next = requests.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS)),
+                    TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    private void failQueued(RejectedExecutionException cause) {
+        List<Request<T, R>> queued = new ArrayList<>();
+        synchronized (this) {
+            running = false;
+            requests.drainTo(queued);
+        }
+        for (Request<T, R> request : queued) {
+            request.future.completeExceptionally(cause);
+        }
+    }
+
+    private void commit(List<Request<T, R>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<T> items = new ArrayList<>(batch.size());
+        for (Request<T, R> request : batch) {
+            items.add(request.item);
+        }
+        batches.increment();
+        largestBatch = Math.max(largestBatch, batch.size());
+        List<R> results;
+        try {
+            results = commitFunction.apply(items);
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("Commit returned " + (results == null ? 0 : results.size())
+                        + " results for " + batch.size() + " requests");
+            }
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            System.err.println("Error in group commit " + name + ": " + e.getMessage());
+            for (Request<T, R> request : batch) {
+                request.future.completeExceptionally(e);
+            }
+            return;
+        }
+        committed.add(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).future.complete(results.get(i));
+        }
+    }
+
+    private static final class Request<T, R> {
+        private final T item;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+
+        private Request(T item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * Snapshot of the counters
+     */
+    public GroupCommitStatistics getStatistics() {
+        return new GroupCommitStatistics(running, maxBatchSize, TimeUnit.NANOSECONDS.toMicros(maxDelayNanos),
+                submitted.sum(), committed.sum(), batches.sum(), failedBatches.sum(), largestBatch,
+                requests.size());
+    }
+
+    /**
+     * Statistics class for the group committer
+     */
+    public static class GroupCommitStatistics {
+        private final boolean running;
+        private final int maxBatchSize;
+        private final long maxDelayMicros;
+        private final long submitted;
+        private final long committed;
+        private final long batches;
+        private final long failedBatches;
+        private final int largestBatch;
+        private final int waiting;
+
+        public GroupCommitStatistics(boolean running, int maxBatchSize, long maxDelayMicros, long submitted,
+                                     long committed, long batches, long failedBatches, int largestBatch,
+                                     int waiting) {
+            this.running = running;
+            this.maxBatchSize = maxBatchSize;
+            this.maxDelayMicros = maxDelayMicros;
+            this.submitted = submitted;
+            this.committed = committed;
+            this.batches = batches;
+            this.failedBatches = failedBatches;
+            this.largestBatch = largestBatch;
+            this.waiting = waiting;
+        }
+
+        // Getters
+        public boolean isRunning() { return running; }
+        public int getMaxBatchSize() { return maxBatchSize; }
+        public long getMaxDelayMicros() { return maxDelayMicros; }
+        public long getSubmitted() { return submitted; }
+        public long getCommitted() { return committed; }
+        public long getBatches() { return batches; }
+        public long getFailedBatches() { return failedBatches; }
+        public int getLargestBatch() { return largestBatch; }
+        public int getWaiting() { return waiting; }
+
+        /**
+         * @return Average number of requests per commit
+         */
+        public double getAverageBatchSize() {
+            long successful = batches - failedBatches;
+            return successful > 0 ? (double) committed / successful : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "GroupCommitStats{running=%b, maxBatch=%d, maxDelay=%dus, submitted=%d, committed=%d, batches=%d, avgBatch=%.1f, largest=%d, failed=%d, waiting=%d}",
+                running, maxBatchSize, maxDelayMicros, submitted, committed, batches, getAverageBatchSize(),
+                largestBatch, failedBatches, waiting
+            );
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.bookstore.util.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * QueueADT that stores only element ids in an IntRingQueue
+ * Elements are turned back into objects with the loader (for orders, a
+ * lookup in the order cache) when they are peeked or dequeued, so a queued
+ * element costs four bytes instead of a reference plus a node. The loader
+ * may return null for an id that should no longer be queued; such ids are
+ * skipped and discarded. isEmpty() and size() discard stale ids at the head
+ * first, so a queue that is not empty always has an element to peek or poll
+ * (stale ids further back count in size() until they reach the head).
+ *
+ * Characteristics:
+ * - Growable up to the optional capacity
+ * - O(1) amortized enqueue, O(1) dequeue/peek plus one loader call
+ * - contains() compares ids without loading; toList()/removeFirst() load
+ * - Not thread-safe (wrap in a BlockingQueueWrapper for shared use)
+ *
+ * @param <T> The type of elements stored in the queue
+ */
+public class IdRingQueue<T> implements QueueADT<T> {
+
+    private final IntRingQueue ids;
+    private final ToIntFunction<? super T> idOf;
+    private final IntFunction<? extends T> loader;
+
+    /**
+     * @param capacity Maximum number of elements (-1 for unlimited)
+     * @param idOf Extracts the id stored for an element
+     * @param loader Turns an id back into an element (null skips it)
+     */
+    public IdRingQueue(int capacity, ToIntFunction<? super T> idOf, IntFunction<? extends T> loader) {
+        if (idOf == null || loader == null) {
+            throw new IllegalArgumentException("Id function and loader cannot be null");
+        }
+        this.ids = new IntRingQueue(capacity);
+        this.idOf = idOf;
+        this.loader = loader;
+    }
+
+    @Override
+    public boolean enqueue(T element) throws QueueFullException {
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot enqueue null element");
+        }
+        if (!ids.offer(idOf.applyAsInt(element))) {
+            throw new QueueFullException("Queue has reached maximum capacity: " + ids.capacity());
+        }
+        return true;
+    }
+
+    @Override
+    public T dequeue() throws QueueEmptyException {
+        T element = poll();
+        if (element == null) {
+            throw new QueueEmptyException("Cannot dequeue from empty queue");
+        }
+        return element;
+    }
+
+    @Override
+    public T poll() {
+        T element = head();
+        if (element != null) {
+            ids.poll();
+        }
+        return element;
+    }
+
+    @Override
+    public T peek() throws QueueEmptyException {
+        T element = head();
+        if (element == null) {
+            throw new QueueEmptyException("Cannot peek at empty queue");
+        }
+        return element;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head() == null;
+    }
+
+    @Override
+    public boolean isFull() {
+        return ids.isFull();
+    }
+
+    @Override
+    public int size() {
+        return head() != null ? ids.size() : 0;
+    }
+
+    @Override
+    public int capacity() {
+        return ids.capacity();
+    }
+
+    @Override
+    public void clear() {
+        ids.clear();
+    }
+
+    /**
+     * Loads every queued element (skipping ids the loader no longer knows)
+     */
+    @Override
+    public List<T> toList() {
+        List<T> result = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            T element = loader.apply(ids.get(i));
+            if (element != null) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public T removeFirst(Predicate<? super T> filter) {
+        for (int i = 0; i < ids.size(); i++) {
+            T element = loader.apply(ids.get(i));
+            if (element != null && filter.test(element)) {
+                ids.removeAt(i);
+                return element;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean contains(T element) {
+        return element != null && ids.indexOf(idOf.applyAsInt(element)) >= 0;
+    }
+
+    /**
+     * Discard stale ids at the head
+     * @return The element at the head (still queued), or null if none is left
+     */
+    private T head() {
+        while (!ids.isEmpty()) {
+            T element = loader.apply(ids.peek());
+            if (element != null) {
+                return element;
+            }
+            ids.poll(); // Stale id
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "IdRingQueue{size=" + ids.size() + ", capacity=" + ids.capacity() + "}";
+    }
+}
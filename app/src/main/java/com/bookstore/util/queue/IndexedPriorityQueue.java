@@ -0,0 +1,326 @@
+package com.bookstore.util.queue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Priority queue backed by an indexed binary heap
+ * The front of the queue is the element that sorts first under the priority
+ * comparator; elements of equal priority leave in arrival order.
+ *
+ * Characteristics:
+ * - O(log n) enqueue/dequeue, O(1) peek
+ * - O(1) containsKey/getByKey through a key to heap-slot index
+ * - O(log n) removeByKey and replace/updatePriority (decrease or increase key)
+ * - Keys are unique: enqueueing an element whose key is already queued is rejected
+ * - Not thread-safe on its own; wrap it in KeyedBlockingQueueWrapper to share it
+ *
+ * @param <T> The type of elements stored in the queue
+ * @param <K> The type of the element keys
+ */
+public class IndexedPriorityQueue<T, K> implements KeyedQueueADT<T, K> {
+
+    /**
+     * Heap entry; knows its own slot so it can be re-sifted after a lookup
+     */
+    private static class Entry<T, K> {
+        T data;
+        final K key;
+        final long sequence;
+        int slot;
+
+        Entry(T data, K key, long sequence) {
+            this.data = data;
+            this.key = key;
+            this.sequence = sequence;
+        }
+    }
+
+    private final List<Entry<T, K>> heap = new ArrayList<>();
+    private final Map<K, Entry<T, K>> index = new HashMap<>();
+    private final Function<? super T, ? extends K> keyExtractor;
+    private Comparator<? super T> priority;
+    private final int capacity;
+    private long nextSequence;
+
+    /**
+     * Create a priority queue
+     * @param capacity Maximum number of elements (-1 for unlimited)
+     * @param keyExtractor Extracts the unique key of an element
+     * @param priority Orders elements; the smallest is served first
+     */
+    public IndexedPriorityQueue(int capacity, Function<? super T, ? extends K> keyExtractor,
+                                Comparator<? super T> priority) {
+        if (capacity < -1 || capacity == 0) {
+            throw new IllegalArgumentException("Capacity must be positive or -1 for unlimited");
+        }
+        if (keyExtractor == null || priority == null) {
+            throw new IllegalArgumentException("Key extractor and priority cannot be null");
+        }
+        this.capacity = capacity;
+        this.keyExtractor = keyExtractor;
+        this.priority = priority;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return false if an element with the same key is already queued
+     */
+    @Override
+    public boolean enqueue(T element) throws QueueFullException {
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot enqueue null element");
+        }
+
+        K key = keyExtractor.apply(element);
+        if (index.containsKey(key)) {
+            return false;
+        }
+        if (isFull()) {
+            throw new QueueFullException("Queue has reached maximum capacity: " + capacity);
+        }
+
+        Entry<T, K> entry = new Entry<>(element, key, nextSequence++);
+        entry.slot = heap.size();
+        heap.add(entry);
+        index.put(key, entry);
+        siftUp(entry.slot);
+        return true;
+    }
+
+    @Override
+    public T dequeue() throws QueueEmptyException {
+        if (isEmpty()) {
+            throw new QueueEmptyException("Cannot dequeue from empty queue");
+        }
+        return removeAt(0).data;
+    }
+
+    @Override
+    public T peek() throws QueueEmptyException {
+        if (isEmpty()) {
+            throw new QueueEmptyException("Cannot peek at empty queue");
+        }
+        return heap.get(0).data;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return index.containsKey(key);
+    }
+
+    @Override
+    public T getByKey(K key) {
+        Entry<T, K> entry = index.get(key);
+        return entry != null ? entry.data : null;
+    }
+
+    @Override
+    public T removeByKey(K key) {
+        Entry<T, K> entry = index.get(key);
+        return entry != null ? removeAt(entry.slot).data : null;
+    }
+
+    /**
+     * Replace the element with the same key and move it to its new priority
+     * (decrease-key or increase-key); arrival order among equals is kept
+     */
+    @Override
+    public boolean replace(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot replace with null element");
+        }
+        Entry<T, K> entry = index.get(keyExtractor.apply(element));
+        if (entry == null) {
+            return false;
+        }
+        entry.data = element;
+        resift(entry.slot);
+        return true;
+    }
+
+    /**
+     * Re-position an element whose priority fields were changed in place
+     * @return true if an element with the key was found
+     */
+    public boolean updatePriority(K key) {
+        Entry<T, K> entry = index.get(key);
+        if (entry == null) {
+            return false;
+        }
+        resift(entry.slot);
+        return true;
+    }
+
+    /**
+     * Switch to a different priority and re-heapify (O(n))
+     * Arrival order is kept as the tie-break.
+     */
+    public void setPriority(Comparator<? super T> priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("Priority cannot be null");
+        }
+        this.priority = priority;
+        for (int slot = heap.size() / 2 - 1; slot >= 0; slot--) {
+            siftDown(slot);
+        }
+    }
+
+    public Comparator<? super T> getPriority() {
+        return priority;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    @Override
+    public boolean isFull() {
+        return capacity > 0 && heap.size() >= capacity;
+    }
+
+    @Override
+    public int size() {
+        return heap.size();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void clear() {
+        heap.clear();
+        index.clear();
+    }
+
+    /**
+     * Elements in the order they would be dequeued (O(n log n) copy)
+     */
+    @Override
+    public List<T> toList() {
+        List<Entry<T, K>> entries = new ArrayList<>(heap);
+        entries.sort(this::compare);
+        List<T> result = new ArrayList<>(entries.size());
+        for (Entry<T, K> entry : entries) {
+            result.add(entry.data);
+        }
+        return result;
+    }
+
+    /**
+     * O(1): looks the element's key up in the index
+     */
+    @Override
+    public boolean contains(T element) {
+        if (element == null) {
+            return false;
+        }
+        Entry<T, K> entry = index.get(keyExtractor.apply(element));
+        return entry != null && element.equals(entry.data);
+    }
+
+    /**
+     * Remove the highest-priority element matching the filter
+     */
+    @Override
+    public T removeFirst(Predicate<? super T> filter) {
+        Entry<T, K> best = null;
+        for (Entry<T, K> entry : heap) {
+            if (filter.test(entry.data) && (best == null || compare(entry, best) < 0)) {
+                best = entry;
+            }
+        }
+        return best != null ? removeAt(best.slot).data : null;
+    }
+
+    private Entry<T, K> removeAt(int slot) {
+        Entry<T, K> removed = heap.get(slot);
+        Entry<T, K> last = heap.remove(heap.size() - 1);
+        if (last != removed) {
+            place(last, slot);
+            resift(slot);
+        }
+        index.remove(removed.key);
+        return removed;
+    }
+
+    private void resift(int slot) {
+        if (!siftUp(slot)) {
+            siftDown(slot);
+        }
+    }
+
+    /**
+     * @return true if the entry moved
+     */
+    private boolean siftUp(int slot) {
+        Entry<T, K> entry = heap.get(slot);
+        int start = slot;
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            Entry<T, K> parentEntry = heap.get(parent);
+            if (compare(entry, parentEntry) >= 0) {
+                break;
+            }
+            place(parentEntry, slot);
+            slot = parent;
+        }
+        place(entry, slot);
+        return slot != start;
+    }
+
+    private void siftDown(int slot) {
+        Entry<T, K> entry = heap.get(slot);
+        int size = heap.size();
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) {
+                break;
+            }
+            int right = child + 1;
+            if (right < size && compare(heap.get(right), heap.get(child)) < 0) {
+                child = right;
+            }
+            Entry<T, K> childEntry = heap.get(child);
+            if (compare(entry, childEntry) <= 0) {
+                break;
+            }
+            place(childEntry, slot);
+            slot = child;
+        }
+        place(entry, slot);
+    }
+
+    private void place(Entry<T, K> entry, int slot) {
+        heap.set(slot, entry);
+        entry.slot = slot;
+    }
+
+    private int compare(Entry<T, K> a, Entry<T, K> b) {
+        int result = priority.compare(a.data, b.data);
+        return result != 0 ? result : Long.compare(a.sequence, b.sequence);
+    }
+
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "IndexedPriorityQueue{empty}";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("IndexedPriorityQueue{size=").append(size());
+        if (capacity > 0) {
+            sb.append("/").append(capacity);
+        }
+        sb.append(", elements=").append(toList()).append("}");
+        return sb.toString();
+    }
+}
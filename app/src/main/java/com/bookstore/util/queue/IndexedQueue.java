@@ -0,0 +1,246 @@
+package com.bookstore.util.queue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Doubly linked FIFO queue with a key to node index
+ *
+ * Characteristics:
+ * - O(1) enqueue/dequeue, like LinkedQueue
+ * - O(1) containsKey/getByKey/removeByKey/replace through the index
+ * - Keys are unique: enqueueing an element whose key is already queued is rejected
+ * - Not thread-safe on its own; wrap it in KeyedBlockingQueueWrapper to share it
+ *
+ * @param <T> The type of elements stored in the queue
+ * @param <K> The type of the element keys
+ */
+public class IndexedQueue<T, K> implements KeyedQueueADT<T, K> {
+    
+    /**
+     * Node class for the doubly linked list
+     */
+    private static class Node<T, K> {
+        T data;
+        final K key;
+        Node<T, K> prev;
+        Node<T, K> next;
+        
+        Node(T data, K key) {
+            this.data = data;
+            this.key = key;
+        }
+    }
+    
+    private final Function<? super T, ? extends K> keyExtractor;
+    private final Map<K, Node<T, K>> index = new HashMap<>();
+    private Node<T, K> front;
+    private Node<T, K> rear;
+    private final int capacity;
+    
+    /**
+     * Create a queue with specified maximum capacity
+     * @param capacity Maximum number of elements (-1 for unlimited)
+     * @param keyExtractor Extracts the unique key of an element
+     */
+    public IndexedQueue(int capacity, Function<? super T, ? extends K> keyExtractor) {
+        if (capacity < -1 || capacity == 0) {
+            throw new IllegalArgumentException("Capacity must be positive or -1 for unlimited");
+        }
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("Key extractor cannot be null");
+        }
+        this.capacity = capacity;
+        this.keyExtractor = keyExtractor;
+    }
+    
+    /**
+     * Create a queue with unlimited capacity
+     */
+    public IndexedQueue(Function<? super T, ? extends K> keyExtractor) {
+        this(-1, keyExtractor);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * @return false if an element with the same key is already queued
+     */
+    @Override
+    public boolean enqueue(T element) throws QueueFullException {
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot enqueue null element");
+        }
+        
+        K key = keyExtractor.apply(element);
+        if (index.containsKey(key)) {
+            return false;
+        }
+        if (isFull()) {
+            throw new QueueFullException("Queue has reached maximum capacity: " + capacity);
+        }
+        
+        Node<T, K> newNode = new Node<>(element, key);
+        if (rear == null) {
+            front = rear = newNode;
+        } else {
+            newNode.prev = rear;
+            rear.next = newNode;
+            rear = newNode;
+        }
+        index.put(key, newNode);
+        return true;
+    }
+    
+    @Override
+    public T dequeue() throws QueueEmptyException {
+        if (isEmpty()) {
+            throw new QueueEmptyException("Cannot dequeue from empty queue");
+        }
+        Node<T, K> node = front;
+        unlink(node);
+        return node.data;
+    }
+    
+    @Override
+    public T peek() throws QueueEmptyException {
+        if (isEmpty()) {
+            throw new QueueEmptyException("Cannot peek at empty queue");
+        }
+        return front.data;
+    }
+    
+    @Override
+    public boolean containsKey(K key) {
+        return index.containsKey(key);
+    }
+    
+    @Override
+    public T getByKey(K key) {
+        Node<T, K> node = index.get(key);
+        return node != null ? node.data : null;
+    }
+    
+    @Override
+    public T removeByKey(K key) {
+        Node<T, K> node = index.get(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.data;
+    }
+    
+    @Override
+    public boolean replace(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot replace with null element");
+        }
+        Node<T, K> node = index.get(keyExtractor.apply(element));
+        if (node == null) {
+            return false;
+        }
+        node.data = element;
+        return true;
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        return front == null;
+    }
+    
+    @Override
+    public boolean isFull() {
+        return capacity > 0 && index.size() >= capacity;
+    }
+    
+    @Override
+    public int size() {
+        return index.size();
+    }
+    
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+    
+    @Override
+    public void clear() {
+        // Help GC by breaking the chain
+        while (front != null) {
+            Node<T, K> temp = front;
+            front = front.next;
+            temp.data = null;
+            temp.prev = null;
+            temp.next = null;
+        }
+        rear = null;
+        index.clear();
+    }
+    
+    @Override
+    public List<T> toList() {
+        List<T> result = new ArrayList<>(index.size());
+        for (Node<T, K> current = front; current != null; current = current.next) {
+            result.add(current.data);
+        }
+        return result;
+    }
+    
+    /**
+     * O(1): looks the element's key up in the index
+     */
+    @Override
+    public boolean contains(T element) {
+        if (element == null) {
+            return false;
+        }
+        Node<T, K> node = index.get(keyExtractor.apply(element));
+        return node != null && element.equals(node.data);
+    }
+    
+    @Override
+    public T removeFirst(Predicate<? super T> filter) {
+        for (Node<T, K> current = front; current != null; current = current.next) {
+            if (filter.test(current.data)) {
+                unlink(current);
+                return current.data;
+            }
+        }
+        return null;
+    }
+    
+    private void unlink(Node<T, K> node) {
+        if (node.prev == null) {
+            front = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            rear = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        index.remove(node.key);
+    }
+    
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "IndexedQueue{empty}";
+        }
+        
+        StringBuilder sb = new StringBuilder();
+        sb.append("IndexedQueue{size=").append(size());
+        if (capacity > 0) {
+            sb.append("/").append(capacity);
+        }
+        sb.append(", elements=").append(toList()).append("}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,167 @@
+package com.bookstore.util.queue;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Hash map from primitive int keys to primitive long values
+ * Open addressing with linear probing over parallel arrays: about thirteen
+ * bytes per slot (kept at most three quarters full) and no per-entry
+ * objects or boxing. Removal shifts the following entries of the probe run
+ * back, so no tombstones build up.
+ *
+ * Characteristics:
+ * - O(1) expected get/put/remove
+ * - The arrays double when three quarters full and never shrink (clear keeps them)
+ * - Not thread-safe
+ */
+public class IntLongHashMap {
+
+    private static final int INITIAL_LENGTH = 16;
+
+    private int[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+
+    public IntLongHashMap() {
+        allocate(INITIAL_LENGTH);
+    }
+
+    /**
+     * @return The value of the key, or missing if it is absent
+     */
+    public long get(int key, long missing) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : missing;
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Set the value of a key
+     * @return The previous value, or missing if the key was absent
+     */
+    public long put(int key, long value, long missing) {
+        int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if (++size > keys.length * 3 / 4) {
+            grow();
+        }
+        return missing;
+    }
+
+    /**
+     * Remove a key
+     * @return Its value, or missing if it was absent
+     */
+    public long remove(int key, long missing) {
+        int slot = find(key);
+        if (slot < 0) {
+            return missing;
+        }
+        long value = values[slot];
+        int mask = keys.length - 1;
+        // Shift later entries of the probe run back into the gap
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            int home = slotOf(keys[next], mask);
+            // Move it if its home is not cyclically within (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[gap] = false;
+        size--;
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Run the action on every value, in no particular order
+     */
+    public void forEachValue(LongConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                action.accept(values[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldKeys.length << 1);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotOf(oldKeys[i], mask);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                used[slot] = true;
+            }
+        }
+    }
+
+    private void allocate(int length) {
+        keys = new int[length];
+        values = new long[length];
+        used = new boolean[length];
+    }
+
+    private static int slotOf(int key, int mask) {
+        // Spread sequential ids (e.g. auto-increment keys) over the table
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    @Override
+    public String toString() {
+        return "IntLongHashMap{size=" + size + ", slots=" + keys.length + "}";
+    }
+}
@@ -0,0 +1,172 @@
+package com.bookstore.util.queue;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Growable FIFO ring buffer of primitive ints
+ * Four bytes per element and no per-element objects: the backing array
+ * starts small and doubles (power-of-two length, so wrap-around is a mask)
+ * until it reaches the optional capacity limit.
+ *
+ * Characteristics:
+ * - O(1) amortized offer, O(1) poll/peek/get
+ * - O(n) removeAt (shifts the shorter side)
+ * - Not thread-safe
+ */
+public class IntRingQueue {
+
+    private static final int INITIAL_LENGTH = 16;
+
+    private int[] elements;
+    private int head;
+    private int size;
+    private final int capacity;
+
+    /**
+     * @param capacity Maximum number of elements (-1 for unlimited)
+     */
+    public IntRingQueue(int capacity) {
+        if (capacity < -1 || capacity == 0) {
+            throw new IllegalArgumentException("Capacity must be positive or -1 for unlimited");
+        }
+        this.capacity = capacity;
+        int length = INITIAL_LENGTH;
+        if (capacity > 0) {
+            length = Math.min(length, Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1);
+        }
+        this.elements = new int[length];
+    }
+
+    public IntRingQueue() {
+        this(-1);
+    }
+
+    /**
+     * @return false if the queue is at capacity
+     */
+    public boolean offer(int value) {
+        if (isFull()) {
+            return false;
+        }
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+        return true;
+    }
+
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException("Queue is empty");
+        }
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Queue is empty");
+        }
+        return elements[head];
+    }
+
+    /**
+     * @param index Position from the front (0 = head)
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return elements[(head + index) & (elements.length - 1)];
+    }
+
+    /**
+     * Remove the element at a position, keeping the order of the others
+     */
+    public int removeAt(int index) {
+        checkIndex(index);
+        int mask = elements.length - 1;
+        int value = elements[(head + index) & mask];
+        if (index < size / 2) {
+            // Shift the front part one step towards the back
+            for (int i = index; i > 0; i--) {
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+            head = (head + 1) & mask;
+        } else {
+            // Shift the back part one step towards the front
+            for (int i = index; i < size - 1; i++) {
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+        }
+        size--;
+        return value;
+    }
+
+    /**
+     * @return Position of the first occurrence from the front, or -1
+     */
+    public int indexOf(int value) {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++) {
+            if (elements[(head + i) & mask] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isFull() {
+        return capacity > 0 && size >= capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * @return The elements from front to back
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = get(i);
+        }
+        return result;
+    }
+
+    private void grow() {
+        int[] larger = new int[elements.length << 1];
+        for (int i = 0; i < size; i++) {
+            larger[i] = elements[(head + i) & (elements.length - 1)];
+        }
+        elements = larger;
+        head = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IntRingQueue" + Arrays.toString(toArray());
+    }
+}
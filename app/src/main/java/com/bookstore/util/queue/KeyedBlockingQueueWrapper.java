@@ -0,0 +1,67 @@
+package com.bookstore.util.queue;
+
+/**
+ * Thread-safe blocking wrapper that also exposes keyed access
+ * Key lookups, removals and replacements run under the same lock as the
+ * queue operations, so they stay O(1) for an IndexedQueue.
+ *
+ * @param <T> The type of elements stored in the queue
+ * @param <K> The type of the element keys
+ */
+public class KeyedBlockingQueueWrapper<T, K> extends BlockingQueueWrapper<T> implements KeyedQueueADT<T, K> {
+    
+    private final KeyedQueueADT<T, K> keyedQueue;
+    
+    /**
+     * Wrap a keyed queue
+     * @param queue The queue providing storage, ordering, capacity and the key index
+     */
+    public KeyedBlockingQueueWrapper(KeyedQueueADT<T, K> queue) {
+        super(queue);
+        this.keyedQueue = queue;
+    }
+    
+    @Override
+    public boolean containsKey(K key) {
+        lock.lock();
+        try {
+            return keyedQueue.containsKey(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public T getByKey(K key) {
+        lock.lock();
+        try {
+            return keyedQueue.getByKey(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public T removeByKey(K key) {
+        lock.lock();
+        try {
+            T removed = keyedQueue.removeByKey(key);
+            if (removed != null) {
+                notFull.signal();
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public boolean replace(T element) {
+        lock.lock();
+        try {
+            return keyedQueue.replace(element);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
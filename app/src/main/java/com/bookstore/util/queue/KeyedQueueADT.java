@@ -0,0 +1,40 @@
+package com.bookstore.util.queue;
+
+/**
+ * Queue ADT whose elements carry a unique key
+ * Adds direct access by key on top of FIFO order, so an element can be
+ * found, removed or replaced without walking the queue.
+ *
+ * @param <T> The type of elements stored in the queue
+ * @param <K> The type of the element keys
+ */
+public interface KeyedQueueADT<T, K> extends QueueADT<T> {
+    
+    /**
+     * Check if an element with the given key is queued
+     * @param key The key to look up
+     * @return true if an element with the key is in the queue
+     */
+    boolean containsKey(K key);
+    
+    /**
+     * Get the queued element with the given key without removing it
+     * @param key The key to look up
+     * @return The element, or null if no element has the key
+     */
+    T getByKey(K key);
+    
+    /**
+     * Remove the element with the given key, wherever it is in the queue
+     * @param key The key of the element to remove
+     * @return The removed element, or null if no element has the key
+     */
+    T removeByKey(K key);
+    
+    /**
+     * Replace the queued element that has the same key, keeping its position
+     * @param element The new version of the element
+     * @return true if an element was replaced, false if none has the key
+     */
+    boolean replace(T element);
+}
@@ -0,0 +1,47 @@
+package com.bookstore.util.queue;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * SpilloverQueue over a keyed queue
+ * Keyed operations see only the elements in memory; spilled elements are
+ * looked up again by the loader when they are refilled, so a loader that
+ * returns null for elements that should no longer be queued takes care of
+ * spilled elements that were removed or changed in the meantime.
+ *
+ * @param <T> The type of elements stored in the queue
+ * @param <K> The type of the element keys
+ */
+public class KeyedSpilloverQueue<T, K> extends SpilloverQueue<T> implements KeyedQueueADT<T, K> {
+
+    private final KeyedQueueADT<T, K> keyedMemory;
+
+    public KeyedSpilloverQueue(KeyedQueueADT<T, K> memory, ToIntFunction<? super T> idOf) {
+        super(memory, idOf);
+        this.keyedMemory = memory;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return keyedMemory.containsKey(key);
+    }
+
+    @Override
+    public T getByKey(K key) {
+        return keyedMemory.getByKey(key);
+    }
+
+    @Override
+    public T removeByKey(K key) {
+        T removed = keyedMemory.removeByKey(key);
+        if (removed != null && spilledCount() > 0) {
+            refill();
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean replace(T element) {
+        return keyedMemory.replace(element);
+    }
+}
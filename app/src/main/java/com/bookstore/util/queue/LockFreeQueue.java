@@ -0,0 +1,292 @@
+package com.bookstore.util.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Predicate;
+
+/**
+ * Lock-free multi-producer/multi-consumer implementation of QueueADT
+ * (Michael-Scott queue)
+ *
+ * Characteristics:
+ * - Safe for any number of concurrent producers and consumers without locks
+ * - O(1) enqueue/dequeue; a failed CAS only retries, nobody ever blocks
+ * - Optional capacity limit, enforced by reserving a slot before linking
+ * - removeFirst() unlinks logically (clears the slot); cleared slots at the
+ *   front are dropped by the next dequeue, peek or removal
+ * - size(), toList() and contains() are weakly consistent snapshots
+ *
+ * The list always starts with a dummy node; the first real element is
+ * head.next. Enqueue links a node after the tail with a CAS and then swings
+ * the tail (any thread that sees a lagging tail helps advance it). Dequeue
+ * swings the head to head.next, which becomes the new dummy, and then claims
+ * the element by clearing its slot; a slot that was already cleared by
+ * removeFirst() is simply skipped. peek() and removeFirst() swing the head
+ * past cleared slots the same way, so removed nodes become garbage instead
+ * of piling up in front of the live elements (a cleared slot behind a live
+ * element waits until that element leaves).
+ *
+ * @param <T> The type of elements stored in the queue
+ */
+public class LockFreeQueue<T> implements QueueADT<T> {
+
+    /**
+     * Node class for the linked list implementation
+     */
+    private static class Node<T> {
+        volatile T data;
+        final AtomicReference<Node<T>> next = new AtomicReference<>();
+
+        Node(T data) {
+            this.data = data;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Node, Object> DATA =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Object.class, "data");
+
+    private final AtomicReference<Node<T>> head;
+    private final AtomicReference<Node<T>> tail;
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    /**
+     * Create a queue with specified maximum capacity
+     * @param capacity Maximum number of elements (-1 for unlimited)
+     */
+    public LockFreeQueue(int capacity) {
+        if (capacity < -1 || capacity == 0) {
+            throw new IllegalArgumentException("Capacity must be positive or -1 for unlimited");
+        }
+        this.capacity = capacity;
+        Node<T> dummy = new Node<>(null);
+        this.head = new AtomicReference<>(dummy);
+        this.tail = new AtomicReference<>(dummy);
+    }
+
+    /**
+     * Create a queue with unlimited capacity
+     */
+    public LockFreeQueue() {
+        this(-1);
+    }
+
+    @Override
+    public boolean enqueue(T element) throws QueueFullException {
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot enqueue null element");
+        }
+
+        reserveSlot();
+
+        Node<T> newNode = new Node<>(element);
+        while (true) {
+            Node<T> last = tail.get();
+            Node<T> next = last.next.get();
+            if (last != tail.get()) {
+                continue; // Tail moved while reading, retry
+            }
+            if (next == null) {
+                if (last.next.compareAndSet(null, newNode)) {
+                    tail.compareAndSet(last, newNode); // Failure means another thread helped
+                    return true;
+                }
+            } else {
+                tail.compareAndSet(last, next); // Help a lagging tail along
+            }
+        }
+    }
+
+    @Override
+    public T dequeue() throws QueueEmptyException {
+        T element = poll();
+        if (element == null) {
+            throw new QueueEmptyException("Cannot dequeue from empty queue");
+        }
+        return element;
+    }
+
+    @Override
+    public T poll() {
+        while (true) {
+            Node<T> first = head.get();
+            Node<T> last = tail.get();
+            Node<T> next = first.next.get();
+            if (first != head.get()) {
+                continue;
+            }
+            if (next == null) {
+                return null;
+            }
+            if (first == last) {
+                tail.compareAndSet(last, next); // Tail is behind, help it first
+                continue;
+            }
+            if (head.compareAndSet(first, next)) {
+                // next is the new dummy; claim its element (null if removed meanwhile)
+                @SuppressWarnings("unchecked")
+                T element = (T) DATA.getAndSet(next, null);
+                if (element != null) {
+                    size.decrementAndGet();
+                    return element;
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove the first element matching the filter, wherever it is in the queue
+     * O(n) scan without draining; safe against concurrent enqueue, dequeue and removal.
+     * @param filter Condition identifying the element
+     * @return The removed element, or null if none matched
+     */
+    @Override
+    public T removeFirst(Predicate<? super T> filter) {
+        for (Node<T> current = skipCleared(); current != null; current = current.next.get()) {
+            T element = current.data;
+            if (element != null && filter.test(element) && DATA.compareAndSet(current, element, null)) {
+                size.decrementAndGet();
+                skipCleared(); // Drop the node at once if it was first
+                return element;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public T peek() throws QueueEmptyException {
+        T element = first();
+        if (element == null) {
+            throw new QueueEmptyException("Cannot peek at empty queue");
+        }
+        return element;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return first() == null;
+    }
+
+    /**
+     * First live element, skipping slots already claimed or removed
+     */
+    private T first() {
+        for (Node<T> current = skipCleared(); current != null; current = current.next.get()) {
+            T element = current.data;
+            if (element != null) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Swing the head past cleared slots at the front of the list
+     * A cleared slot never gets an element again, so making it the dummy is
+     * the same as dequeuing it; the tail is helped along first as in poll().
+     * @return The first node after the head (holding an element unless
+     *         claimed meanwhile), or null if the list is empty
+     */
+    private Node<T> skipCleared() {
+        while (true) {
+            Node<T> first = head.get();
+            Node<T> next = first.next.get();
+            if (next == null || next.data != null) {
+                return next;
+            }
+            Node<T> last = tail.get();
+            if (first == last) {
+                tail.compareAndSet(last, next);
+            } else {
+                head.compareAndSet(first, next);
+            }
+        }
+    }
+
+    @Override
+    public boolean isFull() {
+        return capacity > 0 && size.get() >= capacity;
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // Drain; concurrent enqueues may survive, as with any snapshot operation
+        }
+    }
+
+    @Override
+    public List<T> toList() {
+        List<T> result = new ArrayList<>(Math.max(size.get(), 0));
+        for (Node<T> current = head.get().next.get(); current != null; current = current.next.get()) {
+            T element = current.data;
+            if (element != null) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean contains(T element) {
+        if (element == null) {
+            return false;
+        }
+        for (Node<T> current = head.get().next.get(); current != null; current = current.next.get()) {
+            if (element.equals(current.data)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Claim one unit of capacity before linking, so concurrent producers
+     * can never overshoot a bounded queue
+     */
+    private void reserveSlot() throws QueueFullException {
+        if (capacity <= 0) {
+            size.incrementAndGet();
+            return;
+        }
+        while (true) {
+            int current = size.get();
+            if (current >= capacity) {
+                throw new QueueFullException("Queue has reached maximum capacity: " + capacity);
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        List<T> elements = toList();
+        if (elements.isEmpty()) {
+            return "LockFreeQueue{empty}";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("LockFreeQueue{size=").append(elements.size());
+        if (capacity > 0) {
+            sb.append("/").append(capacity);
+        }
+        sb.append(", elements=").append(elements).append("}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.CustomerTier;
+import com.bookstore.model.Order;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Processing priorities for the pending order queue
+ * Each priority is a comparator where the order that sorts first is served
+ * first; ties always fall back to age so equal orders keep a stable order.
+ */
+public enum OrderPriority {
+    AGE("Oldest first"),
+    TOTAL_AMOUNT("Largest total first"),
+    CUSTOMER_TIER("Highest customer tier first");
+
+    /**
+     * Oldest order date first, then lowest order ID (orders without a date last)
+     */
+    public static final Comparator<Order> OLDEST_FIRST =
+            Comparator.comparing(Order::getOrderDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparingInt(Order::getOrderId);
+
+    /**
+     * Largest total amount first, then oldest
+     */
+    public static final Comparator<Order> LARGEST_TOTAL_FIRST =
+            Comparator.comparingDouble(Order::getTotalAmount).reversed()
+                    .thenComparing(OLDEST_FIRST);
+
+    private final String description;
+
+    OrderPriority(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Highest customer tier first (VIP, Premium, Regular, New), then oldest
+     * @param tiers Customer ID to tier; customers without an entry count as New
+     */
+    public static Comparator<Order> byCustomerTier(Map<Integer, CustomerTier> tiers) {
+        Comparator<Order> byTier = Comparator.comparingInt(
+                order -> tiers.getOrDefault(order.getCustomerId(), CustomerTier.NEW).ordinal());
+        return byTier.thenComparing(OLDEST_FIRST);
+    }
+
+    /**
+     * Comparator for this priority
+     * @param tiers Customer tiers, only used by CUSTOMER_TIER
+     */
+    public Comparator<Order> comparator(Map<Integer, CustomerTier> tiers) {
+        switch (this) {
+            case TOTAL_AMOUNT:
+                return LARGEST_TOTAL_FIRST;
+            case CUSTOMER_TIER:
+                return byCustomerTier(tiers);
+            default:
+                return OLDEST_FIRST;
+        }
+    }
+}
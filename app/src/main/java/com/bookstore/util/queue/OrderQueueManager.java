@@ -1,12 +1,28 @@
 package com.bookstore.util.queue;
 
+import com.bookstore.model.CustomerTier;
 import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
 import com.bookstore.model.User;
 import com.bookstore.model.Role;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * Centralized Order Queue Manager
@@ -14,17 +30,463 @@ import java.util.ArrayList;
  */
 public class OrderQueueManager {
     
+    // Queues are shared by every session and worker thread, so they use the
+    // lock-free LockFreeQueue rather than the single-threaded LinkedQueue.
+    // Every queue is wrapped in a SpilloverQueue: once overflow is enabled a
+    // full queue spills order ids to disk instead of rejecting orders.
+    // The pending queue is blocking so order workers can park on it, and an
+    // indexed heap so the next order by priority is O(1) to read and
+    // removals and status updates by order id are O(log n).
+    
+    // With QueueStorage.ORDER_IDS the admin, completed and user queues keep
+    // only order ids (four bytes each) in IdRingQueues and load the orders
+    // back through the resolver when they are read. The pending heap keeps
+    // Order objects because every sift compares order fields.
+    
+    /**
+     * How the admin, completed and user queues hold their orders
+     */
+    public enum QueueStorage {
+        ORDERS,     // Order references in lock-free queues
+        ORDER_IDS   // Order ids in ring buffers, resolved on peek/dequeue
+    }
+    
+    private static final int ADMIN_QUEUE_CAPACITY = 1000;
+    private static final int COMPLETED_QUEUE_CAPACITY = 2000;
+    private static final int USER_QUEUE_CAPACITY = 100;
+    
+    private static volatile QueueStorage storage = QueueStorage.ORDERS;
+    private static volatile IntFunction<Order> orderResolver;
+    
+    // Admins are served in arrival order by default; with FAIR or WEIGHTED
+    // scheduling the admin queue is a FairQueue with one flow per customer,
+    // so one customer's bulk orders cannot starve everyone else
+    private static volatile AdminScheduling adminScheduling = AdminScheduling.ARRIVAL;
+    private static volatile Map<Integer, CustomerTier> customerTiers = Collections.emptyMap();
+    
     // Global admin queue for all orders
-    private static final QueueADT<Order> adminQueue = new LinkedQueue<>(1000);
+    private static volatile SpilloverQueue<Order> adminQueue = createAdminQueue(null);
     
     // User-specific queues (userId -> user's order queue)
-    private static final Map<Integer, QueueADT<Order>> userQueues = new ConcurrentHashMap<>();
+    private static final Map<Integer, SpilloverQueue<Order>> userQueues = new ConcurrentHashMap<>();
     
-    // Queue for pending orders (before assignment to users)
-    private static final QueueADT<Order> pendingQueue = new LinkedQueue<>(500);
+    // Orders escalated after missing a deadline (order ID -> status when escalated)
+    private static final Map<Integer, OrderStatus> escalations = new ConcurrentHashMap<>();
+    private static final KeyedBlockingQueueWrapper<Order, Integer> escalatedQueue = new KeyedBlockingQueueWrapper<>(
+            new IndexedPriorityQueue<>(500, Order::getOrderId, OrderPriority.OLDEST_FIRST));
+    
+    // Queue for pending orders (before assignment to users), oldest first by
+    // default; escalated orders always come first
+    private static final IndexedPriorityQueue<Order, Integer> pendingHeap =
+            new IndexedPriorityQueue<>(500, Order::getOrderId, escalatedFirst(OrderPriority.OLDEST_FIRST));
+    private static final KeyedSpilloverQueue<Order, Integer> pendingOverflow =
+            new KeyedSpilloverQueue<>(pendingHeap, Order::getOrderId);
+    private static final KeyedBlockingQueueWrapper<Order, Integer> pendingQueue =
+            new KeyedBlockingQueueWrapper<>(pendingOverflow);
     
     // Queue for completed orders (for history/reporting)
-    private static final QueueADT<Order> completedQueue = new LinkedQueue<>(2000);
+    private static volatile SpilloverQueue<Order> completedQueue = createQueue(COMPLETED_QUEUE_CAPACITY, null);
+    
+    // Maintained counters and wait-time histograms, so statistics never walk
+    // the queues. Only changes made through this class are counted.
+    private static final QueueMetrics adminMetrics = new QueueMetrics();
+    private static final QueueMetrics pendingMetrics = new QueueMetrics();
+    private static final QueueMetrics completedMetrics = new QueueMetrics();
+    private static final LongAdder userQueueItems = new LongAdder();
+    private static final Map<Integer, QueueMetrics> userMetrics = new ConcurrentHashMap<>();
+    
+    // Bumped on every status change made through this class: orders change
+    // status in place, so indexes over cached statuses compare this to rebuild
+    private static final AtomicLong statusVersion = new AtomicLong();
+    
+    // Deadlines for orders waiting in PENDING or PROCESSING, kept on a timer
+    // wheel so attaching, replacing and cancelling one is O(1)
+    private static final long DEADLINE_TICK_MS = 100;
+    private static final int DEADLINE_WHEEL_SIZE = 512;
+    private static final Map<Integer, TimerWheel.Timeout<Deadline>> deadlines = new ConcurrentHashMap<>();
+    private static final LongAdder[] expiredDeadlines = new LongAdder[OrderStatus.values().length];
+    private static volatile TimerWheel<Deadline> deadlineWheel;
+    private static volatile Duration pendingDeadline;
+    private static volatile Duration processingDeadline;
+    private static volatile DeadlineHandler deadlineHandler;
+    
+    static {
+        for (int i = 0; i < expiredDeadlines.length; i++) {
+            expiredDeadlines[i] = new LongAdder();
+        }
+    }
+    
+    /**
+     * Action taken when an order misses its deadline
+     * Runs on its own virtual thread, off the timer wheel.
+     */
+    @FunctionalInterface
+    public interface DeadlineHandler {
+        void onDeadline(Order order, OrderStatus status);
+    }
+    
+    // Overflow settings (null directory = overflow disabled, full queues reject orders)
+    private static volatile Path overflowDirectory;
+    private static volatile IntFunction<Order> overflowLoader;
+    
+    // Optional durable journal of queue operations (null = in-memory only).
+    // Changes made directly on the queues returned by the getters are not journaled.
+    private static final int JOURNAL_COMPACTION_THRESHOLD = 5000;
+    private static volatile QueueJournal journal;
+    
+    // While journaling, every journaled change holds this lock across the queue
+    // change and its record, so records are in the order the changes happened
+    // (e.g. a checkout's ENQUEUE always precedes a worker's DEQUEUE of it)
+    private static final ReentrantLock journalLock = new ReentrantLock();
+    private static long lastRecord; // Guarded by journalLock
+    
+    /**
+     * Recover the queues from a journal directory and journal every change from now on
+     * Replaces the current queue contents with the recovered ones.
+     * @param directory Directory for the snapshot and journal files
+     * @param fsync True to force records to disk before each change returns
+     *              (concurrent changes share one fsync)
+     * @return The number of queue entries recovered
+     */
+    public static synchronized int enableJournal(Path directory, boolean fsync) throws IOException {
+        disableJournal();
+        QueueJournal opened = new QueueJournal(directory, fsync, JOURNAL_COMPACTION_THRESHOLD);
+        Map<String, List<Order>> recovered = opened.recover();
+        
+        journalLock.lock();
+        try {
+            return recover(opened, recovered);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+    
+    private static int recover(QueueJournal opened, Map<String, List<Order>> recovered) {
+        adminQueue.clear();
+        pendingQueue.clear();
+        completedQueue.clear();
+        clearUserQueues();
+        clearMetrics();
+        int count = 0;
+        for (Map.Entry<String, List<Order>> entry : recovered.entrySet()) {
+            QueueADT<Order> queue = queueByName(entry.getKey());
+            QueueMetrics metrics = metricsByName(entry.getKey());
+            for (Order order : entry.getValue()) {
+                try {
+                    if (queue.enqueue(order)) {
+                        metrics.recordEnqueue(order);
+                        count++;
+                    }
+                } catch (QueueFullException e) {
+                    System.err.println("Queue is full during recovery: " + e.getMessage());
+                    break;
+                }
+            }
+        }
+        
+        journal = opened;
+        lastRecord = 0;
+        return count;
+    }
+    
+    /**
+     * Let full queues spill order ids to segment files in the directory
+     * instead of rejecting orders; spilled orders are loaded back with the
+     * loader as the queues drain. Memory use stays bounded by the queue
+     * capacities.
+     * @param directory Directory for the segment files (scratch space)
+     * @param loader Loads an order by ID (null if it no longer exists)
+     */
+    public static synchronized void enableOverflow(Path directory, IntFunction<Order> loader) throws IOException {
+        adminQueue.enableOverflow(directory.resolve("admin.spill"), loader);
+        completedQueue.enableOverflow(directory.resolve("completed.spill"), loader);
+        // Spilled pending orders that were picked up or deleted in the meantime are
+        // dropped on refill, and leave the pending counts there
+        pendingOverflow.enableOverflow(directory.resolve("pending.spill"), orderId -> {
+            Order order = loader.apply(orderId);
+            if (order != null && order.getStatus() == OrderStatus.PENDING) {
+                return order;
+            }
+            pendingMetrics.recordRemoval(orderId);
+            return null;
+        });
+        overflowLoader = loader;
+        overflowDirectory = directory;
+        for (Map.Entry<Integer, SpilloverQueue<Order>> entry : userQueues.entrySet()) {
+            entry.getValue().enableOverflow(directory.resolve(userSpillName(entry.getKey())), loader);
+        }
+    }
+    
+    /**
+     * Stop spilling; spilled orders are loaded back as far as they fit
+     * @return The number of spilled orders that did not fit and were dropped
+     */
+    public static synchronized int disableOverflow() {
+        overflowDirectory = null;
+        overflowLoader = null;
+        int dropped = adminQueue.disableOverflow() + completedQueue.disableOverflow();
+        dropped += pendingOverflow.disableOverflow();
+        for (SpilloverQueue<Order> userQueue : userQueues.values()) {
+            dropped += userQueue.disableOverflow();
+        }
+        return dropped;
+    }
+    
+    public static boolean isOverflowEnabled() {
+        return overflowDirectory != null;
+    }
+    
+    /**
+     * Switch how the admin, completed and user queues hold their orders
+     * Queued orders are carried over in order. Meant to be called at startup,
+     * before other threads use the queues.
+     * @param newStorage The storage to use
+     * @param resolver Loads an order by ID for ORDER_IDS storage, ideally from
+     *                 the order cache (null result drops the id); ignored for ORDERS
+     */
+    public static synchronized void setQueueStorage(QueueStorage newStorage, IntFunction<Order> resolver) {
+        if (newStorage == QueueStorage.ORDER_IDS && resolver == null) {
+            throw new IllegalArgumentException("Order id storage needs a resolver");
+        }
+        storage = newStorage;
+        orderResolver = resolver;
+        
+        adminQueue = rebuildQueue(adminQueue, () -> createAdminQueue("admin.spill"));
+        completedQueue = rebuildQueue(completedQueue, () -> createQueue(COMPLETED_QUEUE_CAPACITY, "completed.spill"));
+        for (Map.Entry<Integer, SpilloverQueue<Order>> entry : userQueues.entrySet()) {
+            entry.setValue(rebuildQueue(entry.getValue(), () -> createUserQueue(entry.getKey())));
+        }
+    }
+    
+    public static QueueStorage getQueueStorage() {
+        return storage;
+    }
+    
+    /**
+     * Choose the order in which admins are served from the admin queue
+     * Queued orders are carried over. Meant to be called while no other
+     * thread is using the admin queue.
+     * @param scheduling ARRIVAL, FAIR (equal share per customer) or WEIGHTED
+     * @param tiers Customer ID to tier for WEIGHTED (missing customers count as New)
+     */
+    public static synchronized void setAdminScheduling(AdminScheduling scheduling, Map<Integer, CustomerTier> tiers) {
+        adminScheduling = scheduling;
+        customerTiers = tiers != null ? tiers : Collections.emptyMap();
+        adminQueue = rebuildQueue(adminQueue, () -> createAdminQueue("admin.spill"));
+    }
+    
+    public static AdminScheduling getAdminScheduling() {
+        return adminScheduling;
+    }
+    
+    private static SpilloverQueue<Order> createAdminQueue(String spillName) {
+        if (adminScheduling == AdminScheduling.ARRIVAL) {
+            return createQueue(ADMIN_QUEUE_CAPACITY, spillName);
+        }
+        Map<Integer, CustomerTier> tiers = customerTiers;
+        ToIntFunction<Order> weightOf = adminScheduling == AdminScheduling.WEIGHTED
+                ? order -> AdminScheduling.weightOf(tiers.getOrDefault(order.getCustomerId(), CustomerTier.NEW))
+                : order -> 1;
+        Supplier<QueueADT<Order>> flowQueues;
+        if (storage == QueueStorage.ORDER_IDS) {
+            IntFunction<Order> resolver = orderResolver;
+            flowQueues = () -> new IdRingQueue<>(-1, Order::getOrderId, resolver);
+        } else {
+            flowQueues = LinkedQueue::new;
+        }
+        FairQueue<Order> fairQueue = new FairQueue<>(ADMIN_QUEUE_CAPACITY, Order::getCustomerId, weightOf, flowQueues);
+        return wrapQueue(new BlockingQueueWrapper<>(fairQueue), spillName);
+    }
+    
+    private static SpilloverQueue<Order> createQueue(int capacity, String spillName) {
+        QueueADT<Order> memory;
+        if (storage == QueueStorage.ORDER_IDS) {
+            IntFunction<Order> resolver = orderResolver;
+            memory = new BlockingQueueWrapper<>(new IdRingQueue<>(capacity, Order::getOrderId, resolver));
+        } else {
+            memory = new LockFreeQueue<>(capacity);
+        }
+        return wrapQueue(memory, spillName);
+    }
+    
+    private static SpilloverQueue<Order> wrapQueue(QueueADT<Order> memory, String spillName) {
+        SpilloverQueue<Order> queue = new SpilloverQueue<>(memory, Order::getOrderId);
+        IntFunction<Order> loader = overflowLoader;
+        if (spillName != null && overflowDirectory != null && loader != null) {
+            try {
+                queue.enableOverflow(overflowDirectory.resolve(spillName), loader);
+            } catch (IOException e) {
+                System.err.println("Overflow unavailable for queue " + spillName + ": " + e.getMessage());
+            }
+        }
+        return queue;
+    }
+    
+    private static SpilloverQueue<Order> rebuildQueue(SpilloverQueue<Order> old, Supplier<SpilloverQueue<Order>> factory) {
+        List<Order> orders = old.toList();
+        old.clear();
+        old.disableOverflow(); // Releases the spill file for the new queue
+        SpilloverQueue<Order> queue = factory.get();
+        for (Order order : orders) {
+            try {
+                queue.enqueue(order);
+            } catch (QueueFullException e) {
+                System.err.println("Queue is full while changing storage: " + e.getMessage());
+                break;
+            }
+        }
+        return queue;
+    }
+    
+    /**
+     * Attach deadlines to queued orders: an order still PENDING after the
+     * pending timeout, or still PROCESSING after the processing timeout, is
+     * counted and handed to the handler. Orders already queued get their
+     * deadline from now.
+     * @param pendingTimeout Longest wait in PENDING (null for no deadline)
+     * @param processingTimeout Longest wait in PROCESSING (null for no deadline)
+     * @param handler Action on expiry, e.g. cancel or escalate
+     */
+    public static synchronized void enableDeadlines(Duration pendingTimeout, Duration processingTimeout,
+                                                    DeadlineHandler handler) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Deadline handler cannot be null");
+        }
+        disableDeadlines();
+        pendingDeadline = pendingTimeout;
+        processingDeadline = processingTimeout;
+        deadlineHandler = handler;
+        TimerWheel<Deadline> wheel = new TimerWheel<>(DEADLINE_TICK_MS, TimeUnit.MILLISECONDS,
+                DEADLINE_WHEEL_SIZE, OrderQueueManager::deadlineExpired, "order-deadlines");
+        wheel.start();
+        deadlineWheel = wheel;
+        
+        // One pass over what is queued now; after this deadlines follow the queue operations
+        for (Order order : pendingQueue.toList()) {
+            scheduleDeadline(order);
+        }
+        for (Order order : adminQueue.toList()) {
+            if (order.getStatus() == OrderStatus.PROCESSING) {
+                scheduleDeadline(order);
+            }
+        }
+    }
+    
+    /**
+     * Stop the deadline timer and drop all deadlines
+     */
+    public static synchronized void disableDeadlines() {
+        TimerWheel<Deadline> wheel = deadlineWheel;
+        deadlineWheel = null;
+        if (wheel != null) {
+            wheel.stop();
+        }
+        deadlines.clear();
+        deadlineHandler = null;
+    }
+    
+    public static boolean isDeadlinesEnabled() {
+        return deadlineWheel != null;
+    }
+    
+    /**
+     * Escalate an order: it is listed in the escalated queue and, if it is
+     * pending, served before every order that is not escalated
+     * @return false if the order is already escalated or the queue is full
+     */
+    public static boolean escalate(Order order) {
+        if (order == null) {
+            return false;
+        }
+        try {
+            if (!escalatedQueue.enqueue(order)) {
+                return false; // Already escalated
+            }
+        } catch (QueueFullException e) {
+            System.err.println("Escalated queue is full: " + e.getMessage());
+            return false;
+        }
+        // Change the key and re-sift under the heap's lock so the heap stays ordered
+        OrderStatus status = order.getStatus();
+        pendingQueue.runLocked(() -> {
+            escalations.put(order.getOrderId(), status);
+            pendingHeap.updatePriority(order.getOrderId());
+        });
+        return true;
+    }
+    
+    /**
+     * Get escalated orders, oldest first
+     */
+    public static List<Order> getEscalatedOrders() {
+        return escalatedQueue.toList();
+    }
+    
+    public static boolean isEscalated(int orderId) {
+        return escalations.containsKey(orderId);
+    }
+    
+    /**
+     * Get deadline statistics
+     */
+    public static DeadlineStatistics getDeadlineStatistics() {
+        TimerWheel<Deadline> wheel = deadlineWheel;
+        return new DeadlineStatistics(
+            wheel != null,
+            wheel != null ? wheel.pendingCount() : 0,
+            expiredDeadlines[OrderStatus.PENDING.ordinal()].sum(),
+            expiredDeadlines[OrderStatus.PROCESSING.ordinal()].sum(),
+            escalatedQueue.size()
+        );
+    }
+    
+    /**
+     * Stop journaling and close the journal files (queues stay as they are)
+     */
+    public static synchronized void disableJournal() {
+        journalLock.lock();
+        try {
+            QueueJournal current = journal;
+            journal = null;
+            if (current != null) {
+                current.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing queue journal: " + e.getMessage());
+        } finally {
+            journalLock.unlock();
+        }
+    }
+    
+    public static boolean isJournalEnabled() {
+        return journal != null;
+    }
+    
+    /**
+     * Check if the queues are backed by journaled state (recovered or written),
+     * in which case they do not need to be rebuilt from the order history
+     */
+    public static boolean hasJournaledState() {
+        QueueJournal current = journal;
+        return current != null && current.hasState();
+    }
+    
+    /**
+     * Write a snapshot of all queues and truncate the journal now
+     */
+    public static void compactJournal() {
+        QueueJournal current = lockJournal();
+        if (current == null) {
+            return;
+        }
+        try {
+            current.compact(snapshotQueues());
+        } catch (IOException e) {
+            System.err.println("Error compacting queue journal: " + e.getMessage());
+        } finally {
+            unlockJournal(current);
+        }
+    }
     
     /**
      * Add order to appropriate queues based on user role and order status
@@ -34,9 +496,13 @@ public class OrderQueueManager {
             return false;
         }
         
+        QueueJournal current = lockJournal();
         try {
             // Always add to admin queue (admins see all orders)
-            adminQueue.enqueue(order);
+            if (adminQueue.enqueue(order)) {
+                adminMetrics.recordEnqueue(order);
+                journal(current, QueueJournal.Operation.ENQUEUE, QueueJournal.ADMIN_QUEUE, order);
+            }
             
             // Add to user-specific queue if user exists
             if (currentUser != null) {
@@ -45,13 +511,20 @@ public class OrderQueueManager {
                 // Users only see their own orders, admins see all
                 if (currentUser.getRole() == Role.ADMIN || 
                     order.getCustomerId() == currentUser.getUserId()) {
-                    userQueue.enqueue(order);
+                    if (userQueue.enqueue(order)) {
+                        getUserMetrics(currentUser.getUserId()).recordEnqueue(order);
+                        journal(current, QueueJournal.Operation.ENQUEUE, QueueJournal.userQueue(currentUser.getUserId()), order);
+                    }
                 }
             }
             
             // Add to pending queue if order is pending
             if (order.getStatus().name().equals("PENDING")) {
-                pendingQueue.enqueue(order);
+                if (pendingQueue.enqueue(order)) {
+                    pendingMetrics.recordEnqueue(order);
+                    scheduleDeadline(order);
+                    journal(current, QueueJournal.Operation.ENQUEUE, QueueJournal.PENDING_QUEUE, order);
+                }
             }
             
             return true;
@@ -59,14 +532,48 @@ public class OrderQueueManager {
         } catch (QueueFullException e) {
             System.err.println("Queue is full: " + e.getMessage());
             return false;
+        } finally {
+            unlockJournal(current);
+        }
+    }
+    
+    /**
+     * Add order to one user's queue only (e.g. to fill a user's queue when the
+     * shared queues were recovered from the journal)
+     */
+    public static boolean addOrderToUserQueue(Order order, int userId) {
+        QueueJournal current = lockJournal();
+        try {
+            if (order != null && getUserQueue(userId).enqueue(order)) {
+                getUserMetrics(userId).recordEnqueue(order);
+                journal(current, QueueJournal.Operation.ENQUEUE, QueueJournal.userQueue(userId), order);
+                return true;
+            }
+        } catch (QueueFullException e) {
+            System.err.println("Queue is full: " + e.getMessage());
+        } finally {
+            unlockJournal(current);
         }
+        return false;
     }
     
     /**
      * Get user-specific queue (creates if doesn't exist)
      */
     public static QueueADT<Order> getUserQueue(int userId) {
-        return userQueues.computeIfAbsent(userId, k -> new LinkedQueue<>(100));
+        return userQueues.computeIfAbsent(userId, OrderQueueManager::createUserQueue);
+    }
+    
+    private static QueueMetrics getUserMetrics(int userId) {
+        return userMetrics.computeIfAbsent(userId, id -> new QueueMetrics(userQueueItems));
+    }
+    
+    private static SpilloverQueue<Order> createUserQueue(int userId) {
+        return createQueue(USER_QUEUE_CAPACITY, userSpillName(userId));
+    }
+    
+    private static String userSpillName(int userId) {
+        return "user-" + userId + ".spill";
     }
     
     /**
@@ -98,20 +605,106 @@ public class OrderQueueManager {
             return null;
         }
         
+        Order order;
+        String queue;
+        QueueMetrics metrics;
+        QueueJournal current = lockJournal();
         try {
             if (user.getRole() == Role.ADMIN) {
                 // Admins get from admin queue (all orders)
-                return adminQueue.dequeue();
+                order = adminQueue.poll();
+                queue = QueueJournal.ADMIN_QUEUE;
+                metrics = adminMetrics;
             } else {
                 // Users get from their personal queue
-                QueueADT<Order> userQueue = getUserQueue(user.getUserId());
-                return userQueue.dequeue();
+                order = getUserQueue(user.getUserId()).poll();
+                queue = QueueJournal.userQueue(user.getUserId());
+                metrics = getUserMetrics(user.getUserId());
+            }
+            if (order != null) {
+                metrics.recordRemoval(order);
+                journal(current, QueueJournal.Operation.DEQUEUE, queue, order);
             }
+        } finally {
+            unlockJournal(current);
+        }
+        return order;
+    }
+    
+    /**
+     * Take the next pending order, waiting up to the timeout for one to arrive
+     * @return The next pending order, or null if none arrived in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static Order takeNextPendingOrder(long timeout, TimeUnit unit) throws InterruptedException {
+        if (journal == null) {
+            Order order = pendingQueue.poll(timeout, unit);
+            if (order != null) {
+                pendingMetrics.recordRemoval(order);
+            }
+            return order;
+        }
+        // Take and journal under the journal lock, but wait for an order outside it
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            QueueJournal current = lockJournal();
+            try {
+                Order order = pendingQueue.poll();
+                if (order != null) {
+                    pendingMetrics.recordRemoval(order);
+                    journal(current, QueueJournal.Operation.DEQUEUE, QueueJournal.PENDING_QUEUE, order);
+                    return order;
+                }
+            } finally {
+                unlockJournal(current);
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !pendingQueue.awaitNotEmpty(remaining, TimeUnit.NANOSECONDS)) {
+                return null;
+            }
+        }
+    }
+    
+    /**
+     * Peek at the highest-priority pending order without removing it (O(1))
+     * @return The next pending order, or null if none are pending
+     */
+    public static Order peekNextPendingOrder() {
+        try {
+            return pendingQueue.peek();
         } catch (QueueEmptyException e) {
-            return null; // Queue is empty
+            return null;
         }
     }
     
+    /**
+     * Change the order in which pending orders are served (re-heapifies, O(n))
+     */
+    public static void setPendingPriority(Comparator<Order> priority) {
+        pendingQueue.runLocked(() -> pendingHeap.setPriority(escalatedFirst(priority)));
+    }
+    
+    /**
+     * Move up to maxOrders pending orders into the collection without waiting
+     * @return The number of orders moved
+     */
+    public static int drainPendingOrders(Collection<? super Order> target, int maxOrders) {
+        List<Order> drained = new ArrayList<>();
+        int count;
+        QueueJournal current = lockJournal();
+        try {
+            count = pendingQueue.drainTo(drained, maxOrders);
+            for (Order order : drained) {
+                pendingMetrics.recordRemoval(order);
+                journal(current, QueueJournal.Operation.DEQUEUE, QueueJournal.PENDING_QUEUE, order);
+            }
+        } finally {
+            unlockJournal(current);
+        }
+        target.addAll(drained);
+        return count;
+    }
+    
     /**
      * Peek at next order for user without removing it
      */
@@ -172,16 +765,26 @@ public class OrderQueueManager {
             return false;
         }
         
+        QueueJournal current = lockJournal();
         try {
             completedQueue.enqueue(order);
+            completedMetrics.recordEnqueue(order);
+            recordStatusChange(order);
+            cancelDeadline(order.getOrderId());
+            clearEscalation(order.getOrderId());
             
             // Remove from pending queue if it's there
-            removeFromQueue(pendingQueue, order);
+            if (pendingQueue.removeByKey(order.getOrderId()) != null) {
+                pendingMetrics.recordRemoval(order);
+            }
             
+            journal(current, QueueJournal.Operation.MOVE_TO_COMPLETED, QueueJournal.COMPLETED_QUEUE, order);
             return true;
         } catch (QueueFullException e) {
             System.err.println("Completed queue is full: " + e.getMessage());
             return false;
+        } finally {
+            unlockJournal(current);
         }
     }
     
@@ -189,32 +792,119 @@ public class OrderQueueManager {
      * Remove order from pending queue (when it's processed)
      */
     public static boolean removeFromPending(Order order) {
-        return removeFromQueue(pendingQueue, order);
+        QueueJournal current = lockJournal();
+        try {
+            if (pendingQueue.removeByKey(order.getOrderId()) == null) {
+                return false;
+            }
+            pendingMetrics.recordRemoval(order);
+            journal(current, QueueJournal.Operation.REMOVE, QueueJournal.PENDING_QUEUE, order);
+            return true;
+        } finally {
+            unlockJournal(current);
+        }
+    }
+    
+    /**
+     * Put a pending order taken from the queue back (e.g. after a failed update)
+     * It keeps its priority; only its place among equal-priority orders may change.
+     */
+    public static boolean returnToPending(Order order) {
+        QueueJournal current = lockJournal();
+        try {
+            if (order != null && pendingQueue.enqueue(order)) {
+                pendingMetrics.recordEnqueue(order);
+                scheduleDeadline(order); // Keeps the deadline it already had
+                journal(current, QueueJournal.Operation.ENQUEUE, QueueJournal.PENDING_QUEUE, order);
+                return true;
+            }
+            return false;
+        } catch (QueueFullException e) {
+            System.err.println("Pending queue is full: " + e.getMessage());
+            return false;
+        } finally {
+            unlockJournal(current);
+        }
+    }
+    
+    /**
+     * Check if an order is waiting in the pending queue (O(1))
+     */
+    public static boolean isPending(int orderId) {
+        return pendingQueue.containsKey(orderId);
     }
     
     /**
      * Update order status in all relevant queues
      */
     public static void updateOrderInQueues(Order updatedOrder) {
-        // This is a simplified approach - in a real system you might want
-        // to implement a more sophisticated update mechanism
-        
-        // For now, we'll rely on the fact that Order objects are references
-        // and updates to the order object will be reflected in the queues
+        if (updatedOrder == null) {
+            return;
+        }
+        recordStatusChange(updatedOrder);
+        OrderStatus escalatedAs = escalations.get(updatedOrder.getOrderId());
+        if (escalatedAs != null && escalatedAs != updatedOrder.getStatus()) {
+            clearEscalation(updatedOrder.getOrderId());
+        }
+        scheduleDeadline(updatedOrder);
         
-        // If order is completed, move to completed queue
-        if (isOrderCompleted(updatedOrder)) {
-            moveToCompleted(updatedOrder);
+        QueueJournal current = lockJournal();
+        try {
+            // If order is completed, move to completed queue
+            if (isOrderCompleted(updatedOrder)) {
+                moveToCompleted(updatedOrder);
+            } else if (updatedOrder.getStatus() == OrderStatus.PENDING) {
+                // Still pending: swap in the new version and re-sift it to its priority
+                if (pendingQueue.replace(updatedOrder)) {
+                    journal(current, QueueJournal.Operation.UPDATE, QueueJournal.PENDING_QUEUE, updatedOrder);
+                }
+            } else {
+                // Picked up (processing/shipped): no longer waiting
+                removeFromPending(updatedOrder);
+            }
+        } finally {
+            unlockJournal(current);
         }
     }
     
+    /**
+     * Get the status version
+     * Changes whenever an order's status change goes through
+     * updateOrderInQueues or moveToCompleted.
+     * @return The current status version
+     */
+    public static long getStatusVersion() {
+        return statusVersion.get();
+    }
+    
     /**
      * Clear all queues (admin operation)
      */
     public static void clearAllQueues() {
-        adminQueue.clear();
-        pendingQueue.clear();
-        completedQueue.clear();
+        QueueJournal current = lockJournal();
+        try {
+            adminQueue.clear();
+            pendingQueue.clear();
+            completedQueue.clear();
+            clearUserQueues();
+            clearMetrics();
+            for (TimerWheel.Timeout<Deadline> timeout : deadlines.values()) {
+                timeout.cancel();
+            }
+            deadlines.clear();
+            escalatedQueue.clear();
+            pendingQueue.runLocked(escalations::clear);
+            journal(current, QueueJournal.Operation.CLEAR, QueueJournal.ALL_QUEUES, null);
+        } finally {
+            unlockJournal(current);
+        }
+    }
+    
+    private static void clearUserQueues() {
+        for (SpilloverQueue<Order> userQueue : userQueues.values()) {
+            userQueue.clear();
+            userQueue.disableOverflow();
+        }
         userQueues.clear();
     }
     
@@ -222,9 +912,17 @@ public class OrderQueueManager {
      * Clear user-specific queue
      */
     public static void clearUserQueue(int userId) {
-        QueueADT<Order> userQueue = userQueues.get(userId);
-        if (userQueue != null) {
+        SpilloverQueue<Order> userQueue = userQueues.get(userId);
+        if (userQueue == null) {
+            return;
+        }
+        QueueJournal current = lockJournal();
+        try {
             userQueue.clear();
+            getUserMetrics(userId).clear();
+            journal(current, QueueJournal.Operation.CLEAR, QueueJournal.userQueue(userId), null);
+        } finally {
+            unlockJournal(current);
         }
     }
     
@@ -237,7 +935,8 @@ public class OrderQueueManager {
             pendingQueue.size(),
             completedQueue.size(),
             userQueues.size(),
-            userQueues.values().stream().mapToInt(QueueADT::size).sum()
+            (int) userQueueItems.sum(),
+            pendingMetrics.getWaitTimes().getStatistics()
         );
     }
     
@@ -250,60 +949,202 @@ public class OrderQueueManager {
         }
         
         int userQueueSize = getQueueSizeForUser(user);
-        int pendingCount = 0;
-        int processingCount = 0;
-        
-        List<Order> userOrders = getUserOrdersList(user);
-        for (Order order : userOrders) {
-            switch (order.getStatus().name()) {
-                case "PENDING":
-                    pendingCount++;
-                    break;
-                case "PROCESSING":
-                    processingCount++;
-                    break;
-            }
-        }
+        QueueMetrics metrics = user.getRole() == Role.ADMIN ? adminMetrics : getUserMetrics(user.getUserId());
         
-        return new UserQueueStatistics(userQueueSize, pendingCount, processingCount);
+        return new UserQueueStatistics(userQueueSize,
+                (int) metrics.getStatusCount(OrderStatus.PENDING),
+                (int) metrics.getStatusCount(OrderStatus.PROCESSING),
+                metrics.getWaitTimes().getStatistics());
     }
     
     // Helper methods
     
     // Note: getOrderPriority() method removed as it was not used after comparator removal
     
-    private static boolean isOrderCompleted(Order order) {
-        String status = order.getStatus().name();
-        return "DELIVERED".equals(status) || "CANCELLED".equals(status);
+    /**
+     * Take the journal lock if journaling is on
+     * @return The journal to write to, or null (and no lock taken) if journaling is off
+     */
+    private static QueueJournal lockJournal() {
+        if (journal == null) {
+            return null;
+        }
+        journalLock.lock();
+        QueueJournal current = journal;
+        if (current == null) {
+            journalLock.unlock(); // Disabled while we waited
+        }
+        return current;
     }
     
-    private static boolean removeFromQueue(QueueADT<Order> queue, Order order) {
-        // This is a simplified removal - in a real implementation,
-        // you might want a more efficient removal mechanism
-        List<Order> tempList = new ArrayList<>();
-        boolean found = false;
-        
+    /**
+     * Release the journal lock; the outermost holder then waits for the
+     * records written so far to reach the disk, outside the lock so that
+     * concurrent changes share one fsync
+     */
+    private static void unlockJournal(QueueJournal current) {
+        if (current == null) {
+            return;
+        }
+        boolean outermost = journalLock.getHoldCount() == 1;
+        long record = lastRecord;
+        journalLock.unlock();
+        if (!outermost) {
+            return;
+        }
         try {
-            // Dequeue all items
-            while (!queue.isEmpty()) {
-                Order current = queue.dequeue();
-                if (!found && current.getOrderId() == order.getOrderId()) {
-                    found = true; // Skip this order (effectively removing it)
-                } else {
-                    tempList.add(current);
-                }
+            current.sync(record);
+        } catch (IOException e) {
+            System.err.println("Error syncing queue journal: " + e.getMessage());
+        }
+    }
+    
+    // Called with the journal lock held (current is null when journaling is off)
+    private static void journal(QueueJournal current, QueueJournal.Operation operation, String queue, Order order) {
+        if (current == null) {
+            return;
+        }
+        try {
+            lastRecord = current.append(operation, queue, order);
+            if (current.needsCompaction()) {
+                // Consistent with the records: no journaled change runs meanwhile
+                current.compact(snapshotQueues());
             }
-            
-            // Re-enqueue remaining items
-            for (Order o : tempList) {
-                queue.enqueue(o);
+        } catch (IOException e) {
+            System.err.println("Error writing queue journal: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Attach the deadline for the order's current status, replacing one for
+     * another status; orders in other statuses lose their deadline (O(1))
+     */
+    private static void scheduleDeadline(Order order) {
+        TimerWheel<Deadline> wheel = deadlineWheel;
+        if (wheel == null) {
+            return;
+        }
+        OrderStatus status = order.getStatus();
+        Duration timeout = status == OrderStatus.PENDING ? pendingDeadline
+                : status == OrderStatus.PROCESSING ? processingDeadline : null;
+        if (timeout == null) {
+            cancelDeadline(order.getOrderId());
+            return;
+        }
+        deadlines.compute(order.getOrderId(), (id, current) -> {
+            if (current != null && !current.isExpired() && !current.isCancelled()
+                    && current.getItem().status == status) {
+                return current;
             }
-            
-        } catch (QueueEmptyException | QueueFullException e) {
-            System.err.println("Error removing order from queue: " + e.getMessage());
+            if (current != null) {
+                current.cancel();
+            }
+            try {
+                return wheel.schedule(new Deadline(order, status), timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (IllegalStateException e) {
+                return null; // Deadlines were disabled meanwhile
+            }
+        });
+    }
+    
+    private static void cancelDeadline(int orderId) {
+        TimerWheel.Timeout<Deadline> timeout = deadlines.remove(orderId);
+        if (timeout != null) {
+            timeout.cancel();
         }
-        
-        return found;
+    }
+    
+    // Runs on the timer wheel thread: keep it short
+    private static void deadlineExpired(Deadline deadline) {
+        Order order = deadline.order;
+        deadlines.computeIfPresent(order.getOrderId(), (id, timeout) -> timeout.getItem() == deadline ? null : timeout);
+        if (order.getStatus() != deadline.status) {
+            return; // Moved on without the queues hearing about it
+        }
+        expiredDeadlines[deadline.status.ordinal()].increment();
+        DeadlineHandler handler = deadlineHandler;
+        if (handler != null) {
+            Thread.ofVirtual().name("order-deadline-" + order.getOrderId())
+                    .start(() -> handler.onDeadline(order, deadline.status));
+        }
+    }
+    
+    private static void clearEscalation(int orderId) {
+        escalatedQueue.removeByKey(orderId);
+        pendingQueue.runLocked(() -> {
+            if (escalations.remove(orderId) != null) {
+                pendingHeap.updatePriority(orderId);
+            }
+        });
+    }
+    
+    private static Comparator<Order> escalatedFirst(Comparator<Order> priority) {
+        Comparator<Order> escalatedFirst = Comparator.comparing(order -> !escalations.containsKey(order.getOrderId()));
+        return escalatedFirst.thenComparing(priority);
+    }
+    
+    // Status changes are counted in the queues that show a status breakdown:
+    // the admin queue, and the owning customer's queue (customers see only
+    // their own orders, admins see the admin queue's breakdown)
+    private static void recordStatusChange(Order order) {
+        statusVersion.incrementAndGet();
+        adminMetrics.recordStatusChange(order);
+        QueueMetrics customerMetrics = userMetrics.get(order.getCustomerId());
+        if (customerMetrics != null) {
+            customerMetrics.recordStatusChange(order);
+        }
+    }
+    
+    private static void clearMetrics() {
+        adminMetrics.clear();
+        pendingMetrics.clear();
+        completedMetrics.clear();
+        for (QueueMetrics metrics : userMetrics.values()) {
+            metrics.clear();
+        }
+        userMetrics.clear();
+    }
+    
+    private static QueueMetrics metricsByName(String name) {
+        switch (name) {
+            case QueueJournal.ADMIN_QUEUE:
+                return adminMetrics;
+            case QueueJournal.PENDING_QUEUE:
+                return pendingMetrics;
+            case QueueJournal.COMPLETED_QUEUE:
+                return completedMetrics;
+            default:
+                return getUserMetrics(QueueJournal.userIdOf(name));
+        }
+    }
+    
+    private static Map<String, List<Order>> snapshotQueues() {
+        Map<String, List<Order>> queues = new LinkedHashMap<>();
+        queues.put(QueueJournal.ADMIN_QUEUE, adminQueue.toList());
+        queues.put(QueueJournal.PENDING_QUEUE, pendingQueue.toList());
+        queues.put(QueueJournal.COMPLETED_QUEUE, completedQueue.toList());
+        for (Map.Entry<Integer, SpilloverQueue<Order>> entry : userQueues.entrySet()) {
+            queues.put(QueueJournal.userQueue(entry.getKey()), entry.getValue().toList());
+        }
+        return queues;
+    }
+    
+    private static QueueADT<Order> queueByName(String name) {
+        switch (name) {
+            case QueueJournal.ADMIN_QUEUE:
+                return adminQueue;
+            case QueueJournal.PENDING_QUEUE:
+                return pendingQueue;
+            case QueueJournal.COMPLETED_QUEUE:
+                return completedQueue;
+            default:
+                return getUserQueue(QueueJournal.userIdOf(name));
+        }
+    }
+    
+    private static boolean isOrderCompleted(Order order) {
+        String status = order.getStatus().name();
+        return "DELIVERED".equals(status) || "CANCELLED".equals(status);
     }
     
     /**
@@ -315,15 +1156,25 @@ public class OrderQueueManager {
         private final int completedQueueSize;
         private final int activeUserQueues;
         private final int totalUserQueueItems;
+        private final LatencyHistogram.LatencyStatistics pendingWaitTimes;
         
         public QueueStatistics(int adminQueueSize, int pendingQueueSize, 
                              int completedQueueSize, int activeUserQueues, 
                              int totalUserQueueItems) {
+            this(adminQueueSize, pendingQueueSize, completedQueueSize, activeUserQueues,
+                 totalUserQueueItems, new LatencyHistogram().getStatistics());
+        }
+        
+        public QueueStatistics(int adminQueueSize, int pendingQueueSize, 
+                             int completedQueueSize, int activeUserQueues, 
+                             int totalUserQueueItems,
+                             LatencyHistogram.LatencyStatistics pendingWaitTimes) {
             this.adminQueueSize = adminQueueSize;
             this.pendingQueueSize = pendingQueueSize;
             this.completedQueueSize = completedQueueSize;
             this.activeUserQueues = activeUserQueues;
             this.totalUserQueueItems = totalUserQueueItems;
+            this.pendingWaitTimes = pendingWaitTimes;
         }
         
         // Getters
@@ -332,13 +1183,62 @@ public class OrderQueueManager {
         public int getCompletedQueueSize() { return completedQueueSize; }
         public int getActiveUserQueues() { return activeUserQueues; }
         public int getTotalUserQueueItems() { return totalUserQueueItems; }
+        public LatencyHistogram.LatencyStatistics getPendingWaitTimes() { return pendingWaitTimes; }
         
         @Override
         public String toString() {
             return String.format(
-                "QueueStats{admin=%d, pending=%d, completed=%d, userQueues=%d, userItems=%d}",
+                "QueueStats{admin=%d, pending=%d, completed=%d, userQueues=%d, userItems=%d, pendingWait=%s}",
                 adminQueueSize, pendingQueueSize, completedQueueSize, 
-                activeUserQueues, totalUserQueueItems
+                activeUserQueues, totalUserQueueItems, pendingWaitTimes
+            );
+        }
+    }
+    
+    /**
+     * A deadline attached to an order for the status it was in
+     */
+    private static final class Deadline {
+        private final Order order;
+        private final OrderStatus status;
+        
+        private Deadline(Order order, OrderStatus status) {
+            this.order = order;
+            this.status = status;
+        }
+    }
+    
+    /**
+     * Statistics class for order deadlines
+     */
+    public static class DeadlineStatistics {
+        private final boolean enabled;
+        private final int scheduled;
+        private final long expiredPending;
+        private final long expiredProcessing;
+        private final int escalated;
+        
+        public DeadlineStatistics(boolean enabled, int scheduled, long expiredPending,
+                                  long expiredProcessing, int escalated) {
+            this.enabled = enabled;
+            this.scheduled = scheduled;
+            this.expiredPending = expiredPending;
+            this.expiredProcessing = expiredProcessing;
+            this.escalated = escalated;
+        }
+        
+        // Getters
+        public boolean isEnabled() { return enabled; }
+        public int getScheduled() { return scheduled; }
+        public long getExpiredPending() { return expiredPending; }
+        public long getExpiredProcessing() { return expiredProcessing; }
+        public int getEscalated() { return escalated; }
+        
+        @Override
+        public String toString() {
+            return String.format(
+                "DeadlineStats{enabled=%s, scheduled=%d, expiredPending=%d, expiredProcessing=%d, escalated=%d}",
+                enabled, scheduled, expiredPending, expiredProcessing, escalated
             );
         }
     }
@@ -350,23 +1250,31 @@ public class OrderQueueManager {
         private final int totalOrders;
         private final int pendingOrders;
         private final int processingOrders;
+        private final LatencyHistogram.LatencyStatistics waitTimes;
         
         public UserQueueStatistics(int totalOrders, int pendingOrders, int processingOrders) {
+            this(totalOrders, pendingOrders, processingOrders, new LatencyHistogram().getStatistics());
+        }
+        
+        public UserQueueStatistics(int totalOrders, int pendingOrders, int processingOrders,
+                                   LatencyHistogram.LatencyStatistics waitTimes) {
             this.totalOrders = totalOrders;
             this.pendingOrders = pendingOrders;
             this.processingOrders = processingOrders;
+            this.waitTimes = waitTimes;
         }
         
         // Getters
         public int getTotalOrders() { return totalOrders; }
         public int getPendingOrders() { return pendingOrders; }
         public int getProcessingOrders() { return processingOrders; }
+        public LatencyHistogram.LatencyStatistics getWaitTimes() { return waitTimes; }
         
         @Override
         public String toString() {
             return String.format(
-                "UserQueueStats{total=%d, pending=%d, processing=%d}",
-                totalOrders, pendingOrders, processingOrders
+                "UserQueueStats{total=%d, pending=%d, processing=%d, wait=%s}",
+                totalOrders, pendingOrders, processingOrders, waitTimes
             );
         }
     }
@@ -0,0 +1,100 @@
+package com.bookstore.util.queue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * FIFO file of int ids used as the on-disk tail of a SpilloverQueue
+ * Ids are appended at the write position and read from the read position;
+ * when the reader catches up the file is truncated, so it only ever holds
+ * the ids currently spilled. The file is scratch space: any old content is
+ * discarded when a segment is opened.
+ *
+ * Not thread-safe; SpilloverQueue serializes access.
+ */
+class OverflowSegment implements Closeable {
+
+    private static final int ID_BYTES = Integer.BYTES;
+
+    private final FileChannel channel;
+    private final ByteBuffer single = ByteBuffer.allocate(ID_BYTES);
+    private long readPosition;
+    private long writePosition;
+
+    OverflowSegment(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    void append(int id) throws IOException {
+        single.clear();
+        single.putInt(id).flip();
+        while (single.hasRemaining()) {
+            writePosition += channel.write(single, writePosition);
+        }
+    }
+
+    /**
+     * Read up to max ids from the front without consuming them
+     */
+    int[] peek(int max) throws IOException {
+        return read(readPosition, Math.min(max, size()));
+    }
+
+    /**
+     * Read every id, front to back, without consuming them
+     */
+    int[] peekAll() throws IOException {
+        return read(readPosition, size());
+    }
+
+    /**
+     * Consume the given number of ids from the front
+     */
+    void advance(int count) throws IOException {
+        readPosition = Math.min(writePosition, readPosition + (long) count * ID_BYTES);
+        if (readPosition == writePosition) {
+            clear();
+        }
+    }
+
+    int size() {
+        return (int) ((writePosition - readPosition) / ID_BYTES);
+    }
+
+    boolean isEmpty() {
+        return readPosition == writePosition;
+    }
+
+    void clear() throws IOException {
+        channel.truncate(0);
+        readPosition = 0;
+        writePosition = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int[] read(long position, int count) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(count * ID_BYTES);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Overflow segment is shorter than expected");
+            }
+        }
+        buffer.flip();
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = buffer.getInt();
+        }
+        return ids;
+    }
+}
@@ -1,6 +1,8 @@
 package com.bookstore.util.queue;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Generic Queue Abstract Data Type interface
@@ -79,6 +81,53 @@ public interface QueueADT<T> {
         return (double) size() / capacity();
     }
     
+    /**
+     * Remove and return the element at the front of the queue, or null if empty
+     * Use instead of catching QueueEmptyException for control flow.
+     * @return The element at the front of the queue, or null
+     */
+    default T poll() {
+        if (isEmpty()) {
+            return null;
+        }
+        try {
+            return dequeue();
+        } catch (QueueEmptyException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Remove the first element matching the filter, keeping the order of the others
+     * The default drains and re-enqueues the queue (O(n)); implementations
+     * with direct access to their storage should override it.
+     * @param filter Condition identifying the element
+     * @return The removed element, or null if none matched
+     */
+    default T removeFirst(Predicate<? super T> filter) {
+        List<T> remaining = new ArrayList<>(size());
+        T removed = null;
+        
+        T current;
+        while ((current = poll()) != null) {
+            if (removed == null && filter.test(current)) {
+                removed = current;
+            } else {
+                remaining.add(current);
+            }
+        }
+        
+        try {
+            for (T element : remaining) {
+                enqueue(element);
+            }
+        } catch (QueueFullException e) {
+            // Cannot happen: the queue held these elements a moment ago
+            throw new IllegalStateException("Queue refilled during removal", e);
+        }
+        return removed;
+    }
+    
     /**
      * Check if the queue contains a specific element
      * @param element The element to search for
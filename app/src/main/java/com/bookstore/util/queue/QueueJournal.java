@@ -0,0 +1,427 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderItem;
+import com.bookstore.model.OrderStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of queue operations with snapshot compaction
+ *
+ * Every queue change is appended as one checksummed record
+ * ([length][crc32][payload]) before the call returns. Callers append under
+ * the lock that orders their queue changes, so records are in the order the
+ * changes happened. With fsync, a caller then waits in sync (outside that
+ * lock) until its record is on disk; threads syncing at the same time share
+ * one fsync (group sync) instead of paying one per record. Once the journal holds
+ * enough records it is compacted: the current queue contents are written to a
+ * new snapshot file (atomically renamed into place) and the journal is
+ * truncated. Recovery loads the snapshot and replays the short journal tail,
+ * so it costs time proportional to the queue sizes, not the order history.
+ *
+ * A torn record at the end of the journal (crash mid-write) fails its
+ * checksum and is ignored together with anything after it.
+ *
+ * Replay is idempotent per order ID (enqueue adds only if absent, removals of
+ * absent orders are ignored), which makes it tolerant of records that race
+ * with a compaction, and of a crash between writing a snapshot and truncating
+ * the journal.
+ *
+ * Records carry only what a queue entry needs: order fields and line items.
+ */
+public class QueueJournal implements Closeable {
+
+    /**
+     * Journaled queue operations
+     */
+    public enum Operation {
+        ENQUEUE, DEQUEUE, REMOVE, MOVE_TO_COMPLETED, UPDATE, CLEAR
+    }
+
+    // Queue names used in records; per-user queues are "user:<userId>"
+    public static final String ADMIN_QUEUE = "admin";
+    public static final String PENDING_QUEUE = "pending";
+    public static final String COMPLETED_QUEUE = "completed";
+    public static final String ALL_QUEUES = "*";
+
+    private static final String USER_QUEUE_PREFIX = "user:";
+    private static final String JOURNAL_FILE = "queue.journal";
+    private static final String SNAPSHOT_FILE = "queue.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x51534E50; // "QSNP"
+
+    private final Path directory;
+    private final boolean fsync;
+    private final int compactionThreshold;
+    private final FileChannel journal;
+    private int recordsSinceSnapshot;
+    private boolean hasState;
+
+    // Records appended since opening (written under this) and records known to
+    // be on disk (guarded by syncLock, which is never held while taking this)
+    private volatile long appended;
+    private final Object syncLock = new Object();
+    private long synced;
+
+    /**
+     * Open (or create) a journal
+     * @param directory Directory holding the snapshot and journal files
+     * @param fsync True to force records to disk on sync (survives power
+     *              loss, not just process crashes)
+     * @param compactionThreshold Number of records after which a snapshot should be taken
+     */
+    public QueueJournal(Path directory, boolean fsync, int compactionThreshold) throws IOException {
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Compaction threshold must be positive");
+        }
+        this.directory = directory;
+        this.fsync = fsync;
+        this.compactionThreshold = compactionThreshold;
+        Files.createDirectories(directory);
+        this.journal = FileChannel.open(directory.resolve(JOURNAL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    public static String userQueue(int userId) {
+        return USER_QUEUE_PREFIX + userId;
+    }
+
+    /**
+     * @return The user ID of a per-user queue name, or -1 for the shared queues
+     */
+    public static int userIdOf(String queue) {
+        return queue.startsWith(USER_QUEUE_PREFIX) ? Integer.parseInt(queue.substring(USER_QUEUE_PREFIX.length())) : -1;
+    }
+
+    /**
+     * Rebuild queue contents from the snapshot and the journal
+     * Positions the journal for appending after the last valid record.
+     * @return Queue name to orders, in queue order
+     */
+    public synchronized Map<String, List<Order>> recover() throws IOException {
+        Map<String, LinkedHashMap<Integer, Order>> state = new LinkedHashMap<>();
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            readSnapshot(snapshot, state);
+            hasState = true;
+        }
+
+        // Replay valid records; stop at the first torn or corrupt one
+        long validLength = 0;
+        int records = 0;
+        ByteBuffer header = ByteBuffer.allocate(8);
+        journal.position(0);
+        while (true) {
+            header.clear();
+            if (readFully(header) < 8) {
+                break;
+            }
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length <= 0 || length > journal.size() - journal.position()) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            if (readFully(payload) < length || checksum(payload.array(), length) != crc) {
+                break;
+            }
+            apply(payload.array(), state);
+            validLength = journal.position();
+            records++;
+        }
+
+        // Drop a torn tail so new records follow the last valid one
+        journal.truncate(validLength);
+        journal.position(validLength);
+        recordsSinceSnapshot = records;
+        hasState |= records > 0;
+
+        Map<String, List<Order>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, LinkedHashMap<Integer, Order>> entry : state.entrySet()) {
+            result.put(entry.getKey(), new ArrayList<>(entry.getValue().values()));
+        }
+        return result;
+    }
+
+    /**
+     * Append one operation
+     * @param order The order (only its ID is written for DEQUEUE and REMOVE; ignored for CLEAR)
+     * @return The record's sequence number, to pass to sync
+     */
+    public synchronized long append(Operation operation, String queue, Order order) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(operation.ordinal());
+        out.writeUTF(queue);
+        switch (operation) {
+            case ENQUEUE:
+            case UPDATE:
+            case MOVE_TO_COMPLETED:
+                writeOrder(out, order);
+                break;
+            case DEQUEUE:
+            case REMOVE:
+                out.writeInt(order.getOrderId());
+                break;
+            default:
+                break;
+        }
+        out.flush();
+
+        byte[] payload = bytes.toByteArray();
+        ByteBuffer record = ByteBuffer.allocate(8 + payload.length);
+        record.putInt(payload.length).putInt(checksum(payload, payload.length)).put(payload).flip();
+        while (record.hasRemaining()) {
+            journal.write(record);
+        }
+        recordsSinceSnapshot++;
+        hasState = true;
+        return ++appended;
+    }
+
+    /**
+     * Wait until the record (and every record before it) is on disk
+     * One force covers everything appended before it, so a thread finding its
+     * record already covered by another thread's force returns at once.
+     * Does nothing without fsync.
+     * @param record Sequence number returned by append
+     */
+    public void sync(long record) throws IOException {
+        if (!fsync) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= record) {
+                return;
+            }
+            long target = appended;
+            journal.force(false);
+            synced = target;
+        }
+    }
+
+    /**
+     * @return True once enough records have been appended since the last snapshot
+     */
+    public synchronized boolean needsCompaction() {
+        return recordsSinceSnapshot >= compactionThreshold;
+    }
+
+    /**
+     * Replace the snapshot with the given queue contents and truncate the journal
+     * @param queues Queue name to orders, in queue order
+     */
+    public synchronized void compact(Map<String, List<Order>> queues) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(queues.size());
+        for (Map.Entry<String, List<Order>> entry : queues.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (Order order : entry.getValue()) {
+                writeOrder(out, order);
+            }
+        }
+        out.flush();
+        byte[] content = bytes.toByteArray();
+
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(content.length + 4);
+            buffer.put(content).putInt(checksum(content, content.length)).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        journal.truncate(0);
+        journal.position(0);
+        journal.force(true);
+        recordsSinceSnapshot = 0;
+        hasState = true;
+    }
+
+    /**
+     * @return True if a snapshot or any record exists (recovered or written since opening)
+     */
+    public synchronized boolean hasState() {
+        return hasState;
+    }
+
+    public synchronized int getRecordsSinceSnapshot() {
+        return recordsSinceSnapshot;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        journal.close();
+    }
+
+    // Helper methods
+
+    private int readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (journal.read(buffer) < 0) {
+                break;
+            }
+        }
+        return buffer.position();
+    }
+
+    private static void apply(byte[] payload, Map<String, LinkedHashMap<Integer, Order>> state) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        Operation operation = Operation.values()[in.readUnsignedByte()];
+        String queue = in.readUTF();
+        switch (operation) {
+            case ENQUEUE: {
+                Order order = readOrder(in);
+                state.computeIfAbsent(queue, k -> new LinkedHashMap<>()).putIfAbsent(order.getOrderId(), order);
+                break;
+            }
+            case UPDATE: {
+                Order order = readOrder(in);
+                LinkedHashMap<Integer, Order> orders = state.get(queue);
+                if (orders != null) {
+                    orders.replace(order.getOrderId(), order);
+                }
+                break;
+            }
+            case MOVE_TO_COMPLETED: {
+                Order order = readOrder(in);
+                LinkedHashMap<Integer, Order> pending = state.get(PENDING_QUEUE);
+                if (pending != null) {
+                    pending.remove(order.getOrderId());
+                }
+                state.computeIfAbsent(COMPLETED_QUEUE, k -> new LinkedHashMap<>()).putIfAbsent(order.getOrderId(), order);
+                break;
+            }
+            case DEQUEUE:
+            case REMOVE: {
+                LinkedHashMap<Integer, Order> orders = state.get(queue);
+                int orderId = in.readInt();
+                if (orders != null) {
+                    orders.remove(orderId);
+                }
+                break;
+            }
+            case CLEAR:
+                if (ALL_QUEUES.equals(queue)) {
+                    state.clear();
+                } else {
+                    state.remove(queue);
+                }
+                break;
+        }
+    }
+
+    private static void readSnapshot(Path snapshot, Map<String, LinkedHashMap<Integer, Order>> state) throws IOException {
+        byte[] content = Files.readAllBytes(snapshot);
+        if (content.length < 12) {
+            throw new IOException("Queue snapshot is truncated: " + snapshot);
+        }
+        int crc = ByteBuffer.wrap(content, content.length - 4, 4).getInt();
+        if (checksum(content, content.length - 4) != crc) {
+            throw new IOException("Queue snapshot is corrupt: " + snapshot);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(content, 0, content.length - 4));
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not a queue snapshot: " + snapshot);
+        }
+        int queueCount = in.readInt();
+        for (int q = 0; q < queueCount; q++) {
+            String queue = in.readUTF();
+            int size = in.readInt();
+            LinkedHashMap<Integer, Order> orders = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                Order order = readOrder(in);
+                orders.putIfAbsent(order.getOrderId(), order);
+            }
+            state.put(queue, orders);
+        }
+    }
+
+    private static void writeOrder(DataOutputStream out, Order order) throws IOException {
+        out.writeInt(order.getOrderId());
+        out.writeInt(order.getCustomerId());
+        out.writeInt(order.getUserId());
+        out.writeLong(order.getOrderDate() != null ? order.getOrderDate().getTime() : Long.MIN_VALUE);
+        out.writeDouble(order.getTotalAmount());
+        out.writeByte(order.getStatus() != null ? order.getStatus().ordinal() : -1);
+        writeNullableString(out, order.getTrackingNumber());
+
+        List<OrderItem> items = order.getOrderItems();
+        out.writeInt(items != null ? items.size() : -1);
+        if (items != null) {
+            for (OrderItem item : items) {
+                out.writeInt(item.getOrderItemId());
+                out.writeInt(item.getBookId());
+                out.writeInt(item.getQuantity());
+                out.writeDouble(item.getUnitPrice());
+            }
+        }
+    }
+
+    private static Order readOrder(DataInputStream in) throws IOException {
+        Order order = new Order();
+        order.setOrderId(in.readInt());
+        order.setCustomerId(in.readInt());
+        order.setUserId(in.readInt());
+        long date = in.readLong();
+        order.setOrderDate(date != Long.MIN_VALUE ? new Date(date) : null);
+        order.setTotalAmount(in.readDouble());
+        int status = in.readByte();
+        order.setStatus(status >= 0 ? OrderStatus.values()[status] : null);
+        order.setTrackingNumber(readNullableString(in));
+
+        int itemCount = in.readInt();
+        if (itemCount >= 0) {
+            List<OrderItem> items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                items.add(new OrderItem(in.readInt(), order.getOrderId(), in.readInt(), in.readInt(), in.readDouble()));
+            }
+            order.setOrderItems(items);
+        }
+        return order;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static int checksum(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+}
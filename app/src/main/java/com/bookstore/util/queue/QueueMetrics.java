@@ -0,0 +1,200 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Continuously maintained counters for one order queue
+ * OrderQueueManager reports every enqueue, removal and status change, so
+ * the number of queued orders per status and the time orders spent waiting
+ * are read in O(1) instead of by walking the queue.
+ *
+ * Each queued order keeps the status it is counted under and when it was
+ * enqueued: orders are updated in place by the caches, so the status an
+ * order had when it was counted cannot be read back from the order itself.
+ * Both are packed into one long in a primitive map (order ID -> entry),
+ * about twenty bytes per queued order with no per-order objects, so id-ring
+ * queue storage keeps most of its memory advantage. An order is counted
+ * once per queue.
+ *
+ * The map is split into stripes by order ID, each with its own lock held
+ * only for the map access, and the counters are LongAdders updated outside
+ * it, so queue operations on different orders do not contend. Reads are
+ * weakly consistent: a statistics call running alongside updates may see
+ * some of them and not others.
+ */
+public class QueueMetrics {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final long NO_ENTRY = -1;
+    private static final int STATUS_BITS = 8; // Low bits: status ordinal + 1 (0 for none)
+    private static final int STRIPES = 16; // Power of two
+
+    // Order ID -> (microseconds since startNanos << STATUS_BITS | status);
+    // each stripe is guarded by its own monitor
+    private final IntLongHashMap[] queued = new IntLongHashMap[STRIPES];
+    private final long startNanos = System.nanoTime();
+    private final LongAdder[] statusCounts = new LongAdder[STATUSES.length];
+    private final LongAdder size = new LongAdder();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder removed = new LongAdder();
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+    private final LongAdder sharedSize;
+
+    public QueueMetrics() {
+        this(null);
+    }
+
+    /**
+     * @param sharedSize Also counts this queue's orders (e.g. a total over
+     *                   all user queues), or null
+     */
+    public QueueMetrics(LongAdder sharedSize) {
+        this.sharedSize = sharedSize;
+        for (int i = 0; i < statusCounts.length; i++) {
+            statusCounts[i] = new LongAdder();
+        }
+        for (int i = 0; i < queued.length; i++) {
+            queued[i] = new IntLongHashMap();
+        }
+    }
+
+    /**
+     * Count an order that was added to the queue
+     */
+    public void recordEnqueue(Order order) {
+        long entry = entry(order.getStatus(), TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+        IntLongHashMap stripe = stripeOf(order.getOrderId());
+        long previous;
+        synchronized (stripe) {
+            previous = stripe.put(order.getOrderId(), entry, NO_ENTRY);
+        }
+        if (previous != NO_ENTRY) {
+            count(statusOf(previous), -1);
+        } else {
+            resize(1);
+        }
+        count(order.getStatus(), 1);
+        enqueued.increment();
+    }
+
+    /**
+     * Stop counting an order that left the queue and record how long it waited
+     */
+    public void recordRemoval(Order order) {
+        recordRemoval(order.getOrderId());
+    }
+
+    /**
+     * Stop counting an order known only by ID (e.g. dropped from a spill file)
+     */
+    public void recordRemoval(int orderId) {
+        IntLongHashMap stripe = stripeOf(orderId);
+        long entry;
+        synchronized (stripe) {
+            entry = stripe.remove(orderId, NO_ENTRY);
+        }
+        if (entry == NO_ENTRY) {
+            return;
+        }
+        resize(-1);
+        count(statusOf(entry), -1);
+        removed.increment();
+        long waitedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos) - enqueuedAtOf(entry);
+        waitTimes.record(TimeUnit.MICROSECONDS.toNanos(waitedMicros));
+    }
+
+    /**
+     * Move a queued order to the counter of its current status
+     */
+    public void recordStatusChange(Order order) {
+        IntLongHashMap stripe = stripeOf(order.getOrderId());
+        OrderStatus status = order.getStatus();
+        long current;
+        synchronized (stripe) {
+            current = stripe.get(order.getOrderId(), NO_ENTRY);
+            if (current == NO_ENTRY || statusOf(current) == status) {
+                return;
+            }
+            stripe.put(order.getOrderId(), entry(status, enqueuedAtOf(current)), NO_ENTRY);
+        }
+        count(statusOf(current), -1);
+        count(status, 1);
+    }
+
+    /**
+     * Forget every queued order (the wait-time history is kept)
+     * Each stripe's orders are uncounted as they are dropped, so changes
+     * racing with the clear are not lost from the counters.
+     */
+    public void clear() {
+        for (IntLongHashMap stripe : queued) {
+            synchronized (stripe) {
+                stripe.forEachValue(entry -> {
+                    resize(-1);
+                    count(statusOf(entry), -1);
+                });
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * @return The number of queued orders counted under the status
+     */
+    public long getStatusCount(OrderStatus status) {
+        return statusCounts[status.ordinal()].sum();
+    }
+
+    public long getSize() {
+        return size.sum();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    public long getRemovedCount() {
+        return removed.sum();
+    }
+
+    /**
+     * @return Enqueue-to-removal times of the orders that left the queue
+     */
+    public LatencyHistogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    private IntLongHashMap stripeOf(int orderId) {
+        return queued[(orderId ^ (orderId >>> 16)) & (STRIPES - 1)];
+    }
+
+    private void resize(long delta) {
+        size.add(delta);
+        if (sharedSize != null) {
+            sharedSize.add(delta);
+        }
+    }
+
+    private void count(OrderStatus status, int delta) {
+        if (status != null) {
+            statusCounts[status.ordinal()].add(delta);
+        }
+    }
+
+    private static long entry(OrderStatus status, long enqueuedAtMicros) {
+        return enqueuedAtMicros << STATUS_BITS | (status != null ? status.ordinal() + 1 : 0);
+    }
+
+    private static OrderStatus statusOf(long entry) {
+        int ordinal = (int) (entry & ((1 << STATUS_BITS) - 1)) - 1;
+        return ordinal >= 0 ? STATUSES[ordinal] : null;
+    }
+
+    private static long enqueuedAtOf(long entry) {
+        return entry >>> STATUS_BITS;
+    }
+}
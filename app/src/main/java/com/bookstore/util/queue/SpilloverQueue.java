@@ -0,0 +1,294 @@
+package com.bookstore.util.queue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded in-memory queue that can spill its tail to disk
+ *
+ * Until overflow is enabled this behaves exactly like the wrapped queue.
+ * With overflow enabled, an element that does not fit in memory has its id
+ * appended to an OverflowSegment file instead of being rejected; once
+ * anything is on disk, new elements go to disk too so FIFO order holds.
+ * Whenever elements leave memory the queue refills from the segment, turning
+ * ids back into elements with the loader. Memory stays bounded by the
+ * wrapped queue's capacity plus a few bytes per spilled element.
+ *
+ * Characteristics:
+ * - While nothing is spilled, operations go straight to the wrapped queue
+ *   (a LockFreeQueue stays lock-free)
+ * - Spilling and refilling are serialized on this queue
+ * - size() counts spilled elements; contains() and keyed lookups only see
+ *   elements in memory
+ * - The loader may return null for an id that should no longer be queued;
+ *   such ids are dropped when refilled
+ *
+ * @param <T> The type of elements stored in the queue
+ */
+public class SpilloverQueue<T> implements QueueADT<T> {
+
+    private final QueueADT<T> memory;
+    private final ToIntFunction<? super T> idOf;
+    private final AtomicInteger spilled = new AtomicInteger();
+    private volatile OverflowSegment segment;
+    private volatile IntFunction<? extends T> loader;
+
+    /**
+     * Wrap a bounded queue
+     * @param memory The in-memory queue (must have a capacity)
+     * @param idOf Extracts the id written to disk for an element
+     */
+    public SpilloverQueue(QueueADT<T> memory, ToIntFunction<? super T> idOf) {
+        if (memory == null || memory.capacity() <= 0) {
+            throw new IllegalArgumentException("Spillover needs a bounded queue");
+        }
+        this.memory = memory;
+        this.idOf = idOf;
+    }
+
+    /**
+     * Start spilling to the given file instead of rejecting elements when full
+     * @param file Scratch file for spilled ids (truncated)
+     * @param loader Turns a spilled id back into an element (null drops it)
+     */
+    public synchronized void enableOverflow(Path file, IntFunction<? extends T> loader) throws IOException {
+        if (loader == null) {
+            throw new IllegalArgumentException("Loader cannot be null");
+        }
+        OverflowSegment opened = new OverflowSegment(file);
+        disableOverflow();
+        this.loader = loader;
+        this.segment = opened;
+    }
+
+    /**
+     * Stop spilling; spilled elements are loaded back first, any that do not
+     * fit in memory are dropped
+     * @return The number of spilled elements that were dropped
+     */
+    public synchronized int disableOverflow() {
+        OverflowSegment current = segment;
+        if (current == null) {
+            return 0;
+        }
+        refill();
+        int dropped = spilled.getAndSet(0);
+        segment = null;
+        try {
+            current.close();
+        } catch (IOException e) {
+            System.err.println("Error closing overflow segment: " + e.getMessage());
+        }
+        return dropped;
+    }
+
+    public boolean isOverflowEnabled() {
+        return segment != null;
+    }
+
+    /**
+     * @return Number of elements currently on disk
+     */
+    public int spilledCount() {
+        return spilled.get();
+    }
+
+    @Override
+    public boolean enqueue(T element) throws QueueFullException {
+        if (segment == null) {
+            return memory.enqueue(element);
+        }
+        if (spilled.get() == 0) {
+            try {
+                return memory.enqueue(element);
+            } catch (QueueFullException full) {
+                // Fall through and spill
+            }
+        }
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot enqueue null element");
+        }
+        synchronized (this) {
+            OverflowSegment current = segment;
+            if (current == null) {
+                return memory.enqueue(element);
+            }
+            try {
+                current.append(idOf.applyAsInt(element));
+                spilled.incrementAndGet();
+                return true;
+            } catch (IOException e) {
+                throw new QueueFullException("Queue is full and overflow failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public T dequeue() throws QueueEmptyException {
+        T element = poll();
+        if (element == null) {
+            throw new QueueEmptyException("Cannot dequeue from empty queue");
+        }
+        return element;
+    }
+
+    @Override
+    public T poll() {
+        T element = memory.poll();
+        if (spilled.get() > 0) {
+            refill();
+            if (element == null) {
+                element = memory.poll();
+            }
+        }
+        return element;
+    }
+
+    @Override
+    public T peek() throws QueueEmptyException {
+        if (memory.isEmpty() && spilled.get() > 0) {
+            refill();
+        }
+        return memory.peek();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return memory.isEmpty() && spilled.get() == 0;
+    }
+
+    /**
+     * Never full while overflow is enabled
+     */
+    @Override
+    public boolean isFull() {
+        return segment == null && memory.isFull();
+    }
+
+    @Override
+    public int size() {
+        return memory.size() + spilled.get();
+    }
+
+    /**
+     * @return The in-memory capacity
+     */
+    @Override
+    public int capacity() {
+        return memory.capacity();
+    }
+
+    @Override
+    public synchronized void clear() {
+        memory.clear();
+        OverflowSegment current = segment;
+        if (current != null) {
+            try {
+                current.clear();
+            } catch (IOException e) {
+                System.err.println("Error clearing overflow segment: " + e.getMessage());
+            }
+        }
+        spilled.set(0);
+    }
+
+    /**
+     * Elements in memory followed by the spilled ones, which are loaded one
+     * by one (costly; meant for listings and snapshots, not hot paths)
+     */
+    @Override
+    public List<T> toList() {
+        List<T> result = memory.toList();
+        if (spilled.get() == 0) {
+            return result;
+        }
+        synchronized (this) {
+            OverflowSegment current = segment;
+            if (current == null) {
+                return result;
+            }
+            try {
+                for (int id : current.peekAll()) {
+                    T element = loader.apply(id);
+                    if (element != null) {
+                        result.add(element);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error reading overflow segment: " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Only elements in memory are checked
+     */
+    @Override
+    public boolean contains(T element) {
+        return memory.contains(element);
+    }
+
+    /**
+     * Only elements in memory are checked
+     */
+    @Override
+    public T removeFirst(Predicate<? super T> filter) {
+        T removed = memory.removeFirst(filter);
+        if (removed != null && spilled.get() > 0) {
+            refill();
+        }
+        return removed;
+    }
+
+    /**
+     * Move spilled elements back into memory while there is room
+     */
+    protected synchronized void refill() {
+        OverflowSegment current = segment;
+        if (current == null || current.isEmpty()) {
+            return;
+        }
+        try {
+            int room = memory.capacity() - memory.size();
+            if (room <= 0) {
+                return;
+            }
+            int[] ids = current.peek(room);
+            int consumed = 0;
+            for (int id : ids) {
+                T element = loader.apply(id);
+                if (element != null) {
+                    try {
+                        memory.enqueue(element);
+                    } catch (QueueFullException e) {
+                        // A concurrent enqueue took the room; the rest stays on disk
+                        break;
+                    }
+                }
+                consumed++;
+            }
+            current.advance(consumed);
+            spilled.addAndGet(-consumed);
+        } catch (IOException e) {
+            System.err.println("Error refilling from overflow segment: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The wrapped in-memory queue
+     */
+    protected QueueADT<T> memory() {
+        return memory;
+    }
+
+    @Override
+    public String toString() {
+        return "SpilloverQueue{memory=" + memory + ", spilled=" + spilled.get() + "}";
+    }
+}
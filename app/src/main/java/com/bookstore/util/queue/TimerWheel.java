@@ -0,0 +1,316 @@
+package com.bookstore.util.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel for many coarse-grained timeouts
+ * Time is cut into ticks, and a ring of buckets holds the timeouts due in
+ * each tick; a timeout further away than one turn of the wheel waits the
+ * extra turns in its bucket. One daemon thread advances the wheel a tick at
+ * a time and expires the timeouts of the current bucket.
+ *
+ * Characteristics:
+ * - O(1) schedule and cancel from any thread (lock-free hand-off to the
+ *   wheel thread); no scan of all timeouts, ever
+ * - Expiry is accurate to one tick and never early
+ * - The handler runs on the wheel thread and should return quickly
+ *
+ * @param <T> The type of item attached to each timeout
+ */
+public class TimerWheel<T> {
+
+    private final long tickNanos;
+    private final int mask;
+    private final Bucket<T>[] wheel;
+    private final Consumer<? super T> handler;
+    private final String name;
+
+    private final Queue<Timeout<T>> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private volatile boolean running;
+    private volatile long startTime;
+    private Thread worker;
+    private long tick;
+
+    /**
+     * @param tickDuration Length of one tick
+     * @param unit Unit of the tick duration
+     * @param wheelSize Number of buckets (rounded up to a power of two)
+     * @param handler Called with the item of each expired timeout
+     * @param name Name of the wheel thread
+     */
+    public TimerWheel(long tickDuration, TimeUnit unit, int wheelSize, Consumer<? super T> handler, String name) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler cannot be null");
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.mask = size - 1;
+        this.wheel = newWheel(size);
+        this.handler = handler;
+        this.name = name;
+    }
+
+    /**
+     * Start the wheel thread
+     * @return false if the wheel is already running
+     */
+    public synchronized boolean start() {
+        if (running) {
+            return false;
+        }
+        startTime = System.nanoTime();
+        tick = 0;
+        running = true;
+        worker = Thread.ofPlatform().daemon().name(name).start(this::run);
+        return true;
+    }
+
+    /**
+     * Stop the wheel thread; timeouts not yet expired are discarded
+     * @return The items of the discarded timeouts
+     */
+    public synchronized List<T> stop() {
+        if (!running) {
+            return new ArrayList<>();
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        boolean interrupted = false;
+        while (worker.isAlive()) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        worker = null;
+
+        List<T> unexpired = new ArrayList<>();
+        for (Bucket<T> bucket : wheel) {
+            bucket.drainTo(unexpired);
+        }
+        Timeout<T> timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.state.get() == Timeout.WAITING) {
+                unexpired.add(timeout.item);
+            }
+        }
+        cancelled.clear();
+        pending.set(0);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return unexpired;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Schedule a timeout (O(1))
+     * @param item Passed to the handler when the timeout expires
+     * @param delay Time until expiry
+     * @param unit Unit of the delay
+     * @return Handle to cancel the timeout
+     */
+    public Timeout<T> schedule(T item, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer wheel is not running");
+        }
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(delay, 0)) - startTime;
+        Timeout<T> timeout = new Timeout<>(this, item, deadline);
+        pending.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return Number of scheduled timeouts that have not expired or been cancelled
+     */
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = (tick + 1) * tickNanos;
+            long sleep = deadline - (System.nanoTime() - startTime);
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+                continue; // Re-check: spurious wake-up or stop
+            }
+            removeCancelled();
+            transferAdded();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferAdded() {
+        // Bounded so a flood of new timeouts cannot starve expiry
+        for (int i = 0; i < 100_000; i++) {
+            Timeout<T> timeout = added.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != Timeout.WAITING) {
+                continue;
+            }
+            long dueTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = Math.max(0, (dueTick - tick) / wheel.length);
+            wheel[(int) (Math.max(dueTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout<T> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void expire(Bucket<T> bucket) {
+        Timeout<T> timeout = bucket.head;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            if (timeout.remainingRounds <= 0) {
+                bucket.remove(timeout);
+                if (timeout.state.compareAndSet(Timeout.WAITING, Timeout.EXPIRED)) {
+                    pending.decrementAndGet();
+                    try {
+                        handler.accept(timeout.item);
+                    } catch (RuntimeException e) {
+                        System.err.println("Error in " + name + " expiry handler: " + e.getMessage());
+                    }
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Handle of one scheduled timeout
+     */
+    public static final class Timeout<T> {
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final TimerWheel<T> timer;
+        private final T item;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        // Owned by the wheel thread
+        private long remainingRounds;
+        private Bucket<T> bucket;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(TimerWheel<T> timer, T item, long deadline) {
+            this.timer = timer;
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the timeout (O(1))
+         * @return false if it already expired or was cancelled
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            timer.pending.decrementAndGet();
+            timer.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+
+    // Doubly linked list of the timeouts in one slot, touched only by the wheel thread
+    @SuppressWarnings("unchecked")
+    private static <T> Bucket<T>[] newWheel(int size) {
+        Bucket<T>[] wheel = (Bucket<T>[]) new Bucket<?>[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        return wheel;
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.previous = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        void drainTo(List<T> items) {
+            for (Timeout<T> timeout = head; timeout != null; timeout = timeout.next) {
+                if (timeout.state.get() == Timeout.WAITING) {
+                    items.add(timeout.item);
+                }
+                timeout.bucket = null;
+            }
+            head = null;
+            tail = null;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.bookstore.util.queue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Double-ended queue owned by one worker of a WorkStealingDispatcher
+ * The QueueADT view is FIFO (enqueue at the tail, dequeue from the head);
+ * the owner may also pop from the tail (LIFO), and other workers steal the
+ * older half from the head.
+ *
+ * Characteristics:
+ * - Each deque has its own monitor, so workers only contend when stealing
+ * - O(1) push/pop at both ends, O(k) to steal k elements
+ * - size() is readable without locking (volatile), for idle checks
+ *
+ * @param <T> The type of elements stored in the deque
+ */
+public class WorkStealingDeque<T> implements QueueADT<T> {
+
+    private final ArrayDeque<T> elements = new ArrayDeque<>();
+    private final int capacity;
+    private volatile int size;
+
+    /**
+     * @param capacity Maximum number of elements (-1 for unlimited)
+     */
+    public WorkStealingDeque(int capacity) {
+        if (capacity < -1 || capacity == 0) {
+            throw new IllegalArgumentException("Capacity must be positive or -1 for unlimited");
+        }
+        this.capacity = capacity;
+    }
+
+    public WorkStealingDeque() {
+        this(-1);
+    }
+
+    @Override
+    public synchronized boolean enqueue(T element) throws QueueFullException {
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot enqueue null element");
+        }
+        if (isFull()) {
+            throw new QueueFullException("Queue has reached maximum capacity: " + capacity);
+        }
+        elements.addLast(element);
+        size = elements.size();
+        return true;
+    }
+
+    @Override
+    public T dequeue() throws QueueEmptyException {
+        T element = poll();
+        if (element == null) {
+            throw new QueueEmptyException("Cannot dequeue from empty queue");
+        }
+        return element;
+    }
+
+    /**
+     * Take the oldest element (FIFO end)
+     */
+    @Override
+    public synchronized T poll() {
+        T element = elements.pollFirst();
+        size = elements.size();
+        return element;
+    }
+
+    /**
+     * Take the newest element (LIFO end)
+     */
+    public synchronized T pollLast() {
+        T element = elements.pollLast();
+        size = elements.size();
+        return element;
+    }
+
+    /**
+     * Move the older half (rounded up) of this deque's elements out
+     * @return The stolen elements, oldest first (empty if there were none)
+     */
+    public synchronized List<T> stealHalf() {
+        int count = (elements.size() + 1) / 2;
+        List<T> stolen = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            stolen.add(elements.pollFirst());
+        }
+        size = elements.size();
+        return stolen;
+    }
+
+    /**
+     * Move every element out, oldest first
+     */
+    public synchronized List<T> stealAll() {
+        List<T> stolen = new ArrayList<>(elements);
+        elements.clear();
+        size = 0;
+        return stolen;
+    }
+
+    /**
+     * Append an element at the tail, beyond the capacity if need be
+     */
+    public synchronized void push(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot push null element");
+        }
+        elements.addLast(element);
+        size = elements.size();
+    }
+
+    /**
+     * Append elements at the tail, beyond the capacity if need be (stolen work
+     * is never dropped)
+     */
+    public synchronized void addAll(List<T> stolen) {
+        elements.addAll(stolen);
+        size = elements.size();
+    }
+
+    @Override
+    public synchronized T peek() throws QueueEmptyException {
+        T element = elements.peekFirst();
+        if (element == null) {
+            throw new QueueEmptyException("Cannot peek at empty queue");
+        }
+        return element;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return capacity > 0 && size >= capacity;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public synchronized void clear() {
+        elements.clear();
+        size = 0;
+    }
+
+    @Override
+    public synchronized List<T> toList() {
+        return new ArrayList<>(elements);
+    }
+
+    @Override
+    public synchronized T removeFirst(Predicate<? super T> filter) {
+        Iterator<T> iterator = elements.iterator();
+        while (iterator.hasNext()) {
+            T element = iterator.next();
+            if (filter.test(element)) {
+                iterator.remove();
+                size = elements.size();
+                return element;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized boolean contains(T element) {
+        return element != null && elements.contains(element);
+    }
+
+    @Override
+    public String toString() {
+        return "WorkStealingDeque{size=" + size + ", capacity=" + capacity + "}";
+    }
+}
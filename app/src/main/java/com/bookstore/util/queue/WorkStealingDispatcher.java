@@ -0,0 +1,282 @@
+package com.bookstore.util.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Work-stealing dispatch of items to a fixed set of workers
+ * Every worker has its own WorkStealingDeque. Work submitted from outside is
+ * spread round robin over the deques; a worker takes from its own deque
+ * (oldest or newest first) and, once it runs dry, steals the older half of
+ * a randomly chosen victim's deque. Workers therefore contend only while
+ * stealing, instead of on every take as with one shared queue.
+ *
+ * Idle workers park on a single condition that submitters only touch when
+ * some worker is actually idle.
+ *
+ * @param <T> The type of items dispatched
+ */
+public class WorkStealingDispatcher<T> {
+
+    /**
+     * End of its own deque a worker takes from
+     */
+    public enum OwnerOrder {
+        FIFO("Oldest first"),
+        LIFO("Newest first (cache-friendly)");
+
+        private final String description;
+
+        OwnerOrder(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private final WorkStealingDeque<T>[] deques;
+    private final OwnerOrder ownerOrder;
+    private final AtomicInteger nextDeque = new AtomicInteger();
+
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition workAvailable = idleLock.newCondition();
+    private volatile int idleWorkers;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder taken = new LongAdder();
+    private final LongAdder steals = new LongAdder();
+    private final LongAdder stolenItems = new LongAdder();
+
+    /**
+     * @param workers Number of workers (one deque each)
+     * @param ownerOrder Whether workers take their own work FIFO or LIFO
+     */
+    public WorkStealingDispatcher(int workers, OwnerOrder ownerOrder) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+        if (ownerOrder == null) {
+            throw new IllegalArgumentException("Owner order cannot be null");
+        }
+        this.deques = newDeques(workers);
+        this.ownerOrder = ownerOrder;
+    }
+
+    /**
+     * Submit an item from outside the workers (round robin over the deques)
+     */
+    public void submit(T item) {
+        submit(Math.floorMod(nextDeque.getAndIncrement(), deques.length), item);
+    }
+
+    /**
+     * Push an item onto a worker's own deque (e.g. follow-up work)
+     */
+    public void submit(int worker, T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot submit null item");
+        }
+        deques[worker].push(item);
+        submitted.increment();
+        signalIdle();
+    }
+
+    /**
+     * Take the next item for a worker without waiting: its own deque first,
+     * then half of a random victim's deque
+     * @return The item, or null if no work was found
+     */
+    public T poll(int worker) {
+        WorkStealingDeque<T> own = deques[worker];
+        T item = ownerOrder == OwnerOrder.LIFO ? own.pollLast() : own.poll();
+        if (item == null) {
+            item = steal(worker);
+        }
+        if (item != null) {
+            taken.increment();
+        }
+        return item;
+    }
+
+    /**
+     * Take the next item for a worker, waiting up to the timeout for work
+     * @return The item, or null if none arrived in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T take(int worker, long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        while (true) {
+            T item = poll(worker);
+            if (item != null || remaining <= 0) {
+                return item;
+            }
+            idleLock.lockInterruptibly();
+            try {
+                idleWorkers++;
+                try {
+                    // Re-check after announcing idleness: a submit in between
+                    // either sees the idle worker or left work behind
+                    if (isEmpty()) {
+                        remaining = workAvailable.awaitNanos(remaining);
+                    }
+                } finally {
+                    idleWorkers--;
+                }
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Remove every item not yet taken (e.g. to hand it back on shutdown)
+     */
+    public List<T> drainAll() {
+        List<T> remaining = new ArrayList<>();
+        for (WorkStealingDeque<T> deque : deques) {
+            remaining.addAll(deque.stealAll());
+        }
+        return remaining;
+    }
+
+    public boolean isEmpty() {
+        for (WorkStealingDeque<T> deque : deques) {
+            if (!deque.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        int size = 0;
+        for (WorkStealingDeque<T> deque : deques) {
+            size += deque.size();
+        }
+        return size;
+    }
+
+    public int getWorkerCount() {
+        return deques.length;
+    }
+
+    public OwnerOrder getOwnerOrder() {
+        return ownerOrder;
+    }
+
+    /**
+     * The deque of one worker (read-only use, e.g. monitoring)
+     */
+    public QueueADT<T> getDeque(int worker) {
+        return deques[worker];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> WorkStealingDeque<T>[] newDeques(int workers) {
+        WorkStealingDeque<T>[] deques = (WorkStealingDeque<T>[]) new WorkStealingDeque<?>[workers];
+        for (int i = 0; i < workers; i++) {
+            deques[i] = new WorkStealingDeque<>();
+        }
+        return deques;
+    }
+
+    private T steal(int thief) {
+        int workers = deques.length;
+        if (workers == 1) {
+            return null;
+        }
+        // Start at a random victim and try each other worker once
+        int start = ThreadLocalRandom.current().nextInt(workers);
+        for (int i = 0; i < workers; i++) {
+            int victim = (start + i) % workers;
+            if (victim == thief || deques[victim].isEmpty()) {
+                continue;
+            }
+            List<T> stolen = deques[victim].stealHalf();
+            if (stolen.isEmpty()) {
+                continue;
+            }
+            steals.increment();
+            stolenItems.add(stolen.size());
+            // Run the oldest stolen item now and keep the rest
+            if (stolen.size() > 1) {
+                deques[thief].addAll(stolen.subList(1, stolen.size()));
+            }
+            return stolen.get(0);
+        }
+        return null;
+    }
+
+    private void signalIdle() {
+        if (idleWorkers == 0) {
+            return;
+        }
+        idleLock.lock();
+        try {
+            workAvailable.signal();
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    /**
+     * Snapshot of the counters
+     */
+    public DispatchStatistics getStatistics() {
+        int[] dequeSizes = new int[deques.length];
+        for (int i = 0; i < deques.length; i++) {
+            dequeSizes[i] = deques[i].size();
+        }
+        return new DispatchStatistics(deques.length, ownerOrder, submitted.sum(), taken.sum(),
+                steals.sum(), stolenItems.sum(), dequeSizes);
+    }
+
+    /**
+     * Statistics class for the dispatcher
+     */
+    public static class DispatchStatistics {
+        private final int workers;
+        private final OwnerOrder ownerOrder;
+        private final long submitted;
+        private final long taken;
+        private final long steals;
+        private final long stolenItems;
+        private final int[] dequeSizes;
+
+        public DispatchStatistics(int workers, OwnerOrder ownerOrder, long submitted, long taken,
+                                  long steals, long stolenItems, int[] dequeSizes) {
+            this.workers = workers;
+            this.ownerOrder = ownerOrder;
+            this.submitted = submitted;
+            this.taken = taken;
+            this.steals = steals;
+            this.stolenItems = stolenItems;
+            this.dequeSizes = dequeSizes;
+        }
+
+        // Getters
+        public int getWorkers() { return workers; }
+        public OwnerOrder getOwnerOrder() { return ownerOrder; }
+        public long getSubmitted() { return submitted; }
+        public long getTaken() { return taken; }
+        public long getSteals() { return steals; }
+        public long getStolenItems() { return stolenItems; }
+        public int[] getDequeSizes() { return dequeSizes.clone(); }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "DispatchStats{workers=%d, owner=%s, submitted=%d, taken=%d, steals=%d, stolenItems=%d}",
+                workers, ownerOrder, submitted, taken, steals, stolenItems
+            );
+        }
+    }
+}
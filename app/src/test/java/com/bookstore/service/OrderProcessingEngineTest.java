@@ -0,0 +1,138 @@
+package com.bookstore.service;
+
+import com.bookstore.dao.OrderDAO;
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
+import com.bookstore.util.queue.OrderQueueManager;
+import com.bookstore.util.queue.TestOrders;
+import com.bookstore.util.queue.WorkStealingDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OrderProcessingEngine (database replaced by an in-memory status table)
+ */
+public class OrderProcessingEngineTest {
+
+    private static final int ORDERS = 300;
+
+    private InMemoryOrderDAO orderDAO;
+
+    @BeforeEach
+    void setUp() {
+        OrderQueueManager.clearAllQueues();
+        orderDAO = new InMemoryOrderDAO();
+    }
+
+    @AfterEach
+    void tearDown() {
+        OrderQueueManager.clearAllQueues();
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testWorkersProcessEveryPendingOrderOnce() throws InterruptedException {
+        for (int id = 1; id <= ORDERS; id++) {
+            assertTrue(OrderQueueManager.addOrderToQueues(pendingOrder(id), null));
+        }
+
+        OrderProcessingEngine engine = new OrderProcessingEngine(orderDAO, 8);
+        assertTrue(engine.start());
+        assertFalse(engine.start());
+
+        while (OrderQueueManager.getPendingQueue().size() > 0
+                || engine.getStatistics().getProcessedOrders() < ORDERS) {
+            Thread.sleep(10);
+        }
+        assertTrue(engine.shutdown(5, TimeUnit.SECONDS));
+        assertFalse(engine.isRunning());
+
+        OrderProcessingEngine.EngineStatistics stats = engine.getStatistics();
+        assertEquals(ORDERS, stats.getProcessedOrders());
+        assertEquals(0, stats.getFailedOrders());
+        assertEquals(ORDERS, orderDAO.updates.get());
+        for (int id = 1; id <= ORDERS; id++) {
+            assertEquals(OrderStatus.PROCESSING.name(), orderDAO.statuses.get(id));
+            assertFalse(OrderQueueManager.isPending(id));
+        }
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testWorkStealingWorkersProcessEveryPendingOrderOnce() throws InterruptedException {
+        for (int id = 1; id <= ORDERS; id++) {
+            assertTrue(OrderQueueManager.addOrderToQueues(pendingOrder(id), null));
+        }
+
+        OrderProcessingEngine engine = new OrderProcessingEngine(orderDAO, 4, WorkStealingDispatcher.OwnerOrder.LIFO);
+        assertTrue(engine.start());
+        while (engine.getStatistics().getProcessedOrders() < ORDERS) {
+            Thread.sleep(10);
+        }
+        assertTrue(engine.shutdown(5, TimeUnit.SECONDS));
+
+        assertEquals(ORDERS, orderDAO.updates.get());
+        assertEquals(0, engine.getStatistics().getFailedOrders());
+        WorkStealingDispatcher.DispatchStatistics dispatch = engine.getDispatchStatistics();
+        assertEquals(ORDERS, dispatch.getSubmitted());
+        assertEquals(ORDERS, dispatch.getTaken());
+        for (int id = 1; id <= ORDERS; id++) {
+            assertEquals(OrderStatus.PROCESSING.name(), orderDAO.statuses.get(id));
+        }
+    }
+
+    @Test
+    void testOrderAlreadyClaimedIsNotProcessedAgain() {
+        OrderProcessingEngine engine = new OrderProcessingEngine(orderDAO, 1);
+        Order order = pendingOrder(7);
+
+        assertTrue(engine.process(order));
+        assertEquals(OrderStatus.PROCESSING, order.getStatus());
+
+        // A stale copy of the same order must not be moved twice
+        assertFalse(engine.process(pendingOrder(7)));
+        assertEquals(1, engine.getStatistics().getProcessedOrders());
+        assertEquals(1, engine.getStatistics().getFailedOrders());
+        assertEquals(1, orderDAO.updates.get());
+    }
+
+    @Test
+    void testShutdownWithoutStart() throws InterruptedException {
+        OrderProcessingEngine engine = new OrderProcessingEngine(orderDAO, 2);
+        assertTrue(engine.shutdown(1, TimeUnit.SECONDS));
+        assertEquals(0, engine.getStatistics().getProcessedOrders());
+        assertThrows(IllegalArgumentException.class, () -> new OrderProcessingEngine(orderDAO, 0));
+    }
+
+    private Order pendingOrder(int id) {
+        Order order = TestOrders.pendingOrder(id, "2024-03-01", 10.0, 100 + id);
+        orderDAO.statuses.putIfAbsent(id, OrderStatus.PENDING.name());
+        return order;
+    }
+
+    /**
+     * Conditional status updates against a map instead of the Orders table
+     */
+    private static class InMemoryOrderDAO extends OrderDAO {
+        final Map<Integer, String> statuses = new ConcurrentHashMap<>();
+        final AtomicInteger updates = new AtomicInteger();
+
+        @Override
+        public boolean transitionOrderStatus(int orderId, String expectedStatus, String newStatus) {
+            boolean updated = statuses.replace(orderId, expectedStatus, newStatus);
+            if (updated) {
+                updates.incrementAndGet();
+            }
+            return updated;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.bookstore.service;
+
+import com.bookstore.dao.BookDAO;
+import com.bookstore.dao.OrderDAO;
+import com.bookstore.model.Admin;
+import com.bookstore.model.Book;
+import com.bookstore.model.Customer;
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderItem;
+import com.bookstore.model.OrderStatus;
+import com.bookstore.model.Role;
+import com.bookstore.util.event.OrderEvent;
+import com.bookstore.util.event.OrderEventBus;
+import com.bookstore.util.index.Query;
+import com.bookstore.util.queue.DeadlineAction;
+import com.bookstore.util.queue.OrderQueueManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OrderService over an in-memory order cache
+ */
+public class OrderServiceTest {
+
+    private List<Order> cachedOrders;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        OrderQueueManager.clearAllQueues();
+        cachedOrders = new ArrayList<>();
+        for (int id = 1; id <= 3; id++) {
+            cachedOrders.add(new Order(id, 100 + id, Date.valueOf("2024-03-0" + id), 10.0 * id, OrderStatus.PENDING, null));
+        }
+        orderService = new OrderService(new CachedOrders(cachedOrders));
+    }
+
+    @AfterEach
+    void tearDown() {
+        OrderQueueManager.clearAllQueues();
+    }
+
+    @Test
+    void testStatusFilterFollowsProcessedOrders() {
+        assertEquals(3, orderService.filter(OrderStatus.PENDING, true).size());
+        assertEquals(3, orderService.countByStatus(OrderStatus.PENDING));
+
+        // The engine moves the cached instance to PROCESSING in place
+        OrderProcessingEngine engine = new OrderProcessingEngine(new AcceptingOrderDAO(), 1);
+        assertTrue(engine.process(cachedOrders.get(1)));
+
+        List<Order> pending = orderService.filter(OrderStatus.PENDING, true);
+        assertEquals(2, pending.size());
+        assertEquals(1, pending.get(0).getOrderId());
+        assertEquals(3, pending.get(1).getOrderId());
+        assertEquals(1, orderService.countByStatus(OrderStatus.PROCESSING));
+        assertEquals(List.of(cachedOrders.get(1)),
+                orderService.filter(List.of(OrderStatus.PROCESSING, OrderStatus.SHIPPED), true));
+        assertEquals(1, orderService.query(Query.<Order>create().eq("status", OrderStatus.PROCESSING)).size());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testAsyncCheckoutDropsUnavailableLinesAndRecomputesTotal() throws Exception {
+        RecordingSession session = new RecordingSession();
+        InMemoryCheckoutDAO checkoutDAO = new InMemoryCheckoutDAO();
+        OrderService service = new OrderService(session, checkoutDAO, new InMemoryBookDAO(), new QueueService());
+
+        Order order = newOrder(new OrderItem(1, 2, 0), new OrderItem(2, 1, 0), new OrderItem(99, 1, 0));
+        assertEquals(Integer.valueOf(500), service.createNewOrderAsync(order, customer()).get(5, TimeUnit.SECONDS));
+
+        // Out-of-stock book 2 and unknown book 99 never reach the transaction
+        assertEquals(1, order.getOrderItems().size());
+        assertEquals(12.5, order.getOrderItems().get(0).getUnitPrice(), 0.0);
+        assertEquals(25.0, order.getTotalAmount(), 0.0);
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+        assertEquals(1, checkoutDAO.checkouts.get());
+
+        // Cache and queues follow after the future completed
+        assertSame(order, session.cachedOrders.poll(5, TimeUnit.SECONDS));
+        while (!OrderQueueManager.isPending(500)) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testAsyncCheckoutFailures() throws Exception {
+        InMemoryCheckoutDAO checkoutDAO = new InMemoryCheckoutDAO();
+        OrderService service = new OrderService(new RecordingSession(), checkoutDAO, new InMemoryBookDAO(),
+                new QueueService());
+
+        // No line available: cancelled before any transaction
+        Order unavailable = newOrder(new OrderItem(2, 1, 0), new OrderItem(1, 6, 0));
+        assertEquals(Integer.valueOf(-1), service.createNewOrderAsync(unavailable, customer()).get(5, TimeUnit.SECONDS));
+        assertTrue(unavailable.getOrderItems().isEmpty());
+        assertEquals(0, checkoutDAO.checkouts.get());
+
+        // Rejected under lock (stock sold meanwhile)
+        checkoutDAO.outcome = OrderDAO.CheckoutResult.noItemsAvailable(new ArrayList<>(List.of("'Sold' (ID: 1)")));
+        assertEquals(Integer.valueOf(-1), service.createNewOrderAsync(newOrder(new OrderItem(1, 1, 0)), customer())
+                .get(5, TimeUnit.SECONDS));
+
+        // Database failure
+        checkoutDAO.outcome = OrderDAO.CheckoutResult.failed("connection refused");
+        assertEquals(Integer.valueOf(-1), service.createNewOrderAsync(newOrder(new OrderItem(1, 1, 0)), customer())
+                .get(5, TimeUnit.SECONDS));
+        assertEquals(2, checkoutDAO.checkouts.get());
+        assertFalse(OrderQueueManager.isPending(500));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testAsyncCheckoutStaysOutOfTheNextSessionsCache() throws Exception {
+        RecordingSession session = new RecordingSession();
+        InMemoryCheckoutDAO checkoutDAO = new InMemoryCheckoutDAO();
+        // The customer logs out while the order is being committed
+        checkoutDAO.duringCheckout = session::clearSession;
+        OrderService service = new OrderService(session, checkoutDAO, new InMemoryBookDAO(), new QueueService());
+
+        assertEquals(Integer.valueOf(500), service.createNewOrderAsync(newOrder(new OrderItem(1, 1, 0)), customer())
+                .get(5, TimeUnit.SECONDS));
+
+        // Still queued under the customer who placed it, but not cached for whoever logs in next
+        while (!OrderQueueManager.isPending(500)) {
+            Thread.sleep(5);
+        }
+        assertTrue(session.cachedOrders.isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testExpiredDeadlineOnlyCancelsOrdersStillInThatStatus() throws Exception {
+        // Order 2 was picked up in the database after its deadline fired
+        ConditionalOrderDAO orderDAO = new ConditionalOrderDAO(1);
+        OrderService service = new OrderService(new CachedOrders(cachedOrders), orderDAO, new InMemoryBookDAO(),
+                new QueueService());
+        OrderQueueManager.addOrderToQueues(cachedOrders.get(0), null);
+        OrderQueueManager.addOrderToQueues(cachedOrders.get(1), null);
+        Admin admin = new Admin();
+        admin.setRole(Role.ADMIN);
+
+        try {
+            assertTrue(service.enableOrderDeadlines(Duration.ofMillis(1), null, DeadlineAction.CANCEL, admin));
+            while (OrderQueueManager.isPending(1) || orderDAO.transitions.size() < 2) {
+                Thread.sleep(5);
+            }
+        } finally {
+            service.disableOrderDeadlines(admin);
+        }
+
+        assertEquals(List.of("1:PENDING->CANCELLED", "2:PENDING->CANCELLED"),
+                orderDAO.transitions.stream().sorted().toList());
+        assertEquals(OrderStatus.CANCELLED, cachedOrders.get(0).getStatus());
+        assertEquals(1, OrderQueueManager.getCompletedQueue().size());
+        assertEquals(OrderStatus.PENDING, cachedOrders.get(1).getStatus());
+        assertTrue(OrderQueueManager.isPending(2));
+    }
+
+    @Test
+    void testTransitionAllAppliesOnlyWhatTheDatabaseMoved() {
+        // Order 2 left PENDING in the database before the bulk update ran
+        BulkOrderDAO orderDAO = new BulkOrderDAO(List.of(1, 3));
+        OrderService service = new OrderService(new CachedOrders(cachedOrders), orderDAO, new InMemoryBookDAO(),
+                new QueueService());
+        Admin admin = new Admin();
+        admin.setRole(Role.ADMIN);
+
+        assertEquals(2, service.transitionAll(OrderStatus.PENDING, OrderStatus.PROCESSING, admin));
+        assertEquals(List.of("PENDING->PROCESSING"), orderDAO.transitions);
+        assertEquals(OrderStatus.PROCESSING, cachedOrders.get(0).getStatus());
+        assertEquals(OrderStatus.PENDING, cachedOrders.get(1).getStatus());
+        assertEquals(OrderStatus.PROCESSING, cachedOrders.get(2).getStatus());
+
+        // Not a legal transition: the database is not touched
+        assertEquals(0, service.transitionAll(OrderStatus.PENDING, OrderStatus.DELIVERED, admin));
+        assertEquals(0, service.updateOrderStatuses(List.of(2), OrderStatus.DELIVERED, OrderStatus.PENDING, admin));
+        assertEquals(1, orderDAO.transitions.size());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testQueueOperationsPublishTheirStatusChanges() throws InterruptedException {
+        AcceptingOrderDAO orderDAO = new AcceptingOrderDAO();
+        OrderService service = new OrderService(new CachedOrders(cachedOrders), orderDAO, new InMemoryBookDAO(),
+                new QueueService(orderDAO));
+        OrderEventBus bus = new OrderEventBus(16);
+        List<OrderEvent> published = new CopyOnWriteArrayList<>();
+        service.useEventBus(bus);
+        bus.subscribe("audit", published::addAll);
+        bus.start();
+        Admin admin = new Admin();
+        admin.setRole(Role.ADMIN);
+
+        try {
+            assertTrue(service.completeOrder(cachedOrders.get(0), admin));
+            assertTrue(service.cancelOrder(cachedOrders.get(1), admin, "duplicate"));
+            assertTrue(bus.awaitDrained(5, TimeUnit.SECONDS));
+        } finally {
+            bus.shutdown(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of("1:PENDING->DELIVERED", "2:PENDING->CANCELLED"), published.stream()
+                .map(event -> event.getOrderId() + ":" + event.getPreviousStatus() + "->" + event.getStatus())
+                .toList());
+        assertEquals(1, service.getOrderTransitions().getTransitionCount(OrderStatus.DELIVERED));
+        assertEquals(1, service.getOrderTransitions().getTransitionCount(OrderStatus.CANCELLED));
+        // Re-filed by the queue subscriber
+        assertEquals(2, OrderQueueManager.getCompletedQueue().size());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testProcessingEngineGoesThroughTheServicePath() throws InterruptedException {
+        AcceptingOrderDAO orderDAO = new AcceptingOrderDAO();
+        OrderService service = new OrderService(new CachedOrders(cachedOrders), orderDAO, new InMemoryBookDAO(),
+                new QueueService(orderDAO));
+        OrderEventBus bus = new OrderEventBus(16);
+        List<OrderEvent> published = new CopyOnWriteArrayList<>();
+        service.useEventBus(bus);
+        bus.subscribe("audit", published::addAll);
+        bus.start();
+        Admin admin = new Admin();
+        admin.setUserId(9);
+        admin.setRole(Role.ADMIN);
+        for (Order order : cachedOrders) {
+            OrderQueueManager.addOrderToQueues(order, null);
+        }
+
+        try {
+            assertTrue(service.startProcessingEngine(2, admin));
+            while (published.size() < 3) {
+                Thread.sleep(5);
+            }
+            assertTrue(service.shutdownProcessingEngine(5, TimeUnit.SECONDS));
+            assertTrue(bus.awaitDrained(5, TimeUnit.SECONDS));
+        } finally {
+            service.shutdownProcessingEngine(5, TimeUnit.SECONDS);
+            bus.shutdown(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of(1, 2, 3), published.stream().map(OrderEvent::getOrderId).sorted().toList());
+        for (OrderEvent event : published) {
+            assertEquals(OrderStatus.PENDING, event.getPreviousStatus());
+            assertEquals(OrderStatus.PROCESSING, event.getStatus());
+            assertEquals(9, event.getUserId());
+        }
+        assertEquals(3, service.getOrderTransitions().getTransitionCount(OrderStatus.PROCESSING));
+        assertEquals(3, service.countByStatus(OrderStatus.PROCESSING));
+        assertEquals(0, OrderQueueManager.getPendingQueue().size());
+    }
+
+    private static Order newOrder(OrderItem... items) {
+        Order order = new Order();
+        order.setCustomerId(7);
+        order.setOrderDate(Date.valueOf("2024-03-01"));
+        order.setOrderItems(new ArrayList<>(List.of(items)));
+        return order;
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer();
+        customer.setUserId(7);
+        return customer;
+    }
+
+    /**
+     * Session that records the orders added to its cache (no database)
+     */
+    static class RecordingSession extends SessionDataManager {
+        final BlockingQueue<Order> cachedOrders = new LinkedBlockingQueue<>();
+
+        @Override
+        public synchronized void addOrderToCache(Order order) {
+            cachedOrders.add(order);
+        }
+    }
+
+    /**
+     * Book 1: 5 in stock at 12.50; book 2: out of stock; others unknown
+     */
+    private static class InMemoryBookDAO extends BookDAO {
+        private final Map<Integer, Book> books = new HashMap<>();
+
+        InMemoryBookDAO() {
+            books.put(1, new Book(1, "Dune", "Herbert", "isbn-1", 12.5, 5));
+            books.put(2, new Book(2, "Emma", "Austen", "isbn-2", 8.0, 0));
+        }
+
+        @Override
+        public Book getBookById(int bookId) {
+            return books.get(bookId);
+        }
+    }
+
+    /**
+     * Places every order as ID 500 with the lines it is given, unless an outcome is set
+     */
+    private static class InMemoryCheckoutDAO extends OrderDAO {
+        final AtomicInteger checkouts = new AtomicInteger();
+        volatile OrderDAO.CheckoutResult outcome;
+        volatile Runnable duringCheckout = () -> { };
+
+        @Override
+        public CheckoutResult placeOrder(Order order) {
+            checkouts.incrementAndGet();
+            duringCheckout.run();
+            if (outcome != null) {
+                return outcome;
+            }
+            double total = 0;
+            for (OrderItem item : order.getOrderItems()) {
+                total += item.getQuantity() * item.getUnitPrice();
+            }
+            order.setOrderId(500);
+            order.setTotalAmount(total);
+            return CheckoutResult.placed(500, total, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Session whose order cache is a fixed list (no database)
+     */
+    static class CachedOrders extends SessionDataManager {
+        private final List<Order> orders;
+
+        CachedOrders(List<Order> orders) {
+            this.orders = orders;
+        }
+
+        @Override
+        public List<Order> getCachedOrders() {
+            return orders;
+        }
+
+        @Override
+        public long getOrderCacheVersion() {
+            return 1;
+        }
+
+        @Override
+        public List<Order> updateOrderStatusesInCache(Collection<Integer> orderIds, OrderStatus newStatus) {
+            List<Order> updated = new ArrayList<>();
+            for (Order order : orders) {
+                if (orderIds.contains(order.getOrderId())) {
+                    order.setStatus(newStatus);
+                    updated.add(order);
+                }
+            }
+            return updated;
+        }
+    }
+
+    /**
+     * Bulk transitions that move a fixed set of orders
+     */
+    private static class BulkOrderDAO extends OrderDAO {
+        final List<String> transitions = new ArrayList<>();
+        private final List<Integer> moved;
+
+        BulkOrderDAO(List<Integer> moved) {
+            this.moved = moved;
+        }
+
+        @Override
+        public List<Integer> transitionAllOrderStatuses(OrderStatus fromStatus, OrderStatus toStatus) {
+            transitions.add(fromStatus + "->" + toStatus);
+            return moved;
+        }
+
+        @Override
+        public List<Integer> updateOrderStatuses(List<Integer> orderIds, OrderStatus expectedStatus,
+                                                 OrderStatus newStatus) {
+            transitions.add(expectedStatus + "->" + newStatus);
+            return moved;
+        }
+    }
+
+    /**
+     * Records conditional status updates; only the given orders still match
+     * the expected status. Unconditional updates are not expected.
+     */
+    private static class ConditionalOrderDAO extends OrderDAO {
+        final List<String> transitions = new CopyOnWriteArrayList<>();
+        private final Set<Integer> matching;
+
+        ConditionalOrderDAO(Integer... matching) {
+            this.matching = Set.of(matching);
+        }
+
+        @Override
+        public boolean transitionOrderStatus(int orderId, String expectedStatus, String newStatus) {
+            transitions.add(orderId + ":" + expectedStatus + "->" + newStatus);
+            return matching.contains(orderId);
+        }
+
+        @Override
+        public boolean updateOrderStatus(int orderId, String status) {
+            throw new AssertionError("Unconditional status update of order " + orderId);
+        }
+    }
+
+    /**
+     * Accepts every status update
+     */
+    private static class AcceptingOrderDAO extends OrderDAO {
+        @Override
+        public boolean transitionOrderStatus(int orderId, String expectedStatus, String newStatus) {
+            return true;
+        }
+
+        @Override
+        public boolean updateOrderStatus(int orderId, String status) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.bookstore.util.algorithms;
+
+import com.bookstore.model.Book;
+import com.bookstore.model.Customer;
+import com.bookstore.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the search pipeline in SearchingAlgorithms
+ */
+public class SearchingAlgorithmsTest {
+
+    @Test
+    void testQueryParsing() {
+        SearchQuery query = SearchQuery.parse("  Harry POTTER ");
+        assertEquals("harry potter", query.getTerm());
+        assertFalse(query.isNumeric());
+
+        SearchQuery numeric = SearchQuery.parse(" 42 ");
+        assertTrue(numeric.isNumeric());
+        assertEquals(42, numeric.getNumericValue());
+
+        assertTrue(SearchQuery.parse("-7").isNumeric());
+        assertFalse(SearchQuery.parse("-").isNumeric());
+        assertFalse(SearchQuery.parse("12a").isNumeric());
+        assertFalse(SearchQuery.parse("99999999999").isNumeric());
+        assertTrue(SearchQuery.parse(null).isEmpty());
+        assertTrue(SearchQuery.parse("   ").isEmpty());
+    }
+
+    @Test
+    void testBookSearchRanking() {
+        Book partialTitle = new Book(1, "The Hobbit Returns", "Someone", "111", 10.0, 1, "Fantasy");
+        Book exactTitle = new Book(2, "Hobbit", "Another", "222", 10.0, 1, "Fantasy");
+        Book authorOnly = new Book(3, "Other", "Hobbit Fan", "333", 10.0, 1, "Fantasy");
+        Book noMatch = new Book(4, "Nothing", "Nobody", "444", 10.0, 1, "Fantasy");
+        List<Book> books = Arrays.asList(partialTitle, exactTitle, authorOnly, noMatch);
+
+        List<Book> results = SearchingAlgorithms.searchBooks(books, "HOBBIT");
+        assertEquals(Arrays.asList(exactTitle, partialTitle, authorOnly), results);
+
+        // Exact ID match wins over everything else
+        assertEquals(noMatch, SearchingAlgorithms.searchBooks(books, "4").get(0));
+    }
+
+    @Test
+    void testSearchKeysFollowFieldUpdates() {
+        Book book = new Book(1, "Old Title", "Author", "111", 10.0, 1, "Fantasy");
+        List<Book> books = Arrays.asList(book);
+        assertEquals(1, SearchingAlgorithms.searchBooks(books, "old").size());
+
+        book.setTitle("New Title");
+        assertTrue(SearchingAlgorithms.searchBooks(books, "old").isEmpty());
+        assertEquals(1, SearchingAlgorithms.searchBooks(books, "new").size());
+    }
+
+    @Test
+    void testCustomerAndOrderSearch() {
+        Customer alice = new Customer(1, "Alice Smith", "alice@example.com", "Street 1");
+        Customer bob = new Customer(2, "Bob Jones", "bob@example.com", "Street 2");
+        List<Customer> customers = Arrays.asList(alice, bob);
+
+        assertEquals(Arrays.asList(bob), SearchingAlgorithms.searchCustomers(customers, "jones"));
+        assertEquals(Arrays.asList(alice, bob), SearchingAlgorithms.searchCustomers(customers, "EXAMPLE"));
+
+        bob.setName("Robert Jones");
+        assertEquals(Arrays.asList(bob), SearchingAlgorithms.searchCustomers(customers, "robert"));
+
+        Order first = new Order();
+        first.setOrderId(10);
+        first.setCustomerId(7);
+        first.setTrackingNumber("TRK-ABC");
+        Order second = new Order();
+        second.setOrderId(7);
+        second.setCustomerId(3);
+        List<Order> orders = Arrays.asList(first, second);
+
+        // Order ID match ranks above customer ID match
+        assertEquals(Arrays.asList(second, first), SearchingAlgorithms.searchOrders(orders, "7"));
+        assertEquals(Arrays.asList(first), SearchingAlgorithms.searchOrders(orders, "trk"));
+    }
+}
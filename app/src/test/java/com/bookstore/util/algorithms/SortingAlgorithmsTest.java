@@ -0,0 +1,101 @@
+package com.bookstore.util.algorithms;
+
+import com.bookstore.model.Book;
+import com.bookstore.model.OrderItem;
+import org.junit.jupiter.api.Test;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the key-extraction sorts in SortingAlgorithms
+ */
+public class SortingAlgorithmsTest {
+
+    @Test
+    void testSortOrderItemsByBookTitleLooksUpEachItemOnce() {
+        Map<Integer, String> titles = new HashMap<>();
+        titles.put(1, "zebra");
+        titles.put(2, "Apple");
+        titles.put(3, "mango");
+
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(new OrderItem(1 + i % 3, 1, 1.0));
+        }
+        items.add(new OrderItem(99, 1, 1.0)); // unknown book
+
+        AtomicInteger lookups = new AtomicInteger();
+        SortingAlgorithms.sortOrderItemsByBookTitle(items, bookId -> {
+            lookups.incrementAndGet();
+            return titles.get(bookId);
+        });
+
+        assertEquals(items.size(), lookups.get());
+        assertEquals(99, items.get(0).getBookId()); // missing title sorts first
+        assertEquals(2, items.get(1).getBookId());
+        assertEquals(1, items.get(items.size() - 1).getBookId());
+    }
+
+    @Test
+    void testSortByIntKeyIsStable() {
+        Book a = new Book(1, "A", "x", "1", 5.0, 3, null);
+        Book b = new Book(2, "B", "x", "2", 5.0, -1, null);
+        Book c = new Book(3, "C", "x", "3", 5.0, 3, null);
+        Book d = new Book(4, "D", "x", "4", 5.0, 1, null);
+        List<Book> books = new ArrayList<>(Arrays.asList(a, b, c, d));
+
+        SortingAlgorithms.sortByIntKey(books, book -> -book.getBookId() % 2);
+        assertEquals(Arrays.asList(a, c, b, d), books);
+
+        SortingAlgorithms.sortByIntKey(books, Book::getStockQuantity);
+        assertEquals(Arrays.asList(b, d, a, c), books);
+    }
+
+    @Test
+    void testSortByDoubleKeyAndCollationKey() {
+        Book cheap = new Book(1, "écran", "x", "1", 2.5, 1, null);
+        Book pricey = new Book(2, "Zoo", "x", "2", 20.0, 1, null);
+        Book mid = new Book(3, "apple", "x", "3", 7.0, 1, null);
+        List<Book> books = new ArrayList<>(Arrays.asList(pricey, mid, cheap));
+
+        SortingAlgorithms.sortByDoubleKey(books, Book::getPrice);
+        assertEquals(Arrays.asList(cheap, mid, pricey), books);
+
+        SortingAlgorithms.sortByCollationKey(books, Book::getTitle, Collator.getInstance(Locale.ENGLISH));
+        assertEquals(Arrays.asList(mid, cheap, pricey), books);
+    }
+
+    @Test
+    void testMultiKeySortSpec() {
+        SortSpec.Fields<Book> fields = new SortSpec.Fields<Book>()
+                .textField("category", Book::getCategoryKey)
+                .doubleField("price", Book::getPrice)
+                .textField("title", Book::getTitleKey);
+
+        Book fantasyCheap = new Book(1, "b", "x", "1", 5.0, 1, "Fantasy");
+        Book fantasyPricey = new Book(2, "a", "x", "2", 15.0, 1, "fantasy");
+        Book fantasyPriceyB = new Book(3, "B", "x", "3", 15.0, 1, "Fantasy");
+        Book history = new Book(4, "c", "x", "4", 1.0, 1, "History");
+        List<Book> books = Arrays.asList(history, fantasyCheap, fantasyPriceyB, fantasyPricey);
+
+        SortSpec<Book> spec = SortSpec.parse(" Category ASC,price desc , title", fields);
+        assertEquals("category asc, price desc, title asc", spec.toString());
+        assertEquals(Arrays.asList(fantasyPricey, fantasyPriceyB, fantasyCheap, history), spec.sort(books));
+
+        // Input list is left untouched
+        assertEquals(history, books.get(0));
+
+        assertThrows(IllegalArgumentException.class, () -> SortSpec.parse("rating desc", fields));
+        assertThrows(IllegalArgumentException.class, () -> SortSpec.parse("price sideways", fields));
+        assertThrows(IllegalArgumentException.class, () -> SortSpec.parse(" ", fields));
+    }
+}
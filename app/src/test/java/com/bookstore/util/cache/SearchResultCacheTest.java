@@ -0,0 +1,75 @@
+package com.bookstore.util.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SearchResultCache
+ */
+public class SearchResultCacheTest {
+
+    private SearchResultCache<String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache<>(2);
+    }
+
+    @Test
+    void testHitAndMiss() {
+        SearchResultCache.Key key = new SearchResultCache.Key("potter", null, null);
+        assertNull(cache.get(key, 1));
+
+        cache.put(key, Arrays.asList("a", "b"), 1);
+        assertEquals(Arrays.asList("a", "b"), cache.get(new SearchResultCache.Key("potter", null, null), 1));
+
+        SearchResultCache.CacheStatistics stats = cache.getStatistics();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate(), 0.001);
+    }
+
+    @Test
+    void testVersionInvalidation() {
+        SearchResultCache.Key key = new SearchResultCache.Key(null, "title asc", "Fantasy");
+        cache.put(key, Arrays.asList("a"), 1);
+        assertNotNull(cache.get(key, 1));
+
+        // A catalog write moves the version and drops everything
+        assertNull(cache.get(key, 2));
+        assertEquals(1, cache.getStatistics().getInvalidations());
+
+        // Results computed against an old version are not stored
+        cache.put(key, Arrays.asList("stale"), 1);
+        assertNull(cache.get(key, 2));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        SearchResultCache.Key a = new SearchResultCache.Key("a", null, null);
+        SearchResultCache.Key b = new SearchResultCache.Key("b", null, null);
+        SearchResultCache.Key c = new SearchResultCache.Key("c", null, null);
+
+        cache.put(a, Arrays.asList("a"), 1);
+        cache.put(b, Arrays.asList("b"), 1);
+        cache.get(a, 1); // a is now most recently used
+        cache.put(c, Arrays.asList("c"), 1);
+
+        assertNotNull(cache.get(a, 1));
+        assertNull(cache.get(b, 1));
+        assertNotNull(cache.get(c, 1));
+        assertEquals(1, cache.getStatistics().getEvictions());
+    }
+
+    @Test
+    void testCachedResultsAreReadOnly() {
+        SearchResultCache.Key key = new SearchResultCache.Key("x", null, null);
+        List<String> cached = cache.put(key, Arrays.asList("x"), 1);
+        assertThrows(UnsupportedOperationException.class, () -> cached.add("y"));
+    }
+}
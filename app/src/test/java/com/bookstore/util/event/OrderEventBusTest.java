@@ -0,0 +1,221 @@
+package com.bookstore.util.event;
+
+import com.bookstore.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for OrderEventBus and its subscribers
+ */
+public class OrderEventBusTest {
+
+    private OrderEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new OrderEventBus(8);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        bus.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testEverySubscriberSeesEveryEventInOrder() throws InterruptedException {
+        List<Integer> first = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> second = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe("first", batch -> batch.forEach(event -> first.add(event.getOrderId())));
+        bus.subscribe("second", batch -> batch.forEach(event -> second.add(event.getOrderId())));
+        assertEquals(8, bus.getBufferSize());
+        assertTrue(bus.start());
+        assertFalse(bus.start());
+
+        // Far more events than ring slots: publishers wait for the subscribers
+        List<Integer> expected = new ArrayList<>();
+        for (int id = 1; id <= 1000; id++) {
+            assertTrue(bus.publish(event(id, OrderStatus.PROCESSING)));
+            expected.add(id);
+        }
+
+        assertTrue(bus.awaitDrained(10, TimeUnit.SECONDS));
+        assertEquals(expected, first);
+        assertEquals(expected, second);
+        OrderEventBus.EventBusStatistics stats = bus.getStatistics();
+        assertEquals(1000, stats.getPublishedEvents());
+        assertEquals(0, stats.getSubscribers().get(0).getLag());
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testEventsArrivingDuringABatchFormTheNextBatch() throws InterruptedException {
+        CountDownLatch inFirstBatch = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe("slow", batch -> {
+            batchSizes.add(batch.size());
+            inFirstBatch.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        bus.start();
+
+        bus.publish(event(1, OrderStatus.PROCESSING));
+        assertTrue(inFirstBatch.await(5, TimeUnit.SECONDS));
+        List<OrderEvent> burst = new ArrayList<>();
+        for (int id = 2; id <= 6; id++) {
+            burst.add(event(id, OrderStatus.SHIPPED));
+        }
+        assertTrue(bus.publishAll(burst));
+        release.countDown();
+
+        assertTrue(bus.awaitDrained(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 5), batchSizes);
+        assertEquals(2, bus.getStatistics().getSubscribers().get(0).getBatches());
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testDependentSubscriberRunsAfterItsDependency() throws InterruptedException {
+        AtomicLong applied = new AtomicLong();
+        List<String> violations = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe("cache", batch -> applied.addAndGet(batch.size()));
+        AtomicLong seen = new AtomicLong();
+        bus.subscribe("queues", batch -> {
+            if (applied.get() < seen.addAndGet(batch.size())) {
+                violations.add("queues ran ahead of cache");
+            }
+        }, "cache");
+        assertThrows(IllegalArgumentException.class, () -> bus.subscribe("audit", batch -> { }, "missing"));
+        bus.start();
+        assertThrows(IllegalStateException.class, () -> bus.subscribe("late", batch -> { }));
+
+        for (int id = 1; id <= 500; id++) {
+            bus.publish(event(id, OrderStatus.DELIVERED));
+        }
+        assertTrue(bus.awaitDrained(10, TimeUnit.SECONDS));
+        assertEquals(500, seen.get());
+        assertTrue(violations.isEmpty(), violations.toString());
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testAwaitHandledWaitsForSubscriberAndItsDependencies() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong cached = new AtomicLong();
+        AtomicLong queued = new AtomicLong();
+        bus.subscribe("cache", batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            cached.addAndGet(batch.size());
+        });
+        bus.subscribe("queues", batch -> queued.addAndGet(batch.size()), "cache");
+        bus.subscribe("statistics", batch -> { });
+        bus.start();
+
+        bus.publish(event(1, OrderStatus.SHIPPED));
+        assertTrue(bus.awaitHandled("statistics", 5, TimeUnit.SECONDS));
+        // Held up behind the blocked cache subscriber
+        assertFalse(bus.awaitHandled("queues", 50, TimeUnit.MILLISECONDS));
+        assertEquals(0, queued.get());
+
+        release.countDown();
+        assertTrue(bus.awaitHandled("queues", 5, TimeUnit.SECONDS));
+        assertEquals(1, cached.get());
+        assertEquals(1, queued.get());
+        assertThrows(IllegalArgumentException.class, () -> bus.awaitHandled("missing", 1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testIdleSubscriberBlocksUntilAnEventArrives() throws InterruptedException {
+        AtomicLong handled = new AtomicLong();
+        bus.subscribe("idle", batch -> handled.addAndGet(batch.size()));
+        bus.start();
+        Thread subscriber = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("order-events-idle"))
+                .findFirst().orElseThrow();
+
+        // Parked without a timeout, not polling
+        while (subscriber.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(20);
+        assertEquals(Thread.State.WAITING, subscriber.getState());
+
+        bus.publish(event(1, OrderStatus.PROCESSING));
+        assertTrue(bus.awaitHandled("idle", 5, TimeUnit.SECONDS));
+        assertEquals(1, handled.get());
+        assertTrue(bus.shutdown(5, TimeUnit.SECONDS));
+        subscriber.join(5000);
+        assertFalse(subscriber.isAlive());
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testShutdownDrainsAndFailuresAreCounted() throws InterruptedException {
+        OrderTransitionCounter counter = new OrderTransitionCounter();
+        bus.subscribe("statistics", counter);
+        bus.subscribe("broken", batch -> {
+            throw new IllegalStateException("subscriber failure");
+        });
+        bus.start();
+
+        bus.publish(OrderEvent.statusChanged(1, OrderStatus.PENDING, OrderStatus.CANCELLED, null));
+        bus.publish(OrderEvent.statusChanged(2, OrderStatus.PENDING, OrderStatus.PROCESSING, null));
+        bus.publish(OrderEvent.deleted(1, null));
+        assertTrue(bus.shutdown(5, TimeUnit.SECONDS));
+        assertFalse(bus.publish(event(3, OrderStatus.PENDING)));
+
+        assertEquals(1, counter.getTransitionCount(OrderStatus.CANCELLED));
+        assertEquals(1, counter.getTransitionCount(OrderStatus.PROCESSING));
+        assertEquals(1, counter.getDeletedCount());
+        OrderEventBus.SubscriberStatistics broken = bus.getStatistics().getSubscribers().get(1);
+        assertEquals(3, broken.getHandledEvents());
+        assertTrue(broken.getFailedBatches() >= 1);
+    }
+
+    @Test
+    void testAuditLogAppendsOneLinePerEvent() throws IOException {
+        Path directory = Files.createTempDirectory("order-audit");
+        Path file = directory.resolve("audit.log");
+        try (OrderAuditLog log = new OrderAuditLog(file)) {
+            log.onEvents(List.of(event(7, OrderStatus.SHIPPED), OrderEvent.deleted(8, null)));
+        }
+        try (OrderAuditLog log = new OrderAuditLog(file)) {
+            log.onEvents(List.of(event(9, OrderStatus.DELIVERED)));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("STATUS_CHANGED order=7 PENDING -> SHIPPED"));
+        assertTrue(lines.get(1).contains("DELETED order=8"));
+        Files.delete(file);
+        Files.delete(directory);
+    }
+
+    private static OrderEvent event(int orderId, OrderStatus status) {
+        return OrderEvent.statusChanged(orderId, OrderStatus.PENDING, status, null);
+    }
+}
@@ -0,0 +1,64 @@
+package com.bookstore.util.index;
+
+import com.bookstore.model.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BitmapIndex
+ */
+public class BitmapIndexTest {
+
+    private final Book a = new Book(1, "A", "x", "1", 5.0, 0, "Fantasy");
+    private final Book b = new Book(2, "B", "x", "2", 5.0, 20, "History");
+    private final Book c = new Book(3, "C", "x", "3", 5.0, 3, "Fantasy");
+    private final Book d = new Book(4, "D", "x", "4", 5.0, 50, null);
+    private final List<Book> books = Arrays.asList(a, b, c, d);
+
+    @Test
+    void testSelectByKey() {
+        BitmapIndex<Book, String> category = BitmapIndex.build(books, Book::getCategory);
+
+        assertEquals(Arrays.asList(a, c), category.select(category.get("Fantasy")));
+        assertEquals(Arrays.asList(c, a), category.select(category.get("Fantasy"), false));
+        assertEquals(Arrays.asList(d), category.select(category.get(null)));
+        assertEquals(Collections.emptyList(), category.select(category.get("Poetry")));
+        assertEquals(2, category.count("Fantasy"));
+        assertEquals(0, category.count("Poetry"));
+    }
+
+    @Test
+    void testAndOrNotAcrossIndexes() {
+        BitmapIndex<Book, String> category = BitmapIndex.build(books, Book::getCategory);
+        BitmapIndex<Book, Boolean> inStock = BitmapIndex.build(books, book -> book.getStockQuantity() > 0);
+
+        BitSet fantasyInStock = BitmapIndex.and(category.get("Fantasy"), inStock.get(true));
+        assertEquals(Arrays.asList(c), category.select(fantasyInStock));
+
+        BitSet either = BitmapIndex.or(category.get("History"), inStock.get(false));
+        assertEquals(Arrays.asList(a, b), category.select(either));
+
+        assertEquals(Arrays.asList(b, d), category.select(category.not(category.get("Fantasy"))));
+        assertEquals(Arrays.asList(a, b, c), category.select(category.anyOf(Arrays.asList("Fantasy", "History"))));
+
+        // Bitmaps handed out are copies
+        category.get("Fantasy").clear();
+        assertEquals(2, category.count("Fantasy"));
+    }
+
+    @Test
+    void testSelectPage() {
+        BitmapIndex<Book, String> category = BitmapIndex.build(books, Book::getCategory);
+        BitSet all = category.not(new BitSet());
+
+        assertEquals(Arrays.asList(c, d), category.selectPage(all, true, 2, 2));
+        assertEquals(Arrays.asList(b, a), category.selectPage(all, false, 2, 2));
+        assertEquals(Collections.emptyList(), category.selectPage(all, true, 3, 2));
+    }
+}
@@ -0,0 +1,105 @@
+package com.bookstore.util.index;
+
+import com.bookstore.model.Book;
+import com.bookstore.util.algorithms.SortSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for QueryEngine planning and execution
+ */
+public class QueryEngineTest {
+
+    private static final SortSpec.Fields<Book> FIELDS = new SortSpec.Fields<Book>()
+            .intField("book_id", Book::getBookId)
+            .doubleField("price", Book::getPrice)
+            .textField("title", Book::getTitleKey);
+
+    private QueryEngine<Book> engine;
+
+    @BeforeEach
+    void setUp() {
+        List<Book> books = new ArrayList<>();
+        books.add(new Book(1, "The Colour of Magic", "Terry Pratchett", "1", 12.0, 5, "Fantasy"));
+        books.add(new Book(2, "Mort", "Terry Pratchett", "2", 25.0, 5, "Fantasy"));
+        books.add(new Book(3, "Guards! Guards!", "Terry Pratchett", "3", 9.5, 0, "Fantasy"));
+        books.add(new Book(4, "The Hobbit", "J.R.R. Tolkien", "4", 15.0, 2, "Fantasy"));
+        books.add(new Book(5, "SPQR", "Mary Beard", "5", 18.0, 7, "History"));
+        for (int i = 6; i <= 40; i++) {
+            books.add(new Book(i, "Filler " + i, "Someone " + i, String.valueOf(i), 30.0 + i, 1, "History"));
+        }
+
+        engine = new QueryEngine<>(books, FIELDS)
+                .hashIndex("author", Book::getAuthorKey)
+                .bitmapIndex("category", Book::getCategoryKey)
+                .rangeIndex("price", Book::getPrice)
+                .textIndex(Book::getTitleKey, Book::getAuthorKey);
+    }
+
+    @Test
+    void testComposedQuery() {
+        Query<Book> query = Query.<Book>create()
+                .eq("category", "Fantasy")
+                .atMost("price", 20.0)
+                .eq("author", "Terry Pratchett")
+                .orderBy("price asc");
+
+        List<Book> result = engine.execute(query);
+        assertEquals(Arrays.asList(3, 1), ids(result));
+
+        // Author (3 rows) is more selective than category (4) or price (5)
+        assertTrue(engine.explain(query).startsWith("hash(author) ~3 rows"), engine.explain(query));
+    }
+
+    @Test
+    void testPlannerPicksMostSelectiveIndex() {
+        Query<Book> byPrice = Query.<Book>create().eq("category", "history").between("price", 17.0, 19.0);
+        assertTrue(engine.explain(byPrice).startsWith("range(price) ~1 rows"), engine.explain(byPrice));
+        assertEquals(Arrays.asList(5), ids(engine.execute(byPrice)));
+
+        Query<Book> byText = Query.<Book>create().atLeast("price", 0).text("hob");
+        assertTrue(engine.explain(byText).startsWith("text ~1 rows"), engine.explain(byText));
+        assertEquals(Arrays.asList(4), ids(engine.execute(byText)));
+
+        Query<Book> unindexed = Query.<Book>create().where(book -> book.getStockQuantity() == 0);
+        assertTrue(engine.explain(unindexed).startsWith("scan ~40 rows"), engine.explain(unindexed));
+        assertEquals(Arrays.asList(3), ids(engine.execute(unindexed)));
+    }
+
+    @Test
+    void testTextMatchesWordPrefixesAcrossFields() {
+        assertEquals(Arrays.asList(1, 2, 3), ids(engine.execute(Query.<Book>create().text("terry").orderBy("book_id"))));
+        assertEquals(Arrays.asList(2), ids(engine.execute(Query.<Book>create().text("pratch mor"))));
+        assertTrue(engine.execute(Query.<Book>create().text("dragon")).isEmpty());
+    }
+
+    @Test
+    void testSortAndLimit() {
+        List<Book> cheapest = engine.execute(Query.<Book>create().orderBy("price asc").limit(2));
+        assertEquals(Arrays.asList(3, 1), ids(cheapest));
+
+        assertEquals(3, engine.execute(Query.<Book>create().eq("category", "fantasy").limit(3)).size());
+    }
+
+    @Test
+    void testInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> engine.execute(Query.<Book>create().eq("rating", 5)));
+        assertThrows(IllegalArgumentException.class, () -> engine.execute(Query.<Book>create().between("author", 1, 2)));
+        assertThrows(IllegalArgumentException.class, () -> engine.execute(Query.<Book>create().orderBy("rating")));
+        assertThrows(IllegalArgumentException.class, () -> Query.<Book>create().limit(-1));
+    }
+
+    private static List<Integer> ids(List<Book> books) {
+        List<Integer> ids = new ArrayList<>();
+        for (Book book : books) {
+            ids.add(book.getBookId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,53 @@
+package com.bookstore.util.index;
+
+import com.bookstore.model.Book;
+import com.bookstore.util.algorithms.SearchingAlgorithms;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RangeIndex and the bound searches behind it
+ */
+public class RangeIndexTest {
+
+    @Test
+    void testBounds() {
+        double[] keys = {1.0, 2.0, 2.0, 2.0, 5.0};
+        assertEquals(1, SearchingAlgorithms.lowerBound(keys, 0, keys.length, 2.0));
+        assertEquals(4, SearchingAlgorithms.upperBound(keys, 0, keys.length, 2.0));
+        assertEquals(0, SearchingAlgorithms.lowerBound(keys, 0, keys.length, 0.5));
+        assertEquals(5, SearchingAlgorithms.upperBound(keys, 0, keys.length, 9.0));
+
+        List<Integer> list = Arrays.asList(1, 3, 3, 7);
+        assertEquals(1, SearchingAlgorithms.lowerBound(list, 3, Comparator.naturalOrder()));
+        assertEquals(3, SearchingAlgorithms.upperBound(list, 3, Comparator.naturalOrder()));
+    }
+
+    @Test
+    void testInclusiveRange() {
+        Book a = new Book(1, "A", "x", "1", 9.99, 0, null);
+        Book b = new Book(2, "B", "x", "2", 15.0, 4, null);
+        Book c = new Book(3, "C", "x", "3", 5.0, 12, null);
+        Book d = new Book(4, "D", "x", "4", 15.0, 4, null);
+        List<Book> books = Arrays.asList(a, b, c, d);
+
+        RangeIndex<Book> price = RangeIndex.build(books, Book::getPrice);
+        assertEquals(Arrays.asList(a, b, d), price.range(9.99, 15.0));
+        assertEquals(Arrays.asList(c), price.atMost(9.0));
+        assertEquals(2, price.count(15.0, 15.0));
+        assertEquals(Collections.emptyList(), price.range(20.0, 10.0));
+
+        RangeIndex<Book> stock = RangeIndex.build(books, Book::getStockQuantity);
+        assertEquals(Arrays.asList(b, d, c), stock.atLeast(1));
+
+        // Input order is untouched and results are read-only
+        assertEquals(a, books.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> price.range(0, 100).clear());
+    }
+}
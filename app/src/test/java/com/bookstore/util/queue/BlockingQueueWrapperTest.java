@@ -0,0 +1,131 @@
+package com.bookstore.util.queue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BlockingQueueWrapper over ArrayQueue and LinkedQueue
+ */
+public class BlockingQueueWrapperTest {
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testTakeWaitsForProducer() throws Exception {
+        BlockingQueueADT<Integer> queue = new BlockingQueueWrapper<>(new LinkedQueue<>());
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch waiting = new CountDownLatch(1);
+            Future<Integer> taken = pool.submit(() -> {
+                waiting.countDown();
+                return queue.take();
+            });
+
+            waiting.await();
+            Thread.sleep(50);
+            assertFalse(taken.isDone());
+
+            queue.enqueue(7);
+            assertEquals(Integer.valueOf(7), taken.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testTimeouts() throws Exception {
+        BlockingQueueADT<Integer> queue = new BlockingQueueWrapper<>(new ArrayQueue<>(1));
+
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer(1, 10, TimeUnit.MILLISECONDS));
+        assertFalse(queue.offer(2, 10, TimeUnit.MILLISECONDS));
+        assertThrows(QueueFullException.class, () -> queue.enqueue(3));
+        assertEquals(Integer.valueOf(1), queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testOfferWaitsForSpace() throws Exception {
+        BlockingQueueADT<Integer> queue = new BlockingQueueWrapper<>(new ArrayQueue<>(1));
+        queue.enqueue(1);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> offered = pool.submit(() -> queue.offer(2, 5, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            assertFalse(offered.isDone());
+
+            assertEquals(Integer.valueOf(1), queue.take());
+            assertTrue(offered.get(5, TimeUnit.SECONDS));
+            assertEquals(Integer.valueOf(2), queue.take());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDrainToAndRemoveFirst() throws Exception {
+        BlockingQueueADT<Integer> queue = new BlockingQueueWrapper<>(new LinkedQueue<>(10));
+        for (int i = 1; i <= 5; i++) {
+            queue.enqueue(i);
+        }
+
+        assertEquals(Integer.valueOf(3), queue.removeFirst(v -> v == 3));
+        assertNull(queue.removeFirst(v -> v == 9));
+
+        List<Integer> batch = new ArrayList<>();
+        assertEquals(2, queue.drainTo(batch, 2));
+        assertEquals(Arrays.asList(1, 2), batch);
+        assertEquals(2, queue.drainTo(batch, 10));
+        assertEquals(Arrays.asList(1, 2, 4, 5), batch);
+        assertEquals(0, queue.drainTo(batch, 10));
+        assertNull(queue.poll());
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testProducersAndConsumersOverBoundedQueue() throws Exception {
+        BlockingQueueADT<Integer> queue = new BlockingQueueWrapper<>(new ArrayQueue<>(16));
+        int producers = 4;
+        int perProducer = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers * 2);
+        try {
+            List<Future<Long>> sums = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                pool.submit(() -> {
+                    for (int i = 1; i <= perProducer; i++) {
+                        queue.offer(i, 10, TimeUnit.SECONDS);
+                    }
+                    return null;
+                });
+                sums.add(pool.submit(() -> {
+                    long sum = 0;
+                    for (int i = 0; i < perProducer; i++) {
+                        sum += queue.take();
+                    }
+                    return sum;
+                }));
+            }
+
+            long total = 0;
+            for (Future<Long> sum : sums) {
+                total += sum.get();
+            }
+            assertEquals((long) producers * perProducer * (perProducer + 1) / 2, total);
+            assertTrue(queue.isEmpty());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.Admin;
+import com.bookstore.model.CustomerTier;
+import com.bookstore.model.Order;
+import com.bookstore.model.Role;
+import com.bookstore.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.bookstore.util.queue.TestOrders.customerOrder;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for FairQueue and fair admin queue scheduling
+ */
+public class FairQueueTest {
+
+    @BeforeEach
+    void setUp() {
+        OrderQueueManager.disableJournal();
+        OrderQueueManager.clearAllQueues();
+    }
+
+    @AfterEach
+    void tearDown() {
+        OrderQueueManager.clearAllQueues();
+        OrderQueueManager.setAdminScheduling(AdminScheduling.ARRIVAL, null);
+    }
+
+    @Test
+    void testBulkKeyDoesNotStarveOthers() throws QueueFullException {
+        // Values are key * 100 + sequence
+        FairQueue<Integer> queue = new FairQueue<>(-1, value -> value / 100);
+        for (int i = 1; i <= 5; i++) {
+            queue.enqueue(100 + i);
+        }
+        queue.enqueue(201);
+        queue.enqueue(301);
+        queue.enqueue(302);
+        assertEquals(3, queue.flowCount());
+        assertEquals(8, queue.size());
+
+        assertEquals(List.of(101, 201, 301, 102, 302, 103, 104, 105), drain(queue));
+        assertEquals(0, queue.flowCount());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testWeightsSetShareOfEachRound() throws QueueFullException {
+        FairQueue<Integer> queue = new FairQueue<>(-1, value -> value / 100,
+                value -> value / 100 == 1 ? 3 : 1, LinkedQueue::new);
+        for (int i = 1; i <= 4; i++) {
+            queue.enqueue(100 + i);
+            queue.enqueue(200 + i);
+        }
+
+        assertEquals(List.of(101, 102, 103, 201, 104, 202, 203, 204), drain(queue));
+    }
+
+    @Test
+    void testRemoveAndPeekFollowServiceOrder() throws Exception {
+        FairQueue<Integer> queue = new FairQueue<>(3, value -> value / 100);
+        queue.enqueue(101);
+        queue.enqueue(102);
+        queue.enqueue(201);
+        assertTrue(queue.isFull());
+        assertThrows(QueueFullException.class, () -> queue.enqueue(301));
+
+        assertEquals(Integer.valueOf(201), queue.removeFirst(value -> value == 201));
+        assertEquals(1, queue.flowCount());
+        assertFalse(queue.contains(201));
+        assertTrue(queue.contains(102));
+        assertEquals(Integer.valueOf(101), queue.peek());
+        assertEquals(Integer.valueOf(101), queue.dequeue());
+        assertEquals(Integer.valueOf(102), queue.dequeue());
+        assertThrows(QueueEmptyException.class, queue::peek);
+    }
+
+    @Test
+    void testWeightedAdminSchedulingByCustomerTier() {
+        User admin = new Admin();
+        admin.setUserId(9);
+        admin.setRole(Role.ADMIN);
+        // Queued before switching: carried over into the fair queue
+        for (int i = 1; i <= 3; i++) {
+            OrderQueueManager.addOrderToQueues(customerOrder(10 + i, 1), null);
+        }
+        OrderQueueManager.setAdminScheduling(AdminScheduling.WEIGHTED,
+                Map.of(1, CustomerTier.NEW, 2, CustomerTier.REGULAR));
+        assertEquals(AdminScheduling.WEIGHTED, OrderQueueManager.getAdminScheduling());
+        for (int i = 1; i <= 3; i++) {
+            OrderQueueManager.addOrderToQueues(customerOrder(20 + i, 2), null);
+        }
+
+        List<Integer> served = new ArrayList<>();
+        Order order;
+        while ((order = OrderQueueManager.getNextOrderForUser(admin)) != null) {
+            served.add(order.getOrderId());
+        }
+        assertEquals(List.of(11, 21, 22, 12, 23, 13), served);
+    }
+
+    private static List<Integer> drain(QueueADT<Integer> queue) {
+        List<Integer> values = new ArrayList<>();
+        Integer value;
+        while ((value = queue.poll()) != null) {
+            values.add(value);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,116 @@
+package com.bookstore.util.queue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for GroupCommitter
+ */
+public class GroupCommitterTest {
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testRequestsShareCommitsAndGetOwnResults() throws Exception {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        GroupCommitter<Integer, String> committer = new GroupCommitter<>("test-commit", 4, 10, TimeUnit.SECONDS,
+                batch -> {
+                    batchSizes.add(batch.size());
+                    List<String> results = new ArrayList<>();
+                    for (int request : batch) {
+                        results.add("order-" + request);
+                    }
+                    return results;
+                });
+        committer.start();
+
+        // A full batch is committed without waiting out the delay
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            futures.add(committer.submit(i));
+        }
+        for (int i = 1; i <= 8; i++) {
+            assertEquals("order-" + i, futures.get(i - 1).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of(4, 4), batchSizes);
+
+        assertTrue(committer.shutdown(5, TimeUnit.SECONDS));
+        GroupCommitter.GroupCommitStatistics stats = committer.getStatistics();
+        assertEquals(8, stats.getSubmitted());
+        assertEquals(8, stats.getCommitted());
+        assertEquals(2, stats.getBatches());
+        assertEquals(4.0, stats.getAverageBatchSize(), 0.001);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testDelayBoundsTheWait() throws Exception {
+        GroupCommitter<Integer, Integer> committer = new GroupCommitter<>("test-commit", 100, 20,
+                TimeUnit.MILLISECONDS, batch -> batch);
+        committer.start();
+
+        // Far fewer requests than the batch size: committed once the delay is up
+        assertEquals(Integer.valueOf(7), committer.submit(7).get(5, TimeUnit.SECONDS));
+        assertEquals(1, committer.getStatistics().getLargestBatch());
+        assertTrue(committer.shutdown(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testFailedCommitFailsItsBatch() throws Exception {
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        GroupCommitter<Integer, Integer> committer = new GroupCommitter<>("test-commit", 2, 10, TimeUnit.SECONDS,
+                batch -> {
+                    if (batch.contains(-1)) {
+                        throw new IllegalStateException("constraint violated");
+                    }
+                    firstBatch.countDown();
+                    return batch;
+                });
+        committer.start();
+
+        CompletableFuture<Integer> ok1 = committer.submit(1);
+        CompletableFuture<Integer> ok2 = committer.submit(2);
+        firstBatch.await();
+        CompletableFuture<Integer> bad = committer.submit(-1);
+        CompletableFuture<Integer> sameBatch = committer.submit(3);
+
+        assertEquals(Integer.valueOf(1), ok1.get(5, TimeUnit.SECONDS));
+        assertEquals(Integer.valueOf(2), ok2.get(5, TimeUnit.SECONDS));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> bad.get(5, TimeUnit.SECONDS));
+        assertEquals("constraint violated", e.getCause().getMessage());
+        assertThrows(ExecutionException.class, () -> sameBatch.get(5, TimeUnit.SECONDS));
+        assertEquals(1, committer.getStatistics().getFailedBatches());
+        assertTrue(committer.shutdown(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testShutdownCommitsQueuedRequests() throws Exception {
+        GroupCommitter<Integer, Integer> committer = new GroupCommitter<>("test-commit", 100, 10,
+                TimeUnit.SECONDS, batch -> batch);
+        committer.start();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(committer.submit(i));
+        }
+
+        // Does not wait out the 10 second delay
+        assertTrue(committer.shutdown(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Integer.valueOf(i), futures.get(i).getNow(null));
+        }
+        ExecutionException e = assertThrows(ExecutionException.class, () -> committer.submit(9).get());
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+}
@@ -0,0 +1,162 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.bookstore.util.queue.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for IntRingQueue and IdRingQueue
+ */
+public class IdRingQueueTest {
+
+    private Set<Integer> deleted;
+
+    @BeforeEach
+    void setUp() {
+        deleted = new HashSet<>();
+        OrderQueueManager.disableJournal();
+        OrderQueueManager.clearAllQueues();
+    }
+
+    @AfterEach
+    void tearDown() {
+        OrderQueueManager.clearAllQueues();
+        OrderQueueManager.setQueueStorage(OrderQueueManager.QueueStorage.ORDERS, null);
+    }
+
+    @Test
+    void testRingGrowsAcrossWrapAround() {
+        IntRingQueue ring = new IntRingQueue();
+        for (int i = 0; i < 10; i++) {
+            ring.offer(i);
+        }
+        for (int i = 0; i < 8; i++) {
+            assertEquals(i, ring.poll());
+        }
+        // Head is now in the middle of the array; growing must keep the order
+        for (int i = 10; i < 100; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertEquals(92, ring.size());
+        for (int i = 8; i < 100; i++) {
+            assertEquals(i, ring.poll());
+        }
+        assertTrue(ring.isEmpty());
+        assertThrows(NoSuchElementException.class, ring::poll);
+    }
+
+    @Test
+    void testRingCapacityAndRemoveAt() {
+        IntRingQueue ring = new IntRingQueue(5);
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertTrue(ring.isFull());
+        assertFalse(ring.offer(6));
+
+        assertEquals(2, ring.removeAt(1)); // front side shifts
+        assertEquals(4, ring.removeAt(2)); // back side shifts
+        assertArrayEquals(new int[]{1, 3, 5}, ring.toArray());
+        assertEquals(2, ring.indexOf(5));
+        assertEquals(-1, ring.indexOf(4));
+        assertThrows(IllegalArgumentException.class, () -> new IntRingQueue(0));
+    }
+
+    @Test
+    void testStaleIdsAreSkipped() throws Exception {
+        IdRingQueue<Integer> queue = new IdRingQueue<>(-1, value -> value, this::load);
+        for (int i = 1; i <= 5; i++) {
+            queue.enqueue(i);
+        }
+        deleted.add(1);
+        deleted.add(3);
+
+        assertEquals(Integer.valueOf(2), queue.peek()); // drops stale 1
+        assertEquals(4, queue.size());
+        assertEquals(Arrays.asList(2, 4, 5), queue.toList());
+        assertEquals(Integer.valueOf(4), queue.removeFirst(value -> value > 3));
+        assertEquals(Integer.valueOf(2), queue.dequeue());
+        assertEquals(Integer.valueOf(5), queue.dequeue()); // skips stale 3
+        assertNull(queue.poll());
+        assertEquals(-1, queue.capacity());
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testQueueOfOnlyStaleIdsIsEmpty() throws Exception {
+        IdRingQueue<Integer> queue = new IdRingQueue<>(-1, value -> value, this::load);
+        for (int i = 1; i <= 3; i++) {
+            queue.enqueue(i);
+        }
+        deleted.addAll(List.of(1, 2, 3));
+
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+        assertThrows(QueueEmptyException.class, queue::peek);
+
+        // A blocking take waits past stale ids for a live element instead of returning null
+        BlockingQueueWrapper<Integer> wrapper = new BlockingQueueWrapper<>(queue);
+        queue.enqueue(4);
+        queue.enqueue(5);
+        deleted.add(4);
+        assertEquals(Integer.valueOf(5), wrapper.take());
+        assertNull(wrapper.poll(10, TimeUnit.MILLISECONDS));
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+                wrapper.enqueue(6);
+            } catch (InterruptedException | QueueFullException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        producer.start();
+        assertEquals(Integer.valueOf(6), wrapper.take());
+        producer.join();
+    }
+
+    @Test
+    void testManagerResolvesQueuedIds() {
+        Map<Integer, Order> cache = new HashMap<>();
+        for (int i = 1; i <= 3; i++) {
+            cache.put(i, order(i, OrderStatus.PENDING));
+        }
+        OrderQueueManager.addOrderToQueues(cache.get(1), null);
+        OrderQueueManager.setQueueStorage(OrderQueueManager.QueueStorage.ORDER_IDS, cache::get);
+        assertEquals(OrderQueueManager.QueueStorage.ORDER_IDS, OrderQueueManager.getQueueStorage());
+        OrderQueueManager.addOrderToQueues(cache.get(2), null);
+        OrderQueueManager.addOrderToQueues(cache.get(3), null);
+
+        // Queued orders reflect the cache when they are read
+        Order updated = order(2, OrderStatus.PROCESSING);
+        cache.put(2, updated);
+        List<Order> admin = OrderQueueManager.getAdminQueue().toList();
+        assertEquals(3, admin.size());
+        assertSame(updated, admin.get(1));
+        assertTrue(OrderQueueManager.getAdminQueue().contains(order(3, OrderStatus.PENDING)));
+        assertThrows(IllegalArgumentException.class,
+                () -> OrderQueueManager.setQueueStorage(OrderQueueManager.QueueStorage.ORDER_IDS, null));
+
+        // Switching back carries the orders over
+        OrderQueueManager.setQueueStorage(OrderQueueManager.QueueStorage.ORDERS, null);
+        assertEquals(3, OrderQueueManager.getAdminQueue().size());
+    }
+
+    private Integer load(int id) {
+        return deleted.contains(id) ? null : id;
+    }
+}
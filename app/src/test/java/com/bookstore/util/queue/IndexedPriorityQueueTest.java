@@ -0,0 +1,149 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.CustomerTier;
+import com.bookstore.model.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static com.bookstore.util.queue.TestOrders.pendingOrder;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for IndexedPriorityQueue and the order priorities
+ */
+public class IndexedPriorityQueueTest {
+
+    private IndexedPriorityQueue<Order, Integer> queue;
+
+    @BeforeEach
+    void setUp() throws QueueFullException {
+        queue = new IndexedPriorityQueue<>(10, Order::getOrderId, OrderPriority.OLDEST_FIRST);
+        queue.enqueue(pendingOrder(1, "2024-03-05", 20.0, 100));
+        queue.enqueue(pendingOrder(2, "2024-03-01", 80.0, 200));
+        queue.enqueue(pendingOrder(3, "2024-03-09", 50.0, 300));
+        queue.enqueue(pendingOrder(4, "2024-03-01", 10.0, 400));
+    }
+
+    @Test
+    void testOldestFirst() throws QueueEmptyException {
+        assertEquals(2, queue.peek().getOrderId());
+        assertEquals(Arrays.asList(2, 4, 1, 3), ids(queue.toList()));
+
+        assertEquals(2, queue.dequeue().getOrderId());
+        assertEquals(4, queue.dequeue().getOrderId());
+        assertEquals(1, queue.dequeue().getOrderId());
+        assertEquals(3, queue.dequeue().getOrderId());
+        assertThrows(QueueEmptyException.class, queue::dequeue);
+    }
+
+    @Test
+    void testRemoveByKey() throws QueueEmptyException {
+        assertEquals(2, queue.removeByKey(2).getOrderId()); // head
+        assertNull(queue.removeByKey(2));
+        assertEquals(3, queue.removeByKey(3).getOrderId()); // last slot
+        assertEquals(2, queue.size());
+        assertFalse(queue.containsKey(2));
+
+        assertEquals(Arrays.asList(4, 1), ids(queue.toList()));
+        assertEquals(4, queue.peek().getOrderId());
+    }
+
+    @Test
+    void testReplaceMovesToNewPriority() throws QueueEmptyException {
+        // Decrease-key: order 3 becomes the oldest
+        assertTrue(queue.replace(pendingOrder(3, "2024-02-01", 50.0, 300)));
+        assertEquals(3, queue.peek().getOrderId());
+
+        // Increase-key: and then the newest
+        assertTrue(queue.replace(pendingOrder(3, "2024-04-01", 50.0, 300)));
+        assertEquals(Arrays.asList(2, 4, 1, 3), ids(queue.toList()));
+
+        assertFalse(queue.replace(pendingOrder(9, "2024-01-01", 1.0, 1)));
+    }
+
+    @Test
+    void testUpdatePriorityAfterInPlaceChange() throws QueueEmptyException {
+        queue.getByKey(1).setOrderDate(Date.valueOf("2024-01-01"));
+        assertTrue(queue.updatePriority(1));
+        assertFalse(queue.updatePriority(9));
+        assertEquals(1, queue.peek().getOrderId());
+    }
+
+    @Test
+    void testSetPriority() throws QueueEmptyException {
+        queue.setPriority(OrderPriority.LARGEST_TOTAL_FIRST);
+        assertEquals(Arrays.asList(2, 3, 1, 4), ids(queue.toList()));
+
+        Map<Integer, CustomerTier> tiers = new HashMap<>();
+        tiers.put(300, CustomerTier.VIP);
+        tiers.put(100, CustomerTier.PREMIUM);
+        queue.setPriority(OrderPriority.CUSTOMER_TIER.comparator(tiers));
+        // Customers 200 and 400 have no tier (New): oldest first among them
+        assertEquals(Arrays.asList(3, 1, 2, 4), ids(queue.toList()));
+        assertEquals(3, queue.dequeue().getOrderId());
+    }
+
+    @Test
+    void testDuplicateKeysAndCapacity() throws QueueFullException {
+        assertFalse(queue.enqueue(pendingOrder(1, "2020-01-01", 1.0, 1)));
+        assertEquals(4, queue.size());
+
+        IndexedPriorityQueue<Integer, Integer> small =
+                new IndexedPriorityQueue<>(2, value -> value, Integer::compare);
+        small.enqueue(5);
+        small.enqueue(3);
+        assertTrue(small.isFull());
+        assertThrows(QueueFullException.class, () -> small.enqueue(4));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IndexedPriorityQueue<Integer, Integer>(0, value -> value, Integer::compare));
+    }
+
+    @Test
+    void testMatchesReferenceHeapUnderRandomOperations() throws Exception {
+        IndexedPriorityQueue<Integer, Integer> heap =
+                new IndexedPriorityQueue<>(-1, value -> value, Integer::compare);
+        PriorityQueue<Integer> reference = new PriorityQueue<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 5000; step++) {
+            int value = random.nextInt(500);
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(!reference.contains(value), heap.enqueue(value));
+                    if (!reference.contains(value)) {
+                        reference.add(value);
+                    }
+                    break;
+                case 1:
+                    assertEquals(reference.remove(value), heap.removeByKey(value) != null);
+                    break;
+                default:
+                    if (!reference.isEmpty()) {
+                        assertEquals(reference.poll(), heap.dequeue());
+                    }
+            }
+            assertEquals(reference.size(), heap.size());
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            drained.add(heap.dequeue());
+        }
+        List<Integer> expected = new ArrayList<>(reference);
+        expected.sort(Integer::compare);
+        assertEquals(expected, drained);
+    }
+
+    private static List<Integer> ids(List<Order> orders) {
+        return orders.stream().map(Order::getOrderId).toList();
+    }
+}
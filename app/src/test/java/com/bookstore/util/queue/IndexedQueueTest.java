@@ -0,0 +1,64 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.bookstore.util.queue.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the keyed operations of IndexedQueue
+ */
+public class IndexedQueueTest {
+
+    private IndexedQueue<Order, Integer> queue;
+
+    @BeforeEach
+    void setUp() throws QueueFullException {
+        queue = new IndexedQueue<>(5, Order::getOrderId);
+        for (int id = 1; id <= 4; id++) {
+            queue.enqueue(order(id, OrderStatus.PENDING));
+        }
+    }
+
+    @Test
+    void testRemoveByKeyKeepsFifoOrder() throws QueueEmptyException {
+        assertEquals(2, queue.removeByKey(2).getOrderId());
+        assertNull(queue.removeByKey(2));
+        assertEquals(1, queue.removeByKey(1).getOrderId()); // front
+        assertEquals(4, queue.removeByKey(4).getOrderId()); // rear
+        assertEquals(1, queue.size());
+
+        assertEquals(3, queue.dequeue().getOrderId());
+        assertTrue(queue.isEmpty());
+        assertThrows(QueueEmptyException.class, queue::peek);
+    }
+
+    @Test
+    void testReplaceInPlace() throws QueueEmptyException {
+        Order shipped = order(3, OrderStatus.SHIPPED);
+        assertTrue(queue.replace(shipped));
+        assertFalse(queue.replace(order(9, OrderStatus.SHIPPED)));
+
+        assertSame(shipped, queue.getByKey(3));
+        assertEquals(Arrays.asList(1, 2, 3, 4), queue.toList().stream().map(Order::getOrderId).toList());
+        assertEquals(OrderStatus.SHIPPED, queue.toList().get(2).getStatus());
+    }
+
+    @Test
+    void testMembershipAndDuplicateKeys() throws QueueFullException {
+        assertTrue(queue.containsKey(4));
+        assertFalse(queue.containsKey(5));
+        assertTrue(queue.contains(queue.getByKey(1)));
+
+        assertFalse(queue.enqueue(order(1, OrderStatus.PENDING)));
+        assertEquals(4, queue.size());
+
+        assertTrue(queue.enqueue(order(5, OrderStatus.PENDING)));
+        assertThrows(QueueFullException.class, () -> queue.enqueue(order(6, OrderStatus.PENDING)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.bookstore.util.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for IntLongHashMap
+ */
+public class IntLongHashMapTest {
+
+    @Test
+    void testPutGetRemove() {
+        IntLongHashMap map = new IntLongHashMap();
+        assertEquals(-1, map.get(5, -1));
+        assertEquals(-1, map.put(5, 50, -1));
+        assertEquals(50, map.put(5, 51, -1));
+        assertEquals(51, map.get(5, -1));
+        assertTrue(map.containsKey(5));
+        assertEquals(1, map.size());
+
+        assertEquals(51, map.remove(5, -1));
+        assertEquals(-1, map.remove(5, -1));
+        assertFalse(map.containsKey(5));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomOperations() {
+        IntLongHashMap map = new IntLongHashMap();
+        Map<Integer, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(5_000) - 100; // Includes negative keys
+            long value = random.nextLong();
+            if (random.nextInt(3) == 0) {
+                Long previous = expected.remove(key);
+                assertEquals(previous != null ? previous : Long.MIN_VALUE, map.remove(key, Long.MIN_VALUE));
+            } else {
+                Long previous = expected.put(key, value);
+                assertEquals(previous != null ? previous : Long.MIN_VALUE, map.put(key, value, Long.MIN_VALUE));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -100; key < 4_900; key++) {
+            Long value = expected.get(key);
+            assertEquals(value != null ? value : Long.MIN_VALUE, map.get(key, Long.MIN_VALUE));
+        }
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(expected.keySet().iterator().next()));
+    }
+}
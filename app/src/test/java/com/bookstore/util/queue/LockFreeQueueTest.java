@@ -0,0 +1,224 @@
+package com.bookstore.util.queue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency stress tests for LockFreeQueue
+ */
+public class LockFreeQueueTest {
+
+    private static final int PRODUCERS = 8;
+    private static final int CONSUMERS = 8;
+    private static final int PER_PRODUCER = 20_000;
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void testEveryElementConsumedExactlyOnce() throws Exception {
+        LockFreeQueue<Integer> queue = new LockFreeQueue<>();
+        int total = PRODUCERS * PER_PRODUCER;
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        AtomicInteger consumed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(PRODUCERS + CONSUMERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                int base = p * PER_PRODUCER;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        queue.enqueue(base + i);
+                    }
+                    return null;
+                }));
+            }
+            for (int c = 0; c < CONSUMERS; c++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    int[] lastPerProducer = new int[PRODUCERS];
+                    Arrays.fill(lastPerProducer, -1);
+                    while (consumed.get() < total) {
+                        Integer value = queue.poll();
+                        if (value == null) {
+                            Thread.onSpinWait();
+                            continue;
+                        }
+                        seen.incrementAndGet(value);
+                        consumed.incrementAndGet();
+
+                        // FIFO per producer: one consumer sees each producer's values in increasing order
+                        int producer = value / PER_PRODUCER;
+                        assertTrue(value > lastPerProducer[producer], "out of order: " + value);
+                        lastPerProducer[producer] = value;
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, seen.get(i), "element " + i);
+        }
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void testBoundedCapacityNeverExceeded() throws Exception {
+        int capacity = 64;
+        LockFreeQueue<Integer> queue = new LockFreeQueue<>(capacity);
+        AtomicInteger produced = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger maxSize = new AtomicInteger();
+        int total = PRODUCERS * 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(PRODUCERS + CONSUMERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 5_000; ) {
+                        try {
+                            queue.enqueue(i);
+                            produced.incrementAndGet();
+                            i++;
+                        } catch (QueueFullException e) {
+                            Thread.onSpinWait();
+                        }
+                        maxSize.accumulateAndGet(queue.size(), Math::max);
+                    }
+                    return null;
+                }));
+            }
+            for (int c = 0; c < CONSUMERS; c++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    while (consumed.get() < total) {
+                        if (queue.poll() != null) {
+                            consumed.incrementAndGet();
+                        } else {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(total, produced.get());
+        assertEquals(total, consumed.get());
+        assertTrue(maxSize.get() <= capacity, "size reached " + maxSize.get());
+        assertThrows(QueueEmptyException.class, queue::dequeue);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void testRemovedElementsDoNotPileUpAtTheFront() throws Exception {
+        LockFreeQueue<Integer> queue = new LockFreeQueue<>();
+        int total = 200_000;
+        for (int i = 0; i < total; i++) {
+            queue.enqueue(i);
+        }
+
+        // Each removal starts past the slots removed before it, so this stays
+        // linear instead of rescanning a growing prefix of dead nodes
+        for (int i = 0; i < total - 1; i++) {
+            int target = i;
+            assertEquals(Integer.valueOf(target), queue.removeFirst(v -> v == target));
+            assertEquals(Integer.valueOf(target + 1), queue.peek());
+        }
+        assertEquals(1, queue.size());
+        assertFalse(queue.isEmpty());
+
+        assertEquals(Integer.valueOf(total - 1), queue.removeFirst(v -> true));
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertThrows(QueueEmptyException.class, queue::peek);
+        assertNull(queue.poll());
+        assertEquals(List.of(), queue.toList());
+
+        // Still a working queue afterwards
+        queue.enqueue(7);
+        queue.enqueue(8);
+        assertEquals(Integer.valueOf(7), queue.peek());
+        assertEquals(Integer.valueOf(7), queue.poll());
+        assertEquals(List.of(8), queue.toList());
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void testConcurrentRemoveAndDequeueNeverDuplicate() throws Exception {
+        LockFreeQueue<Integer> queue = new LockFreeQueue<>();
+        int total = 50_000;
+        for (int i = 0; i < total; i++) {
+            queue.enqueue(i);
+        }
+
+        AtomicIntegerArray taken = new AtomicIntegerArray(total);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 2; t++) {
+                futures.add(pool.submit(() -> {
+                    Integer value;
+                    while ((value = queue.poll()) != null) {
+                        taken.incrementAndGet(value);
+                    }
+                }));
+                int parity = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = total - 1 - parity; i >= 0; i -= 2) {
+                        int target = i;
+                        Integer removed = queue.removeFirst(v -> v == target);
+                        if (removed != null) {
+                            taken.incrementAndGet(removed);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, taken.get(i), "element " + i);
+        }
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+}
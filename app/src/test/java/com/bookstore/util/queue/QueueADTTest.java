@@ -8,23 +8,41 @@ import java.util.List;
 
 /**
  * Test suite for Queue ADT implementations
- * Tests ArrayQueue and LinkedQueue
+ * Tests ArrayQueue, LinkedQueue, LockFreeQueue, IndexedQueue and the wrapping queues
  */
 public class QueueADTTest {
     
     private QueueADT<Integer> arrayQueue;
     private QueueADT<Integer> linkedQueue;
+    private QueueADT<Integer> lockFreeQueue;
+    private QueueADT<Integer> indexedQueue;
+    private QueueADT<Integer> priorityQueue;
+    private QueueADT<Integer> spilloverQueue;
+    private QueueADT<Integer> idRingQueue;
+    private QueueADT<Integer> fairQueue;
+    private QueueADT<Integer> workStealingDeque;
     
     @BeforeEach
     void setUp() {
         arrayQueue = new ArrayQueue<>(5);
         linkedQueue = new LinkedQueue<>(5);
+        lockFreeQueue = new LockFreeQueue<>(5);
+        indexedQueue = new IndexedQueue<>(5, value -> value);
+        // Equal priorities: the heap falls back to arrival order
+        priorityQueue = new IndexedPriorityQueue<>(5, value -> value, (a, b) -> 0);
+        // Overflow not enabled: behaves like the wrapped queue
+        spilloverQueue = new SpilloverQueue<>(new LockFreeQueue<>(5), value -> value);
+        // Ids resolve to themselves
+        idRingQueue = new IdRingQueue<>(5, value -> value, id -> id);
+        // One flow: arrival order
+        fairQueue = new FairQueue<>(5, value -> 0);
+        workStealingDeque = new WorkStealingDeque<>(5);
     }
     
     @Test
     void testEmptyQueueOperations() {
         // Test all queue implementations
-        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue};
+        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue, lockFreeQueue, indexedQueue, priorityQueue, spilloverQueue, idRingQueue, fairQueue, workStealingDeque};
         
         for (QueueADT<Integer> queue : queues) {
             assertTrue(queue.isEmpty());
@@ -41,7 +59,7 @@ public class QueueADTTest {
     
     @Test
     void testBasicEnqueueDequeue() throws QueueFullException, QueueEmptyException {
-        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue};
+        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue, lockFreeQueue, indexedQueue, priorityQueue, spilloverQueue, idRingQueue, fairQueue, workStealingDeque};
         
         for (QueueADT<Integer> queue : queues) {
             // Test single enqueue/dequeue
@@ -67,7 +85,7 @@ public class QueueADTTest {
     
     @Test
     void testQueueCapacity() throws QueueFullException {
-        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue};
+        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue, lockFreeQueue, indexedQueue, priorityQueue, spilloverQueue, idRingQueue, fairQueue, workStealingDeque};
         
         for (QueueADT<Integer> queue : queues) {
             // Fill queue to capacity
@@ -87,7 +105,7 @@ public class QueueADTTest {
     
     @Test
     void testQueueOrder() throws QueueFullException, QueueEmptyException {
-        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue};
+        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue, lockFreeQueue, indexedQueue, priorityQueue, spilloverQueue, idRingQueue, fairQueue, workStealingDeque};
         
         for (QueueADT<Integer> queue : queues) {
             // Test FIFO order
@@ -103,7 +121,7 @@ public class QueueADTTest {
     
     @Test
     void testQueueUtilization() throws QueueFullException {
-        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue};
+        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue, lockFreeQueue, indexedQueue, priorityQueue, spilloverQueue, idRingQueue, fairQueue, workStealingDeque};
         
         for (QueueADT<Integer> queue : queues) {
             assertEquals(0.0, queue.getUtilization(), 0.001);
@@ -123,7 +141,7 @@ public class QueueADTTest {
     
     @Test
     void testQueueClear() throws QueueFullException {
-        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue};
+        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue, lockFreeQueue, indexedQueue, priorityQueue, spilloverQueue, idRingQueue, fairQueue, workStealingDeque};
         
         for (QueueADT<Integer> queue : queues) {
             queue.enqueue(1);
@@ -143,7 +161,7 @@ public class QueueADTTest {
     
     @Test
     void testQueueContains() throws QueueFullException {
-        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue};
+        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue, lockFreeQueue, indexedQueue, priorityQueue, spilloverQueue, idRingQueue, fairQueue, workStealingDeque};
         
         for (QueueADT<Integer> queue : queues) {
             assertFalse(queue.contains(1));
@@ -161,7 +179,7 @@ public class QueueADTTest {
     
     @Test
     void testQueueToList() throws QueueFullException {
-        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue};
+        QueueADT<Integer>[] queues = new QueueADT[]{arrayQueue, linkedQueue, lockFreeQueue, indexedQueue, priorityQueue, spilloverQueue, idRingQueue, fairQueue, workStealingDeque};
         
         for (QueueADT<Integer> queue : queues) {
             List<Integer> emptyList = queue.toList();
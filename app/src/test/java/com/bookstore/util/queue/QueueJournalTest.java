@@ -0,0 +1,174 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.Admin;
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
+import com.bookstore.model.Role;
+import com.bookstore.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.bookstore.util.queue.TestOrders.fullOrder;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for QueueJournal and journaled recovery of OrderQueueManager
+ */
+public class QueueJournalTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("queue-journal");
+        OrderQueueManager.disableJournal();
+        OrderQueueManager.clearAllQueues();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        OrderQueueManager.disableJournal();
+        OrderQueueManager.clearAllQueues();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    void testReplayRestoresQueueContents() throws IOException {
+        try (QueueJournal journal = new QueueJournal(directory, false, 100)) {
+            assertTrue(journal.recover().isEmpty());
+            assertFalse(journal.hasState());
+
+            journal.append(QueueJournal.Operation.ENQUEUE, QueueJournal.PENDING_QUEUE, fullOrder(1));
+            journal.append(QueueJournal.Operation.ENQUEUE, QueueJournal.PENDING_QUEUE, fullOrder(2));
+            journal.append(QueueJournal.Operation.ENQUEUE, QueueJournal.PENDING_QUEUE, fullOrder(3));
+            journal.append(QueueJournal.Operation.ENQUEUE, QueueJournal.userQueue(7), fullOrder(3));
+            journal.append(QueueJournal.Operation.DEQUEUE, QueueJournal.PENDING_QUEUE, fullOrder(1));
+            journal.append(QueueJournal.Operation.MOVE_TO_COMPLETED, QueueJournal.COMPLETED_QUEUE, fullOrder(2));
+        }
+
+        try (QueueJournal journal = new QueueJournal(directory, false, 100)) {
+            Map<String, List<Order>> queues = journal.recover();
+            assertTrue(journal.hasState());
+            assertEquals(Arrays.asList(3), ids(queues.get(QueueJournal.PENDING_QUEUE)));
+            assertEquals(Arrays.asList(2), ids(queues.get(QueueJournal.COMPLETED_QUEUE)));
+            assertEquals(Arrays.asList(3), ids(queues.get(QueueJournal.userQueue(7))));
+
+            Order recovered = queues.get(QueueJournal.PENDING_QUEUE).get(0);
+            assertEquals(103, recovered.getCustomerId());
+            assertEquals(Date.valueOf("2024-03-03"), recovered.getOrderDate());
+            assertEquals(OrderStatus.PENDING, recovered.getStatus());
+            assertEquals(1, recovered.getOrderItems().size());
+            assertEquals(2, recovered.getOrderItems().get(0).getQuantity());
+        }
+    }
+
+    @Test
+    void testTornTailIsIgnored() throws IOException {
+        try (QueueJournal journal = new QueueJournal(directory, false, 100)) {
+            journal.recover();
+            journal.append(QueueJournal.Operation.ENQUEUE, QueueJournal.ADMIN_QUEUE, fullOrder(1));
+            journal.append(QueueJournal.Operation.ENQUEUE, QueueJournal.ADMIN_QUEUE, fullOrder(2));
+        }
+
+        // Simulate a crash in the middle of writing the second record
+        Path file = directory.resolve("queue.journal");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        try (QueueJournal journal = new QueueJournal(directory, false, 100)) {
+            assertEquals(Arrays.asList(1), ids(journal.recover().get(QueueJournal.ADMIN_QUEUE)));
+            // New records continue after the last valid one
+            journal.append(QueueJournal.Operation.ENQUEUE, QueueJournal.ADMIN_QUEUE, fullOrder(4));
+        }
+        try (QueueJournal journal = new QueueJournal(directory, false, 100)) {
+            assertEquals(Arrays.asList(1, 4), ids(journal.recover().get(QueueJournal.ADMIN_QUEUE)));
+        }
+    }
+
+    @Test
+    void testOrderQueueManagerRecoversAfterCompaction() throws IOException {
+        assertEquals(0, OrderQueueManager.enableJournal(directory, false));
+        User admin = new Admin();
+        admin.setUserId(9);
+        admin.setRole(Role.ADMIN);
+
+        for (int id = 1; id <= 6; id++) {
+            assertTrue(OrderQueueManager.addOrderToQueues(fullOrder(id), admin));
+        }
+        OrderQueueManager.compactJournal();
+
+        // Changes after the snapshot live only in the journal tail
+        Order done = OrderQueueManager.getPendingQueue().toList().get(0);
+        done.setStatus(OrderStatus.DELIVERED);
+        OrderQueueManager.updateOrderInQueues(done);
+        assertNotNull(OrderQueueManager.getNextOrderForUser(admin));
+        assertTrue(OrderQueueManager.hasJournaledState());
+
+        List<Integer> pending = ids(OrderQueueManager.getPendingQueue().toList());
+        List<Integer> admins = ids(OrderQueueManager.getAdminQueue().toList());
+        OrderQueueManager.disableJournal();
+        OrderQueueManager.clearAllQueues();
+
+        assertEquals(pending.size() + admins.size() + 1 + 6,
+                OrderQueueManager.enableJournal(directory, false));
+        assertEquals(pending, ids(OrderQueueManager.getPendingQueue().toList()));
+        assertEquals(admins, ids(OrderQueueManager.getAdminQueue().toList()));
+        assertEquals(Arrays.asList(done.getOrderId()), ids(OrderQueueManager.getCompletedQueue().toList()));
+        assertEquals(6, OrderQueueManager.getUserQueue(9).size());
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testConcurrentChangesReplayInTheOrderTheyHappened() throws Exception {
+        OrderQueueManager.enableJournal(directory, true);
+        int orders = 300;
+        Thread checkout = new Thread(() -> {
+            for (int id = 1; id <= orders; id++) {
+                OrderQueueManager.addOrderToQueues(fullOrder(id), null);
+            }
+        });
+        checkout.start();
+        // Takes orders as soon as they are queued, racing the checkout's records
+        for (int taken = 0; taken < orders / 2; taken++) {
+            assertNotNull(OrderQueueManager.takeNextPendingOrder(5, TimeUnit.SECONDS));
+        }
+        checkout.join();
+
+        List<Integer> pending = ids(OrderQueueManager.getPendingQueue().toList());
+        assertEquals(orders / 2, pending.size());
+        OrderQueueManager.disableJournal();
+        OrderQueueManager.clearAllQueues();
+
+        OrderQueueManager.enableJournal(directory, false);
+        assertEquals(pending, ids(OrderQueueManager.getPendingQueue().toList()));
+    }
+
+    private static List<Integer> ids(List<Order> orders) {
+        List<Integer> ids = new ArrayList<>();
+        for (Order order : orders) {
+            ids.add(order.getOrderId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,217 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.Admin;
+import com.bookstore.model.Customer;
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
+import com.bookstore.model.Role;
+import com.bookstore.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.bookstore.util.queue.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LatencyHistogram, QueueMetrics and the maintained queue statistics
+ */
+public class QueueMetricsTest {
+
+    @BeforeEach
+    void setUp() {
+        OrderQueueManager.disableJournal();
+        OrderQueueManager.clearAllQueues();
+    }
+
+    @AfterEach
+    void tearDown() {
+        OrderQueueManager.clearAllQueues();
+    }
+
+    @Test
+    void testHistogramBucketsStayWithinOneEighth() {
+        long previous = -1;
+        for (long micros = 0; micros < 1_000_000; micros += 7) {
+            int bucket = LatencyHistogram.bucketOf(micros);
+            assertTrue(bucket >= previous, "buckets must be monotonic");
+            previous = bucket;
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            assertTrue(upper >= micros);
+            assertTrue(upper - micros <= Math.max(1, micros / 8), "bucket too wide at " + micros);
+        }
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0.0, histogram.getPercentileMillis(99), 0.0);
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        LatencyHistogram.LatencyStatistics stats = histogram.getStatistics();
+        assertEquals(100, stats.getCount());
+        assertEquals(50.5, stats.getMeanMillis(), 0.01);
+        assertEquals(50, stats.getP50Millis(), 50 * 0.125);
+        assertEquals(95, stats.getP95Millis(), 95 * 0.125);
+        assertEquals(99, stats.getP99Millis(), 99 * 0.125);
+        assertEquals(100.0, stats.getMaxMillis(), 0.0);
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentileMillis(101));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+    }
+
+    @Test
+    void testMetricsFollowStatusChanges() {
+        QueueMetrics metrics = new QueueMetrics();
+        Order order = order(1, OrderStatus.PENDING);
+        metrics.recordEnqueue(order);
+        metrics.recordEnqueue(order(2, OrderStatus.PENDING));
+        assertEquals(2, metrics.getStatusCount(OrderStatus.PENDING));
+
+        // Updated in place, as the caches do
+        order.setStatus(OrderStatus.PROCESSING);
+        metrics.recordStatusChange(order);
+        assertEquals(1, metrics.getStatusCount(OrderStatus.PENDING));
+        assertEquals(1, metrics.getStatusCount(OrderStatus.PROCESSING));
+
+        metrics.recordRemoval(order);
+        metrics.recordRemoval(order); // not queued any more: ignored
+        assertEquals(0, metrics.getStatusCount(OrderStatus.PROCESSING));
+        assertEquals(1, metrics.getSize());
+        assertEquals(1, metrics.getWaitTimes().getCount());
+    }
+
+    @Test
+    void testConcurrentUpdatesKeepExactCounts() throws InterruptedException {
+        QueueMetrics metrics = new QueueMetrics();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int first = t * 10_000;
+            threads[t] = new Thread(() -> {
+                for (int id = first; id < first + 10_000; id++) {
+                    Order order = order(id, OrderStatus.PENDING);
+                    metrics.recordEnqueue(order);
+                    if (id % 2 == 0) {
+                        order.setStatus(OrderStatus.PROCESSING);
+                        metrics.recordStatusChange(order);
+                    }
+                    if (id % 4 == 0) {
+                        metrics.recordRemoval(order);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(30_000, metrics.getSize());
+        assertEquals(20_000, metrics.getStatusCount(OrderStatus.PENDING));
+        assertEquals(10_000, metrics.getStatusCount(OrderStatus.PROCESSING));
+        assertEquals(10_000, metrics.getRemovedCount());
+
+        metrics.clear();
+        assertEquals(0, metrics.getSize());
+        assertEquals(0, metrics.getStatusCount(OrderStatus.PENDING));
+        assertEquals(0, metrics.getStatusCount(OrderStatus.PROCESSING));
+    }
+
+    @Test
+    void testCustomerBreakdownFollowsTheirOrders() {
+        Customer customer = new Customer();
+        customer.setUserId(5);
+        Order order = order(1, OrderStatus.PENDING);
+        order.setCustomerId(5);
+        OrderQueueManager.addOrderToQueues(order, customer);
+        assertEquals(1, OrderQueueManager.getUserQueueStatistics(customer).getPendingOrders());
+
+        order.setStatus(OrderStatus.PROCESSING);
+        OrderQueueManager.updateOrderInQueues(order);
+        OrderQueueManager.UserQueueStatistics stats = OrderQueueManager.getUserQueueStatistics(customer);
+        assertEquals(0, stats.getPendingOrders());
+        assertEquals(1, stats.getProcessingOrders());
+    }
+
+    @Test
+    void testManagerStatisticsAreMaintained() throws InterruptedException {
+        User admin = new Admin();
+        admin.setUserId(9);
+        admin.setRole(Role.ADMIN);
+        // Wait-time history outlives clearing the queues
+        long waitsBefore = OrderQueueManager.getQueueStatistics().getPendingWaitTimes().getCount();
+        for (int i = 1; i <= 4; i++) {
+            OrderQueueManager.addOrderToQueues(order(i, OrderStatus.PENDING), admin);
+        }
+
+        Order taken = OrderQueueManager.takeNextPendingOrder(0, TimeUnit.MILLISECONDS);
+        taken.setStatus(OrderStatus.PROCESSING);
+        OrderQueueManager.updateOrderInQueues(taken);
+
+        OrderQueueManager.QueueStatistics stats = OrderQueueManager.getQueueStatistics();
+        assertEquals(4, stats.getAdminQueueSize());
+        assertEquals(3, stats.getPendingQueueSize());
+        assertEquals(1, stats.getActiveUserQueues());
+        assertEquals(4, stats.getTotalUserQueueItems());
+        assertEquals(waitsBefore + 1, stats.getPendingWaitTimes().getCount());
+
+        OrderQueueManager.UserQueueStatistics userStats = OrderQueueManager.getUserQueueStatistics(admin);
+        assertEquals(4, userStats.getTotalOrders());
+        assertEquals(3, userStats.getPendingOrders());
+        assertEquals(1, userStats.getProcessingOrders());
+
+        OrderQueueManager.clearUserQueue(9);
+        assertEquals(0, OrderQueueManager.getQueueStatistics().getTotalUserQueueItems());
+        OrderQueueManager.clearAllQueues();
+        assertEquals(0, OrderQueueManager.getUserQueueStatistics(admin).getPendingOrders());
+    }
+
+    @Test
+    void testDroppedSpilledPendingOrdersLeaveTheCounts() throws IOException {
+        // The pending queue holds 500 orders; the rest spill to disk
+        Map<Integer, Order> database = new ConcurrentHashMap<>();
+        for (int i = 1; i <= 505; i++) {
+            database.put(i, order(i, OrderStatus.PENDING));
+        }
+        Path directory = Files.createTempDirectory("queue-overflow");
+        OrderQueueManager.enableOverflow(directory, database::get);
+        try {
+            long waitsBefore = OrderQueueManager.getQueueStatistics().getPendingWaitTimes().getCount();
+            for (int i = 1; i <= 505; i++) {
+                OrderQueueManager.addOrderToQueues(database.get(i), null);
+            }
+            // Two spilled orders are picked up elsewhere and one is deleted
+            database.put(502, order(502, OrderStatus.PROCESSING));
+            database.put(504, order(504, OrderStatus.CANCELLED));
+            database.remove(505);
+
+            List<Order> drained = new ArrayList<>();
+            while (OrderQueueManager.drainPendingOrders(drained, 100) > 0) {
+                // Refills from the spill file as it drains
+            }
+            assertEquals(502, drained.size());
+            assertEquals(0, OrderQueueManager.getQueueStatistics().getPendingQueueSize());
+            // Every order that entered the queue left it, dropped ones included
+            assertEquals(waitsBefore + 505, OrderQueueManager.getQueueStatistics().getPendingWaitTimes().getCount());
+        } finally {
+            OrderQueueManager.clearAllQueues();
+            OrderQueueManager.disableOverflow();
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
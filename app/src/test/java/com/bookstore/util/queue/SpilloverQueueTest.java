@@ -0,0 +1,177 @@
+package com.bookstore.util.queue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SpilloverQueue and KeyedSpilloverQueue
+ */
+public class SpilloverQueueTest {
+
+    private Path directory;
+    private Set<Integer> deleted;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("queue-overflow");
+        deleted = new HashSet<>();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Test
+    void testRejectsWhenOverflowDisabled() throws QueueFullException {
+        SpilloverQueue<Integer> queue = new SpilloverQueue<>(new ArrayQueue<>(2), value -> value);
+        queue.enqueue(1);
+        queue.enqueue(2);
+        assertTrue(queue.isFull());
+        assertThrows(QueueFullException.class, () -> queue.enqueue(3));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SpilloverQueue<Integer>(new LinkedQueue<>(), value -> value));
+    }
+
+    @Test
+    void testSpillsTailAndRefillsInOrder() throws Exception {
+        SpilloverQueue<Integer> queue = overflowQueue(new LockFreeQueue<>(3));
+        for (int i = 1; i <= 10; i++) {
+            assertTrue(queue.enqueue(i));
+        }
+        assertFalse(queue.isFull());
+        assertEquals(10, queue.size());
+        assertEquals(7, queue.spilledCount());
+        assertEquals(3, queue.capacity());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), queue.toList());
+
+        assertEquals(Integer.valueOf(1), queue.dequeue());
+        assertEquals(6, queue.spilledCount()); // refilled one
+        queue.enqueue(11); // still spilled: FIFO order holds
+
+        List<Integer> drained = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            drained.add(queue.dequeue());
+        }
+        assertEquals(Arrays.asList(2, 3, 4, 5, 6, 7, 8, 9, 10, 11), drained);
+        assertNull(queue.poll());
+        assertThrows(QueueEmptyException.class, queue::peek);
+    }
+
+    @Test
+    void testLoaderCanDropSpilledElements() throws Exception {
+        SpilloverQueue<Integer> queue = overflowQueue(new ArrayQueue<>(2));
+        for (int i = 1; i <= 6; i++) {
+            queue.enqueue(i);
+        }
+        deleted.add(4);
+        deleted.add(5);
+
+        List<Integer> drained = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            drained.add(queue.dequeue());
+        }
+        assertEquals(Arrays.asList(1, 2, 3, 6), drained);
+    }
+
+    @Test
+    void testKeyedRemovalRefills() throws Exception {
+        IndexedQueue<Integer, Integer> memory = new IndexedQueue<>(2, value -> value);
+        KeyedSpilloverQueue<Integer, Integer> queue = new KeyedSpilloverQueue<>(memory, value -> value);
+        queue.enableOverflow(directory.resolve("keyed.spill"), this::load);
+        for (int i = 1; i <= 4; i++) {
+            queue.enqueue(i);
+        }
+
+        assertTrue(queue.containsKey(2));
+        assertFalse(queue.containsKey(3)); // on disk
+        assertEquals(Integer.valueOf(2), queue.removeByKey(2));
+        assertTrue(queue.containsKey(3)); // refilled
+        assertEquals(Arrays.asList(1, 3, 4), queue.toList());
+    }
+
+    @Test
+    void testDisableLoadsBackWhatFits() throws Exception {
+        SpilloverQueue<Integer> queue = overflowQueue(new ArrayQueue<>(3));
+        for (int i = 1; i <= 5; i++) {
+            queue.enqueue(i);
+        }
+        queue.dequeue();
+        queue.dequeue();
+        assertEquals(0, queue.disableOverflow());
+        assertFalse(queue.isOverflowEnabled());
+        assertEquals(Arrays.asList(3, 4, 5), queue.toList());
+        assertThrows(QueueFullException.class, () -> queue.enqueue(6));
+    }
+
+    @Test
+    void testConcurrentProducersAndConsumersLoseNothing() throws Exception {
+        SpilloverQueue<Integer> queue = overflowQueue(new LockFreeQueue<>(16));
+        int producers = 4;
+        int perProducer = 2000;
+        ConcurrentLinkedQueue<Integer> consumed = new ConcurrentLinkedQueue<>();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(new Thread(() -> {
+                for (int i = 1; i <= perProducer; i++) {
+                    try {
+                        queue.enqueue(base + i);
+                    } catch (QueueFullException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < 2; c++) {
+            threads.add(new Thread(() -> {
+                while (consumed.size() < producers * perProducer) {
+                    Integer value = queue.poll();
+                    if (value != null) {
+                        consumed.add(value);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(30000);
+        }
+
+        assertEquals(producers * perProducer, consumed.size());
+        assertEquals(producers * perProducer, new HashSet<>(consumed).size());
+        assertTrue(queue.isEmpty());
+    }
+
+    private SpilloverQueue<Integer> overflowQueue(QueueADT<Integer> memory) throws IOException {
+        SpilloverQueue<Integer> queue = new SpilloverQueue<>(memory, value -> value);
+        queue.enableOverflow(directory.resolve("queue.spill"), this::load);
+        return queue;
+    }
+
+    private Integer load(int id) {
+        return deleted.contains(id) ? null : id;
+    }
+}
@@ -0,0 +1,57 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderItem;
+import com.bookstore.model.OrderStatus;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Orders for the queue tests, with only the fields a test relies on set
+ */
+public final class TestOrders {
+
+    private TestOrders() {
+    }
+
+    public static Order order(int id, OrderStatus status) {
+        Order order = new Order();
+        order.setOrderId(id);
+        order.setStatus(status);
+        return order;
+    }
+
+    /**
+     * Pending order of a customer
+     */
+    public static Order customerOrder(int id, int customerId) {
+        Order order = order(id, OrderStatus.PENDING);
+        order.setCustomerId(customerId);
+        return order;
+    }
+
+    /**
+     * Pending order with the fields the processing priorities compare
+     * @param date Order date, e.g. "2024-03-01"
+     */
+    public static Order pendingOrder(int id, String date, double total, int customerId) {
+        Order order = customerOrder(id, customerId);
+        order.setOrderDate(Date.valueOf(date));
+        order.setTotalAmount(total);
+        return order;
+    }
+
+    /**
+     * Pending order with every column and one item (e.g. for journal round
+     * trips): customer 100 + id, dated id - 1 days after 2024-03-01
+     */
+    public static Order fullOrder(int id) {
+        List<OrderItem> items = new ArrayList<>();
+        items.add(new OrderItem(id * 10, id, 5, 2, 9.5));
+        Date date = Date.valueOf(LocalDate.of(2024, 3, 1).plusDays(id - 1));
+        return new Order(id, 100 + id, date, 19.0, OrderStatus.PENDING, items);
+    }
+}
@@ -0,0 +1,142 @@
+package com.bookstore.util.queue;
+
+import com.bookstore.model.Order;
+import com.bookstore.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.bookstore.util.queue.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for TimerWheel and order deadlines in OrderQueueManager
+ */
+public class TimerWheelTest {
+
+    private TimerWheel<Integer> wheel;
+
+    @BeforeEach
+    void setUp() {
+        OrderQueueManager.disableJournal();
+        OrderQueueManager.clearAllQueues();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (wheel != null) {
+            wheel.stop();
+        }
+        OrderQueueManager.disableDeadlines();
+        OrderQueueManager.clearAllQueues();
+    }
+
+    @Test
+    void testExpiresAfterDelayAcrossRounds() throws InterruptedException {
+        Map<Integer, Long> expiredAt = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(3);
+        wheel = new TimerWheel<>(5, TimeUnit.MILLISECONDS, 4, item -> {
+            expiredAt.put(item, System.nanoTime());
+            done.countDown();
+        }, "test-wheel");
+        assertTrue(wheel.start());
+        assertFalse(wheel.start());
+
+        long start = System.nanoTime();
+        wheel.schedule(1, 10, TimeUnit.MILLISECONDS);
+        wheel.schedule(2, 70, TimeUnit.MILLISECONDS); // several turns of a 4 x 5ms wheel
+        wheel.schedule(3, 0, TimeUnit.MILLISECONDS);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertTrue(expiredAt.get(1) - start >= TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(expiredAt.get(2) - start >= TimeUnit.MILLISECONDS.toNanos(70));
+        assertTrue(expiredAt.get(3) <= expiredAt.get(1));
+        assertEquals(0, wheel.pendingCount());
+    }
+
+    @Test
+    void testCancelledTimeoutsNeverFire() throws InterruptedException {
+        Map<Integer, Boolean> fired = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(1);
+        wheel = new TimerWheel<>(5, TimeUnit.MILLISECONDS, 8, item -> {
+            fired.put(item, true);
+            done.countDown();
+        }, "test-wheel");
+        wheel.start();
+
+        TimerWheel.Timeout<Integer> cancelled = wheel.schedule(1, 20, TimeUnit.MILLISECONDS);
+        wheel.schedule(2, 40, TimeUnit.MILLISECONDS);
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(fired.containsKey(1));
+
+        TimerWheel.Timeout<Integer> unexpired = wheel.schedule(3, 1, TimeUnit.HOURS);
+        assertEquals(1, wheel.pendingCount());
+        List<Integer> discarded = wheel.stop();
+        assertEquals(List.of(3), discarded);
+        assertFalse(unexpired.isExpired());
+        assertThrows(IllegalStateException.class, () -> wheel.schedule(4, 1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testMissedPendingDeadlineEscalates() throws InterruptedException {
+        CountDownLatch expired = new CountDownLatch(1);
+        OrderQueueManager.enableDeadlines(Duration.ofMillis(150), null, (order, status) -> {
+            OrderQueueManager.escalate(order);
+            expired.countDown();
+        });
+        Order late = order(1, OrderStatus.PENDING);
+        Order onTime = order(2, OrderStatus.PENDING);
+        OrderQueueManager.addOrderToQueues(late, null);
+        OrderQueueManager.addOrderToQueues(onTime, null);
+
+        // Picked up before its deadline: the deadline goes away
+        onTime.setStatus(OrderStatus.PROCESSING);
+        OrderQueueManager.updateOrderInQueues(onTime);
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        awaitEscalated(1);
+        assertEquals(1, OrderQueueManager.getDeadlineStatistics().getExpiredPending());
+        assertEquals(0, OrderQueueManager.getDeadlineStatistics().getScheduled());
+        assertEquals(1, OrderQueueManager.getEscalatedOrders().size());
+        assertFalse(OrderQueueManager.isEscalated(2));
+
+        // Leaving PENDING clears the escalation
+        late.setStatus(OrderStatus.CANCELLED);
+        OrderQueueManager.updateOrderInQueues(late);
+        assertFalse(OrderQueueManager.isEscalated(1));
+        assertTrue(OrderQueueManager.getEscalatedOrders().isEmpty());
+    }
+
+    @Test
+    void testEscalatedPendingOrderIsServedFirst() {
+        Order first = order(1, OrderStatus.PENDING);
+        Order second = order(2, OrderStatus.PENDING);
+        first.setOrderDate(new java.sql.Date(1000));
+        second.setOrderDate(new java.sql.Date(2000));
+        OrderQueueManager.addOrderToQueues(first, null);
+        OrderQueueManager.addOrderToQueues(second, null);
+        assertEquals(1, OrderQueueManager.peekNextPendingOrder().getOrderId());
+
+        assertTrue(OrderQueueManager.escalate(second));
+        assertFalse(OrderQueueManager.escalate(second));
+        assertEquals(2, OrderQueueManager.peekNextPendingOrder().getOrderId());
+    }
+
+    private static void awaitEscalated(int orderId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!OrderQueueManager.isEscalated(orderId) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(OrderQueueManager.isEscalated(orderId));
+    }
+}
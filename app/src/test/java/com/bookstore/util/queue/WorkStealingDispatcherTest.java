@@ -0,0 +1,110 @@
+package com.bookstore.util.queue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for WorkStealingDeque and WorkStealingDispatcher
+ */
+public class WorkStealingDispatcherTest {
+
+    @Test
+    void testOwnerOrder() {
+        WorkStealingDispatcher<Integer> fifo = new WorkStealingDispatcher<>(1, WorkStealingDispatcher.OwnerOrder.FIFO);
+        WorkStealingDispatcher<Integer> lifo = new WorkStealingDispatcher<>(1, WorkStealingDispatcher.OwnerOrder.LIFO);
+        for (int i = 1; i <= 3; i++) {
+            fifo.submit(i);
+            lifo.submit(i);
+        }
+
+        assertEquals(List.of(1, 2, 3), drain(fifo, 0));
+        assertEquals(List.of(3, 2, 1), drain(lifo, 0));
+        assertNull(fifo.poll(0));
+    }
+
+    @Test
+    void testIdleWorkerStealsOlderHalf() {
+        WorkStealingDispatcher<Integer> dispatcher = new WorkStealingDispatcher<>(2, WorkStealingDispatcher.OwnerOrder.FIFO);
+        for (int i = 1; i <= 5; i++) {
+            dispatcher.submit(0, i);
+        }
+
+        // Worker 1 has nothing of its own: takes 1, 2, 3 and runs 1 now
+        assertEquals(Integer.valueOf(1), dispatcher.poll(1));
+        assertEquals(List.of(2, 3), dispatcher.getDeque(1).toList());
+        assertEquals(List.of(4, 5), dispatcher.getDeque(0).toList());
+
+        WorkStealingDispatcher.DispatchStatistics stats = dispatcher.getStatistics();
+        assertEquals(1, stats.getSteals());
+        assertEquals(3, stats.getStolenItems());
+        assertArrayEquals(new int[]{2, 2}, stats.getDequeSizes());
+
+        assertEquals(List.of(4, 5, 2, 3), dispatcher.drainAll());
+        assertTrue(dispatcher.isEmpty());
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void testEveryItemTakenExactlyOnce() throws InterruptedException {
+        int workers = 4;
+        int items = 20_000;
+        WorkStealingDispatcher<Integer> dispatcher = new WorkStealingDispatcher<>(workers, WorkStealingDispatcher.OwnerOrder.LIFO);
+        Set<Integer> taken = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(items);
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            int worker = w;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    while (done.getCount() > 0) {
+                        Integer item = dispatcher.take(worker, 10, TimeUnit.MILLISECONDS);
+                        if (item != null) {
+                            assertTrue(taken.add(item), "taken twice: " + item);
+                            done.countDown();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        // All work lands on one deque: the other workers live off stealing
+        for (int i = 0; i < items; i++) {
+            dispatcher.submit(0, i);
+        }
+
+        assertTrue(done.await(20, TimeUnit.SECONDS));
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(items, taken.size());
+        assertEquals(items, dispatcher.getStatistics().getTaken());
+        assertTrue(dispatcher.isEmpty());
+    }
+
+    @Test
+    void testTakeTimesOutWhenIdle() throws InterruptedException {
+        WorkStealingDispatcher<Integer> dispatcher = new WorkStealingDispatcher<>(2, WorkStealingDispatcher.OwnerOrder.FIFO);
+        assertNull(dispatcher.take(0, 20, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new WorkStealingDispatcher<Integer>(0, WorkStealingDispatcher.OwnerOrder.FIFO));
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.submit(null));
+    }
+
+    private static List<Integer> drain(WorkStealingDispatcher<Integer> dispatcher, int worker) {
+        List<Integer> items = new ArrayList<>();
+        Integer item;
+        while ((item = dispatcher.poll(worker)) != null) {
+            items.add(item);
+        }
+        return items;
+    }
+}